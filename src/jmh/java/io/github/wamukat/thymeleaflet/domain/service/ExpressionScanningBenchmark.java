@@ -0,0 +1,83 @@
+package io.github.wamukat.thymeleaflet.domain.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocating scanner API with the range-based one and measures expression tokenizing.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmark test-compile exec:exec}; the {@code gc} profiler reports
+ * {@code gc.alloc.rate.norm} (bytes allocated per operation) next to the throughput.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionScanningBenchmark {
+
+    private static final String INSERTION_ATTRIBUTE =
+        "~{components/card :: card(title=${view.title}, body=~{:: body(label='a, b')}, variant='primary')}";
+    private static final String ARGUMENTS = "title=${view.title}, body=~{:: body(label='a, b')}, variant='primary'";
+    private static final String MODEL_EXPRESSION = "view.items[0]?.label";
+    private static final String COMPOUND_EXPRESSION =
+        "view.items[0]?.label + ' ' + user.profile['display-name'] + (order.total > 0 ? order.currency : '')";
+
+    private final TopLevelSyntaxScanner scanner = new TopLevelSyntaxScanner();
+
+    @Benchmark
+    public int findFirstOptional() {
+        return scanner.findFirst(INSERTION_ATTRIBUTE, "::", 2, INSERTION_ATTRIBUTE.length() - 1).orElse(-1);
+    }
+
+    @Benchmark
+    public int indexOfRange() {
+        return scanner.indexOf(INSERTION_ATTRIBUTE, "::", 2, INSERTION_ATTRIBUTE.length() - 1);
+    }
+
+    @Benchmark
+    public void splitSegments(Blackhole blackhole) {
+        TopLevelSyntaxScanner.SplitResult result = scanner.split(ARGUMENTS, ',');
+        blackhole.consume(result.isBalanced());
+        for (String segment : result.segments()) {
+            blackhole.consume(segment.length());
+        }
+    }
+
+    @Benchmark
+    public void indexOfSegments(Blackhole blackhole) {
+        blackhole.consume(scanner.isBalanced(ARGUMENTS, 0, ARGUMENTS.length()));
+        int segmentStart = 0;
+        int separatorIndex;
+        while ((separatorIndex = scanner.indexOf(ARGUMENTS, ',', segmentStart, ARGUMENTS.length()))
+            != TopLevelSyntaxScanner.NOT_FOUND) {
+            blackhole.consume(separatorIndex - segmentStart);
+            segmentStart = separatorIndex + 1;
+        }
+        blackhole.consume(ARGUMENTS.length() - segmentStart);
+    }
+
+    @Benchmark
+    public Optional<List<String>> tokenizeDirectModelPath() {
+        return TemplateExpressionPathExtractor.directModelPath(MODEL_EXPRESSION, Set.of());
+    }
+
+    @Benchmark
+    public Optional<List<String>> tokenizeCompoundExpression() {
+        return TemplateExpressionPathExtractor.directModelPath(COMPOUND_EXPRESSION, Set.of());
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the former regex-based JavaDoc block extraction with the single-pass scanner on large templates.
+ *
+ * <p>{@code documented} is a template with many well-formed JavaDoc comments; {@code strayOpeners} adds
+ * comments that contain an unterminated {@code /**}, which made the lazy regex backtrack across the rest
+ * of the document.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JavaDocExtractionBenchmark {
+
+    private static final Pattern LEGACY_JAVADOC_PATTERN = Pattern.compile(
+        "<!--[^>]*?/\\*\\*([\\s\\S]*?)\\*/[^<]*?-->",
+        Pattern.MULTILINE | Pattern.DOTALL
+    );
+
+    private static final String DOCUMENTED_FRAGMENT = """
+        <!--
+        /**
+         * Status chip.
+         * @param status {@code String} [required] Current status. values: "open", "closed"
+         * @model view.items[].label {@code String} [optional] Item label
+         * @fragment statusChip
+         * @example <div th:replace="~{components/chip :: statusChip(status='open')}"></div>
+         */
+        -->
+        <span th:fragment="statusChip(status)" th:text="${status}">open</span>
+        """;
+
+    private static final String STRAY_OPENER = """
+        <!-- /** generated marker without a closing delimiter -->
+        <div class="generated">row</div>
+        """;
+
+    @Param({"documented", "strayOpeners"})
+    public String shape = "documented";
+
+    @Param({"200"})
+    public int fragments;
+
+    private String html = "";
+    private final JavaDocCommentBlockExtractor extractor = new JavaDocCommentBlockExtractor();
+    private final JavaDocTagParser tagParser = new JavaDocTagParser();
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < fragments; i++) {
+            builder.append("strayOpeners".equals(shape) ? STRAY_OPENER : DOCUMENTED_FRAGMENT);
+        }
+        if ("strayOpeners".equals(shape)) {
+            builder.append(DOCUMENTED_FRAGMENT);
+        }
+        html = builder.toString();
+    }
+
+    @Benchmark
+    public void legacyRegexExtraction(Blackhole blackhole) {
+        Matcher matcher = LEGACY_JAVADOC_PATTERN.matcher(html);
+        while (matcher.find()) {
+            blackhole.consume(matcher.group(1));
+        }
+    }
+
+    @Benchmark
+    public List<String> scannerExtraction() {
+        return extractor.extract(html);
+    }
+
+    @Benchmark
+    public void scannerExtractionAndTagParsing(Blackhole blackhole) {
+        for (String block : extractor.extract(html)) {
+            blackhole.consume(tagParser.parse(block));
+        }
+    }
+}
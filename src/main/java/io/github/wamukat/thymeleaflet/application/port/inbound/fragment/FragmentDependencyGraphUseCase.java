@@ -0,0 +1,51 @@
+package io.github.wamukat.thymeleaflet.application.port.inbound.fragment;
+
+import io.github.wamukat.thymeleaflet.domain.model.FragmentDependencyGraph;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * フラグメント依存グラフ参照ユースケース - Inbound Port
+ *
+ * 責務: カタログ全体の依存グラフ取得と変更影響範囲の算出
+ */
+public interface FragmentDependencyGraphUseCase {
+
+    /**
+     * カタログ全体の依存グラフ取得
+     */
+    FragmentDependencyGraph getDependencyGraph();
+
+    /**
+     * 変更影響範囲の算出
+     *
+     * fragmentName 未指定の場合はテンプレート内の全フラグメントを変更対象とみなす。
+     */
+    ImpactAnalysis analyzeImpact(String templatePath, Optional<String> fragmentName);
+
+    /**
+     * 変更影響範囲レスポンス
+     *
+     * JSON へそのまま変換するため、fragmentName は未指定の場合 null とする。
+     */
+    record ImpactAnalysis(
+        String templatePath,
+        @Nullable String fragmentName,
+        List<ImpactedFragment> impactedFragments
+    ) {
+        public ImpactAnalysis {
+            impactedFragments = List.copyOf(impactedFragments);
+        }
+    }
+
+    /**
+     * 影響を受けるフラグメントとそのストーリー
+     */
+    record ImpactedFragment(String templatePath, String fragmentName, List<String> storyNames) {
+        public ImpactedFragment {
+            storyNames = List.copyOf(storyNames);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package io.github.wamukat.thymeleaflet.application.port.outbound;
 
+import io.github.wamukat.thymeleaflet.domain.model.FragmentDependencyGraph;
+import io.github.wamukat.thymeleaflet.domain.model.FragmentSummary;
+
 import java.util.List;
 
 /**
@@ -9,5 +12,10 @@ public interface FragmentDependencyPort {
 
     List<DependencyComponent> findDependenciesForView(String templatePath, String fragmentName);
 
+    /**
+     * 指定フラグメント群から双方向の依存グラフを構築する。
+     */
+    FragmentDependencyGraph buildDependencyGraph(List<FragmentSummary> fragments);
+
     record DependencyComponent(String templatePath, String fragmentName, String encodedTemplatePath) {}
 }
@@ -0,0 +1,78 @@
+package io.github.wamukat.thymeleaflet.application.service.fragment;
+
+import io.github.wamukat.thymeleaflet.application.port.inbound.fragment.FragmentDependencyGraphUseCase;
+import io.github.wamukat.thymeleaflet.application.port.outbound.FragmentCatalogPort;
+import io.github.wamukat.thymeleaflet.application.port.outbound.FragmentDependencyPort;
+import io.github.wamukat.thymeleaflet.application.port.outbound.StoryDataPort;
+import io.github.wamukat.thymeleaflet.domain.model.FragmentDependencyGraph;
+import io.github.wamukat.thymeleaflet.domain.model.configuration.StoryConfiguration;
+import io.github.wamukat.thymeleaflet.domain.model.configuration.StoryItem;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * フラグメント依存グラフ参照ユースケース実装
+ *
+ * 責務: カタログ全体の依存グラフ取得と変更影響範囲の算出
+ */
+@Component
+@Transactional(readOnly = true)
+public class FragmentDependencyGraphUseCaseImpl implements FragmentDependencyGraphUseCase {
+
+    private static final String DEFAULT_STORY_NAME = "default";
+
+    private final FragmentCatalogPort fragmentCatalogPort;
+    private final FragmentDependencyPort fragmentDependencyPort;
+    private final StoryDataPort storyDataPort;
+
+    public FragmentDependencyGraphUseCaseImpl(
+        FragmentCatalogPort fragmentCatalogPort,
+        FragmentDependencyPort fragmentDependencyPort,
+        StoryDataPort storyDataPort
+    ) {
+        this.fragmentCatalogPort = fragmentCatalogPort;
+        this.fragmentDependencyPort = fragmentDependencyPort;
+        this.storyDataPort = storyDataPort;
+    }
+
+    @Override
+    public FragmentDependencyGraph getDependencyGraph() {
+        return fragmentDependencyPort.buildDependencyGraph(fragmentCatalogPort.discoverFragments());
+    }
+
+    @Override
+    public ImpactAnalysis analyzeImpact(String templatePath, Optional<String> fragmentName) {
+        FragmentDependencyGraph graph = getDependencyGraph();
+        Set<FragmentDependencyGraph.Node> impactedNodes = fragmentName
+            .map(name -> graph.impactOf(new FragmentDependencyGraph.Node(templatePath, name)))
+            .orElseGet(() -> graph.impactOfTemplate(templatePath));
+
+        Map<String, Optional<StoryConfiguration>> storyConfigurations = new HashMap<>();
+        List<ImpactedFragment> impactedFragments = impactedNodes.stream()
+            .map(node -> new ImpactedFragment(
+                node.templatePath(),
+                node.fragmentName(),
+                storyNames(node, storyConfigurations)
+            ))
+            .toList();
+        return new ImpactAnalysis(templatePath, fragmentName.orElse(null), impactedFragments);
+    }
+
+    private List<String> storyNames(
+        FragmentDependencyGraph.Node node,
+        Map<String, Optional<StoryConfiguration>> storyConfigurations
+    ) {
+        List<String> storyNames = storyConfigurations
+            .computeIfAbsent(node.templatePath(), storyDataPort::loadStoryConfiguration)
+            .flatMap(configuration -> configuration.getStoryGroup(node.fragmentName()))
+            .map(group -> group.stories().stream().map(StoryItem::name).toList())
+            .orElse(List.of());
+        return storyNames.isEmpty() ? List.of(DEFAULT_STORY_NAME) : storyNames;
+    }
+}
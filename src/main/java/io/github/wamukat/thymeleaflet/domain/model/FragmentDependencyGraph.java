@@ -0,0 +1,163 @@
+package io.github.wamukat.thymeleaflet.domain.model;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * カタログ全体のフラグメント依存グラフ - 不変Value Object
+ *
+ * 各フラグメントから参照先（dependencies）と参照元（dependents, "used by"）の
+ * 両方向の隣接リストを保持し、推移閉包と変更影響範囲の問い合わせを提供する。
+ */
+public final class FragmentDependencyGraph {
+
+    private static final FragmentDependencyGraph EMPTY = new FragmentDependencyGraph(Map.of(), Map.of());
+
+    private final Map<Node, List<Node>> dependencies;
+    private final Map<Node, List<Node>> dependents;
+
+    private FragmentDependencyGraph(Map<Node, List<Node>> dependencies, Map<Node, List<Node>> dependents) {
+        this.dependencies = dependencies;
+        this.dependents = dependents;
+    }
+
+    public static FragmentDependencyGraph empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 直接依存の隣接リストからグラフを構築する。参照先だけに現れるノードもグラフに含める。
+     */
+    public static FragmentDependencyGraph of(Map<Node, ? extends Collection<Node>> directDependencies) {
+        Objects.requireNonNull(directDependencies, "directDependencies cannot be null");
+        Map<Node, Set<Node>> outgoing = new LinkedHashMap<>();
+        Map<Node, Set<Node>> incoming = new LinkedHashMap<>();
+        directDependencies.forEach((source, targets) -> {
+            Set<Node> sourceTargets = outgoing.computeIfAbsent(source, key -> new LinkedHashSet<>());
+            incoming.computeIfAbsent(source, key -> new LinkedHashSet<>());
+            for (Node target : targets) {
+                if (target.equals(source)) {
+                    continue;
+                }
+                sourceTargets.add(target);
+                outgoing.computeIfAbsent(target, key -> new LinkedHashSet<>());
+                incoming.computeIfAbsent(target, key -> new LinkedHashSet<>()).add(source);
+            }
+        });
+        return new FragmentDependencyGraph(freeze(outgoing), freeze(incoming));
+    }
+
+    public Set<Node> nodes() {
+        return dependencies.keySet();
+    }
+
+    public boolean contains(Node node) {
+        return dependencies.containsKey(node);
+    }
+
+    public int edgeCount() {
+        return dependencies.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * 直接の参照先
+     */
+    public List<Node> dependenciesOf(Node node) {
+        return dependencies.getOrDefault(node, List.of());
+    }
+
+    /**
+     * 直接の参照元 ("used by")
+     */
+    public List<Node> dependentsOf(Node node) {
+        return dependents.getOrDefault(node, List.of());
+    }
+
+    /**
+     * 推移的な参照先（起点自身は含まない）
+     */
+    public Set<Node> transitiveDependenciesOf(Node node) {
+        return reachable(List.of(node), dependencies);
+    }
+
+    /**
+     * 推移的な参照元（起点自身は含まない）
+     */
+    public Set<Node> transitiveDependentsOf(Node node) {
+        return reachable(List.of(node), dependents);
+    }
+
+    /**
+     * 指定テンプレートのノード一覧
+     */
+    public List<Node> nodesInTemplate(String templatePath) {
+        return dependencies.keySet().stream()
+            .filter(node -> node.templatePath().equals(templatePath))
+            .toList();
+    }
+
+    /**
+     * テンプレート変更時の影響範囲: テンプレート内の全フラグメントと、その推移的な参照元
+     */
+    public Set<Node> impactOfTemplate(String templatePath) {
+        List<Node> changed = nodesInTemplate(templatePath);
+        Set<Node> impacted = new LinkedHashSet<>(changed);
+        impacted.addAll(reachable(changed, dependents));
+        return Collections.unmodifiableSet(impacted);
+    }
+
+    /**
+     * フラグメント変更時の影響範囲: フラグメント自身と、その推移的な参照元
+     */
+    public Set<Node> impactOf(Node node) {
+        Set<Node> impacted = new LinkedHashSet<>();
+        impacted.add(node);
+        impacted.addAll(reachable(List.of(node), dependents));
+        return Collections.unmodifiableSet(impacted);
+    }
+
+    private static Set<Node> reachable(Collection<Node> starts, Map<Node, List<Node>> adjacency) {
+        Set<Node> startNodes = Set.copyOf(starts);
+        Set<Node> visited = new LinkedHashSet<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        for (Node start : startNodes) {
+            queue.addAll(adjacency.getOrDefault(start, List.of()));
+        }
+        while (!queue.isEmpty()) {
+            Node current = queue.removeFirst();
+            if (startNodes.contains(current) || !visited.add(current)) {
+                continue;
+            }
+            queue.addAll(adjacency.getOrDefault(current, List.of()));
+        }
+        return Collections.unmodifiableSet(visited);
+    }
+
+    private static Map<Node, List<Node>> freeze(Map<Node, Set<Node>> adjacency) {
+        Map<Node, List<Node>> frozen = new LinkedHashMap<>();
+        adjacency.forEach((node, targets) -> frozen.put(node, List.copyOf(targets)));
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    /**
+     * グラフのノード（テンプレートパスとフラグメント名の組）
+     */
+    public record Node(String templatePath, String fragmentName) {
+        public Node {
+            Objects.requireNonNull(templatePath, "templatePath cannot be null");
+            Objects.requireNonNull(fragmentName, "fragmentName cannot be null");
+        }
+
+        public String key() {
+            return templatePath + "::" + fragmentName;
+        }
+    }
+}
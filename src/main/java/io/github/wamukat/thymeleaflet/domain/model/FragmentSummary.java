@@ -22,15 +22,23 @@ public class FragmentSummary {
     private final String fragmentName;
     private final List<String> parameters;
     private final FragmentDomainService.FragmentType type;
+    private final FragmentDomainService.RenderPipeline renderPipeline;
     
     /**
      * プライベートコンストラクタ - 不変Value Object設計
      */
     private FragmentSummary(String templatePath, String fragmentName, List<String> parameters, FragmentDomainService.FragmentType type) {
+        this(templatePath, fragmentName, parameters, type, FragmentDomainService.RenderPipeline.forParameters(parameters));
+    }
+
+    private FragmentSummary(String templatePath, String fragmentName, List<String> parameters,
+                            FragmentDomainService.FragmentType type,
+                            FragmentDomainService.RenderPipeline renderPipeline) {
         this.templatePath = Objects.requireNonNull(templatePath, "templatePath cannot be null");
         this.fragmentName = Objects.requireNonNull(fragmentName, "fragmentName cannot be null");
         this.parameters = List.copyOf(Objects.requireNonNull(parameters, "parameters cannot be null"));
         this.type = Objects.requireNonNull(type, "type cannot be null");
+        this.renderPipeline = Objects.requireNonNull(renderPipeline, "renderPipeline cannot be null");
     }
     
     /**
@@ -41,6 +49,15 @@ public class FragmentSummary {
                                    List<String> parameters, FragmentDomainService.FragmentType type) {
         return new FragmentSummary(templatePath, fragmentName, parameters, type);
     }
+
+    /**
+     * 発見時に判定した描画パイプライン付きでFragmentSummary作成 - ファクトリメソッド
+     */
+    public static FragmentSummary of(String templatePath, String fragmentName,
+                                   List<String> parameters, FragmentDomainService.FragmentType type,
+                                   FragmentDomainService.RenderPipeline renderPipeline) {
+        return new FragmentSummary(templatePath, fragmentName, parameters, type, renderPipeline);
+    }
     
     /**
      * FragmentからFragmentSummary作成 - ファクトリメソッド
@@ -91,6 +108,13 @@ public class FragmentSummary {
         return type;
     }
 
+    /**
+     * プレビュー描画パイプライン（テンプレート未解析の場合はパラメータの有無のみで判定）
+     */
+    public FragmentDomainService.RenderPipeline getRenderPipeline() {
+        return renderPipeline;
+    }
+
     /**
      * View compatibility helper.
      * FragmentSummary does not carry signature diagnostics, so this is always false.
@@ -10,6 +10,16 @@ import java.util.List;
  */
 public class FragmentDomainService {
 
+    /**
+     * モデル値を参照し得る式の開始記号（変数式・選択変数式・フラグメント式・フラグメント参照）
+     */
+    private static final List<String> MODEL_SYNTAX_MARKERS = List.of("${", "*{", "~{", "::");
+
+    /**
+     * 式を伴わずにフラグメントを参照できる属性名の一部
+     */
+    private static final List<String> FRAGMENT_REFERENCE_KEYWORDS = List.of("insert", "replace", "include");
+
     /**
      * データ依存フラグメントかどうかを判定
      * 
@@ -52,6 +62,48 @@ public class FragmentDomainService {
         return FragmentType.SIMPLE;
     }
 
+    /**
+     * プレビュー描画パイプラインを判定
+     *
+     * パラメータを持たず、テンプレートがモデルを参照し得る構文（式・フラグメント参照・挿入属性）を
+     * 一切含まない場合のみ、値の組み立てを省略できる {@link RenderPipeline#STATIC} とする。
+     * 判定はテンプレート全体の文字列に対する保守的なもので、疑わしい場合は組み立てを行う側に倒す。
+     *
+     * @param parameters パラメータリスト
+     * @param templateSource フラグメントを含むテンプレート全体
+     * @return 描画パイプライン
+     */
+    public RenderPipeline determineRenderPipeline(List<String> parameters, String templateSource) {
+        if (!parameters.isEmpty()) {
+            return RenderPipeline.FULL;
+        }
+        return mayReadModel(templateSource) ? RenderPipeline.MODEL_ONLY : RenderPipeline.STATIC;
+    }
+
+    private static boolean mayReadModel(String templateSource) {
+        for (String marker : MODEL_SYNTAX_MARKERS) {
+            if (templateSource.contains(marker)) {
+                return true;
+            }
+        }
+        for (String keyword : FRAGMENT_REFERENCE_KEYWORDS) {
+            if (containsIgnoreCase(templateSource, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsIgnoreCase(String source, String keyword) {
+        int lastStart = source.length() - keyword.length();
+        for (int index = 0; index <= lastStart; index++) {
+            if (source.regionMatches(true, index, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * フラグメント種類列挙型
      */
@@ -60,4 +112,20 @@ public class FragmentDomainService {
         PARAMETERIZED,   // パラメータ付き
         DATA_DEPENDENT   // データ依存・API応答が必要
     }
+
+    /**
+     * プレビュー描画パイプライン列挙型
+     */
+    public enum RenderPipeline {
+        STATIC,          // パラメータなし・モデル参照なし: テンプレート参照のみで描画
+        MODEL_ONLY,      // パラメータなし・モデル参照あり: モデル値のみ組み立て
+        FULL;            // パラメータ付き: パラメータ・モデル・安全性検査を含む全工程
+
+        /**
+         * テンプレートを解析していない場合の既定値（パラメータの有無のみで判定）
+         */
+        public static RenderPipeline forParameters(List<String> parameters) {
+            return parameters.isEmpty() ? MODEL_ONLY : FULL;
+        }
+    }
 }
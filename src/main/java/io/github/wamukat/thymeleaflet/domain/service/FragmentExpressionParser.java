@@ -10,6 +10,10 @@ import java.util.Optional;
 
 public class FragmentExpressionParser {
 
+    private static final int CACHE_MAXIMUM_SIZE = 4096;
+    private static final ParseResultCache<CacheKey, FragmentExpressionParseResult> PARSE_CACHE =
+        new ParseResultCache<>("fragment-expression", CACHE_MAXIMUM_SIZE);
+
     private final TopLevelSyntaxScanner topLevelSyntaxScanner = new TopLevelSyntaxScanner();
 
     public Optional<FragmentExpression> parse(@Nullable String rawExpression) {
@@ -34,6 +38,14 @@ public class FragmentExpressionParser {
         return parseWithDiagnostics(rawExpression, Optional.of(currentTemplatePath.trim()));
     }
 
+    public static ParseResultCache.Stats cacheStats() {
+        return PARSE_CACHE.stats();
+    }
+
+    public static void clearCache() {
+        PARSE_CACHE.clear();
+    }
+
     private FragmentExpressionParseResult parseWithDiagnostics(
         @Nullable String rawExpression,
         Optional<String> currentTemplatePath
@@ -43,6 +55,13 @@ public class FragmentExpressionParser {
                 ParserDiagnostic.warning("FRAGMENT_EXPRESSION_EMPTY", "Fragment expression is empty")
             );
         }
+        return PARSE_CACHE.get(
+            new CacheKey(rawExpression, currentTemplatePath.orElse("")),
+            key -> parseUncached(rawExpression, currentTemplatePath)
+        );
+    }
+
+    private FragmentExpressionParseResult parseUncached(String rawExpression, Optional<String> currentTemplatePath) {
         String expression = unwrapFragmentExpression(rawExpression.trim());
         if (expression.isBlank()) {
             return FragmentExpressionParseResult.empty(
@@ -97,7 +116,7 @@ public class FragmentExpressionParser {
     }
 
     private int findTopLevelFragmentSeparator(String expression) {
-        return topLevelSyntaxScanner.findFirst(expression, "::").orElse(-1);
+        return topLevelSyntaxScanner.indexOf(expression, "::", 0, expression.length());
     }
 
     private String normalizeTemplatePath(String rawTemplatePath, Optional<String> currentTemplatePath) {
@@ -136,12 +155,18 @@ public class FragmentExpressionParser {
     }
 
     private Optional<List<String>> splitTopLevel(String value, char separator) {
-        List<String> segments = new ArrayList<>();
-        TopLevelSyntaxScanner.SplitResult splitResult = topLevelSyntaxScanner.split(value, separator);
-        if (!splitResult.isBalanced()) {
+        if (!topLevelSyntaxScanner.isBalanced(value, 0, value.length())) {
             return Optional.empty();
         }
-        splitResult.segments().forEach(segment -> addSegment(segments, segment));
+        List<String> segments = new ArrayList<>();
+        int segmentStart = 0;
+        int separatorIndex;
+        while ((separatorIndex = topLevelSyntaxScanner.indexOf(value, separator, segmentStart, value.length()))
+            != TopLevelSyntaxScanner.NOT_FOUND) {
+            addSegment(segments, value.substring(segmentStart, separatorIndex));
+            segmentStart = separatorIndex + 1;
+        }
+        addSegment(segments, value.substring(segmentStart));
         return Optional.of(segments);
     }
 
@@ -161,6 +186,9 @@ public class FragmentExpressionParser {
         return value;
     }
 
+    private record CacheKey(String rawExpression, String currentTemplatePath) {
+    }
+
     private record FragmentSelector(String name, List<String> arguments, boolean hasArgumentList) {
     }
 
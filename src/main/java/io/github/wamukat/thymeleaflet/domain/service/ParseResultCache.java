@@ -0,0 +1,85 @@
+package io.github.wamukat.thymeleaflet.domain.service;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread-safe memo of immutable parser results keyed by their raw input.
+ *
+ * <p>Parsers in this package are pure functions of their input, so a result computed once can be
+ * shared by every template and request that contains the same expression. When the number of
+ * entries exceeds {@code maximumSize}, arbitrary entries are evicted; the working set of a design
+ * system is small, so the bound only protects against unbounded growth from dynamic input.</p>
+ */
+public final class ParseResultCache<K, V> {
+
+    private final String name;
+    private final int maximumSize;
+    private final ConcurrentMap<K, V> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ParseResultCache(String name, int maximumSize) {
+        this.name = Objects.requireNonNull(name, "name cannot be null");
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = entries.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        V loaded = Objects.requireNonNull(loader.apply(key), "loader returned null");
+        V existing = entries.putIfAbsent(key, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        evictOverflow();
+        return loaded;
+    }
+
+    public Stats stats() {
+        return new Stats(name, hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    public void clear() {
+        entries.clear();
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    private void evictOverflow() {
+        if (entries.size() <= maximumSize) {
+            return;
+        }
+        Iterator<K> iterator = entries.keySet().iterator();
+        while (entries.size() > maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    public record Stats(String name, long hits, long misses, long evictions, int size) {
+
+        public long requests() {
+            return hits + misses;
+        }
+
+        public double hitRate() {
+            long requests = requests();
+            return requests == 0 ? 0.0d : (double) hits / requests;
+        }
+    }
+}
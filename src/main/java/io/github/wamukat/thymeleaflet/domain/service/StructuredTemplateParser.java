@@ -16,14 +16,26 @@ import java.util.stream.Collectors;
 
 /**
  * Internal parser facade for template-level extraction that should match Thymeleaf's HTML parser.
+ *
+ * <p>The attoparser {@link MarkupParser} is thread-safe and keeps a pool of reusable read buffers, so a single
+ * instance built from one HTML configuration is shared by every parser facade instead of being rebuilt per call.</p>
  */
 public class StructuredTemplateParser {
 
+    private static final int BUFFER_POOL_SIZE =
+        Math.max(MarkupParser.DEFAULT_POOL_SIZE, Runtime.getRuntime().availableProcessors());
+
+    private static final MarkupParser MARKUP_PARSER = new MarkupParser(
+        ParseConfiguration.htmlConfiguration(),
+        BUFFER_POOL_SIZE,
+        MarkupParser.DEFAULT_BUFFER_SIZE
+    );
+
     public ParsedTemplate parse(String html) {
         Objects.requireNonNull(html, "html cannot be null");
         CollectingMarkupHandler handler = new CollectingMarkupHandler();
         try {
-            new MarkupParser(ParseConfiguration.htmlConfiguration()).parse(html, handler);
+            MARKUP_PARSER.parse(html, handler);
         } catch (ParseException parseException) {
             throw new IllegalArgumentException("Failed to parse template markup", parseException);
         }
@@ -3,6 +3,7 @@ package io.github.wamukat.thymeleaflet.domain.service;
 import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -16,6 +17,10 @@ final class TemplateExpressionPathExtractor {
         "instanceof", "matches", "div", "mod"
     );
 
+    private static final int CACHE_MAXIMUM_SIZE = 8192;
+    private static final ParseResultCache<PathCacheKey, ExtractedPaths> PATH_CACHE =
+        new ParseResultCache<>("template-expression-path", CACHE_MAXIMUM_SIZE);
+
     private TemplateExpressionPathExtractor() {
     }
 
@@ -28,20 +33,40 @@ final class TemplateExpressionPathExtractor {
         Set<String> excludedIdentifiers,
         @Nullable List<List<String>> noArgMethodPaths
     ) {
+        ExtractedPaths extracted = PATH_CACHE.get(
+            new PathCacheKey(expression, excludedIdentifiers),
+            TemplateExpressionPathExtractor::extract
+        );
+        if (noArgMethodPaths != null) {
+            noArgMethodPaths.addAll(extracted.noArgMethodPaths());
+        }
+        return extracted.modelPaths();
+    }
+
+    static ParseResultCache.Stats cacheStats() {
+        return PATH_CACHE.stats();
+    }
+
+    static void clearCache() {
+        PATH_CACHE.clear();
+    }
+
+    private static ExtractedPaths extract(PathCacheKey key) {
+        List<List<String>> noArgMethodPaths = new ArrayList<>();
         ExpressionPathParser parser = new ExpressionPathParser(
-            ThymeleafExpressionTokenizer.tokenize(expression),
-            excludedIdentifiers,
+            ThymeleafExpressionTokenizer.tokenize(key.expression()),
+            key.excludedIdentifiers(),
             noArgMethodPaths
         );
-        return parser.parse();
+        return new ExtractedPaths(parser.parse(), noArgMethodPaths);
     }
 
     static Optional<List<String>> directModelPath(String expression, Set<String> excludedIdentifiers) {
-        List<ExpressionToken> tokens = ThymeleafExpressionTokenizer.tokenize(expression);
-        if (tokens.isEmpty() || tokens.getFirst().type() != ExpressionTokenType.IDENTIFIER) {
+        ExpressionTokenBuffer tokens = ThymeleafExpressionTokenizer.tokenize(expression);
+        if (tokens.isEmpty() || tokens.type(0) != ExpressionTokenType.IDENTIFIER) {
             return Optional.empty();
         }
-        String root = tokens.getFirst().text();
+        String root = tokens.text(0);
         if (RESERVED_ROOTS.contains(root) || excludedIdentifiers.contains(root) || "T".equals(root)) {
             return Optional.empty();
         }
@@ -49,14 +74,14 @@ final class TemplateExpressionPathExtractor {
         path.add(root);
         int cursor = 1;
         while (cursor < tokens.size()) {
-            ExpressionTokenType type = tokens.get(cursor).type();
+            ExpressionTokenType type = tokens.type(cursor);
             if (type == ExpressionTokenType.DOT || type == ExpressionTokenType.SAFE_DOT) {
                 if (cursor + 1 >= tokens.size()
-                    || tokens.get(cursor + 1).type() != ExpressionTokenType.IDENTIFIER
-                    || cursor + 2 < tokens.size() && tokens.get(cursor + 2).type() == ExpressionTokenType.LEFT_PAREN) {
+                    || tokens.type(cursor + 1) != ExpressionTokenType.IDENTIFIER
+                    || cursor + 2 < tokens.size() && tokens.type(cursor + 2) == ExpressionTokenType.LEFT_PAREN) {
                     return Optional.empty();
                 }
-                path.add(tokens.get(cursor + 1).text());
+                path.add(tokens.text(cursor + 1));
                 cursor += 2;
                 continue;
             }
@@ -75,23 +100,24 @@ final class TemplateExpressionPathExtractor {
     }
 
     private static Optional<BracketPathSegment> directBracketSegment(
-        List<ExpressionToken> tokens,
+        ExpressionTokenBuffer tokens,
         int openBracketIndex
     ) {
         if (openBracketIndex + 2 >= tokens.size()
-            || tokens.get(openBracketIndex).type() != ExpressionTokenType.LEFT_BRACKET
-            || tokens.get(openBracketIndex + 2).type() != ExpressionTokenType.RIGHT_BRACKET) {
+            || tokens.type(openBracketIndex) != ExpressionTokenType.LEFT_BRACKET
+            || tokens.type(openBracketIndex + 2) != ExpressionTokenType.RIGHT_BRACKET) {
             return Optional.empty();
         }
-        ExpressionToken key = tokens.get(openBracketIndex + 1);
-        if (key.type() == ExpressionTokenType.STRING) {
-            return Optional.of(new BracketPathSegment(key.text(), openBracketIndex + 3));
+        int keyIndex = openBracketIndex + 1;
+        ExpressionTokenType keyType = tokens.type(keyIndex);
+        if (keyType == ExpressionTokenType.STRING) {
+            return Optional.of(new BracketPathSegment(tokens.text(keyIndex), openBracketIndex + 3));
         }
-        if (key.type() == ExpressionTokenType.NUMBER) {
+        if (keyType == ExpressionTokenType.NUMBER) {
             return Optional.of(new BracketPathSegment("[]", openBracketIndex + 3));
         }
-        if (key.type() == ExpressionTokenType.IDENTIFIER && key.text().contains("-")) {
-            return Optional.of(new BracketPathSegment(key.text(), openBracketIndex + 3));
+        if (keyType == ExpressionTokenType.IDENTIFIER && tokens.textContains(keyIndex, '-')) {
+            return Optional.of(new BracketPathSegment(tokens.text(keyIndex), openBracketIndex + 3));
         }
         return Optional.empty();
     }
@@ -111,18 +137,104 @@ final class TemplateExpressionPathExtractor {
         OTHER
     }
 
-    private record ExpressionToken(ExpressionTokenType type, String text) {
+    private record BracketPathSegment(String segment, int nextIndex) {
     }
 
-    private record BracketPathSegment(String segment, int nextIndex) {
+    /**
+     * Token stream stored as parallel arrays of type and source range.
+     *
+     * <p>Token text is only materialized for the identifiers and string keys that end up in a path,
+     * and tokens are stored as parallel arrays, so tokenizing an expression does not allocate per token.
+     * The arrays are sized from the expression length (roughly one token per three characters) so that
+     * short expressions do not pay for a large fixed buffer.</p>
+     */
+    private static final class ExpressionTokenBuffer {
+
+        private static final int MINIMUM_CAPACITY = 4;
+
+        private final CharSequence source;
+        private ExpressionTokenType[] types;
+        // start and end offset of each token, interleaved
+        private int[] ranges;
+        private int size;
+
+        private ExpressionTokenBuffer(CharSequence source) {
+            this.source = source;
+            int capacity = Math.max(MINIMUM_CAPACITY, source.length() / 3 + 2);
+            this.types = new ExpressionTokenType[capacity];
+            this.ranges = new int[capacity * 2];
+        }
+
+        int size() {
+            return size;
+        }
+
+        ExpressionTokenType type(int tokenIndex) {
+            return types[tokenIndex];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Returns the token text; string tokens are returned without quotes and with escapes resolved.
+         */
+        String text(int tokenIndex) {
+            int start = ranges[tokenIndex * 2];
+            int end = ranges[tokenIndex * 2 + 1];
+            if (types[tokenIndex] != ExpressionTokenType.STRING) {
+                return source.subSequence(start, end).toString();
+            }
+            StringBuilder content = new StringBuilder(end - start);
+            boolean escaped = false;
+            for (int index = start; index < end; index++) {
+                char current = source.charAt(index);
+                if (!escaped && current == '\\') {
+                    escaped = true;
+                    continue;
+                }
+                content.append(current);
+                escaped = false;
+            }
+            return content.toString();
+        }
+
+        boolean textContains(int tokenIndex, char value) {
+            for (int index = ranges[tokenIndex * 2]; index < ranges[tokenIndex * 2 + 1]; index++) {
+                if (source.charAt(index) == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void add(ExpressionTokenType type, int start, int end) {
+            if (size == types.length) {
+                int capacity = size * 2;
+                types = Arrays.copyOf(types, capacity);
+                ranges = Arrays.copyOf(ranges, capacity * 2);
+            }
+            types[size] = type;
+            ranges[size * 2] = start;
+            ranges[size * 2 + 1] = end;
+            size++;
+        }
     }
 
     private static final class ThymeleafExpressionTokenizer {
 
-        private static List<ExpressionToken> tokenize(String expression) {
-            List<ExpressionToken> tokens = new ArrayList<>();
+        private ThymeleafExpressionTokenizer() {
+        }
+
+        /**
+         * Tokenizes into a new buffer owned by the caller.
+         */
+        static ExpressionTokenBuffer tokenize(CharSequence expression) {
+            ExpressionTokenBuffer tokens = new ExpressionTokenBuffer(expression);
+            int length = expression.length();
             int index = 0;
-            while (index < expression.length()) {
+            while (index < length) {
                 char current = expression.charAt(index);
                 if (Character.isWhitespace(current)) {
                     index++;
@@ -131,91 +243,96 @@ final class TemplateExpressionPathExtractor {
                 if (Character.isLetter(current) || current == '_') {
                     int start = index;
                     index++;
-                    while (index < expression.length()) {
+                    while (index < length) {
                         char part = expression.charAt(index);
                         if (!Character.isLetterOrDigit(part) && part != '_' && part != '-') {
                             break;
                         }
                         index++;
                     }
-                    tokens.add(new ExpressionToken(ExpressionTokenType.IDENTIFIER, expression.substring(start, index)));
+                    tokens.add(ExpressionTokenType.IDENTIFIER, start, index);
                     continue;
                 }
                 if (Character.isDigit(current)) {
                     int start = index;
                     index++;
-                    while (index < expression.length() && Character.isDigit(expression.charAt(index))) {
+                    while (index < length && Character.isDigit(expression.charAt(index))) {
                         index++;
                     }
-                    tokens.add(new ExpressionToken(ExpressionTokenType.NUMBER, expression.substring(start, index)));
+                    tokens.add(ExpressionTokenType.NUMBER, start, index);
                     continue;
                 }
                 if (current == '\'' || current == '"') {
-                    ParseStringResult stringResult = consumeString(expression, index);
-                    tokens.add(new ExpressionToken(ExpressionTokenType.STRING, stringResult.content()));
-                    index = stringResult.nextIndex();
+                    index = consumeString(expression, index, tokens);
                     continue;
                 }
-                if (current == '?' && index + 1 < expression.length() && expression.charAt(index + 1) == '.') {
-                    tokens.add(new ExpressionToken(ExpressionTokenType.SAFE_DOT, "?."));
+                if (current == '?' && index + 1 < length && expression.charAt(index + 1) == '.') {
+                    tokens.add(ExpressionTokenType.SAFE_DOT, index, index + 2);
                     index += 2;
                     continue;
                 }
-                switch (current) {
-                    case '.' -> tokens.add(new ExpressionToken(ExpressionTokenType.DOT, "."));
-                    case '(' -> tokens.add(new ExpressionToken(ExpressionTokenType.LEFT_PAREN, "("));
-                    case ')' -> tokens.add(new ExpressionToken(ExpressionTokenType.RIGHT_PAREN, ")"));
-                    case '[' -> tokens.add(new ExpressionToken(ExpressionTokenType.LEFT_BRACKET, "["));
-                    case ']' -> tokens.add(new ExpressionToken(ExpressionTokenType.RIGHT_BRACKET, "]"));
-                    case '#' -> tokens.add(new ExpressionToken(ExpressionTokenType.HASH, "#"));
-                    case '@' -> tokens.add(new ExpressionToken(ExpressionTokenType.AT, "@"));
-                    default -> tokens.add(new ExpressionToken(ExpressionTokenType.OTHER, Character.toString(current)));
-                }
+                ExpressionTokenType type = switch (current) {
+                    case '.' -> ExpressionTokenType.DOT;
+                    case '(' -> ExpressionTokenType.LEFT_PAREN;
+                    case ')' -> ExpressionTokenType.RIGHT_PAREN;
+                    case '[' -> ExpressionTokenType.LEFT_BRACKET;
+                    case ']' -> ExpressionTokenType.RIGHT_BRACKET;
+                    case '#' -> ExpressionTokenType.HASH;
+                    case '@' -> ExpressionTokenType.AT;
+                    default -> ExpressionTokenType.OTHER;
+                };
+                tokens.add(type, index, index + 1);
                 index++;
             }
             return tokens;
         }
 
-        private static ParseStringResult consumeString(String expression, int start) {
+        private static int consumeString(CharSequence expression, int start, ExpressionTokenBuffer tokens) {
             char quote = expression.charAt(start);
-            StringBuilder content = new StringBuilder();
             int index = start + 1;
             boolean escaped = false;
             while (index < expression.length()) {
                 char current = expression.charAt(index);
                 if (escaped) {
-                    content.append(current);
                     escaped = false;
-                    index++;
-                    continue;
-                }
-                if (current == '\\') {
+                } else if (current == '\\') {
                     escaped = true;
-                    index++;
-                    continue;
-                }
-                if (current == quote) {
-                    return new ParseStringResult(content.toString(), index + 1);
+                } else if (current == quote) {
+                    tokens.add(ExpressionTokenType.STRING, start + 1, index);
+                    return index + 1;
                 }
-                content.append(current);
                 index++;
             }
-            return new ParseStringResult(content.toString(), expression.length());
+            tokens.add(ExpressionTokenType.STRING, start + 1, expression.length());
+            return expression.length();
         }
+    }
 
-        private record ParseStringResult(String content, int nextIndex) {
+    /**
+     * The excluded identifiers are part of the key because they decide which roots are reported.
+     */
+    private record PathCacheKey(String expression, Set<String> excludedIdentifiers) {
+        private PathCacheKey {
+            excludedIdentifiers = Set.copyOf(excludedIdentifiers);
+        }
+    }
+
+    private record ExtractedPaths(List<List<String>> modelPaths, List<List<String>> noArgMethodPaths) {
+        private ExtractedPaths {
+            modelPaths = modelPaths.stream().map(List::copyOf).toList();
+            noArgMethodPaths = noArgMethodPaths.stream().map(List::copyOf).toList();
         }
     }
 
     private static final class ExpressionPathParser {
 
-        private final List<ExpressionToken> tokens;
+        private final ExpressionTokenBuffer tokens;
         private final Set<String> excludedIdentifiers;
         private final @Nullable List<List<String>> noArgMethodPaths;
         private int index;
 
         private ExpressionPathParser(
-            List<ExpressionToken> tokens,
+            ExpressionTokenBuffer tokens,
             Set<String> excludedIdentifiers,
             @Nullable List<List<String>> noArgMethodPaths
         ) {
@@ -237,7 +354,7 @@ final class TemplateExpressionPathExtractor {
         }
 
         private Optional<List<String>> parseIdentifierPath() {
-            String root = tokens.get(index).text();
+            String root = tokens.text(index);
             if (isUtilityIdentifier(index) || isChainedIdentifier(index)) {
                 index++;
                 return Optional.empty();
@@ -276,7 +393,7 @@ final class TemplateExpressionPathExtractor {
                 if (!isAt(index + 1, ExpressionTokenType.IDENTIFIER)) {
                     break;
                 }
-                String propertyName = tokens.get(index + 1).text();
+                String propertyName = tokens.text(index + 1);
                 int propertyIndex = index + 1;
                 if (isAt(propertyIndex + 1, ExpressionTokenType.LEFT_PAREN)) {
                     int closeParen = findClosingParen(propertyIndex + 1);
@@ -307,7 +424,7 @@ final class TemplateExpressionPathExtractor {
             if (isAt(index, ExpressionTokenType.LEFT_BRACKET)
                 && isAt(index + 1, ExpressionTokenType.STRING)
                 && isAt(index + 2, ExpressionTokenType.RIGHT_BRACKET)) {
-                String key = tokens.get(index + 1).text();
+                String key = tokens.text(index + 1);
                 index += 3;
                 return Optional.of(key);
             }
@@ -319,12 +436,11 @@ final class TemplateExpressionPathExtractor {
             }
             if (isAt(index, ExpressionTokenType.LEFT_BRACKET)
                 && isAt(index + 1, ExpressionTokenType.IDENTIFIER)
-                && isAt(index + 2, ExpressionTokenType.RIGHT_BRACKET)) {
-                String key = tokens.get(index + 1).text();
-                if (key.contains("-")) {
-                    index += 3;
-                    return Optional.of(key);
-                }
+                && isAt(index + 2, ExpressionTokenType.RIGHT_BRACKET)
+                && tokens.textContains(index + 1, '-')) {
+                String key = tokens.text(index + 1);
+                index += 3;
+                return Optional.of(key);
             }
             return Optional.empty();
         }
@@ -379,7 +495,7 @@ final class TemplateExpressionPathExtractor {
         private int findClosingParen(int openParenIndex) {
             int depth = 0;
             for (int cursor = openParenIndex; cursor < tokens.size(); cursor++) {
-                ExpressionTokenType type = tokens.get(cursor).type();
+                ExpressionTokenType type = tokens.type(cursor);
                 if (type == ExpressionTokenType.LEFT_PAREN) {
                     depth++;
                 } else if (type == ExpressionTokenType.RIGHT_PAREN) {
@@ -401,7 +517,7 @@ final class TemplateExpressionPathExtractor {
         }
 
         private boolean isAt(int tokenIndex, ExpressionTokenType type) {
-            return tokenIndex >= 0 && tokenIndex < tokens.size() && tokens.get(tokenIndex).type() == type;
+            return tokenIndex >= 0 && tokenIndex < tokens.size() && tokens.type(tokenIndex) == type;
         }
     }
 }
@@ -31,7 +31,7 @@ public class TemplateModelExpressionAnalyzer {
         this(templateParser, new FragmentExpressionParser());
     }
 
-    TemplateModelExpressionAnalyzer(
+    public TemplateModelExpressionAnalyzer(
         StructuredTemplateParser templateParser,
         FragmentExpressionParser fragmentExpressionParser
     ) {
@@ -56,8 +56,9 @@ public class TemplateModelExpressionAnalyzer {
         Optional<String> currentTemplatePath
     ) {
         StructuredTemplateParser.ParsedTemplate template = templateParser.parse(html);
-        Set<String> excludedIdentifiers = new HashSet<>(parameterNames);
-        excludedIdentifiers.addAll(extractLocalVariablesFromThWith(template));
+        Set<String> collectedIdentifiers = new HashSet<>(parameterNames);
+        collectedIdentifiers.addAll(extractLocalVariablesFromThWith(template));
+        Set<String> excludedIdentifiers = Set.copyOf(collectedIdentifiers);
         Map<String, ModelPath> loopVariablePaths = extractLoopVariablePaths(template, excludedIdentifiers);
         List<ExpressionSource> expressionSources = expressionSources(template, excludedIdentifiers);
         List<ModelPath> modelPaths = extractModelPathsFromSources(expressionSources, excludedIdentifiers);
@@ -1,5 +1,7 @@
 package io.github.wamukat.thymeleaflet.domain.service;
 
+import org.jspecify.annotations.Nullable;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -7,80 +9,111 @@ import java.util.OptionalInt;
 
 /**
  * Tracks quotes and nested Thymeleaf expression syntax while scanning for top-level tokens.
+ *
+ * <p>The primitive methods ({@link #indexOf(CharSequence, CharSequence, int, int)},
+ * {@link #indexOf(CharSequence, char, int, int)} and {@link #isBalanced(CharSequence, int, int)})
+ * work on index ranges and keep the scan state in local variables, so hot callers can scan
+ * attribute values without allocating substrings, {@link OptionalInt}s or state objects.</p>
  */
 public final class TopLevelSyntaxScanner {
 
+    public static final int NOT_FOUND = -1;
+
+    private static final int NOT_FOUND_UNBALANCED = -2;
+    private static final int NO_SEPARATOR = -1;
+
     public OptionalInt findFirst(String value, String token) {
         return findFirst(value, token, 0, value.length());
     }
 
     public OptionalInt findFirst(String value, String token, int startInclusive, int endExclusive) {
+        int index = indexOf(value, token, startInclusive, endExclusive);
+        return index == NOT_FOUND ? OptionalInt.empty() : OptionalInt.of(index);
+    }
+
+    /**
+     * Returns the first top-level position of {@code token} within the range, or {@link #NOT_FOUND}.
+     */
+    public int indexOf(CharSequence value, CharSequence token, int startInclusive, int endExclusive) {
         Objects.requireNonNull(value, "value cannot be null");
         Objects.requireNonNull(token, "token cannot be null");
-        if (token.isEmpty()) {
-            return OptionalInt.empty();
-        }
-        if (startInclusive < 0 || endExclusive > value.length() || startInclusive > endExclusive) {
-            throw new IllegalArgumentException("Invalid scan bounds");
+        if (token.length() == 0) {
+            return NOT_FOUND;
         }
+        checkBounds(value, startInclusive, endExclusive);
+        return Math.max(NOT_FOUND, scan(value, startInclusive, endExclusive, token, NO_SEPARATOR));
+    }
 
-        ScanState state = new ScanState();
-        for (int index = startInclusive; index < endExclusive; index++) {
-            if (!state.isInsideNestedSyntax()
-                && index + token.length() <= endExclusive
-                && value.startsWith(token, index)) {
-                return OptionalInt.of(index);
-            }
-            state.accept(value.charAt(index));
-        }
-        return OptionalInt.empty();
+    /**
+     * Returns the first top-level position of {@code separator} within the range, or {@link #NOT_FOUND}.
+     */
+    public int indexOf(CharSequence value, char separator, int startInclusive, int endExclusive) {
+        Objects.requireNonNull(value, "value cannot be null");
+        checkBounds(value, startInclusive, endExclusive);
+        return Math.max(NOT_FOUND, scan(value, startInclusive, endExclusive, null, separator));
+    }
+
+    /**
+     * Returns whether every quote and bracket opened within the range is also closed within it.
+     */
+    public boolean isBalanced(CharSequence value, int startInclusive, int endExclusive) {
+        Objects.requireNonNull(value, "value cannot be null");
+        checkBounds(value, startInclusive, endExclusive);
+        return scan(value, startInclusive, endExclusive, null, NO_SEPARATOR) == NOT_FOUND;
     }
 
     public SplitResult split(String value, char separator) {
         Objects.requireNonNull(value, "value cannot be null");
         List<String> segments = new ArrayList<>();
-        ScanState state = new ScanState();
         int segmentStart = 0;
-
-        for (int index = 0; index < value.length(); index++) {
-            char current = value.charAt(index);
-            if (!state.isInsideNestedSyntax() && current == separator) {
-                segments.add(value.substring(segmentStart, index));
-                segmentStart = index + 1;
-                continue;
+        while (true) {
+            int result = scan(value, segmentStart, value.length(), null, separator);
+            if (result < 0) {
+                segments.add(value.substring(segmentStart));
+                return new SplitResult(segments, result == NOT_FOUND);
             }
-            state.accept(current);
+            segments.add(value.substring(segmentStart, result));
+            segmentStart = result + 1;
         }
-        segments.add(value.substring(segmentStart));
-        return new SplitResult(segments, state.isBalanced());
     }
 
-    public record SplitResult(List<String> segments, boolean isBalanced) {
-        public SplitResult {
-            segments = List.copyOf(segments);
-        }
-    }
+    /**
+     * Scans the range and returns the first top-level match, {@link #NOT_FOUND} when the range ends
+     * balanced without a match, or {@link #NOT_FOUND_UNBALANCED} otherwise. A match always happens
+     * at top level, so restarting a scan right after one is equivalent to continuing it.
+     */
+    private static int scan(
+        CharSequence value,
+        int startInclusive,
+        int endExclusive,
+        @Nullable CharSequence token,
+        int separator
+    ) {
+        int depthParen = 0;
+        int depthBracket = 0;
+        int depthBrace = 0;
+        boolean inSingleQuote = false;
+        boolean inDoubleQuote = false;
+        char previous = 0;
 
-    private static final class ScanState {
-        private int depthParen;
-        private int depthBracket;
-        private int depthBrace;
-        private boolean inSingleQuote;
-        private boolean inDoubleQuote;
-        private char previous;
+        for (int index = startInclusive; index < endExclusive; index++) {
+            char current = value.charAt(index);
+            boolean nested = inSingleQuote || inDoubleQuote || depthParen > 0 || depthBracket > 0 || depthBrace > 0;
+            if (!nested) {
+                if (token != null) {
+                    if (regionMatches(value, index, endExclusive, token)) {
+                        return index;
+                    }
+                } else if (current == separator) {
+                    return index;
+                }
+            }
 
-        private void accept(char current) {
             if (current == '\'' && !inDoubleQuote && previous != '\\') {
                 inSingleQuote = !inSingleQuote;
-                previous = current;
-                return;
-            }
-            if (current == '"' && !inSingleQuote && previous != '\\') {
+            } else if (current == '"' && !inSingleQuote && previous != '\\') {
                 inDoubleQuote = !inDoubleQuote;
-                previous = current;
-                return;
-            }
-            if (!inSingleQuote && !inDoubleQuote) {
+            } else if (!inSingleQuote && !inDoubleQuote) {
                 if (current == '(') {
                     depthParen++;
                 } else if (current == ')' && depthParen > 0) {
@@ -97,13 +130,32 @@ public final class TopLevelSyntaxScanner {
             }
             previous = current;
         }
+        boolean balanced = !inSingleQuote && !inDoubleQuote && depthParen == 0 && depthBracket == 0 && depthBrace == 0;
+        return balanced ? NOT_FOUND : NOT_FOUND_UNBALANCED;
+    }
+
+    private static boolean regionMatches(CharSequence value, int offset, int endExclusive, CharSequence token) {
+        int length = token.length();
+        if (offset + length > endExclusive) {
+            return false;
+        }
+        for (int index = 0; index < length; index++) {
+            if (value.charAt(offset + index) != token.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        private boolean isInsideNestedSyntax() {
-            return inSingleQuote || inDoubleQuote || depthParen > 0 || depthBracket > 0 || depthBrace > 0;
+    private static void checkBounds(CharSequence value, int startInclusive, int endExclusive) {
+        if (startInclusive < 0 || endExclusive > value.length() || startInclusive > endExclusive) {
+            throw new IllegalArgumentException("Invalid scan bounds");
         }
+    }
 
-        private boolean isBalanced() {
-            return !inSingleQuote && !inDoubleQuote && depthParen == 0 && depthBracket == 0 && depthBrace == 0;
+    public record SplitResult(List<String> segments, boolean isBalanced) {
+        public SplitResult {
+            segments = List.copyOf(segments);
         }
     }
 }
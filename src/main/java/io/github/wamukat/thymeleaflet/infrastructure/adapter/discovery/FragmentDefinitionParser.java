@@ -1,6 +1,8 @@
 package io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery;
 
 import io.github.wamukat.thymeleaflet.domain.service.StructuredTemplateParser;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.TemplateParseEvent;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -8,6 +10,7 @@ import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -21,7 +24,8 @@ public class FragmentDefinitionParser {
         this(new StructuredTemplateParser());
     }
 
-    FragmentDefinitionParser(StructuredTemplateParser templateParser) {
+    @Autowired
+    public FragmentDefinitionParser(StructuredTemplateParser templateParser) {
         this.templateParser = templateParser;
     }
 
@@ -29,7 +33,10 @@ public class FragmentDefinitionParser {
         Objects.requireNonNull(templatePath, "templatePath cannot be null");
         Objects.requireNonNull(content, "content cannot be null");
         List<FragmentDefinition> definitions = new ArrayList<>();
+        ServerTimingRecorder.count(ServerTimingRecorder.Counter.PARSE);
+        TemplateParseEvent parseEvent = TemplateParseEvent.start();
         StructuredTemplateParser.ParsedTemplate template = templateParser.parse(content);
+        parseEvent.finish(templatePath, "definitions", content, template.elements().size());
 
         for (StructuredTemplateParser.TemplateElement element : template.elements()) {
             for (StructuredTemplateParser.TemplateAttribute attribute : element.attributes()) {
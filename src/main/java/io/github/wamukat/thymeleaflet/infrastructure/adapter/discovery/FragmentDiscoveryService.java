@@ -6,8 +6,14 @@ import io.github.wamukat.thymeleaflet.domain.service.FragmentReferenceAttributes
 import io.github.wamukat.thymeleaflet.domain.service.ParserDiagnostic;
 import io.github.wamukat.thymeleaflet.domain.service.StructuredTemplateParser;
 import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ThymeleafletExecutors;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.TemplateParseEvent;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ThymeleafletMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -32,6 +38,8 @@ public class FragmentDiscoveryService {
     private final StructuredTemplateParser structuredTemplateParser;
     private final FragmentExpressionParser fragmentExpressionParser;
     private final ThymeleafletCacheManager cacheManager;
+    private final ThymeleafletExecutors executors;
+    private final ThymeleafletMetrics metrics;
 
     public FragmentDiscoveryService(
         TemplateScanner templateScanner,
@@ -41,6 +49,53 @@ public class FragmentDiscoveryService {
         StructuredTemplateParser structuredTemplateParser,
         FragmentExpressionParser fragmentExpressionParser,
         ThymeleafletCacheManager cacheManager
+    ) {
+        this(
+            templateScanner,
+            fragmentDefinitionParser,
+            fragmentDomainService,
+            fragmentSignatureParser,
+            structuredTemplateParser,
+            fragmentExpressionParser,
+            cacheManager,
+            new ThymeleafletExecutors(ResolvedStorybookConfig.defaults())
+        );
+    }
+
+    public FragmentDiscoveryService(
+        TemplateScanner templateScanner,
+        FragmentDefinitionParser fragmentDefinitionParser,
+        FragmentDomainService fragmentDomainService,
+        FragmentSignatureParser fragmentSignatureParser,
+        StructuredTemplateParser structuredTemplateParser,
+        FragmentExpressionParser fragmentExpressionParser,
+        ThymeleafletCacheManager cacheManager,
+        ThymeleafletExecutors executors
+    ) {
+        this(
+            templateScanner,
+            fragmentDefinitionParser,
+            fragmentDomainService,
+            fragmentSignatureParser,
+            structuredTemplateParser,
+            fragmentExpressionParser,
+            cacheManager,
+            executors,
+            ThymeleafletMetrics.NOOP
+        );
+    }
+
+    @Autowired
+    public FragmentDiscoveryService(
+        TemplateScanner templateScanner,
+        FragmentDefinitionParser fragmentDefinitionParser,
+        FragmentDomainService fragmentDomainService,
+        FragmentSignatureParser fragmentSignatureParser,
+        StructuredTemplateParser structuredTemplateParser,
+        FragmentExpressionParser fragmentExpressionParser,
+        ThymeleafletCacheManager cacheManager,
+        ThymeleafletExecutors executors,
+        ThymeleafletMetrics metrics
     ) {
         this.templateScanner = Objects.requireNonNull(templateScanner, "templateScanner cannot be null");
         this.fragmentDefinitionParser =
@@ -53,48 +108,73 @@ public class FragmentDiscoveryService {
         this.fragmentExpressionParser =
             Objects.requireNonNull(fragmentExpressionParser, "fragmentExpressionParser cannot be null");
         this.cacheManager = Objects.requireNonNull(cacheManager, "cacheManager cannot be null");
+        this.executors = Objects.requireNonNull(executors, "executors cannot be null");
+        this.metrics = Objects.requireNonNull(metrics, "metrics cannot be null");
     }
     
     /**
      * テンプレートディレクトリから全フラグメントを発見
+     * 仮想スレッドモードではテンプレートごとの解析を並行に行う（結果の順序は変わらない）。
      */
     public List<FragmentInfo> discoverFragments() {
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.CATALOG)) {
+            return scanFragments();
+        }
+    }
+
+    private List<FragmentInfo> scanFragments() {
         logger.debug("[DEBUG_FRAGMENT_PARAMS] Starting fragment discovery process");
         Optional<List<FragmentInfo>> cached = cacheManager.get("fragment-discovery", "all");
+        ServerTimingRecorder.countCacheLookup(cached.isPresent());
         if (cached.isPresent()) {
             return cached.orElseThrow();
         }
+        long startNanos = System.nanoTime();
         List<FragmentInfo> fragments = new ArrayList<>();
-        
+        List<String> scannedTemplatePaths = new ArrayList<>();
+    
         try {
+            List<TemplateScanner.TemplateResource> applicationTemplates = new ArrayList<>();
             for (TemplateScanner.TemplateResource template : templateScanner.scanTemplates()) {
                 logger.debug("[DEBUG_FRAGMENT_PARAMS] Processing template: {} (URI: {})", template.templatePath(), template.uri());
+                scannedTemplatePaths.add(template.templatePath());
 
                 // Storybook自身のフラグメントは除外
                 if (template.templatePath().startsWith("thymeleaflet/")) {
                     logger.debug("[DEBUG_FRAGMENT_PARAMS] Skipping thymeleaflet internal template: {}", template.templatePath());
                     continue;
                 }
+                applicationTemplates.add(template);
+            }
 
-                List<FragmentInfo> templateFragments = parseFragmentsFromTemplate(template);
-                logger.debug("[DEBUG_FRAGMENT_PARAMS] Found {} fragments in template: {}", templateFragments.size(), template.templatePath());
+            for (List<FragmentInfo> templateFragments : executors.fanOut(applicationTemplates, this::timedParseFragmentsFromTemplate)) {
                 fragments.addAll(templateFragments);
             }
         } catch (IOException e) {
             logger.error("[DEBUG_FRAGMENT_PARAMS] Fragment discovery failed", e);
             throw new RuntimeException("フラグメント発見に失敗しました", e);
         }
-        
+    
             logger.debug("[DEBUG_FRAGMENT_PARAMS] Fragment discovery completed. Total fragments found: {}", fragments.size());
         for (FragmentInfo fragment : fragments) {
             logger.debug("[DEBUG_FRAGMENT_PARAMS] Final fragment: {}", fragment.toString());
         }
-        
+    
         List<FragmentInfo> immutableFragments = Collections.unmodifiableList(new ArrayList<>(fragments));
-        cacheManager.put("fragment-discovery", "all", immutableFragments);
+        cacheManager.put("fragment-discovery", "all", immutableFragments, scannedTemplatePaths);
+        metrics.recordDiscovery(System.nanoTime() - startNanos, scannedTemplatePaths.size(), immutableFragments.size());
         return immutableFragments;
     }
 
+    private List<FragmentInfo> timedParseFragmentsFromTemplate(TemplateScanner.TemplateResource template) {
+        long startNanos = System.nanoTime();
+        try {
+            return parseFragmentsFromTemplate(template);
+        } finally {
+            metrics.recordTemplateParse(System.nanoTime() - startNanos);
+        }
+    }
+
     public List<ParserDiagnostic> findTemplateParserDiagnostics(String templatePath) {
         try {
             for (TemplateScanner.TemplateResource template : templateScanner.scanTemplates()) {
@@ -110,8 +190,11 @@ public class FragmentDiscoveryService {
     }
 
     private List<ParserDiagnostic> parserDiagnostics(String templatePath, String templateContent) {
+        ServerTimingRecorder.count(ServerTimingRecorder.Counter.PARSE);
+        TemplateParseEvent parseEvent = TemplateParseEvent.start();
         StructuredTemplateParser.TemplateParseResult parseResult =
             structuredTemplateParser.parseWithDiagnostics(templateContent);
+        parseEvent.finish(templatePath, "diagnostics", templateContent, parseResult.parsedTemplate().elements().size());
         List<ParserDiagnostic> diagnostics = new ArrayList<>(parseResult.diagnostics());
         for (StructuredTemplateParser.TemplateElement element : parseResult.parsedTemplate().elements()) {
             for (StructuredTemplateParser.TemplateAttribute attribute : element.attributes()) {
@@ -158,8 +241,10 @@ public class FragmentDiscoveryService {
             template.templatePath(),
             template.content()
         )) {
-            analyzeFragment(definition.templatePath(), definition.definition()).ifPresent(fragments::add);
+            analyzeFragment(definition.templatePath(), definition.definition(), template.content())
+                .ifPresent(fragments::add);
         }
+        logger.debug("[DEBUG_FRAGMENT_PARAMS] Found {} fragments in template: {}", fragments.size(), template.templatePath());
         
         return fragments;
     }
@@ -167,7 +252,7 @@ public class FragmentDiscoveryService {
     /**
      * フラグメント定義を解析してFragmentInfoを作成
      */
-    private Optional<FragmentInfo> analyzeFragment(String templatePath, String fragmentDefinition) {
+    private Optional<FragmentInfo> analyzeFragment(String templatePath, String fragmentDefinition, String templateContent) {
         logger.debug("[DEBUG_FRAGMENT_PARAMS] Analyzing fragment: template={}, definition={}", templatePath, fragmentDefinition);
 
         FragmentSignatureParser.ParseResult parseResult = fragmentSignatureParser.parse(fragmentDefinition);
@@ -177,17 +262,21 @@ public class FragmentDiscoveryService {
             logger.debug("[DEBUG_FRAGMENT_PARAMS] Parsed by FragmentSignatureParser: name={}, parameters={}", fragmentName, parameters);
 
             FragmentDomainService.FragmentType type = fragmentDomainService.determineFragmentType(templatePath, fragmentName, parameters);
+            FragmentDomainService.RenderPipeline renderPipeline =
+                fragmentDomainService.determineRenderPipeline(parameters, templateContent);
 
             FragmentInfo fragmentInfo = new FragmentInfo(
                 templatePath,
                 fragmentName,
                 parameters,
                 type,
-                fragmentDefinition
+                fragmentDefinition,
+                SignatureDiagnostic.none(),
+                renderPipeline
             );
 
-            logger.debug("[DEBUG_FRAGMENT_PARAMS] Created FragmentInfo: path={}, name={}, params={}, type={}",
-                templatePath, fragmentName, parameters, type);
+            logger.debug("[DEBUG_FRAGMENT_PARAMS] Created FragmentInfo: path={}, name={}, params={}, type={}, pipeline={}",
+                templatePath, fragmentName, parameters, type, renderPipeline);
             return Optional.of(fragmentInfo);
         }
 
@@ -231,6 +320,7 @@ public class FragmentDiscoveryService {
         private final FragmentDomainService.FragmentType type;
         private final String originalDefinition;
         private final SignatureDiagnostic signatureDiagnostic;
+        private final FragmentDomainService.RenderPipeline renderPipeline;
         
         public FragmentInfo(String templatePath, String fragmentName, List<String> parameters, 
                            FragmentDomainService.FragmentType type, String originalDefinition) {
@@ -240,12 +330,21 @@ public class FragmentDiscoveryService {
         public FragmentInfo(String templatePath, String fragmentName, List<String> parameters,
                            FragmentDomainService.FragmentType type, String originalDefinition,
                            SignatureDiagnostic signatureDiagnostic) {
+            this(templatePath, fragmentName, parameters, type, originalDefinition, signatureDiagnostic,
+                FragmentDomainService.RenderPipeline.forParameters(parameters));
+        }
+
+        public FragmentInfo(String templatePath, String fragmentName, List<String> parameters,
+                           FragmentDomainService.FragmentType type, String originalDefinition,
+                           SignatureDiagnostic signatureDiagnostic,
+                           FragmentDomainService.RenderPipeline renderPipeline) {
             this.templatePath = templatePath;
             this.fragmentName = fragmentName;
             this.parameters = Collections.unmodifiableList(parameters);
             this.type = type;
             this.originalDefinition = originalDefinition;
             this.signatureDiagnostic = signatureDiagnostic;
+            this.renderPipeline = renderPipeline;
         }
         
         // Getters
@@ -255,6 +354,7 @@ public class FragmentDiscoveryService {
         public FragmentDomainService.FragmentType getType() { return type; }
         public String getOriginalDefinition() { return originalDefinition; }
         public SignatureDiagnostic getSignatureDiagnostic() { return signatureDiagnostic; }
+        public FragmentDomainService.RenderPipeline getRenderPipeline() { return renderPipeline; }
         public boolean hasSignatureDiagnostic() { return !signatureDiagnostic.isNone(); }
 
         @Override
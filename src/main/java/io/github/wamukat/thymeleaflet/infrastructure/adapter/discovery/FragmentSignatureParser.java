@@ -1,5 +1,6 @@
 package io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery;
 
+import io.github.wamukat.thymeleaflet.domain.service.ParseResultCache;
 import io.github.wamukat.thymeleaflet.domain.service.ParserDiagnostic;
 import org.thymeleaf.standard.expression.FragmentSignature;
 import org.thymeleaf.standard.expression.FragmentSignatureUtils;
@@ -16,9 +17,24 @@ import java.util.Set;
 public class FragmentSignatureParser {
 
     private static final Method INTERNAL_PARSE_METHOD = loadInternalParseMethod();
+    private static final int CACHE_MAXIMUM_SIZE = 4096;
+    private static final ParseResultCache<String, ParseResult> PARSE_CACHE =
+        new ParseResultCache<>("fragment-signature", CACHE_MAXIMUM_SIZE);
 
     public ParseResult parse(String definition) {
         Objects.requireNonNull(definition, "definition cannot be null");
+        return PARSE_CACHE.get(definition, this::parseUncached);
+    }
+
+    public static ParseResultCache.Stats cacheStats() {
+        return PARSE_CACHE.stats();
+    }
+
+    public static void clearCache() {
+        PARSE_CACHE.clear();
+    }
+
+    private ParseResult parseUncached(String definition) {
         String input = definition.trim();
         if (input.isEmpty()) {
             return new ParseError(DiagnosticCode.INVALID_SIGNATURE, "fragment definition is empty");
@@ -1,12 +1,15 @@
 package io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ThymeleafletExecutors;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.TemplateScanEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
@@ -18,34 +21,71 @@ public class TemplateScanner {
 
     private final ResolvedStorybookConfig storybookConfig;
     private final ResourcePatternResolver resourceResolver;
+    private final ThymeleafletExecutors executors;
 
     @Autowired
-    public TemplateScanner(ResolvedStorybookConfig storybookConfig) {
-        this(storybookConfig, new PathMatchingResourcePatternResolver());
+    public TemplateScanner(ResolvedStorybookConfig storybookConfig, ThymeleafletExecutors executors) {
+        this(storybookConfig, new PathMatchingResourcePatternResolver(), executors);
     }
 
     TemplateScanner(ResolvedStorybookConfig storybookConfig, ResourcePatternResolver resourceResolver) {
+        this(storybookConfig, resourceResolver, new ThymeleafletExecutors(ResolvedStorybookConfig.defaults()));
+    }
+
+    TemplateScanner(
+        ResolvedStorybookConfig storybookConfig,
+        ResourcePatternResolver resourceResolver,
+        ThymeleafletExecutors executors
+    ) {
         this.storybookConfig = Objects.requireNonNull(storybookConfig, "storybookConfig cannot be null");
         this.resourceResolver = Objects.requireNonNull(resourceResolver, "resourceResolver cannot be null");
+        this.executors = Objects.requireNonNull(executors, "executors cannot be null");
     }
 
+    /**
+     * 設定されたテンプレートパス配下の HTML を読み込む。
+     * 仮想スレッドモードではリソースごとの読み込みを並行に行う（結果の順序は変わらない）。
+     */
     public List<TemplateResource> scanTemplates() throws IOException {
-        List<TemplateResource> templates = new ArrayList<>();
-        for (String templatePath : storybookConfig.getResources().getTemplatePaths()) {
+        TemplateScanEvent event = TemplateScanEvent.start();
+        List<String> templatePaths = storybookConfig.getResources().getTemplatePaths();
+        List<Resource> resources = new ArrayList<>();
+        for (String templatePath : templatePaths) {
             String searchPattern = "classpath:" + templatePath + "**/*.html";
-            Resource[] resources = resourceResolver.getResources(searchPattern);
-
-            for (Resource resource : resources) {
-                String resourceUri = resource.getURI().toString();
-                String relativeTemplatePath = extractTemplatePath(resourceUri);
-                String content;
-                try (var inputStream = resource.getInputStream()) {
-                    content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            resources.addAll(List.of(resourceResolver.getResources(searchPattern)));
+        }
+        try {
+            List<TemplateResource> templates = List.copyOf(executors.fanOut(resources, this::readTemplate));
+            if (event.shouldCommit()) {
+                long bytes = 0;
+                for (TemplateResource template : templates) {
+                    bytes += template.contentBytes();
                 }
-                templates.add(new TemplateResource(relativeTemplatePath, content, resourceUri));
+                event.finish(String.join(",", templatePaths), templates.size(), bytes);
             }
+            return templates;
+        } catch (UncheckedIOException readFailure) {
+            throw readFailure.getCause();
+        }
+    }
+
+    private TemplateResource readTemplate(Resource resource) {
+        try {
+            String resourceUri = resource.getURI().toString();
+            String relativeTemplatePath = extractTemplatePath(resourceUri);
+            byte[] bytes;
+            try (var inputStream = resource.getInputStream()) {
+                bytes = inputStream.readAllBytes();
+            }
+            return new TemplateResource(
+                relativeTemplatePath,
+                new String(bytes, StandardCharsets.UTF_8),
+                resourceUri,
+                bytes.length
+            );
+        } catch (IOException readFailure) {
+            throw new UncheckedIOException(readFailure);
         }
-        return List.copyOf(templates);
     }
 
     private String extractTemplatePath(String resourceUri) {
@@ -65,11 +105,18 @@ public class TemplateScanner {
         return resourceUri;
     }
 
-    public record TemplateResource(String templatePath, String content, String uri) {
+    /**
+     * 読み込んだテンプレート。{@code contentBytes} は読み込んだリソースのバイト数。
+     */
+    public record TemplateResource(String templatePath, String content, String uri, long contentBytes) {
         public TemplateResource {
             templatePath = templatePath.trim();
             content = Objects.requireNonNull(content, "content cannot be null");
             uri = Objects.requireNonNull(uri, "uri cannot be null");
         }
+
+        public TemplateResource(String templatePath, String content, String uri) {
+            this(templatePath, content, uri, content.getBytes(StandardCharsets.UTF_8).length);
+        }
     }
 }
@@ -1,6 +1,9 @@
 package io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation;
 
+import io.github.wamukat.thymeleaflet.domain.service.FragmentExpressionParser;
+import io.github.wamukat.thymeleaflet.domain.service.ParserDiagnostic;
 import io.github.wamukat.thymeleaflet.domain.service.StructuredTemplateParser;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -20,11 +23,20 @@ public class JavaDocAnalyzer {
     private final JavaDocExampleParser exampleParser;
 
     public JavaDocAnalyzer() {
-        this(new StructuredTemplateParser());
+        this(new StructuredTemplateParser(), new FragmentExpressionParser());
     }
 
     JavaDocAnalyzer(StructuredTemplateParser templateParser) {
-        this(new JavaDocCommentBlockExtractor(), new JavaDocTagParser(), new JavaDocExampleParser(templateParser));
+        this(templateParser, new FragmentExpressionParser());
+    }
+
+    @Autowired
+    public JavaDocAnalyzer(StructuredTemplateParser templateParser, FragmentExpressionParser fragmentExpressionParser) {
+        this(
+            new JavaDocCommentBlockExtractor(),
+            new JavaDocTagParser(),
+            new JavaDocExampleParser(templateParser, fragmentExpressionParser)
+        );
     }
 
     JavaDocAnalyzer(
@@ -45,26 +57,48 @@ public class JavaDocAnalyzer {
     }
 
     public List<JavaDocInfo> analyzeJavaDocFromHtml(String htmlContent, String currentTemplatePath) {
+        return new ArrayList<>(analyzeJavaDocWithDiagnostics(htmlContent, currentTemplatePath).javaDocs());
+    }
+
+    /**
+     * HTMLテンプレートからJavaDocコメントを解析し、@example の解析診断も併せて返す
+     */
+    public JavaDocAnalysis analyzeJavaDocWithDiagnostics(String htmlContent, String currentTemplatePath) {
         Objects.requireNonNull(htmlContent, "htmlContent cannot be null");
         List<JavaDocInfo> docInfoList = new ArrayList<>();
+        List<ParserDiagnostic> exampleDiagnostics = new ArrayList<>();
 
         if (htmlContent.trim().isEmpty()) {
-            return docInfoList;
+            return new JavaDocAnalysis(docInfoList, exampleDiagnostics);
         }
 
         for (String javadocContent : commentBlockExtractor.extract(htmlContent)) {
-            JavaDocTagParser.ParsedTags parsedTags = tagParser.parse(javadocContent);
+            List<String> javadocLines = JavaDocLineLexer.lines(javadocContent);
+            JavaDocTagParser.ParsedTags parsedTags = tagParser.parse(javadocLines);
+            JavaDocExampleParser.ExampleParseResult examples =
+                exampleParser.parseWithDiagnostics(javadocLines, currentTemplatePath);
+            exampleDiagnostics.addAll(examples.diagnostics());
             docInfoList.add(JavaDocInfo.of(
                 parsedTags.description(),
                 parsedTags.parameters(),
                 parsedTags.models(),
                 parsedTags.fragmentName(),
-                exampleParser.parse(javadocContent, currentTemplatePath),
+                examples.examples(),
                 parsedTags.backgroundColor()
             ));
         }
 
-        return docInfoList;
+        return new JavaDocAnalysis(docInfoList, exampleDiagnostics);
+    }
+
+    /**
+     * テンプレート単位のJavaDoc解析結果
+     */
+    public record JavaDocAnalysis(List<JavaDocInfo> javaDocs, List<ParserDiagnostic> exampleDiagnostics) {
+        public JavaDocAnalysis {
+            javaDocs = List.copyOf(javaDocs);
+            exampleDiagnostics = List.copyOf(exampleDiagnostics);
+        }
     }
     
     /**
@@ -2,22 +2,128 @@ package io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+/**
+ * HTMLコメント内のJavaDocブロック本文を抽出する。
+ *
+ * 従来の正規表現 {@code <!--[^>]*?/\*\*([\s\S]*?)\*&#47;[^<]*?-->} と同じ一致結果を、
+ * バックトラックなしの前方走査で求める。閉じられていないブロックが後続コメントの終端まで
+ * 伸びる挙動も正規表現と同一に保つため、パース済みのコメントノードではなく生のHTMLを走査する。
+ */
 final class JavaDocCommentBlockExtractor {
 
-    private static final Pattern JAVADOC_PATTERN = Pattern.compile(
-        "<!--[^>]*?/\\*\\*([\\s\\S]*?)\\*/[^<]*?-->",
-        Pattern.MULTILINE | Pattern.DOTALL
-    );
+    private static final String COMMENT_OPEN = "<!--";
+    private static final String COMMENT_CLOSE = "-->";
+    private static final String JAVADOC_OPEN = "/**";
+    private static final String JAVADOC_CLOSE = "*/";
 
     List<String> extract(String htmlContent) {
         List<String> blocks = new ArrayList<>();
-        Matcher javadocMatcher = JAVADOC_PATTERN.matcher(htmlContent);
-        while (javadocMatcher.find()) {
-            blocks.add(javadocMatcher.group(1));
+        BlockScanner scanner = new BlockScanner(htmlContent);
+        int searchFrom = 0;
+        int commentStart;
+        while ((commentStart = scanner.commentOpen.from(searchFrom)) >= 0) {
+            int matchEnd = scanner.matchAt(commentStart, blocks);
+            searchFrom = matchEnd >= 0 ? matchEnd : commentStart + 1;
         }
         return blocks;
     }
+
+    /**
+     * 1つの入力に対する走査状態。各検索は単調に前進するため、直前の結果を再利用して全体を線形時間に保つ。
+     */
+    private static final class BlockScanner {
+        private final String source;
+        private final ForwardSearch commentOpen;
+        private final ForwardSearch commentClose;
+        private final ForwardSearch javadocOpen;
+        private final ForwardSearch javadocClose;
+        private final ForwardSearch tagOpen;
+        private final ForwardSearch tagClose;
+        private int closeQueriedFrom = Integer.MAX_VALUE;
+        private int closeFound = ForwardSearch.NOT_FOUND;
+
+        private BlockScanner(String source) {
+            this.source = source;
+            this.commentOpen = new ForwardSearch(source, COMMENT_OPEN);
+            this.commentClose = new ForwardSearch(source, COMMENT_CLOSE);
+            this.javadocOpen = new ForwardSearch(source, JAVADOC_OPEN);
+            this.javadocClose = new ForwardSearch(source, JAVADOC_CLOSE);
+            this.tagOpen = new ForwardSearch(source, "<");
+            this.tagClose = new ForwardSearch(source, ">");
+        }
+
+        /**
+         * {@code commentStart} から始まる一致を探し、見つかればブロック本文を追加して一致終端を返す。
+         */
+        private int matchAt(int commentStart, List<String> blocks) {
+            int bodyStart = commentStart + COMMENT_OPEN.length();
+            int blockOpen = javadocOpen.from(bodyStart);
+            if (blockOpen < 0) {
+                return ForwardSearch.NOT_FOUND;
+            }
+            int tagEnd = tagClose.from(bodyStart);
+            if (tagEnd >= 0 && tagEnd < blockOpen) {
+                return ForwardSearch.NOT_FOUND;
+            }
+            int contentStart = blockOpen + JAVADOC_OPEN.length();
+            int blockClose = closingBefore(contentStart);
+            if (blockClose < 0) {
+                return ForwardSearch.NOT_FOUND;
+            }
+            blocks.add(source.substring(contentStart, blockClose));
+            return commentClose.from(blockClose + JAVADOC_CLOSE.length()) + COMMENT_CLOSE.length();
+        }
+
+        /**
+         * 位置以降で最初の、後続に {@code <} を挟まず {@code -->} が続くブロック終端。
+         */
+        private int closingBefore(int position) {
+            if (position >= closeQueriedFrom && (closeFound < 0 || position <= closeFound)) {
+                return closeFound;
+            }
+            closeQueriedFrom = position;
+            int candidate = javadocClose.from(position);
+            while (candidate >= 0 && !closesComment(candidate + JAVADOC_CLOSE.length())) {
+                candidate = javadocClose.from(candidate + 1);
+            }
+            closeFound = candidate;
+            return candidate;
+        }
+
+        private boolean closesComment(int position) {
+            int commentEnd = commentClose.from(position);
+            if (commentEnd < 0) {
+                return false;
+            }
+            int nextTag = tagOpen.from(position);
+            return nextTag < 0 || nextTag >= commentEnd;
+        }
+    }
+
+    /**
+     * 固定文字列の前方検索。前回の検索範囲内の問い合わせは再走査しない。
+     */
+    private static final class ForwardSearch {
+        private static final int NOT_FOUND = -1;
+
+        private final String source;
+        private final String needle;
+        private int queriedFrom = Integer.MAX_VALUE;
+        private int found = NOT_FOUND;
+
+        private ForwardSearch(String source, String needle) {
+            this.source = source;
+            this.needle = needle;
+        }
+
+        private int from(int position) {
+            if (position >= queriedFrom && (found < 0 || position <= found)) {
+                return found;
+            }
+            queriedFrom = position;
+            found = source.indexOf(needle, position);
+            return found;
+        }
+    }
 }
@@ -3,18 +3,21 @@ package io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResourcePathValidator;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
 import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * JavaDoc解析用のテンプレート読み込みと解析を集約するサービス。
+ *
+ * JavaDoc情報と型情報は {@link TemplateDocumentation} としてテンプレートごとに1回だけ解析・キャッシュする。
  */
 @Component
 public class JavaDocContentService {
@@ -22,6 +25,7 @@ public class JavaDocContentService {
     private static final Logger logger = LoggerFactory.getLogger(JavaDocContentService.class);
 
     private final JavaDocAnalyzer javaDocAnalyzer;
+    private final TypeInformationExtractor typeInformationExtractor;
     private final ResolvedStorybookConfig storybookConfig;
     private final ResourcePathValidator resourcePathValidator;
     private final ThymeleafletCacheManager cacheManager;
@@ -30,7 +34,17 @@ public class JavaDocContentService {
                                  ResolvedStorybookConfig storybookConfig,
                                  ResourcePathValidator resourcePathValidator,
                                  ThymeleafletCacheManager cacheManager) {
+        this(javaDocAnalyzer, new TypeInformationExtractor(javaDocAnalyzer), storybookConfig, resourcePathValidator, cacheManager);
+    }
+
+    @Autowired
+    public JavaDocContentService(JavaDocAnalyzer javaDocAnalyzer,
+                                 TypeInformationExtractor typeInformationExtractor,
+                                 ResolvedStorybookConfig storybookConfig,
+                                 ResourcePathValidator resourcePathValidator,
+                                 ThymeleafletCacheManager cacheManager) {
         this.javaDocAnalyzer = javaDocAnalyzer;
+        this.typeInformationExtractor = typeInformationExtractor;
         this.storybookConfig = storybookConfig;
         this.resourcePathValidator = resourcePathValidator;
         this.cacheManager = cacheManager;
@@ -38,6 +52,7 @@ public class JavaDocContentService {
 
     public Optional<String> loadTemplateContent(String templatePath) {
         Optional<String> cached = cacheManager.get("template-content", templatePath);
+        ServerTimingRecorder.countCacheLookup(cached.isPresent());
         if (cached.isPresent()) {
             return cached;
         }
@@ -53,7 +68,7 @@ public class JavaDocContentService {
             }
 
             String content = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            cacheManager.put("template-content", templatePath, content);
+            cacheManager.put("template-content", templatePath, content, List.of(templatePath));
             return Optional.of(content);
         } catch (Exception e) {
             logger.warn("Failed to read template content for {}: {}", templatePath, e.getMessage());
@@ -62,23 +77,43 @@ public class JavaDocContentService {
     }
 
     public List<JavaDocAnalyzer.JavaDocInfo> loadJavaDocInfos(String templatePath) {
-        Optional<List<JavaDocAnalyzer.JavaDocInfo>> cached = cacheManager.get("javadocs", templatePath);
+        return loadDocumentation(templatePath).getJavaDocs();
+    }
+
+    /**
+     * テンプレートのドキュメントモデルを取得する。JavaDoc解析と型情報抽出はキャッシュミス時に1回だけ行う。
+     */
+    public TemplateDocumentation loadDocumentation(String templatePath) {
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.JAVADOC)) {
+            return readDocumentation(templatePath);
+        }
+    }
+
+    private TemplateDocumentation readDocumentation(String templatePath) {
+        Optional<TemplateDocumentation> cached = cacheManager.get("template-documentation", templatePath);
+        ServerTimingRecorder.countCacheLookup(cached.isPresent());
         if (cached.isPresent()) {
             return cached.orElseThrow();
         }
         Optional<String> htmlContent = loadTemplateContent(templatePath);
         if (htmlContent.isEmpty() || htmlContent.get().isBlank()) {
-            return Collections.emptyList();
+            return TemplateDocumentation.empty(templatePath);
         }
 
         try {
-            List<JavaDocAnalyzer.JavaDocInfo> docs =
-                javaDocAnalyzer.analyzeJavaDocFromHtml(htmlContent.get(), templatePath);
-            cacheManager.put("javadocs", templatePath, docs);
-            return docs;
+            JavaDocAnalyzer.JavaDocAnalysis analysis =
+                javaDocAnalyzer.analyzeJavaDocWithDiagnostics(htmlContent.get(), templatePath);
+            TemplateDocumentation documentation = TemplateDocumentation.of(
+                templatePath,
+                analysis.javaDocs(),
+                typeInformationExtractor.extractTypeInformation(analysis.javaDocs()),
+                analysis.exampleDiagnostics()
+            );
+            cacheManager.put("template-documentation", templatePath, documentation, List.of(templatePath));
+            return documentation;
         } catch (Exception e) {
             logger.warn("Failed to analyze JavaDoc for {}: {}", templatePath, e.getMessage());
-            return Collections.emptyList();
+            return TemplateDocumentation.empty(templatePath);
         }
     }
 }
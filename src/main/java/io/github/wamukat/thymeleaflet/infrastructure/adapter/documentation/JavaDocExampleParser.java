@@ -21,8 +21,13 @@ final class JavaDocExampleParser {
     private final FragmentExpressionParser fragmentExpressionParser;
 
     JavaDocExampleParser(StructuredTemplateParser templateParser) {
+        this(templateParser, new FragmentExpressionParser());
+    }
+
+    JavaDocExampleParser(StructuredTemplateParser templateParser, FragmentExpressionParser fragmentExpressionParser) {
         this.templateParser = Objects.requireNonNull(templateParser, "templateParser cannot be null");
-        this.fragmentExpressionParser = new FragmentExpressionParser();
+        this.fragmentExpressionParser =
+            Objects.requireNonNull(fragmentExpressionParser, "fragmentExpressionParser cannot be null");
     }
 
     List<JavaDocAnalyzer.ExampleInfo> parse(String javadocContent) {
@@ -38,10 +43,14 @@ final class JavaDocExampleParser {
     }
 
     ExampleParseResult parseWithDiagnostics(String javadocContent, @Nullable String currentTemplatePath) {
+        return parseWithDiagnostics(JavaDocLineLexer.lines(javadocContent), currentTemplatePath);
+    }
+
+    ExampleParseResult parseWithDiagnostics(List<String> javadocLines, @Nullable String currentTemplatePath) {
         List<JavaDocAnalyzer.ExampleInfo> examples = new ArrayList<>();
         List<ParserDiagnostic> diagnostics = new ArrayList<>();
 
-        for (String exampleMarkup : extractExampleMarkup(javadocContent)) {
+        for (String exampleMarkup : extractExampleMarkup(javadocLines)) {
             StructuredTemplateParser.TemplateParseResult parseResult = parseExampleMarkup(exampleMarkup);
             diagnostics.addAll(parseResult.diagnostics());
             StructuredTemplateParser.ParsedTemplate parsedTemplate = parseResult.parsedTemplate();
@@ -64,14 +73,11 @@ final class JavaDocExampleParser {
         return new ExampleParseResult(examples, diagnostics);
     }
 
-    private List<String> extractExampleMarkup(String javadocContent) {
+    private List<String> extractExampleMarkup(List<String> javadocLines) {
         List<String> examples = new ArrayList<>();
         StringBuilder currentExample = new StringBuilder();
         boolean collectingExample = false;
-        String[] lines = javadocContent.split("\n");
-        for (String rawLine : lines) {
-            String line = normalizeJavadocLine(rawLine);
-
+        for (String line : javadocLines) {
             if (line.startsWith("@example")) {
                 addExampleIfPresent(examples, currentExample);
                 currentExample.setLength(0);
@@ -96,14 +102,6 @@ final class JavaDocExampleParser {
         return examples;
     }
 
-    private String normalizeJavadocLine(String rawLine) {
-        String line = rawLine.trim();
-        if (line.startsWith("*")) {
-            return line.substring(1).trim();
-        }
-        return line;
-    }
-
     private void appendMarkupLine(StringBuilder exampleMarkup, String line) {
         if (line.isBlank()) {
             return;
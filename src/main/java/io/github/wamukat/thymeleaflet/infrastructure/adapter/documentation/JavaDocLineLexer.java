@@ -0,0 +1,56 @@
+package io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JavaDocブロック本文を行に分解する単一走査レキサー。
+ *
+ * 各行は前後の空白と先頭の {@code *} を取り除いた形で返す。タグ解析と {@code @example} 解析は
+ * 同じ行リストを共有し、ブロックごとに1回だけ分解する。
+ */
+final class JavaDocLineLexer {
+
+    private JavaDocLineLexer() {
+    }
+
+    static List<String> lines(String javadocContent) {
+        List<String> lines = new ArrayList<>();
+        int length = javadocContent.length();
+        int lineStart = 0;
+        while (lineStart <= length) {
+            int lineEnd = javadocContent.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            lines.add(normalizeLine(javadocContent, lineStart, lineEnd));
+            lineStart = lineEnd + 1;
+        }
+        return lines;
+    }
+
+    private static String normalizeLine(String source, int start, int end) {
+        int from = skipLeadingWhitespace(source, start, end);
+        int to = skipTrailingWhitespace(source, from, end);
+        if (from < to && source.charAt(from) == '*') {
+            from = skipLeadingWhitespace(source, from + 1, to);
+        }
+        return source.substring(from, to);
+    }
+
+    private static int skipLeadingWhitespace(String source, int start, int end) {
+        int index = start;
+        while (index < end && source.charAt(index) <= ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int skipTrailingWhitespace(String source, int start, int end) {
+        int index = end;
+        while (index > start && source.charAt(index - 1) <= ' ') {
+            index--;
+        }
+        return index;
+    }
+}
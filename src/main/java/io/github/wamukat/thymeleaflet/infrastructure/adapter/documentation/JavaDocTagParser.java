@@ -4,30 +4,25 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+/**
+ * JavaDocタグ（{@code @param}, {@code @model}, {@code @fragment}, {@code @background}, {@code values:}）の解析。
+ *
+ * 正規表現は使わず、行分解済みのブロックを手書きの走査で解析する。
+ * 空白の判定は従来の正規表現の {@code \s}（ASCII空白）と同じ文字集合を用いる。
+ */
 final class JavaDocTagParser {
 
-    private static final Pattern FRAGMENT_PATTERN = Pattern.compile(
-        "@fragment\\s+([A-Za-z_][\\w-]*)",
-        Pattern.MULTILINE
-    );
-
-    private static final Pattern BACKGROUND_PATTERN = Pattern.compile(
-        "@background\\s+(\\S+)",
-        Pattern.MULTILINE
-    );
-
-    private static final Pattern VALUES_PATTERN = Pattern.compile(
-        "[。.]?\\s*values:\\s*(.+?)(?=\\s*$)",
-        Pattern.MULTILINE
-    );
-
-    private static final Pattern VALUE_PATTERN = Pattern.compile("\"([^\"]+)\"");
+    private static final String FRAGMENT_TAG = "@fragment";
+    private static final String BACKGROUND_TAG = "@background";
+    private static final String VALUES_LABEL = "values:";
 
     ParsedTags parse(String javadocContent) {
-        List<String> lines = normalizeJavadocLines(javadocContent);
+        return parse(JavaDocLineLexer.lines(javadocContent));
+    }
+
+    ParsedTags parse(List<String> javadocLines) {
+        List<String> lines = normalizeJavadocLines(javadocLines);
         List<String> tagBlocks = collectTagBlocks(lines);
         return new ParsedTags(
             extractDescription(lines),
@@ -106,25 +101,92 @@ final class JavaDocTagParser {
     }
 
     private ParsedDescription parseDescriptionWithAllowedValues(String fullDescription) {
-        Matcher valuesMatcher = VALUES_PATTERN.matcher(fullDescription);
-        if (!valuesMatcher.find()) {
+        Optional<ValuesClause> valuesClause = findValuesClause(fullDescription);
+        if (valuesClause.isEmpty()) {
             return new ParsedDescription(normalizeDescription(fullDescription), Collections.emptyList());
         }
 
-        String valuesStr = valuesMatcher.group(1);
-        String description = fullDescription.substring(0, valuesMatcher.start()).trim();
+        String valuesStr = valuesClause.get().values();
+        String description = fullDescription.substring(0, valuesClause.get().start()).trim();
         return new ParsedDescription(normalizeDescription(description), parseAllowedValues(valuesStr));
     }
 
+    /**
+     * 最初の {@code values:} 句を探す。句の開始位置は直前の空白と句点（{@code 。}/{@code .}）1文字を含み、
+     * 値は行末の空白を除いた同一行の残り。
+     */
+    private Optional<ValuesClause> findValuesClause(String text) {
+        int label = text.indexOf(VALUES_LABEL);
+        while (label >= 0) {
+            Optional<String> values = valuesAfterLabel(text, label + VALUES_LABEL.length());
+            if (values.isPresent()) {
+                return Optional.of(new ValuesClause(clauseStart(text, label), values.get()));
+            }
+            label = text.indexOf(VALUES_LABEL, label + 1);
+        }
+        return Optional.empty();
+    }
+
+    private int clauseStart(String text, int label) {
+        int start = label;
+        while (start > 0 && isJavadocWhitespace(text.charAt(start - 1))) {
+            start--;
+        }
+        if (start > 0 && (text.charAt(start - 1) == '。' || text.charAt(start - 1) == '.')) {
+            start--;
+        }
+        return start;
+    }
+
+    private Optional<String> valuesAfterLabel(String text, int afterLabel) {
+        int valueStart = afterLabel;
+        while (valueStart < text.length() && isJavadocWhitespace(text.charAt(valueStart))) {
+            valueStart++;
+        }
+        for (int start = Math.min(valueStart, text.length() - 1); start >= afterLabel; start--) {
+            int end = start + 1;
+            while (end <= text.length() && !isLineTerminator(text.charAt(end - 1))) {
+                if (isAtLineEndIgnoringWhitespace(text, end)) {
+                    return Optional.of(text.substring(start, end));
+                }
+                if (end == text.length()) {
+                    break;
+                }
+                end++;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean isAtLineEndIgnoringWhitespace(String text, int position) {
+        int index = position;
+        while (index < text.length() && isJavadocWhitespace(text.charAt(index))) {
+            if (isLineTerminator(text.charAt(index))) {
+                return true;
+            }
+            index++;
+        }
+        return index == text.length() || isLineTerminator(text.charAt(index));
+    }
+
     private List<String> parseAllowedValues(String valuesStr) {
         if (valuesStr.trim().isEmpty()) {
             return Collections.emptyList();
         }
 
         List<String> values = new ArrayList<>();
-        Matcher valueMatcher = VALUE_PATTERN.matcher(valuesStr);
-        while (valueMatcher.find()) {
-            values.add(valueMatcher.group(1));
+        int open = valuesStr.indexOf('"');
+        while (open >= 0) {
+            int close = valuesStr.indexOf('"', open + 1);
+            if (close < 0) {
+                break;
+            }
+            if (close == open + 1) {
+                open = close;
+                continue;
+            }
+            values.add(valuesStr.substring(open + 1, close));
+            open = valuesStr.indexOf('"', close + 1);
         }
 
         return values;
@@ -132,9 +194,9 @@ final class JavaDocTagParser {
 
     private Optional<String> parseFragmentName(List<String> tagBlocks) {
         for (String tagBlock : tagBlocks) {
-            Matcher fragmentMatcher = FRAGMENT_PATTERN.matcher(tagBlock);
-            if (fragmentMatcher.find()) {
-                return Optional.of(fragmentMatcher.group(1));
+            Optional<String> fragmentName = findTagArgument(tagBlock, FRAGMENT_TAG, true);
+            if (fragmentName.isPresent()) {
+                return fragmentName;
             }
         }
         return Optional.empty();
@@ -142,14 +204,74 @@ final class JavaDocTagParser {
 
     private Optional<String> parseBackgroundColor(List<String> tagBlocks) {
         for (String tagBlock : tagBlocks) {
-            Matcher backgroundMatcher = BACKGROUND_PATTERN.matcher(tagBlock);
-            if (backgroundMatcher.find()) {
-                return Optional.of(backgroundMatcher.group(1));
+            Optional<String> backgroundColor = findTagArgument(tagBlock, BACKGROUND_TAG, false);
+            if (backgroundColor.isPresent()) {
+                return backgroundColor;
             }
         }
         return Optional.empty();
     }
 
+    /**
+     * ブロック内で最初に現れる「タグ + 空白 + 引数」の引数を返す。
+     * {@code identifier} の場合は {@code [A-Za-z_][A-Za-z0-9_-]*}、それ以外は空白までを引数とする。
+     */
+    private Optional<String> findTagArgument(String tagBlock, String tag, boolean identifier) {
+        int tagStart = tagBlock.indexOf(tag);
+        while (tagStart >= 0) {
+            int argumentStart = tagStart + tag.length();
+            while (argumentStart < tagBlock.length() && isJavadocWhitespace(tagBlock.charAt(argumentStart))) {
+                argumentStart++;
+            }
+            if (argumentStart > tagStart + tag.length() && argumentStart < tagBlock.length()) {
+                int argumentEnd = identifier
+                    ? identifierEnd(tagBlock, argumentStart)
+                    : nonWhitespaceEnd(tagBlock, argumentStart);
+                if (argumentEnd > argumentStart) {
+                    return Optional.of(tagBlock.substring(argumentStart, argumentEnd));
+                }
+            }
+            tagStart = tagBlock.indexOf(tag, tagStart + 1);
+        }
+        return Optional.empty();
+    }
+
+    private int identifierEnd(String text, int start) {
+        char first = text.charAt(start);
+        if (!(isAsciiLetter(first) || first == '_')) {
+            return start;
+        }
+        int end = start + 1;
+        while (end < text.length() && isIdentifierPart(text.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private int nonWhitespaceEnd(String text, int start) {
+        int end = start;
+        while (end < text.length() && !isJavadocWhitespace(text.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean isIdentifierPart(char ch) {
+        return isAsciiLetter(ch) || (ch >= '0' && ch <= '9') || ch == '_' || ch == '-';
+    }
+
+    private static boolean isAsciiLetter(char ch) {
+        return (ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z');
+    }
+
+    private static boolean isJavadocWhitespace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+
+    private static boolean isLineTerminator(char ch) {
+        return ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029';
+    }
+
     private String extractDescription(List<String> lines) {
         StringBuilder description = new StringBuilder();
 
@@ -198,27 +320,33 @@ final class JavaDocTagParser {
         }
     }
 
-    private List<String> normalizeJavadocLines(String javadocContent) {
-        List<String> lines = new ArrayList<>();
-        for (String rawLine : javadocContent.split("\n")) {
-            lines.add(normalizeJavadocLine(rawLine));
+    private List<String> normalizeJavadocLines(List<String> javadocLines) {
+        List<String> lines = new ArrayList<>(javadocLines.size());
+        for (String line : javadocLines) {
+            lines.add(line.equals("/") ? "" : line);
         }
         return lines;
     }
 
-    private String normalizeJavadocLine(String rawLine) {
-        String line = rawLine.trim();
-        if (line.startsWith("*")) {
-            line = line.substring(1).trim();
+    private String normalizeDescription(String description) {
+        StringBuilder normalized = new StringBuilder(description.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < description.length(); i++) {
+            char ch = description.charAt(i);
+            if (isJavadocWhitespace(ch)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(ch);
         }
-        if (line.equals("/")) {
-            return "";
+        if (pendingSpace) {
+            normalized.append(' ');
         }
-        return line;
-    }
-
-    private String normalizeDescription(String description) {
-        return description.replaceAll("\\s+", " ").trim();
+        return normalized.toString().trim();
     }
 
     record ParsedTags(
@@ -233,6 +361,9 @@ final class JavaDocTagParser {
     private record ParsedDescription(String description, List<String> allowedValues) {
     }
 
+    private record ValuesClause(int start, String values) {
+    }
+
     private record ParsedFieldTag(
         String identifier,
         String type,
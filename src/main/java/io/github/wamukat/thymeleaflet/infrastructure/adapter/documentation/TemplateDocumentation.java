@@ -0,0 +1,140 @@
+package io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation;
+
+import io.github.wamukat.thymeleaflet.domain.model.TypeInfo;
+import io.github.wamukat.thymeleaflet.domain.service.ParserDiagnostic;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * テンプレート単位のドキュメントモデル - 不変Value Object
+ *
+ * 1回のJavaDoc解析から得たJavaDoc情報・型情報・@example 診断をまとめて保持し、
+ * JavaDoc参照と型情報抽出の双方で共有する。
+ *
+ * フラグメント名からのJavaDoc参照は、文書順で最初に「@fragment 一致・@example 参照・説明文への名前の包含」の
+ * いずれかを満たすJavaDocを返す。@fragment と @example に現れる名前は構築時に解決済みの索引を持ち、
+ * 説明文照合用の小文字化も構築時に1回だけ行う。それ以外の名前の照合結果は上限付きで記憶する。
+ */
+public final class TemplateDocumentation {
+
+    private static final int MAX_MEMOIZED_LOOKUPS = 256;
+
+    private final String templatePath;
+    private final List<JavaDocAnalyzer.JavaDocInfo> javaDocs;
+    private final List<TypeInfo> typeInfos;
+    private final List<ParserDiagnostic> exampleDiagnostics;
+    private final List<String> lowerCaseDescriptions;
+    private final Map<String, Integer> firstDirectMatchByName;
+    private final Map<String, JavaDocAnalyzer.JavaDocInfo> javaDocsByFragmentName;
+    private final Map<String, Optional<JavaDocAnalyzer.JavaDocInfo>> memoizedLookups = new ConcurrentHashMap<>();
+
+    private TemplateDocumentation(
+        String templatePath,
+        List<JavaDocAnalyzer.JavaDocInfo> javaDocs,
+        List<TypeInfo> typeInfos,
+        List<ParserDiagnostic> exampleDiagnostics
+    ) {
+        this.templatePath = Objects.requireNonNull(templatePath, "templatePath cannot be null");
+        this.javaDocs = List.copyOf(javaDocs);
+        this.typeInfos = List.copyOf(typeInfos);
+        this.exampleDiagnostics = List.copyOf(exampleDiagnostics);
+        this.lowerCaseDescriptions = this.javaDocs.stream()
+            .map(javaDoc -> javaDoc.getDescription().toLowerCase(Locale.ROOT))
+            .toList();
+        this.firstDirectMatchByName = indexDirectMatches(this.javaDocs);
+        this.javaDocsByFragmentName = resolveDirectlyNamed();
+    }
+
+    public static TemplateDocumentation of(
+        String templatePath,
+        List<JavaDocAnalyzer.JavaDocInfo> javaDocs,
+        List<TypeInfo> typeInfos,
+        List<ParserDiagnostic> exampleDiagnostics
+    ) {
+        return new TemplateDocumentation(templatePath, javaDocs, typeInfos, exampleDiagnostics);
+    }
+
+    public static TemplateDocumentation empty(String templatePath) {
+        return new TemplateDocumentation(templatePath, List.of(), List.of(), List.of());
+    }
+
+    public String getTemplatePath() {
+        return templatePath;
+    }
+
+    public List<JavaDocAnalyzer.JavaDocInfo> getJavaDocs() {
+        return javaDocs;
+    }
+
+    public List<TypeInfo> getTypeInfos() {
+        return typeInfos;
+    }
+
+    public List<ParserDiagnostic> getExampleDiagnostics() {
+        return exampleDiagnostics;
+    }
+
+    /**
+     * フラグメント名に対応するJavaDocを返す（優先規則はクラス説明を参照）
+     */
+    public Optional<JavaDocAnalyzer.JavaDocInfo> findByFragmentName(String fragmentName) {
+        JavaDocAnalyzer.JavaDocInfo indexed = javaDocsByFragmentName.get(fragmentName);
+        if (indexed != null) {
+            return Optional.of(indexed);
+        }
+        if (javaDocs.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<JavaDocAnalyzer.JavaDocInfo> memoized = memoizedLookups.get(fragmentName);
+        if (memoized != null) {
+            return memoized;
+        }
+        Optional<JavaDocAnalyzer.JavaDocInfo> resolved = resolve(fragmentName);
+        if (memoizedLookups.size() < MAX_MEMOIZED_LOOKUPS) {
+            memoizedLookups.putIfAbsent(fragmentName, resolved);
+        }
+        return resolved;
+    }
+
+    private Optional<JavaDocAnalyzer.JavaDocInfo> resolve(String fragmentName) {
+        int directMatch = firstDirectMatchByName.getOrDefault(fragmentName, javaDocs.size());
+        String lowerCaseName = fragmentName.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < directMatch; i++) {
+            if (lowerCaseDescriptions.get(i).contains(lowerCaseName)) {
+                return Optional.of(javaDocs.get(i));
+            }
+        }
+        return directMatch < javaDocs.size() ? Optional.of(javaDocs.get(directMatch)) : Optional.empty();
+    }
+
+    private Map<String, JavaDocAnalyzer.JavaDocInfo> resolveDirectlyNamed() {
+        Map<String, JavaDocAnalyzer.JavaDocInfo> resolved = new LinkedHashMap<>();
+        for (String fragmentName : firstDirectMatchByName.keySet()) {
+            resolve(fragmentName).ifPresent(javaDoc -> resolved.put(fragmentName, javaDoc));
+        }
+        return Collections.unmodifiableMap(resolved);
+    }
+
+    /**
+     * @fragment 名と @example の参照フラグメント名ごとに、最初に一致するJavaDocの位置
+     */
+    private static Map<String, Integer> indexDirectMatches(List<JavaDocAnalyzer.JavaDocInfo> javaDocs) {
+        Map<String, Integer> index = new LinkedHashMap<>();
+        for (int i = 0; i < javaDocs.size(); i++) {
+            JavaDocAnalyzer.JavaDocInfo javaDoc = javaDocs.get(i);
+            int position = i;
+            javaDoc.getFragmentNameOptional().ifPresent(name -> index.putIfAbsent(name, position));
+            for (JavaDocAnalyzer.ExampleInfo example : javaDoc.getExamples()) {
+                index.putIfAbsent(example.getFragmentName(), position);
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+}
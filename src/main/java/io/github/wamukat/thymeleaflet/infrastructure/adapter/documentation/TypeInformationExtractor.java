@@ -44,25 +44,31 @@ public class TypeInformationExtractor {
     public List<TypeInfo> extractTypeInformationFromHtml(String htmlContent) {
         logger.debug("Starting type information extraction from HTML content");
         
-        List<TypeInfo> typeInfos = new ArrayList<>();
-        
         try {
             // JavaDoc解析結果から型情報を抽出
             List<JavaDocAnalyzer.JavaDocInfo> javadocInfos = javaDocAnalyzer.analyzeJavaDocFromHtml(htmlContent);
             logger.debug("Analyzed {} JavaDoc blocks for type extraction", javadocInfos.size());
-            
-            for (JavaDocAnalyzer.JavaDocInfo javadocInfo : javadocInfos) {
-                List<TypeInfo> extractedTypes = extractTypeInfoFromJavaDocAnalysis(javadocInfo);
-                typeInfos.addAll(extractedTypes);
-                logger.debug("Extracted {} type infos from JavaDoc: {}", extractedTypes.size(), javadocInfo.getDescription());
-            }
-            
-            logger.debug("Successfully extracted {} type infos from HTML content", typeInfos.size());
-            
+            return extractTypeInformation(javadocInfos);
         } catch (Exception e) {
             logger.error("Failed to extract type information from HTML: {}", e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * 解析済みのJavaDoc情報から型情報を抽出
+     * テンプレート単位のドキュメントモデル構築時に、HTMLを再解析せずに利用する
+     */
+    public List<TypeInfo> extractTypeInformation(List<JavaDocAnalyzer.JavaDocInfo> javadocInfos) {
+        List<TypeInfo> typeInfos = new ArrayList<>();
+        
+        for (JavaDocAnalyzer.JavaDocInfo javadocInfo : javadocInfos) {
+            List<TypeInfo> extractedTypes = extractTypeInfoFromJavaDocAnalysis(javadocInfo);
+            typeInfos.addAll(extractedTypes);
+            logger.debug("Extracted {} type infos from JavaDoc: {}", extractedTypes.size(), javadocInfo.getDescription());
         }
         
+        logger.debug("Successfully extracted {} type infos from JavaDoc", typeInfos.size());
         return typeInfos;
     }
 
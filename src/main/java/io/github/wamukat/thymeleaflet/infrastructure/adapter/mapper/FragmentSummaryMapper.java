@@ -31,7 +31,8 @@ public class FragmentSummaryMapper {
             fragmentInfo.getTemplatePath(),
             fragmentInfo.getFragmentName(),
             fragmentInfo.getParameters(),
-            fragmentInfo.getType()
+            fragmentInfo.getType(),
+            fragmentInfo.getRenderPipeline()
         );
     }
     
@@ -48,7 +49,9 @@ public class FragmentSummaryMapper {
             fragmentSummary.getFragmentName(),
             fragmentSummary.getParameters(),
             fragmentSummary.getType(),
-            signature
+            signature,
+            FragmentDiscoveryService.SignatureDiagnostic.none(),
+            fragmentSummary.getRenderPipeline()
         );
     }
 
@@ -4,8 +4,12 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.github.wamukat.thymeleaflet.domain.model.configuration.StoryConfiguration;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ThymeleafletMetrics;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.StoryLoadEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
@@ -28,6 +32,7 @@ public class YamlStoryConfigurationLoader {
 
     private final ResourceLoader resourceLoader;
     private final ObjectMapper yamlMapper;
+    private final ThymeleafletMetrics metrics;
 
     {
         yamlMapper = new ObjectMapper(new YAMLFactory());
@@ -37,7 +42,13 @@ public class YamlStoryConfigurationLoader {
     }
 
     public YamlStoryConfigurationLoader(ResourceLoader resourceLoader) {
+        this(resourceLoader, ThymeleafletMetrics.NOOP);
+    }
+
+    @Autowired
+    public YamlStoryConfigurationLoader(ResourceLoader resourceLoader, ThymeleafletMetrics metrics) {
         this.resourceLoader = resourceLoader;
+        this.metrics = metrics;
     }
 
     /**
@@ -45,19 +56,36 @@ public class YamlStoryConfigurationLoader {
      * Infrastructure技術的責任: ファイル読み込み・YAML解析のみ
      */
     public Optional<StoryConfiguration> loadStoryConfiguration(String templatePath) {
-        return loadStoryConfigurationWithDiagnostics(templatePath).configuration();
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.STORY)) {
+            return loadStoryConfigurationWithDiagnostics(templatePath).configuration();
+        }
     }
 
     /**
      * Story設定を読み込み、未定義fallbackと読み込み/解析失敗を区別できる結果を返す。
      */
     public StoryConfigurationLoadResult loadStoryConfigurationWithDiagnostics(String templatePath) {
+        long startNanos = System.nanoTime();
+        StoryLoadEvent event = StoryLoadEvent.start();
+        StoryConfigurationLoadResult result = readStoryConfiguration(templatePath, event);
+        ThymeleafletMetrics.StoryLoadOutcome outcome = switch (result.status()) {
+            case LOADED -> ThymeleafletMetrics.StoryLoadOutcome.LOADED;
+            case MISSING -> ThymeleafletMetrics.StoryLoadOutcome.MISSING;
+            case FAILED -> ThymeleafletMetrics.StoryLoadOutcome.FAILED;
+        };
+        metrics.recordStoryLoad(outcome, System.nanoTime() - startNanos);
+        event.finish(templatePath, outcome.tagValue());
+        return result;
+    }
+
+    private StoryConfigurationLoadResult readStoryConfiguration(String templatePath, StoryLoadEvent event) {
         if (templatePath.isBlank()) {
             logger.debug("Template path is empty");
             return StoryConfigurationLoadResult.missing("");
         }
 
         String storyFilePath = STORY_BASE_PATH + templatePath + ".stories.yml";
+        event.storyFile(storyFilePath);
         
         try {
             Resource resource = resourceLoader.getResource(storyFilePath);
@@ -67,7 +95,9 @@ public class YamlStoryConfigurationLoader {
             }
 
             try (InputStream inputStream = resource.getInputStream()) {
-                StoryConfiguration config = yamlMapper.readValue(inputStream, StoryConfiguration.class);
+                byte[] content = inputStream.readAllBytes();
+                event.bytes(content.length);
+                StoryConfiguration config = yamlMapper.readValue(content, StoryConfiguration.class);
 
                 Optional<StoryConfiguration> configuration = Optional.ofNullable(config);
                 if (configuration.isEmpty()) {
@@ -1,8 +1,15 @@
 package io.github.wamukat.thymeleaflet.infrastructure.cache;
 
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.CacheEvictionEvent;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.CacheLookupEvent;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.CacheOutcome;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.stereotype.Component;
 
@@ -13,12 +20,20 @@ import org.springframework.stereotype.Component;
  * auto-configuration also disables this cache when {@code spring.thymeleaf.cache=false} unless
  * {@code thymeleaflet.cache.enabled} is explicitly set, so DevTools-style template reloads reread
  * source resources by default.
+ *
+ * <p>Entries may record the template paths they were derived from. {@link #invalidateTemplates}
+ * evicts exactly the entries whose sources include a changed template, so a change to a shared
+ * component drops the cached data of every template that includes it and nothing else. Both are
+ * reachable through {@code POST {basePath}/api/cache/invalidate}.
  */
 @Component
 public class ThymeleafletCacheManager {
 
+    private static final String TEMPLATE_SUFFIX = ".html";
+
     private final ResolvedStorybookConfig storybookConfig;
     private final Map<String, Map<Object, Object>> caches = new ConcurrentHashMap<>();
+    private final Map<String, Set<EntryRef>> entriesBySourceTemplate = new ConcurrentHashMap<>();
 
     public ThymeleafletCacheManager(ResolvedStorybookConfig storybookConfig) {
         this.storybookConfig = storybookConfig;
@@ -30,28 +45,96 @@ public class ThymeleafletCacheManager {
 
     @SuppressWarnings("unchecked")
     public <V> Optional<V> get(String cacheName, Object key) {
+        CacheLookupEvent event = CacheLookupEvent.start();
         if (!isEnabled()) {
+            event.finish(cacheName, key, CacheOutcome.DISABLED);
             return Optional.empty();
         }
-        return Optional.ofNullable((V) cache(cacheName).get(key));
+        Optional<V> cached = Optional.ofNullable((V) cache(cacheName).get(key));
+        event.finish(cacheName, key, cached.isPresent() ? CacheOutcome.HIT : CacheOutcome.MISS);
+        return cached;
     }
 
     public void put(String cacheName, Object key, Object value) {
+        put(cacheName, key, value, List.of());
+    }
+
+    /**
+     * Stores a value and records the templates it was derived from.
+     */
+    public void put(String cacheName, Object key, Object value, Collection<String> sourceTemplatePaths) {
         if (!isEnabled()) {
             return;
         }
+        EntryRef entry = new EntryRef(cacheName, key);
+        for (String sourceTemplatePath : sourceTemplatePaths) {
+            entriesBySourceTemplate
+                .computeIfAbsent(normalizeTemplatePath(sourceTemplatePath), ignored -> ConcurrentHashMap.newKeySet())
+                .add(entry);
+        }
         cache(cacheName).put(key, value);
     }
 
+    /**
+     * Evicts every entry derived from any of the given templates.
+     *
+     * @return the evicted entries
+     */
+    public Set<EntryRef> invalidateTemplates(Collection<String> templatePaths) {
+        CacheEvictionEvent event = CacheEvictionEvent.start();
+        Set<EntryRef> evicted = new LinkedHashSet<>();
+        for (String templatePath : templatePaths) {
+            Set<EntryRef> entries = entriesBySourceTemplate.remove(normalizeTemplatePath(templatePath));
+            if (entries == null) {
+                continue;
+            }
+            for (EntryRef entry : entries) {
+                Map<Object, Object> cache = caches.get(entry.cacheName());
+                if (cache != null && cache.remove(entry.key()) != null) {
+                    evicted.add(entry);
+                }
+            }
+        }
+        event.finish("*", "template-change", templatePaths, evicted.size());
+        return evicted;
+    }
+
     public void clear(String cacheName) {
-        caches.remove(cacheName);
+        CacheEvictionEvent event = CacheEvictionEvent.start();
+        Map<Object, Object> removed = caches.remove(cacheName);
+        entriesBySourceTemplate.values().forEach(entries -> entries.removeIf(entry -> entry.cacheName().equals(cacheName)));
+        event.finish(cacheName, "clear", List.of(), removed == null ? 0 : removed.size());
     }
 
-    public void clearAll() {
+    /**
+     * Evicts every entry of every cache.
+     *
+     * @return the number of evicted entries
+     */
+    public int clearAll() {
+        CacheEvictionEvent event = CacheEvictionEvent.start();
+        int evictedEntries = caches.values().stream().mapToInt(Map::size).sum();
         caches.clear();
+        entriesBySourceTemplate.clear();
+        event.finish("*", "clear-all", List.of(), evictedEntries);
+        return evictedEntries;
     }
 
     private Map<Object, Object> cache(String cacheName) {
         return caches.computeIfAbsent(cacheName, ignored -> new ConcurrentHashMap<>());
     }
+
+    private static String normalizeTemplatePath(String templatePath) {
+        String normalized = templatePath.startsWith("/") ? templatePath.substring(1) : templatePath;
+        if (normalized.endsWith(TEMPLATE_SUFFIX)) {
+            normalized = normalized.substring(0, normalized.length() - TEMPLATE_SUFFIX.length());
+        }
+        return normalized;
+    }
+
+    /**
+     * Identifies one cache entry.
+     */
+    public record EntryRef(String cacheName, Object key) {
+    }
 }
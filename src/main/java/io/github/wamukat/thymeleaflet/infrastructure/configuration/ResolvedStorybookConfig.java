@@ -20,27 +20,46 @@ public final class ResolvedStorybookConfig {
 
     private final String basePath;
     private final boolean debug;
+    private final boolean virtualThreads;
     private final ResourceConfig resources;
     private final CacheConfig cache;
     private final PreviewConfig preview;
+    private final PreviewEngineConfig previewEngine;
+    private final BulkheadConfig bulkhead;
+    private final DiagnosticsConfig diagnostics;
     private final SecurityConfig security;
 
     private ResolvedStorybookConfig(
         String basePath,
         boolean debug,
+        boolean virtualThreads,
         ResourceConfig resources,
         CacheConfig cache,
         PreviewConfig preview,
+        PreviewEngineConfig previewEngine,
+        BulkheadConfig bulkhead,
+        DiagnosticsConfig diagnostics,
         SecurityConfig security
     ) {
         this.basePath = Objects.requireNonNull(basePath, "basePath cannot be null");
         this.debug = debug;
+        this.virtualThreads = virtualThreads;
         this.resources = Objects.requireNonNull(resources, "resources cannot be null");
         this.cache = Objects.requireNonNull(cache, "cache cannot be null");
         this.preview = Objects.requireNonNull(preview, "preview cannot be null");
+        this.previewEngine = Objects.requireNonNull(previewEngine, "previewEngine cannot be null");
+        this.bulkhead = Objects.requireNonNull(bulkhead, "bulkhead cannot be null");
+        this.diagnostics = Objects.requireNonNull(diagnostics, "diagnostics cannot be null");
         this.security = Objects.requireNonNull(security, "security cannot be null");
     }
 
+    /**
+     * すべて既定値の設定。設定 Bean を受け取れない経路で使う。
+     */
+    public static ResolvedStorybookConfig defaults() {
+        return from(new StorybookProperties());
+    }
+
     public static ResolvedStorybookConfig from(StorybookProperties raw) {
         return from(raw, Optional.empty());
     }
@@ -61,6 +80,9 @@ public final class ResolvedStorybookConfig {
         StorybookProperties.ResourceConfig rawResources = raw.getResources();
         StorybookProperties.CacheConfig rawCache = raw.getCache();
         StorybookProperties.PreviewConfig rawPreview = raw.getPreview();
+        StorybookProperties.PreviewEngineConfig rawPreviewEngine = raw.getPreviewEngine();
+        StorybookProperties.BulkheadConfig rawBulkhead = raw.getBulkhead();
+        StorybookProperties.DiagnosticsConfig rawDiagnostics = raw.getDiagnostics();
         StorybookProperties.SecurityConfig rawSecurity = raw.getSecurity();
 
         ResourceConfig resources = ResourceConfig.from(
@@ -73,10 +95,30 @@ public final class ResolvedStorybookConfig {
         PreviewConfig preview = PreviewConfig.from(
             rawPreview != null ? rawPreview : new StorybookProperties.PreviewConfig()
         );
+        PreviewEngineConfig previewEngine = PreviewEngineConfig.from(
+            rawPreviewEngine != null ? rawPreviewEngine : new StorybookProperties.PreviewEngineConfig()
+        );
+        BulkheadConfig bulkhead = BulkheadConfig.from(
+            rawBulkhead != null ? rawBulkhead : new StorybookProperties.BulkheadConfig()
+        );
+        DiagnosticsConfig diagnostics = DiagnosticsConfig.from(
+            rawDiagnostics != null ? rawDiagnostics : new StorybookProperties.DiagnosticsConfig()
+        );
         SecurityConfig security = SecurityConfig.from(
             rawSecurity != null ? rawSecurity : new StorybookProperties.SecurityConfig()
         );
-        return new ResolvedStorybookConfig(basePath, raw.isDebug(), resources, cache, preview, security);
+        return new ResolvedStorybookConfig(
+            basePath,
+            raw.isDebug(),
+            raw.isVirtualThreads(),
+            resources,
+            cache,
+            preview,
+            previewEngine,
+            bulkhead,
+            diagnostics,
+            security
+        );
     }
 
     public String getBasePath() {
@@ -87,6 +129,10 @@ public final class ResolvedStorybookConfig {
         return debug;
     }
 
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
     public ResourceConfig getResources() {
         return resources;
     }
@@ -99,6 +145,18 @@ public final class ResolvedStorybookConfig {
         return preview;
     }
 
+    public PreviewEngineConfig getPreviewEngine() {
+        return previewEngine;
+    }
+
+    public BulkheadConfig getBulkhead() {
+        return bulkhead;
+    }
+
+    public DiagnosticsConfig getDiagnostics() {
+        return diagnostics;
+    }
+
     public SecurityConfig getSecurity() {
         return security;
     }
@@ -168,14 +226,27 @@ public final class ResolvedStorybookConfig {
     public static final class CacheConfig {
         private final boolean enabled;
         private final boolean preload;
+        private final boolean preloadEngine;
+        private final int preloadEngineParallelism;
 
-        private CacheConfig(boolean enabled, boolean preload) {
+        private CacheConfig(boolean enabled, boolean preload, boolean preloadEngine, int preloadEngineParallelism) {
             this.enabled = enabled;
             this.preload = preload;
+            this.preloadEngine = preloadEngine;
+            this.preloadEngineParallelism = preloadEngineParallelism;
         }
 
         private static CacheConfig from(StorybookProperties.CacheConfig source, Optional<Boolean> enabledOverride) {
-            return new CacheConfig(enabledOverride.orElse(source.isEnabled()), source.isPreload());
+            int preloadEngineParallelism = source.getPreloadEngineParallelism();
+            if (preloadEngineParallelism < 1 || preloadEngineParallelism > 32) {
+                throw new IllegalArgumentException("Engine preload parallelism must be between 1 and 32");
+            }
+            return new CacheConfig(
+                enabledOverride.orElse(source.isEnabled()),
+                source.isPreload(),
+                source.isPreloadEngine(),
+                preloadEngineParallelism
+            );
         }
 
         public boolean isEnabled() {
@@ -185,17 +256,50 @@ public final class ResolvedStorybookConfig {
         public boolean isPreload() {
             return preload;
         }
+
+        public boolean isPreloadEngine() {
+            return preloadEngine;
+        }
+
+        public int getPreloadEngineParallelism() {
+            return preloadEngineParallelism;
+        }
     }
 
     public static final class PreviewConfig {
         private final String backgroundLight;
         private final String backgroundDark;
         private final List<ViewportPreset> viewports;
-
-        private PreviewConfig(String backgroundLight, String backgroundDark, List<ViewportPreset> viewports) {
+        private final boolean streaming;
+        private final int batchMaxEntries;
+        private final int batchParallelism;
+        private final boolean coalesceRenders;
+        private final int renderDeadlineMillis;
+        private final int maxOutputCharacters;
+        private final int maxCollectionSize;
+
+        private PreviewConfig(
+            String backgroundLight,
+            String backgroundDark,
+            List<ViewportPreset> viewports,
+            boolean streaming,
+            int batchMaxEntries,
+            int batchParallelism,
+            boolean coalesceRenders,
+            int renderDeadlineMillis,
+            int maxOutputCharacters,
+            int maxCollectionSize
+        ) {
             this.backgroundLight = backgroundLight;
             this.backgroundDark = backgroundDark;
             this.viewports = List.copyOf(viewports);
+            this.streaming = streaming;
+            this.batchMaxEntries = batchMaxEntries;
+            this.batchParallelism = batchParallelism;
+            this.coalesceRenders = coalesceRenders;
+            this.renderDeadlineMillis = renderDeadlineMillis;
+            this.maxOutputCharacters = maxOutputCharacters;
+            this.maxCollectionSize = maxCollectionSize;
         }
 
         private static PreviewConfig from(StorybookProperties.PreviewConfig source) {
@@ -215,7 +319,38 @@ public final class ResolvedStorybookConfig {
             if (viewports.size() > 10) {
                 throw new IllegalArgumentException("Maximum 10 viewport presets allowed");
             }
-            return new PreviewConfig(backgroundLight, backgroundDark, viewports);
+            int batchMaxEntries = source.getBatchMaxEntries();
+            if (batchMaxEntries < 1 || batchMaxEntries > 500) {
+                throw new IllegalArgumentException("Batch max entries must be between 1 and 500");
+            }
+            int batchParallelism = source.getBatchParallelism();
+            if (batchParallelism < 1 || batchParallelism > 32) {
+                throw new IllegalArgumentException("Batch parallelism must be between 1 and 32");
+            }
+            int renderDeadlineMillis = source.getRenderDeadlineMillis();
+            if (renderDeadlineMillis < 0 || renderDeadlineMillis > 600_000) {
+                throw new IllegalArgumentException("Render deadline must be between 0 and 600000 milliseconds");
+            }
+            int maxOutputCharacters = source.getMaxOutputCharacters();
+            if (maxOutputCharacters < 0) {
+                throw new IllegalArgumentException("Max output characters must not be negative");
+            }
+            int maxCollectionSize = source.getMaxCollectionSize();
+            if (maxCollectionSize < 0) {
+                throw new IllegalArgumentException("Max collection size must not be negative");
+            }
+            return new PreviewConfig(
+                backgroundLight,
+                backgroundDark,
+                viewports,
+                source.isStreaming(),
+                batchMaxEntries,
+                batchParallelism,
+                source.isCoalesceRenders(),
+                renderDeadlineMillis,
+                maxOutputCharacters,
+                maxCollectionSize
+            );
         }
 
         public String getBackgroundLight() {
@@ -229,6 +364,226 @@ public final class ResolvedStorybookConfig {
         public List<ViewportPreset> getViewports() {
             return viewports;
         }
+
+        public boolean isStreaming() {
+            return streaming;
+        }
+
+        public int getBatchMaxEntries() {
+            return batchMaxEntries;
+        }
+
+        public int getBatchParallelism() {
+            return batchParallelism;
+        }
+
+        public boolean isCoalesceRenders() {
+            return coalesceRenders;
+        }
+
+        public int getRenderDeadlineMillis() {
+            return renderDeadlineMillis;
+        }
+
+        public int getMaxOutputCharacters() {
+            return maxOutputCharacters;
+        }
+
+        public int getMaxCollectionSize() {
+            return maxCollectionSize;
+        }
+    }
+
+    public static final class PreviewEngineConfig {
+        private final boolean enabled;
+        private final int templateCacheMaxSize;
+        private final long templateCacheTtlMillis;
+        private final int expressionCacheMaxSize;
+        private final long expressionCacheTtlMillis;
+
+        private PreviewEngineConfig(
+            boolean enabled,
+            int templateCacheMaxSize,
+            long templateCacheTtlMillis,
+            int expressionCacheMaxSize,
+            long expressionCacheTtlMillis
+        ) {
+            this.enabled = enabled;
+            this.templateCacheMaxSize = templateCacheMaxSize;
+            this.templateCacheTtlMillis = templateCacheTtlMillis;
+            this.expressionCacheMaxSize = expressionCacheMaxSize;
+            this.expressionCacheTtlMillis = expressionCacheTtlMillis;
+        }
+
+        private static PreviewEngineConfig from(StorybookProperties.PreviewEngineConfig source) {
+            int templateCacheMaxSize = source.getTemplateCacheMaxSize();
+            if (templateCacheMaxSize < 0 || templateCacheMaxSize > 100_000) {
+                throw new IllegalArgumentException("Preview engine template cache max size must be between 0 and 100000");
+            }
+            long templateCacheTtlMillis = source.getTemplateCacheTtlMillis();
+            if (templateCacheTtlMillis < 0) {
+                throw new IllegalArgumentException("Preview engine template cache TTL must not be negative");
+            }
+            int expressionCacheMaxSize = source.getExpressionCacheMaxSize();
+            if (expressionCacheMaxSize < 0 || expressionCacheMaxSize > 100_000) {
+                throw new IllegalArgumentException("Preview engine expression cache max size must be between 0 and 100000");
+            }
+            long expressionCacheTtlMillis = source.getExpressionCacheTtlMillis();
+            if (expressionCacheTtlMillis < 0) {
+                throw new IllegalArgumentException("Preview engine expression cache TTL must not be negative");
+            }
+            return new PreviewEngineConfig(
+                source.isEnabled(),
+                templateCacheMaxSize,
+                templateCacheTtlMillis,
+                expressionCacheMaxSize,
+                expressionCacheTtlMillis
+            );
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getTemplateCacheMaxSize() {
+            return templateCacheMaxSize;
+        }
+
+        public long getTemplateCacheTtlMillis() {
+            return templateCacheTtlMillis;
+        }
+
+        public int getExpressionCacheMaxSize() {
+            return expressionCacheMaxSize;
+        }
+
+        public long getExpressionCacheTtlMillis() {
+            return expressionCacheTtlMillis;
+        }
+    }
+
+    public static final class BulkheadConfig {
+        private final boolean enabled;
+        private final int maxConcurrent;
+        private final int maxQueue;
+        private final int queueTimeoutMillis;
+        private final int retryAfterSeconds;
+
+        private BulkheadConfig(
+            boolean enabled,
+            int maxConcurrent,
+            int maxQueue,
+            int queueTimeoutMillis,
+            int retryAfterSeconds
+        ) {
+            this.enabled = enabled;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueue = maxQueue;
+            this.queueTimeoutMillis = queueTimeoutMillis;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        private static BulkheadConfig from(StorybookProperties.BulkheadConfig source) {
+            int maxConcurrent = source.getMaxConcurrent();
+            if (maxConcurrent < 1 || maxConcurrent > 256) {
+                throw new IllegalArgumentException("Bulkhead max concurrent must be between 1 and 256");
+            }
+            int maxQueue = source.getMaxQueue();
+            if (maxQueue < 0 || maxQueue > 1024) {
+                throw new IllegalArgumentException("Bulkhead max queue must be between 0 and 1024");
+            }
+            int queueTimeoutMillis = source.getQueueTimeoutMillis();
+            if (queueTimeoutMillis < 0 || queueTimeoutMillis > 60_000) {
+                throw new IllegalArgumentException("Bulkhead queue timeout must be between 0 and 60000 milliseconds");
+            }
+            int retryAfterSeconds = source.getRetryAfterSeconds();
+            if (retryAfterSeconds < 1 || retryAfterSeconds > 3600) {
+                throw new IllegalArgumentException("Bulkhead retry-after must be between 1 and 3600 seconds");
+            }
+            return new BulkheadConfig(
+                source.isEnabled(),
+                maxConcurrent,
+                maxQueue,
+                queueTimeoutMillis,
+                retryAfterSeconds
+            );
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public int getQueueTimeoutMillis() {
+            return queueTimeoutMillis;
+        }
+
+        public int getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    public static final class DiagnosticsConfig {
+        private final boolean serverTiming;
+        private final boolean serverTimingCounts;
+        private final boolean metrics;
+        private final boolean metricsFragmentTags;
+        private final int metricsMaxFragmentTags;
+
+        private DiagnosticsConfig(
+            boolean serverTiming,
+            boolean serverTimingCounts,
+            boolean metrics,
+            boolean metricsFragmentTags,
+            int metricsMaxFragmentTags
+        ) {
+            this.serverTiming = serverTiming;
+            this.serverTimingCounts = serverTimingCounts;
+            this.metrics = metrics;
+            this.metricsFragmentTags = metricsFragmentTags;
+            this.metricsMaxFragmentTags = metricsMaxFragmentTags;
+        }
+
+        private static DiagnosticsConfig from(StorybookProperties.DiagnosticsConfig source) {
+            int metricsMaxFragmentTags = source.getMetricsMaxFragmentTags();
+            if (metricsMaxFragmentTags < 1 || metricsMaxFragmentTags > 10_000) {
+                throw new IllegalArgumentException("Metrics max fragment tags must be between 1 and 10000");
+            }
+            return new DiagnosticsConfig(
+                source.isServerTiming(),
+                source.isServerTimingCounts(),
+                source.isMetrics(),
+                source.isMetricsFragmentTags(),
+                metricsMaxFragmentTags
+            );
+        }
+
+        public boolean isServerTiming() {
+            return serverTiming;
+        }
+
+        public boolean isServerTimingCounts() {
+            return serverTimingCounts;
+        }
+
+        public boolean isMetrics() {
+            return metrics;
+        }
+
+        public boolean isMetricsFragmentTags() {
+            return metricsFragmentTags;
+        }
+
+        public int getMetricsMaxFragmentTags() {
+            return metricsMaxFragmentTags;
+        }
     }
 
     public static final class SecurityConfig {
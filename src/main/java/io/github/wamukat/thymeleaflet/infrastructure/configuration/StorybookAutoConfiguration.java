@@ -15,8 +15,10 @@ import io.github.wamukat.thymeleaflet.domain.service.StoryDataRepository;
 import io.github.wamukat.thymeleaflet.domain.service.StoryParameterDomainService;
 import io.github.wamukat.thymeleaflet.domain.service.StructuredTemplateParser;
 import io.github.wamukat.thymeleaflet.domain.service.TemplateModelExpressionAnalyzer;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ThymeleafletMetrics;
 import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.NoArgFragmentReferencePreProcessorDialect;
 import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.ThymeleafletAwareThymeleafView;
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.PreviewBulkhead;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -24,6 +26,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplicat
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.core.Ordered;
 import org.springframework.core.env.Environment;
 import org.springframework.core.annotation.Order;
 import org.springframework.beans.BeansException;
@@ -114,8 +117,11 @@ public class StorybookAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public TemplateModelExpressionAnalyzer templateModelExpressionAnalyzer() {
-        return new TemplateModelExpressionAnalyzer();
+    public TemplateModelExpressionAnalyzer templateModelExpressionAnalyzer(
+        StructuredTemplateParser structuredTemplateParser,
+        FragmentExpressionParser fragmentExpressionParser
+    ) {
+        return new TemplateModelExpressionAnalyzer(structuredTemplateParser, fragmentExpressionParser);
     }
 
     @Bean
@@ -235,6 +241,72 @@ public class StorybookAutoConfiguration {
         };
     }
 
+    /**
+     * Thymeleaflet のエンドポイント（静的リソースを除く）にバルクヘッドを適用
+     * ホストアプリのインターセプターより先に実行枠を確保する。バッチ描画は並行に描画する件数分の枠を使う
+     */
+    @Bean
+    public WebMvcConfigurer thymeleafletBulkheadConfigurer(
+        ResolvedStorybookConfig resolvedStorybookConfig,
+        PreviewBulkhead previewBulkhead
+    ) {
+        String basePath = sanitizeBasePath(resolvedStorybookConfig.getBasePath());
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                if (!previewBulkhead.isEnabled()) {
+                    return;
+                }
+                String batchPath = basePath + "/api/render/batch";
+                registry.addInterceptor(new ThymeleafletBulkheadInterceptor(previewBulkhead))
+                        .addPathPatterns(basePath + "/**")
+                        .excludePathPatterns(
+                            basePath + "/css/**",
+                            basePath + "/js/**",
+                            basePath + "/images/**",
+                            batchPath
+                        )
+                        .order(Ordered.HIGHEST_PRECEDENCE);
+                registry.addInterceptor(
+                            new ThymeleafletBulkheadInterceptor(previewBulkhead, previewBulkhead.getBatchPermits())
+                        )
+                        .addPathPatterns(batchPath)
+                        .order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+
+    /**
+     * Thymeleaflet のエンドポイント（静的リソースを除く）で Server-Timing の計測を開始
+     * バルクヘッドの待ち時間は含めない
+     */
+    @Bean
+    public WebMvcConfigurer thymeleafletServerTimingConfigurer(ResolvedStorybookConfig resolvedStorybookConfig) {
+        String basePath = sanitizeBasePath(resolvedStorybookConfig.getBasePath());
+        ResolvedStorybookConfig.DiagnosticsConfig diagnostics = resolvedStorybookConfig.getDiagnostics();
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                if (!diagnostics.isServerTiming()) {
+                    return;
+                }
+                registry.addInterceptor(new ThymeleafletServerTimingInterceptor(diagnostics.isServerTimingCounts()))
+                        .addPathPatterns(basePath + "/**")
+                        .excludePathPatterns(basePath + "/css/**", basePath + "/js/**", basePath + "/images/**")
+                        .order(Ordered.HIGHEST_PRECEDENCE + 1);
+            }
+        };
+    }
+
+    /**
+     * 計測値を記録しない既定の記録先
+     * Micrometer が使える場合は {@link ThymeleafletMicrometerConfiguration} の記録先が優先される
+     */
+    @Bean
+    public ThymeleafletMetrics thymeleafletMetrics() {
+        return ThymeleafletMetrics.NOOP;
+    }
+
     @Bean
     public static BeanPostProcessor thymeleafletMessageSourcePostProcessor() {
         return new BeanPostProcessor() {
@@ -26,6 +26,13 @@ public class StorybookProperties {
      * デフォルト: false
      */
     private boolean debug = false;
+
+    /**
+     * Thymeleaflet のリクエスト処理と内部の並行処理（探索・一括描画・ウォームアップ）を仮想スレッドで行うか
+     * JDK 21 未満では無視され、従来のプラットフォームスレッドで動作する。
+     * デフォルト: false
+     */
+    private boolean virtualThreads = false;
     
     /**
      * 統一リソース設定
@@ -42,6 +49,21 @@ public class StorybookProperties {
      */
     private @Nullable PreviewConfig preview = new PreviewConfig();
 
+    /**
+     * プレビュー専用テンプレートエンジン設定
+     */
+    private @Nullable PreviewEngineConfig previewEngine = new PreviewEngineConfig();
+
+    /**
+     * プレビュー描画の同時実行制限（バルクヘッド）設定
+     */
+    private @Nullable BulkheadConfig bulkhead = new BulkheadConfig();
+
+    /**
+     * 計測・診断設定
+     */
+    private @Nullable DiagnosticsConfig diagnostics = new DiagnosticsConfig();
+
     /**
      * セキュリティ補助設定
      */
@@ -65,6 +87,14 @@ public class StorybookProperties {
         this.debug = debug;
     }
 
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     public @Nullable ResourceConfig getResources() {
         return resources;
     }
@@ -89,6 +119,30 @@ public class StorybookProperties {
         this.preview = preview;
     }
 
+    public @Nullable PreviewEngineConfig getPreviewEngine() {
+        return previewEngine;
+    }
+
+    public void setPreviewEngine(@Nullable PreviewEngineConfig previewEngine) {
+        this.previewEngine = previewEngine;
+    }
+
+    public @Nullable BulkheadConfig getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(@Nullable BulkheadConfig bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    public @Nullable DiagnosticsConfig getDiagnostics() {
+        return diagnostics;
+    }
+
+    public void setDiagnostics(@Nullable DiagnosticsConfig diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
     public @Nullable SecurityConfig getSecurity() {
         return security;
     }
@@ -175,6 +229,16 @@ public class StorybookProperties {
          */
         private boolean preload = false;
 
+        /**
+         * 起動時に Thymeleaf エンジンのテンプレートキャッシュへ全フラグメントを読み込むか
+         */
+        private boolean preloadEngine = false;
+
+        /**
+         * エンジンのテンプレートキャッシュを読み込む際の同時実行数
+         */
+        private int preloadEngineParallelism = 4;
+
         public boolean isEnabled() {
             return enabled;
         }
@@ -190,6 +254,22 @@ public class StorybookProperties {
         public void setPreload(boolean preload) {
             this.preload = preload;
         }
+
+        public boolean isPreloadEngine() {
+            return preloadEngine;
+        }
+
+        public void setPreloadEngine(boolean preloadEngine) {
+            this.preloadEngine = preloadEngine;
+        }
+
+        public int getPreloadEngineParallelism() {
+            return preloadEngineParallelism;
+        }
+
+        public void setPreloadEngineParallelism(int preloadEngineParallelism) {
+            this.preloadEngineParallelism = preloadEngineParallelism;
+        }
     }
 
     /**
@@ -214,6 +294,49 @@ public class StorybookProperties {
          */
         private @Nullable List<ViewportPreset> viewports = defaultViewports();
 
+        /**
+         * true のとき /render の出力をバッファせず、チャンク転送でそのまま送信する
+         * デフォルト: false
+         */
+        private boolean streaming = false;
+
+        /**
+         * バッチ描画 API が 1 リクエストで受け付けるストーリー数の上限
+         * デフォルト: 50
+         */
+        private int batchMaxEntries = 50;
+
+        /**
+         * バッチ描画 API の同時描画数
+         * デフォルト: 4
+         */
+        private int batchParallelism = 4;
+
+        /**
+         * true のとき、実行中の同一 GET /render（オーバーライドなし、セッション・認証なし）を 1 回の描画へ合流させる
+         * デフォルト: false
+         */
+        private boolean coalesceRenders = false;
+
+        /**
+         * 1 回のテンプレート処理の出力期限（ミリ秒）。期限の検査は出力の書き込み時に行うベストエフォートで、
+         * 超えた後の最初の検査で描画を打ち切る。0 のとき無制限
+         * デフォルト: 0
+         */
+        private int renderDeadlineMillis = 0;
+
+        /**
+         * 1 回の描画で出力できる最大文字数。超えた時点で描画を打ち切る。0 のとき無制限
+         * デフォルト: 5000000
+         */
+        private int maxOutputCharacters = 5_000_000;
+
+        /**
+         * ストーリー・推定モデルの各コレクションで描画に渡す最大要素数。切り詰めたパスはプレビュー警告で通知する。0 のとき無制限
+         * デフォルト: 0
+         */
+        private int maxCollectionSize = 0;
+
         public @Nullable String getBackgroundLight() {
             return backgroundLight;
         }
@@ -238,6 +361,62 @@ public class StorybookProperties {
             this.viewports = viewports;
         }
 
+        public boolean isStreaming() {
+            return streaming;
+        }
+
+        public void setStreaming(boolean streaming) {
+            this.streaming = streaming;
+        }
+
+        public int getBatchMaxEntries() {
+            return batchMaxEntries;
+        }
+
+        public void setBatchMaxEntries(int batchMaxEntries) {
+            this.batchMaxEntries = batchMaxEntries;
+        }
+
+        public int getBatchParallelism() {
+            return batchParallelism;
+        }
+
+        public void setBatchParallelism(int batchParallelism) {
+            this.batchParallelism = batchParallelism;
+        }
+
+        public boolean isCoalesceRenders() {
+            return coalesceRenders;
+        }
+
+        public void setCoalesceRenders(boolean coalesceRenders) {
+            this.coalesceRenders = coalesceRenders;
+        }
+
+        public int getRenderDeadlineMillis() {
+            return renderDeadlineMillis;
+        }
+
+        public void setRenderDeadlineMillis(int renderDeadlineMillis) {
+            this.renderDeadlineMillis = renderDeadlineMillis;
+        }
+
+        public int getMaxOutputCharacters() {
+            return maxOutputCharacters;
+        }
+
+        public void setMaxOutputCharacters(int maxOutputCharacters) {
+            this.maxOutputCharacters = maxOutputCharacters;
+        }
+
+        public int getMaxCollectionSize() {
+            return maxCollectionSize;
+        }
+
+        public void setMaxCollectionSize(int maxCollectionSize) {
+            this.maxCollectionSize = maxCollectionSize;
+        }
+
         private static List<ViewportPreset> defaultViewports() {
             List<ViewportPreset> presets = new ArrayList<>();
             presets.add(ViewportPreset.withLabelKey("mobileSmall", "thymeleaflet.preview.viewport.mobileSmall", 320, 568));
@@ -248,6 +427,237 @@ public class StorybookProperties {
         }
     }
 
+    /**
+     * プレビュー専用テンプレートエンジン設定クラス
+     *
+     * 有効にすると、/render はホストアプリのダイアレクトとテンプレートリゾルバーを共有しつつ、
+     * 独自のテンプレートキャッシュと式キャッシュを持つエンジンで描画する。
+     */
+    public static class PreviewEngineConfig {
+        /**
+         * プレビュー専用エンジンの有効/無効
+         * デフォルト: false（ホストアプリのエンジンを共有する）
+         */
+        private boolean enabled = false;
+
+        /**
+         * テンプレートキャッシュの最大件数（0 のときキャッシュしない）
+         * デフォルト: 200
+         */
+        private int templateCacheMaxSize = 200;
+
+        /**
+         * テンプレートキャッシュの有効期間（ミリ秒、0 のときリゾルバーの設定に従う）
+         * デフォルト: 0
+         */
+        private long templateCacheTtlMillis = 0;
+
+        /**
+         * 式キャッシュの最大件数（0 のときキャッシュしない）
+         * デフォルト: 500
+         */
+        private int expressionCacheMaxSize = 500;
+
+        /**
+         * 式キャッシュの有効期間（ミリ秒、0 のとき期限なし）
+         * デフォルト: 0
+         */
+        private long expressionCacheTtlMillis = 0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getTemplateCacheMaxSize() {
+            return templateCacheMaxSize;
+        }
+
+        public void setTemplateCacheMaxSize(int templateCacheMaxSize) {
+            this.templateCacheMaxSize = templateCacheMaxSize;
+        }
+
+        public long getTemplateCacheTtlMillis() {
+            return templateCacheTtlMillis;
+        }
+
+        public void setTemplateCacheTtlMillis(long templateCacheTtlMillis) {
+            this.templateCacheTtlMillis = templateCacheTtlMillis;
+        }
+
+        public int getExpressionCacheMaxSize() {
+            return expressionCacheMaxSize;
+        }
+
+        public void setExpressionCacheMaxSize(int expressionCacheMaxSize) {
+            this.expressionCacheMaxSize = expressionCacheMaxSize;
+        }
+
+        public long getExpressionCacheTtlMillis() {
+            return expressionCacheTtlMillis;
+        }
+
+        public void setExpressionCacheTtlMillis(long expressionCacheTtlMillis) {
+            this.expressionCacheTtlMillis = expressionCacheTtlMillis;
+        }
+    }
+
+    /**
+     * バルクヘッド設定クラス
+     *
+     * Thymeleaflet のエンドポイント（静的リソースを除く）が同時に使えるサーブレットスレッド数を制限する。
+     */
+    public static class BulkheadConfig {
+        /**
+         * バルクヘッド有効/無効
+         * デフォルト: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 同時に処理する Thymeleaflet リクエスト数の上限
+         * デフォルト: 8
+         */
+        private int maxConcurrent = 8;
+
+        /**
+         * 空きを待つリクエスト数の上限（0 のとき待たずに拒否する）
+         * デフォルト: 16
+         */
+        private int maxQueue = 16;
+
+        /**
+         * 待機列での最大待ち時間（ミリ秒）
+         * デフォルト: 1000
+         */
+        private int queueTimeoutMillis = 1000;
+
+        /**
+         * 拒否時に Retry-After ヘッダーで返す秒数
+         * デフォルト: 1
+         */
+        private int retryAfterSeconds = 1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public int getQueueTimeoutMillis() {
+            return queueTimeoutMillis;
+        }
+
+        public void setQueueTimeoutMillis(int queueTimeoutMillis) {
+            this.queueTimeoutMillis = queueTimeoutMillis;
+        }
+
+        public int getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(int retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+
+    /**
+     * 計測・診断設定クラス
+     */
+    public static class DiagnosticsConfig {
+        /**
+         * Thymeleaflet のレスポンスに処理段階ごとの所要時間を Server-Timing ヘッダーで付けるか
+         * 有効にすると Thymeleaflet の画面はヘッダーを書き込めるようバッファしてから送信する
+         * デフォルト: false
+         */
+        private boolean serverTiming = false;
+
+        /**
+         * Server-Timing ヘッダーにテンプレート解析回数とキャッシュのヒット・ミス数を含めるか
+         * デフォルト: false
+         */
+        private boolean serverTimingCounts = false;
+
+        /**
+         * Micrometer がクラスパスにあるとき、探索・解析・描画のメトリクスを記録するか
+         * デフォルト: true
+         */
+        private boolean metrics = true;
+
+        /**
+         * 描画メトリクスにフラグメント（テンプレートパスとフラグメント名）のタグを付けるか
+         * デフォルト: false
+         */
+        private boolean metricsFragmentTags = false;
+
+        /**
+         * フラグメントのタグに使う値の種類の上限。超えたフラグメントは "other" として記録する
+         * デフォルト: 100
+         */
+        private int metricsMaxFragmentTags = 100;
+
+        public boolean isServerTiming() {
+            return serverTiming;
+        }
+
+        public void setServerTiming(boolean serverTiming) {
+            this.serverTiming = serverTiming;
+        }
+
+        public boolean isServerTimingCounts() {
+            return serverTimingCounts;
+        }
+
+        public void setServerTimingCounts(boolean serverTimingCounts) {
+            this.serverTimingCounts = serverTimingCounts;
+        }
+
+        public boolean isMetrics() {
+            return metrics;
+        }
+
+        public void setMetrics(boolean metrics) {
+            this.metrics = metrics;
+        }
+
+        public boolean isMetricsFragmentTags() {
+            return metricsFragmentTags;
+        }
+
+        public void setMetricsFragmentTags(boolean metricsFragmentTags) {
+            this.metricsFragmentTags = metricsFragmentTags;
+        }
+
+        public int getMetricsMaxFragmentTags() {
+            return metricsMaxFragmentTags;
+        }
+
+        public void setMetricsMaxFragmentTags(int metricsMaxFragmentTags) {
+            this.metricsMaxFragmentTags = metricsMaxFragmentTags;
+        }
+    }
+
     /**
      * セキュリティ補助設定クラス
      */
@@ -0,0 +1,81 @@
+package io.github.wamukat.thymeleaflet.infrastructure.configuration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.PreviewBulkhead;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Thymeleaflet のリクエストを {@link PreviewBulkhead} の実行枠内で処理するインターセプター
+ *
+ * リクエストごとに permitsPerRequest 個の枠を取得し、取得できなかったリクエストには 503 と Retry-After を返す。
+ * 取得した枠はビューの描画まで終えた afterCompletion で返却する。
+ */
+public class ThymeleafletBulkheadInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThymeleafletBulkheadInterceptor.class);
+    private static final String PERMIT_ATTRIBUTE = ThymeleafletBulkheadInterceptor.class.getName() + ".permit";
+
+    private final PreviewBulkhead bulkhead;
+    private final int permitsPerRequest;
+
+    public ThymeleafletBulkheadInterceptor(PreviewBulkhead bulkhead) {
+        this(bulkhead, 1);
+    }
+
+    public ThymeleafletBulkheadInterceptor(PreviewBulkhead bulkhead, int permitsPerRequest) {
+        this.bulkhead = bulkhead;
+        this.permitsPerRequest = permitsPerRequest;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) throws IOException {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        boolean admitted;
+        try {
+            admitted = bulkhead.tryEnter(permitsPerRequest);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            logger.debug("Rejected Thymeleaflet request because the preview bulkhead is saturated: {}", request.getRequestURI());
+            reject(response);
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permitsPerRequest);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler,
+                                @Nullable Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Integer permits) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            bulkhead.release(permits);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(bulkhead.getRetryAfterSeconds()));
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Thymeleaflet is busy rendering other previews. Retry shortly.");
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.wamukat.thymeleaflet.infrastructure.configuration;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Thymeleaflet が使うスレッドの提供元
+ *
+ * {@code thymeleaflet.virtual-threads} が有効で、かつ実行環境が仮想スレッドに対応している場合は、
+ * リクエストの非同期処理と内部の並行処理（探索・一括描画・ウォームアップ）をタスクごとの仮想スレッドで行う。
+ * 無効な場合は従来どおり呼び出し元のスレッド（一括描画は専用のプラットフォームスレッド）で処理する。
+ *
+ * ライブラリは Java 17 でも動作するため、仮想スレッドの API は Java 21 以上の実行環境でだけ呼び出す。
+ * 仮想スレッドがキャリアスレッドへ固定されないよう、テンプレート I/O の経路では synchronized を使わないこと。
+ */
+@Component
+public class ThymeleafletExecutors implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThymeleafletExecutors.class);
+    private static final String TASK_THREAD_PREFIX = "thymeleaflet-task-";
+    private static final int VIRTUAL_THREADS_FEATURE_VERSION = 21;
+
+    private final @Nullable ExecutorService virtualExecutor;
+    private final @Nullable AsyncTaskExecutor requestExecutor;
+
+    public ThymeleafletExecutors(ResolvedStorybookConfig storybookConfig) {
+        ExecutorService executor = storybookConfig.isVirtualThreads()
+            ? newVirtualThreadExecutor(TASK_THREAD_PREFIX)
+            : null;
+        if (storybookConfig.isVirtualThreads() && executor == null) {
+            logger.warn("thymeleaflet.virtual-threads is enabled but virtual threads are not available on Java {}; "
+                + "falling back to platform threads", Runtime.version().feature());
+        }
+        this.virtualExecutor = executor;
+        this.requestExecutor = executor != null ? new TaskExecutorAdapter(executor) : null;
+    }
+
+    /**
+     * 仮想スレッドで処理するか。設定が有効でも実行環境が未対応なら false。
+     */
+    public boolean isVirtualThreads() {
+        return virtualExecutor != null;
+    }
+
+    /**
+     * 呼び出し元が所有する Executor を作成する。仮想スレッドではタスクごとに仮想スレッドを起動し、
+     * それ以外では {@code platformThreads} 本のデーモンスレッドで処理する。
+     * 同時実行数の制限が必要な場合は呼び出し元で行うこと。
+     */
+    public ExecutorService newExecutor(String threadNamePrefix, int platformThreads) {
+        ExecutorService executor = isVirtualThreads() ? newVirtualThreadExecutor(threadNamePrefix) : null;
+        if (executor != null) {
+            return executor;
+        }
+        return Executors.newFixedThreadPool(platformThreads, new DaemonThreadFactory(threadNamePrefix));
+    }
+
+    /**
+     * 要素ごとの処理を並行に行い、入力と同じ順序で結果を返す。
+     * 仮想スレッドが無効な場合は呼び出し元のスレッドで順に処理する。
+     * 処理中の実行時例外はそのまま呼び出し元へ送出する。
+     */
+    public <T, R> List<R> fanOut(List<T> items, Function<? super T, ? extends R> task) {
+        ExecutorService executor = virtualExecutor;
+        if (executor == null || items.size() < 2) {
+            List<R> results = new ArrayList<>(items.size());
+            for (T item : items) {
+                results.add(task.apply(item));
+            }
+            return results;
+        }
+        List<Future<? extends R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(executor.submit(() -> task.apply(item)));
+        }
+        List<R> results = new ArrayList<>(items.size());
+        try {
+            for (Future<? extends R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Thymeleaflet task was interrupted", interrupted);
+        } catch (ExecutionException executionException) {
+            Throwable cause = executionException.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Thymeleaflet task failed", cause);
+        } finally {
+            for (Future<? extends R> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * リクエストの残りの処理を仮想スレッドで行う {@link WebAsyncTask} を作成する。
+     * ハンドラーがこれを返すと Spring MVC が非同期処理を開始し、サーブレットスレッドを返却する。
+     * callable の戻り値は再ディスパッチ後に通常の戻り値として処理されるため、ResponseEntity などモデルを使わない型で返すこと。
+     * ロケールは呼び出し時点のものを引き継ぐ。仮想スレッドが無効な場合は呼び出さないこと。
+     */
+    public <T> WebAsyncTask<T> newWebAsyncTask(Callable<T> callable) {
+        AsyncTaskExecutor executor = requestExecutor;
+        if (executor == null) {
+            throw new IllegalStateException("Virtual threads are not enabled");
+        }
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        Callable<T> localized = () -> {
+            LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+            LocaleContextHolder.setLocaleContext(localeContext);
+            try {
+                return callable.call();
+            } finally {
+                LocaleContextHolder.setLocaleContext(previousLocaleContext);
+            }
+        };
+        return new WebAsyncTask<>(null, executor, localized);
+    }
+
+    @Override
+    public void destroy() {
+        ExecutorService executor = virtualExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * タスクごとに仮想スレッドを起動する Executor を作成する。
+     * 仮想スレッドに未対応（Java 21 未満）の実行環境では null を返す。
+     */
+    static @Nullable ExecutorService newVirtualThreadExecutor(String threadNamePrefix) {
+        if (Runtime.version().feature() < VIRTUAL_THREADS_FEATURE_VERSION) {
+            return null;
+        }
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 1).factory());
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final String threadNamePrefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        private DaemonThreadFactory(String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, threadNamePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
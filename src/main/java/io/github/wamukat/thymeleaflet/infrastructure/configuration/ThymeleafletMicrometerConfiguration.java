@@ -0,0 +1,158 @@
+package io.github.wamukat.thymeleaflet.infrastructure.configuration;
+
+import io.github.wamukat.thymeleaflet.domain.service.FragmentDomainService;
+import io.github.wamukat.thymeleaflet.domain.service.FragmentExpressionParser;
+import io.github.wamukat.thymeleaflet.domain.service.ParseResultCache;
+import io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery.FragmentSignatureParser;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.MicrometerThymeleafletMetrics;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ThymeleafletMetrics;
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.FragmentRenderingService;
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.PreviewBulkhead;
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.RenderPipelineStats;
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.StoryRenderCoalescer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer がクラスパスにある場合のメトリクス設定
+ *
+ * {@code thymeleaflet.diagnostics.metrics} が有効で {@link MeterRegistry} が登録されていれば、
+ * 探索・解析・描画の計測値をそのレジストリへ記録し、既存の統計（解析キャッシュ、描画パイプライン、
+ * 描画の合流、バルクヘッド）もメーターとして公開する。
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+public class ThymeleafletMicrometerConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThymeleafletMicrometerConfiguration.class);
+
+    // 関数型のメーターは参照先を弱参照で保持するため、統計の取得元は定数として保持する
+    private static final Supplier<ParseResultCache.Stats> EXPRESSION_PARSE_CACHE_STATS = FragmentExpressionParser::cacheStats;
+    private static final Supplier<ParseResultCache.Stats> SIGNATURE_PARSE_CACHE_STATS = FragmentSignatureParser::cacheStats;
+
+    @Bean
+    @Primary
+    public ThymeleafletMetrics thymeleafletMicrometerMetrics(
+        ResolvedStorybookConfig resolvedStorybookConfig,
+        ObjectProvider<MeterRegistry> meterRegistries
+    ) {
+        ResolvedStorybookConfig.DiagnosticsConfig diagnostics = resolvedStorybookConfig.getDiagnostics();
+        MeterRegistry registry = diagnostics.isMetrics() ? meterRegistries.getIfUnique() : null;
+        if (registry == null) {
+            logger.debug("Thymeleaflet metrics are disabled or no unique MeterRegistry is available");
+            return ThymeleafletMetrics.NOOP;
+        }
+        return new MicrometerThymeleafletMetrics(
+            registry,
+            diagnostics.isMetricsFragmentTags(),
+            diagnostics.getMetricsMaxFragmentTags()
+        );
+    }
+
+    /**
+     * 既存の統計をメーターとして登録する。統計の提供元はすべての singleton の生成後に参照する。
+     */
+    @Bean
+    public SmartInitializingSingleton thymeleafletStatsMeterBinder(
+        ResolvedStorybookConfig resolvedStorybookConfig,
+        ObjectProvider<MeterRegistry> meterRegistries,
+        ObjectProvider<FragmentRenderingService> fragmentRenderingService,
+        ObjectProvider<StoryRenderCoalescer> storyRenderCoalescer,
+        ObjectProvider<PreviewBulkhead> previewBulkhead
+    ) {
+        return () -> {
+            MeterRegistry registry = resolvedStorybookConfig.getDiagnostics().isMetrics()
+                ? meterRegistries.getIfUnique()
+                : null;
+            if (registry == null) {
+                return;
+            }
+            bindParseCache(registry, EXPRESSION_PARSE_CACHE_STATS);
+            bindParseCache(registry, SIGNATURE_PARSE_CACHE_STATS);
+            fragmentRenderingService.ifAvailable(service -> bindRenderPipeline(registry, service.renderPipelineStats()));
+            storyRenderCoalescer.ifAvailable(coalescer -> bindCoalescer(registry, coalescer));
+            previewBulkhead.ifAvailable(bulkhead -> bindBulkhead(registry, bulkhead));
+        };
+    }
+
+    static void bindParseCache(MeterRegistry registry, Supplier<ParseResultCache.Stats> stats) {
+        String name = stats.get().name();
+        FunctionCounter.builder("thymeleaflet.parse.cache.hits", stats, source -> source.get().hits())
+            .description("Hits of a Thymeleaflet parse result cache")
+            .tag("cache", name)
+            .register(registry);
+        FunctionCounter.builder("thymeleaflet.parse.cache.misses", stats, source -> source.get().misses())
+            .description("Misses of a Thymeleaflet parse result cache")
+            .tag("cache", name)
+            .register(registry);
+        FunctionCounter.builder("thymeleaflet.parse.cache.evictions", stats, source -> source.get().evictions())
+            .description("Evictions of a Thymeleaflet parse result cache")
+            .tag("cache", name)
+            .register(registry);
+        Gauge.builder("thymeleaflet.parse.cache.size", stats, source -> source.get().size())
+            .description("Entries in a Thymeleaflet parse result cache")
+            .tag("cache", name)
+            .register(registry);
+    }
+
+    static void bindRenderPipeline(MeterRegistry registry, RenderPipelineStats stats) {
+        for (FragmentDomainService.RenderPipeline pipeline : FragmentDomainService.RenderPipeline.values()) {
+            FunctionTimer.builder(
+                    "thymeleaflet.render.pipeline",
+                    stats,
+                    source -> source.snapshot(pipeline).renders(),
+                    source -> source.snapshot(pipeline).totalNanos(),
+                    TimeUnit.NANOSECONDS
+                )
+                .description("Story preparation time of /render by render pipeline, excluding the template engine")
+                .tag("pipeline", pipeline.name().toLowerCase(Locale.ROOT))
+                .register(registry);
+        }
+    }
+
+    static void bindCoalescer(MeterRegistry registry, StoryRenderCoalescer coalescer) {
+        FunctionCounter.builder("thymeleaflet.render.coalescer.renders", coalescer, source -> source.stats().renders())
+            .description("Renders performed by the /render coalescer")
+            .register(registry);
+        FunctionCounter.builder("thymeleaflet.render.coalescer.merged", coalescer, source -> source.stats().mergedRequests())
+            .description("Requests that joined an in-flight render instead of rendering")
+            .register(registry);
+        Gauge.builder("thymeleaflet.render.coalescer.in.flight", coalescer, source -> source.stats().inFlight())
+            .description("Renders currently shared by the /render coalescer")
+            .register(registry);
+    }
+
+    static void bindBulkhead(MeterRegistry registry, PreviewBulkhead bulkhead) {
+        Gauge.builder("thymeleaflet.bulkhead.active", bulkhead, source -> source.stats().active())
+            .description("Thymeleaflet requests currently being processed")
+            .register(registry);
+        Gauge.builder("thymeleaflet.bulkhead.queued", bulkhead, source -> source.stats().queued())
+            .description("Thymeleaflet requests waiting for a free slot")
+            .register(registry);
+        FunctionCounter.builder("thymeleaflet.bulkhead.admitted", bulkhead, source -> source.stats().admitted())
+            .description("Thymeleaflet requests admitted by the bulkhead")
+            .register(registry);
+        FunctionCounter.builder("thymeleaflet.bulkhead.rejected", bulkhead, source -> source.stats().rejectedQueueFull())
+            .description("Thymeleaflet requests rejected by the bulkhead")
+            .tag("reason", "queue-full")
+            .register(registry);
+        FunctionCounter.builder("thymeleaflet.bulkhead.rejected", bulkhead, source -> source.stats().rejectedTimeout())
+            .description("Thymeleaflet requests rejected by the bulkhead")
+            .tag("reason", "timeout")
+            .register(registry);
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.wamukat.thymeleaflet.infrastructure.configuration;
+
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Thymeleaflet のリクエストで {@link ServerTimingRecorder} の計測を開始するインターセプター
+ *
+ * ヘッダーはビューの描画後（HTML）または本文の書き出し前（JSON）に書き込む。
+ * ここではビューを描画しないハンドラー向けに、ハンドラー完了時点の値を書き込んでおく。
+ */
+public class ThymeleafletServerTimingInterceptor implements HandlerInterceptor {
+
+    private final boolean includeCounts;
+
+    public ThymeleafletServerTimingInterceptor(boolean includeCounts) {
+        this.includeCounts = includeCounts;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        ServerTimingRecorder.begin(request, includeCounts);
+        return true;
+    }
+
+    @Override
+    public void postHandle(@NonNull HttpServletRequest request,
+                           @NonNull HttpServletResponse response,
+                           @NonNull Object handler,
+                           @Nullable ModelAndView modelAndView) {
+        ServerTimingRecorder.writeHeader(request, response);
+    }
+}
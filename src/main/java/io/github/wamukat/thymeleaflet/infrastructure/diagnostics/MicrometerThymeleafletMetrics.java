@@ -0,0 +1,150 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micrometer の {@link MeterRegistry} へ記録する {@link ThymeleafletMetrics}
+ *
+ * 描画のタイマーはパーセンタイル用のヒストグラムを公開するため、Prometheus などで
+ * プレビューのレイテンシに SLO を設定できる。描画系のメーターには fragment.type と status のタグを付け、
+ * フラグメントのタグは有効な場合だけ付ける。フラグメントのタグ値は上限の種類数までで、
+ * それを超えたフラグメントは {@value #OTHER_FRAGMENT} にまとめるため、メーター数は上限を超えて増えない。
+ */
+public final class MicrometerThymeleafletMetrics implements ThymeleafletMetrics {
+
+    static final String OTHER_FRAGMENT = "other";
+
+    private final MeterRegistry registry;
+    private final boolean fragmentTags;
+    private final int maxFragmentTags;
+    private final Map<String, Boolean> taggedFragments = new ConcurrentHashMap<>();
+    private final AtomicInteger taggedFragmentCount = new AtomicInteger();
+    private final Timer discoveryTimer;
+    private final AtomicLong discoveredTemplates = new AtomicLong();
+    private final AtomicLong discoveredFragments = new AtomicLong();
+    private final Timer templateParseTimer;
+    private final Map<InferenceKind, Timer> inferenceTimers = new EnumMap<>(InferenceKind.class);
+    private final Map<InferenceKind, DistributionSummary> inferenceTemplates = new EnumMap<>(InferenceKind.class);
+    private final Map<StoryLoadOutcome, Timer> storyLoadTimers = new EnumMap<>(StoryLoadOutcome.class);
+
+    public MicrometerThymeleafletMetrics(MeterRegistry registry, boolean fragmentTags, int maxFragmentTags) {
+        this.registry = registry;
+        this.fragmentTags = fragmentTags;
+        this.maxFragmentTags = maxFragmentTags;
+        this.discoveryTimer = Timer.builder("thymeleaflet.discovery")
+            .description("Time spent discovering fragments in all templates")
+            .register(registry);
+        Gauge.builder("thymeleaflet.discovery.templates", discoveredTemplates, AtomicLong::get)
+            .description("Templates scanned by the last fragment discovery")
+            .register(registry);
+        Gauge.builder("thymeleaflet.discovery.fragments", discoveredFragments, AtomicLong::get)
+            .description("Fragments found by the last fragment discovery")
+            .register(registry);
+        this.templateParseTimer = Timer.builder("thymeleaflet.template.parse")
+            .description("Time spent parsing one template during fragment discovery")
+            .register(registry);
+        for (InferenceKind kind : InferenceKind.values()) {
+            inferenceTimers.put(kind, Timer.builder("thymeleaflet.inference")
+                .description("Time spent inferring a fragment model from template expressions")
+                .tag("kind", kind.tagValue())
+                .register(registry));
+            inferenceTemplates.put(kind, DistributionSummary.builder("thymeleaflet.inference.templates")
+                .description("Templates visited while recursing into child fragments during model inference")
+                .baseUnit("templates")
+                .tag("kind", kind.tagValue())
+                .register(registry));
+        }
+        for (StoryLoadOutcome outcome : StoryLoadOutcome.values()) {
+            storyLoadTimers.put(outcome, Timer.builder("thymeleaflet.story.load")
+                .description("Time spent loading a story YAML file")
+                .tag("outcome", outcome.tagValue())
+                .register(registry));
+        }
+    }
+
+    @Override
+    public void recordDiscovery(long elapsedNanos, int templateCount, int fragmentCount) {
+        discoveryTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        discoveredTemplates.set(templateCount);
+        discoveredFragments.set(fragmentCount);
+    }
+
+    @Override
+    public void recordTemplateParse(long elapsedNanos) {
+        templateParseTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordInference(InferenceKind kind, long elapsedNanos, int visitedTemplates) {
+        Timer timer = inferenceTimers.get(kind);
+        DistributionSummary templates = inferenceTemplates.get(kind);
+        if (timer != null && templates != null) {
+            timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            templates.record(visitedTemplates);
+        }
+    }
+
+    @Override
+    public void recordStoryLoad(StoryLoadOutcome outcome, long elapsedNanos) {
+        Timer timer = storyLoadTimers.get(outcome);
+        if (timer != null) {
+            timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void recordRender(RenderSample sample) {
+        Tags tags = Tags.of("fragment.type", sample.fragmentType(), "status", sample.status().tagValue());
+        if (fragmentTags) {
+            tags = tags.and("fragment", fragmentTag(sample.templatePath() + "::" + sample.fragmentName()));
+        }
+        Timer.builder("thymeleaflet.render")
+            .description("Time spent preparing and rendering one story preview")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(sample.elapsedNanos(), TimeUnit.NANOSECONDS);
+        if (sample.outputCharacters() >= 0) {
+            DistributionSummary.builder("thymeleaflet.render.output")
+                .description("Characters written by one story preview")
+                .baseUnit("characters")
+                .tags(tags)
+                .register(registry)
+                .record(sample.outputCharacters());
+        }
+        DistributionSummary.builder("thymeleaflet.render.warnings")
+            .description("Preview warnings recorded by one story preview")
+            .baseUnit("warnings")
+            .tags(tags)
+            .register(registry)
+            .record(sample.warnings());
+    }
+
+    /**
+     * 上限の種類数までは値をそのまま返し、超えた新しい値は {@value #OTHER_FRAGMENT} にまとめる。
+     */
+    String fragmentTag(String fragment) {
+        if (taggedFragments.containsKey(fragment)) {
+            return fragment;
+        }
+        if (taggedFragmentCount.incrementAndGet() > maxFragmentTags) {
+            taggedFragmentCount.decrementAndGet();
+            return OTHER_FRAGMENT;
+        }
+        if (taggedFragments.putIfAbsent(fragment, Boolean.TRUE) != null) {
+            taggedFragmentCount.decrementAndGet();
+        }
+        return fragment;
+    }
+}
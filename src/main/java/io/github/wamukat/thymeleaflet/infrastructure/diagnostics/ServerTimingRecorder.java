@@ -0,0 +1,242 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Thymeleaflet のリクエストで処理段階ごとの所要時間を記録し、Server-Timing ヘッダーとして返す。
+ *
+ * 計測はリクエスト属性に置いた記録が存在するときだけ行い、記録がなければ {@link #start(Phase)} は
+ * 共有の何もしないタイマーを返す。段階が入れ子になった場合、外側の段階からは内側の時間を除くため、
+ * 各段階の値はその段階自身の処理時間になる。
+ *
+ * ヘッダーは {@code total;dur=12.3, template;dur=8.1;desc="Template engine", ...} の形式で、
+ * 件数の出力が有効な場合は {@code parse;desc="3"} のように解析回数とキャッシュのヒット・ミス数も含める。
+ * 記録は 1 リクエストの処理スレッドからのみ更新する前提で、スレッドセーフではない。
+ */
+public final class ServerTimingRecorder {
+
+    public static final String HEADER_NAME = "Server-Timing";
+
+    private static final String REQUEST_ATTRIBUTE_KEY = ServerTimingRecorder.class.getName() + ".timings";
+    private static final Timer NOOP_TIMER = () -> {
+    };
+
+    private ServerTimingRecorder() {
+    }
+
+    /**
+     * リクエストの計測を開始する。すでに開始済み（非同期処理の再ディスパッチなど）の場合は何もしない。
+     */
+    public static void begin(HttpServletRequest request, boolean includeCounts) {
+        if (request.getAttribute(REQUEST_ATTRIBUTE_KEY) instanceof RecordedTimings) {
+            return;
+        }
+        request.setAttribute(REQUEST_ATTRIBUTE_KEY, new RecordedTimings(includeCounts, System.nanoTime()));
+    }
+
+    /**
+     * 元のリクエストが計測中であれば、属性を分離した描画用リクエストで別の計測を開始する。
+     * 一括描画のようにストーリーを並行に描画しても、記録が共有されないようにするために使う。
+     */
+    public static void fork(HttpServletRequest renderRequest) {
+        if (renderRequest.getAttribute(REQUEST_ATTRIBUTE_KEY) instanceof RecordedTimings parent) {
+            renderRequest.setAttribute(REQUEST_ATTRIBUTE_KEY, new RecordedTimings(parent.includeCounts, System.nanoTime()));
+        }
+    }
+
+    public static boolean isActive(HttpServletRequest request) {
+        return request.getAttribute(REQUEST_ATTRIBUTE_KEY) instanceof RecordedTimings;
+    }
+
+    /**
+     * 現在のリクエストで段階の計測を開始する。返したタイマーを close すると計測を終える。
+     */
+    public static Timer start(Phase phase) {
+        RecordedTimings timings = currentTimings();
+        if (timings == null) {
+            return NOOP_TIMER;
+        }
+        timings.push(phase, System.nanoTime());
+        return () -> timings.pop(phase, System.nanoTime());
+    }
+
+    public static void count(Counter counter) {
+        RecordedTimings timings = currentTimings();
+        if (timings != null && timings.includeCounts) {
+            timings.counts[counter.ordinal()]++;
+        }
+    }
+
+    /**
+     * Thymeleaflet キャッシュの参照結果をヒットまたはミスとして数える。キャッシュを参照した呼び出し元で使う。
+     */
+    public static void countCacheLookup(boolean hit) {
+        count(hit ? Counter.CACHE_HIT : Counter.CACHE_MISS);
+    }
+
+    /**
+     * 記録済みの計測結果をヘッダーへ書き込む。計測中でない場合やレスポンス確定後は何もしない。
+     */
+    public static void writeHeader(HttpServletRequest request, HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        headerValue(request).ifPresent(value -> response.setHeader(HEADER_NAME, value));
+    }
+
+    /**
+     * 記録済みの計測結果をヘッダー値として返す。計測中でなければ空。
+     */
+    public static Optional<String> headerValue(HttpServletRequest request) {
+        if (request.getAttribute(REQUEST_ATTRIBUTE_KEY) instanceof RecordedTimings timings) {
+            return Optional.of(timings.headerValue(System.nanoTime()));
+        }
+        return Optional.empty();
+    }
+
+    private static @Nullable RecordedTimings currentTimings() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes
+            && servletAttributes.getRequest().getAttribute(REQUEST_ATTRIBUTE_KEY) instanceof RecordedTimings timings) {
+            return timings;
+        }
+        return null;
+    }
+
+    /**
+     * 段階の計測。try-with-resources で使う。
+     */
+    @FunctionalInterface
+    public interface Timer extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    public enum Phase {
+        PATH("path", "Path conversion"),
+        CATALOG("catalog", "Fragment catalog"),
+        STORY("story", "Story YAML"),
+        JAVADOC("javadoc", "JavaDoc"),
+        INFERENCE("inference", "Model inference"),
+        ASSEMBLY("assembly", "Value assembly"),
+        DEPENDENCIES("dependencies", "Dependency lookup"),
+        SNIPPET("snippet", "Snippet extraction"),
+        JSON("json", "JSON building"),
+        TEMPLATE("template", "Template engine");
+
+        private final String metricName;
+        private final String description;
+
+        Phase(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    public enum Counter {
+        PARSE("parse"),
+        CACHE_HIT("cache-hit"),
+        CACHE_MISS("cache-miss");
+
+        private final String metricName;
+
+        Counter(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final class RecordedTimings {
+
+        private final boolean includeCounts;
+        private final long startNanos;
+        private final long[] phaseNanos = new long[Phase.values().length];
+        private final boolean[] phaseSeen = new boolean[Phase.values().length];
+        private final long[] counts = new long[Counter.values().length];
+        private final Deque<Frame> running = new ArrayDeque<>();
+
+        private RecordedTimings(boolean includeCounts, long startNanos) {
+            this.includeCounts = includeCounts;
+            this.startNanos = startNanos;
+        }
+
+        private void push(Phase phase, long nowNanos) {
+            Frame outer = running.peek();
+            if (outer != null) {
+                charge(outer.phase, nowNanos - outer.resumedNanos);
+            }
+            running.push(new Frame(phase, nowNanos));
+            phaseSeen[phase.ordinal()] = true;
+        }
+
+        private void pop(Phase phase, long nowNanos) {
+            Frame current = running.peek();
+            if (current == null || current.phase != phase) {
+                return;
+            }
+            running.pop();
+            charge(phase, nowNanos - current.resumedNanos);
+            Frame outer = running.peek();
+            if (outer != null) {
+                outer.resumedNanos = nowNanos;
+            }
+        }
+
+        private void charge(Phase phase, long elapsedNanos) {
+            phaseNanos[phase.ordinal()] += Math.max(0, elapsedNanos);
+        }
+
+        private String headerValue(long nowNanos) {
+            StringBuilder header = new StringBuilder(256);
+            appendDuration(header.append("total"), nowNanos - startNanos);
+            for (Phase phase : Phase.values()) {
+                if (!phaseSeen[phase.ordinal()]) {
+                    continue;
+                }
+                header.append(", ").append(phase.metricName);
+                appendDuration(header, phaseNanos[phase.ordinal()]);
+                header.append(";desc=\"").append(phase.description).append('"');
+            }
+            if (includeCounts) {
+                for (Counter counter : Counter.values()) {
+                    header.append(", ").append(counter.metricName)
+                        .append(";desc=\"").append(counts[counter.ordinal()]).append('"');
+                }
+            }
+            return header.toString();
+        }
+
+        private static void appendDuration(StringBuilder header, long nanos) {
+            header.append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0d));
+        }
+    }
+
+    private static final class Frame {
+
+        private final Phase phase;
+        private long resumedNanos;
+
+        private Frame(Phase phase, long resumedNanos) {
+            this.phase = phase;
+            this.resumedNanos = resumedNanos;
+        }
+    }
+}
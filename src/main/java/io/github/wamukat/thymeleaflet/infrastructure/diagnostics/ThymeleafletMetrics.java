@@ -0,0 +1,107 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics;
+
+/**
+ * 探索・解析・描画の各処理の計測値を受け取る記録先
+ *
+ * Micrometer がクラスパスにあり {@code thymeleaflet.diagnostics.metrics} が有効な場合は
+ * {@link MicrometerThymeleafletMetrics} が使われ、それ以外は何も記録しない {@link #NOOP} が使われる。
+ * 呼び出し側は Micrometer の有無を意識せずに記録できる。
+ */
+public interface ThymeleafletMetrics {
+
+    ThymeleafletMetrics NOOP = new ThymeleafletMetrics() {
+    };
+
+    /**
+     * フラグメント探索の所要時間と、走査したテンプレート数・発見したフラグメント数を記録する。
+     */
+    default void recordDiscovery(long elapsedNanos, int templateCount, int fragmentCount) {
+    }
+
+    /**
+     * 探索時のテンプレート 1 件分の解析時間を記録する。
+     */
+    default void recordTemplateParse(long elapsedNanos) {
+    }
+
+    /**
+     * モデル推定の所要時間と、再帰中に参照したテンプレート数を記録する。
+     */
+    default void recordInference(InferenceKind kind, long elapsedNanos, int visitedTemplates) {
+    }
+
+    /**
+     * ストーリー YAML の読み込み時間を結果ごとに記録する。
+     */
+    default void recordStoryLoad(StoryLoadOutcome outcome, long elapsedNanos) {
+    }
+
+    /**
+     * ストーリー 1 件の描画（準備からテンプレート処理まで）の計測値を記録する。
+     */
+    default void recordRender(RenderSample sample) {
+    }
+
+    enum InferenceKind {
+        MODEL("model"),
+        METHOD_RETURNS("method-returns");
+
+        private final String tagValue;
+
+        InferenceKind(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        public String tagValue() {
+            return tagValue;
+        }
+    }
+
+    enum StoryLoadOutcome {
+        LOADED("loaded"),
+        MISSING("missing"),
+        FAILED("failed");
+
+        private final String tagValue;
+
+        StoryLoadOutcome(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        public String tagValue() {
+            return tagValue;
+        }
+    }
+
+    enum RenderStatus {
+        SUCCESS("success"),
+        NOT_FOUND("not-found"),
+        ERROR("error"),
+        LIMIT_EXCEEDED("limit-exceeded");
+
+        private final String tagValue;
+
+        RenderStatus(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        public String tagValue() {
+            return tagValue;
+        }
+    }
+
+    /**
+     * 描画 1 件分の計測値。fragmentType は描画計画が決まる前に失敗した場合 "unknown"。
+     * outputCharacters はストリーミングで出力量を数えていない場合 -1。
+     */
+    record RenderSample(
+        String templatePath,
+        String fragmentName,
+        String fragmentType,
+        RenderStatus status,
+        long elapsedNanos,
+        long outputCharacters,
+        long warnings
+    ) {
+    }
+}
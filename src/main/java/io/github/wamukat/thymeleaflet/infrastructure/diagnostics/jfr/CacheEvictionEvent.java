@@ -0,0 +1,48 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Thymeleaflet のキャッシュからのエントリの破棄
+ */
+@Name("io.github.wamukat.thymeleaflet.CacheEviction")
+@Label("Cache Eviction")
+@Category({JfrSupport.CATEGORY, "Cache"})
+@Description("Evicts entries from Thymeleaflet caches")
+public final class CacheEvictionEvent extends Event {
+
+    @Label("Cache")
+    @Description("Cache name, or * for every cache")
+    String cacheName = "";
+
+    @Label("Reason")
+    @Description("template-change, clear or clear-all")
+    String reason = "";
+
+    @Label("Templates")
+    @Description("Changed templates that caused the eviction")
+    String templates = "";
+
+    @Label("Evicted Entries")
+    int evictedEntries;
+
+    public static CacheEvictionEvent start() {
+        CacheEvictionEvent event = new CacheEvictionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String cacheName, String reason, Iterable<String> templates, int evictedEntries) {
+        if (shouldCommit()) {
+            this.cacheName = cacheName;
+            this.reason = reason;
+            this.templates = String.join(",", templates);
+            this.evictedEntries = evictedEntries;
+            commit();
+        }
+    }
+}
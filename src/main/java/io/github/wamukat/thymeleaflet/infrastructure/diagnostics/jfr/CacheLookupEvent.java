@@ -0,0 +1,45 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Thymeleaflet のキャッシュ 1 回分の参照。件数が多いため既定では無効で、同梱の設定ファイルで有効になる。
+ */
+@Name("io.github.wamukat.thymeleaflet.CacheLookup")
+@Label("Cache Lookup")
+@Category({JfrSupport.CATEGORY, "Cache"})
+@Description("Looks up one entry in a Thymeleaflet cache")
+@Enabled(false)
+@StackTrace(false)
+public final class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    String cacheName = "";
+
+    @Label("Key")
+    String key = "";
+
+    @Label("Outcome")
+    String outcome = "";
+
+    public static CacheLookupEvent start() {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String cacheName, Object key, CacheOutcome outcome) {
+        if (shouldCommit()) {
+            this.cacheName = cacheName;
+            this.key = String.valueOf(key);
+            this.outcome = outcome.value();
+            commit();
+        }
+    }
+}
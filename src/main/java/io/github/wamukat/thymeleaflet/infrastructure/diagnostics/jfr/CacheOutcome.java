@@ -0,0 +1,20 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+/**
+ * イベントに記録するキャッシュの参照結果
+ */
+public enum CacheOutcome {
+    HIT("hit"),
+    MISS("miss"),
+    DISABLED("disabled");
+
+    private final String value;
+
+    CacheOutcome(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+}
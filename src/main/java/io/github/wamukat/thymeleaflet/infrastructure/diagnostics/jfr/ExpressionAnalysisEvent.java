@@ -0,0 +1,49 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * モデル推定のためのテンプレート 1 件分の式解析。既定では無効で、同梱の設定ファイルで有効になる。
+ */
+@Name("io.github.wamukat.thymeleaflet.ExpressionAnalysis")
+@Label("Expression Analysis")
+@Category({JfrSupport.CATEGORY, "Analysis"})
+@Description("Analyzes the Thymeleaf expressions of one template for model inference")
+@Enabled(false)
+public final class ExpressionAnalysisEvent extends Event {
+
+    @Label("Template Path")
+    String templatePath = "";
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Parameters")
+    int parameters;
+
+    @Label("Referenced Fragments")
+    int referencedFragments;
+
+    public static ExpressionAnalysisEvent start() {
+        ExpressionAnalysisEvent event = new ExpressionAnalysisEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String templatePath, CharSequence content, int parameters, int referencedFragments) {
+        if (shouldCommit()) {
+            this.templatePath = templatePath;
+            this.bytes = JfrSupport.utf8Length(content);
+            this.parameters = parameters;
+            this.referencedFragments = referencedFragments;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ストーリー 1 件の描画（準備からテンプレート処理まで）
+ */
+@Name("io.github.wamukat.thymeleaflet.FragmentRender")
+@Label("Fragment Render")
+@Category({JfrSupport.CATEGORY, "Rendering"})
+@Description("Prepares and renders one story preview")
+@StackTrace(false)
+public final class FragmentRenderEvent extends Event {
+
+    @Label("Template Path")
+    String templatePath = "";
+
+    @Label("Fragment")
+    String fragment = "";
+
+    @Label("Story")
+    String story = "";
+
+    @Label("Fragment Type")
+    String fragmentType = "";
+
+    @Label("Status")
+    String status = "";
+
+    @Label("Output Characters")
+    @Description("Characters written by the preview, or -1 when not counted")
+    long outputCharacters;
+
+    @Label("Warnings")
+    long warnings;
+
+    public static FragmentRenderEvent start() {
+        FragmentRenderEvent event = new FragmentRenderEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(
+        String templatePath,
+        String fragment,
+        String story,
+        String fragmentType,
+        String status,
+        long outputCharacters,
+        long warnings
+    ) {
+        if (shouldCommit()) {
+            this.templatePath = templatePath;
+            this.fragment = fragment;
+            this.story = story;
+            this.fragmentType = fragmentType;
+            this.status = status;
+            this.outputCharacters = outputCharacters;
+            this.warnings = warnings;
+            commit();
+        }
+    }
+}
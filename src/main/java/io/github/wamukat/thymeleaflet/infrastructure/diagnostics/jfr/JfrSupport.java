@@ -0,0 +1,35 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+/**
+ * イベントのフィールド値を作るための補助。値の計算はイベントを記録する場合だけ行う。
+ */
+final class JfrSupport {
+
+    static final String CATEGORY = "Thymeleaflet";
+
+    private JfrSupport() {
+    }
+
+    /**
+     * 文字列を UTF-8 で符号化した場合のバイト数を、配列を確保せずに数える。
+     */
+    static long utf8Length(CharSequence content) {
+        long bytes = 0;
+        int length = content.length();
+        for (int index = 0; index < length; index++) {
+            char current = content.charAt(index);
+            if (current < 0x80) {
+                bytes++;
+            } else if (current < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(current) && index + 1 < length
+                && Character.isLowSurrogate(content.charAt(index + 1))) {
+                bytes += 4;
+                index++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 子フラグメントへの再帰を含むモデル推定 1 回分。既定では無効で、同梱の設定ファイルで有効になる。
+ */
+@Name("io.github.wamukat.thymeleaflet.ModelInference")
+@Label("Model Inference")
+@Category({JfrSupport.CATEGORY, "Analysis"})
+@Description("Infers a fragment model, recursing into referenced child fragments")
+@Enabled(false)
+public final class ModelInferenceEvent extends Event {
+
+    @Label("Template Path")
+    String templatePath = "";
+
+    @Label("Kind")
+    String kind = "";
+
+    @Label("Cache Outcome")
+    String cacheOutcome = "";
+
+    @Label("Visited Templates")
+    @Description("Templates read while recursing into child fragments")
+    int visitedTemplates;
+
+    public static ModelInferenceEvent start() {
+        ModelInferenceEvent event = new ModelInferenceEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String templatePath, String kind, CacheOutcome cacheOutcome, int visitedTemplates) {
+        if (shouldCommit()) {
+            this.templatePath = templatePath;
+            this.kind = kind;
+            this.cacheOutcome = cacheOutcome.value();
+            this.visitedTemplates = visitedTemplates;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ストーリー YAML 1 件の読み込み
+ */
+@Name("io.github.wamukat.thymeleaflet.StoryLoad")
+@Label("Story Load")
+@Category({JfrSupport.CATEGORY, "Stories"})
+@Description("Reads and binds the story YAML file of one template")
+@StackTrace(false)
+public final class StoryLoadEvent extends Event {
+
+    @Label("Template Path")
+    String templatePath = "";
+
+    @Label("Story File")
+    String storyFile = "";
+
+    @Label("Outcome")
+    @Description("loaded, missing or failed")
+    String outcome = "";
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    public static StoryLoadEvent start() {
+        StoryLoadEvent event = new StoryLoadEvent();
+        event.begin();
+        return event;
+    }
+
+    public void storyFile(String storyFile) {
+        this.storyFile = storyFile;
+    }
+
+    public void bytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void finish(String templatePath, String outcome) {
+        if (shouldCommit()) {
+            this.templatePath = templatePath;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
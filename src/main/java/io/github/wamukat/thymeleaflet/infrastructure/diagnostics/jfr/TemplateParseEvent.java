@@ -0,0 +1,50 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * テンプレート 1 件の構造解析。既定では無効で、同梱の設定ファイルで有効になる。
+ */
+@Name("io.github.wamukat.thymeleaflet.TemplateParse")
+@Label("Template Parse")
+@Category({JfrSupport.CATEGORY, "Analysis"})
+@Description("Parses one template into elements and attributes")
+@Enabled(false)
+public final class TemplateParseEvent extends Event {
+
+    @Label("Template Path")
+    String templatePath = "";
+
+    @Label("Purpose")
+    @Description("Why the template was parsed: definitions, diagnostics, dependencies or inference")
+    String purpose = "";
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Elements")
+    int elements;
+
+    public static TemplateParseEvent start() {
+        TemplateParseEvent event = new TemplateParseEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String templatePath, String purpose, CharSequence content, int elements) {
+        if (shouldCommit()) {
+            this.templatePath = templatePath;
+            this.purpose = purpose;
+            this.bytes = JfrSupport.utf8Length(content);
+            this.elements = elements;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 設定されたテンプレートパス配下の HTML をすべて読み込んだ 1 回分の走査
+ */
+@Name("io.github.wamukat.thymeleaflet.TemplateScan")
+@Label("Template Scan")
+@Category({JfrSupport.CATEGORY, "Discovery"})
+@Description("Reads every HTML template below the configured template paths")
+@StackTrace(false)
+public final class TemplateScanEvent extends Event {
+
+    @Label("Template Paths")
+    String templatePaths = "";
+
+    @Label("Templates")
+    int templates;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    public static TemplateScanEvent start() {
+        TemplateScanEvent event = new TemplateScanEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String templatePaths, int templates, long bytes) {
+        if (shouldCommit()) {
+            this.templatePaths = templatePaths;
+            this.templates = templates;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+/**
+ * スターターに同梱する JFR の設定ファイル
+ *
+ * 設定ファイルは Thymeleaflet のイベントだけを含むため、JDK の default や profile と組み合わせて使う。
+ * コマンドラインで使う場合は jar から取り出したファイルを
+ * {@code -XX:StartFlightRecording:settings=default,settings=thymeleaflet.jfc} のように指定し、
+ * アプリケーション内で記録する場合は {@link #configuration()} を {@link jdk.jfr.Recording} に渡す。
+ */
+public final class ThymeleafletJfrSettings {
+
+    /**
+     * クラスパス上の設定ファイルの位置
+     */
+    public static final String RESOURCE_PATH = "META-INF/thymeleaflet/jfr/thymeleaflet.jfc";
+
+    private ThymeleafletJfrSettings() {
+    }
+
+    /**
+     * 同梱の設定ファイルを読み込む。
+     */
+    public static Configuration configuration() throws IOException, ParseException {
+        InputStream inputStream = ThymeleafletJfrSettings.class.getClassLoader().getResourceAsStream(RESOURCE_PATH);
+        if (inputStream == null) {
+            throw new IOException("JFR settings not found on the classpath: " + RESOURCE_PATH);
+        }
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+}
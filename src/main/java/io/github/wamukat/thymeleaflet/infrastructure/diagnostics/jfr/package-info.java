@@ -0,0 +1,2 @@
+@org.jspecify.annotations.NullMarked
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
@@ -0,0 +1,104 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.application.port.inbound.fragment.FragmentDependencyGraphUseCase;
+import io.github.wamukat.thymeleaflet.domain.model.FragmentDependencyGraph;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * フラグメント依存グラフAPIコントローラー
+ *
+ * 責務: 依存グラフ・参照元（used by）・変更影響範囲のJSONエンドポイント
+ */
+@Controller
+public class FragmentDependencyGraphController {
+
+    private final FragmentDependencyGraphUseCase fragmentDependencyGraphUseCase;
+
+    public FragmentDependencyGraphController(FragmentDependencyGraphUseCase fragmentDependencyGraphUseCase) {
+        this.fragmentDependencyGraphUseCase = fragmentDependencyGraphUseCase;
+    }
+
+    /**
+     * カタログ全体の依存グラフ
+     */
+    @GetMapping("${thymeleaflet.base-path:/thymeleaflet}/api/dependency-graph")
+    @ResponseBody
+    public GraphResponse getDependencyGraph() {
+        FragmentDependencyGraph graph = fragmentDependencyGraphUseCase.getDependencyGraph();
+        List<NodeResponse> nodes = graph.nodes().stream()
+            .map(node -> new NodeResponse(
+                node.templatePath(),
+                node.fragmentName(),
+                keys(graph.dependenciesOf(node)),
+                keys(graph.dependentsOf(node))
+            ))
+            .toList();
+        return new GraphResponse(nodes.size(), graph.edgeCount(), nodes);
+    }
+
+    /**
+     * 単一フラグメントの直接・推移的な依存と参照元
+     */
+    @GetMapping("${thymeleaflet.base-path:/thymeleaflet}/api/dependency-graph/node")
+    @ResponseBody
+    public NodeDetailResponse getNode(
+            @RequestParam("templatePath") String templatePath,
+            @RequestParam("fragmentName") String fragmentName) {
+        FragmentDependencyGraph graph = fragmentDependencyGraphUseCase.getDependencyGraph();
+        FragmentDependencyGraph.Node node = new FragmentDependencyGraph.Node(templatePath, fragmentName);
+        return new NodeDetailResponse(
+            templatePath,
+            fragmentName,
+            graph.contains(node),
+            keys(graph.dependenciesOf(node)),
+            keys(graph.dependentsOf(node)),
+            keys(graph.transitiveDependenciesOf(node)),
+            keys(graph.transitiveDependentsOf(node))
+        );
+    }
+
+    /**
+     * テンプレート（またはフラグメント）変更時に影響を受けるフラグメントとストーリー
+     */
+    @GetMapping("${thymeleaflet.base-path:/thymeleaflet}/api/dependency-graph/impact")
+    @ResponseBody
+    public FragmentDependencyGraphUseCase.ImpactAnalysis getImpact(
+            @RequestParam("templatePath") String templatePath,
+            @RequestParam(value = "fragmentName", required = false) @Nullable String fragmentName) {
+        return fragmentDependencyGraphUseCase.analyzeImpact(
+            templatePath,
+            Optional.ofNullable(fragmentName).filter(name -> !name.isBlank())
+        );
+    }
+
+    private static List<String> keys(Collection<FragmentDependencyGraph.Node> nodes) {
+        return nodes.stream().map(FragmentDependencyGraph.Node::key).toList();
+    }
+
+    public record GraphResponse(int nodeCount, int edgeCount, List<NodeResponse> nodes) {}
+
+    public record NodeResponse(
+        String templatePath,
+        String fragmentName,
+        List<String> dependencies,
+        List<String> dependents
+    ) {}
+
+    public record NodeDetailResponse(
+        String templatePath,
+        String fragmentName,
+        boolean found,
+        List<String> dependencies,
+        List<String> dependents,
+        List<String> transitiveDependencies,
+        List<String> transitiveDependents
+    ) {}
+}
@@ -1,6 +1,10 @@
 package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
 
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.AsyncStoryRenderService;
 import io.github.wamukat.thymeleaflet.infrastructure.web.service.FragmentRenderingService;
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.StoryRenderCoalescer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -9,6 +13,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.Map;
 import java.util.Optional;
@@ -23,19 +28,40 @@ public class FragmentRenderingController {
 
     @Autowired
     private FragmentRenderingService fragmentRenderingService;
+
+    @Autowired
+    private StoryRenderCoalescer storyRenderCoalescer;
+
+    @Autowired
+    private AsyncStoryRenderService asyncStoryRenderService;
     
     
     /**
      * ストーリー動的プレビュー (HTMX用)
      * パス変数にスラッシュを含める場合は.*を使用してワイルドカードマッチング
+     *
+     * 合流が有効で実行中の同一描画がある場合は、その結果をレスポンスへ直接書き出す（戻り値は null）。
+     * 仮想スレッドモードでは描画を仮想スレッドで行う {@link WebAsyncTask} を返す。
      */
     @GetMapping("${thymeleaflet.base-path:/thymeleaflet}/{templatePath:.*}/{fragmentName}/{storyName}/render")
-    public String renderStory(
+    public @Nullable Object renderStory(
             @PathVariable("templatePath") String templatePath,
             @PathVariable("fragmentName") String fragmentName,
             @PathVariable("storyName") String storyName,
-            Model model) {
-        
+            Model model,
+            HttpServletRequest request,
+            HttpServletResponse response) throws Exception {
+
+        if (asyncStoryRenderService.isEnabled()) {
+            return asyncStoryRenderService.render(
+                templatePath, fragmentName, storyName, Map.of(), Map.of(), Map.of(), request, response);
+        }
+
+        if (storyRenderCoalescer.accepts(request)
+            && storyRenderCoalescer.joinOrLead(templatePath, fragmentName, storyName, request, response)) {
+            return null;
+        }
+
         FragmentRenderingService.RenderingResult result = 
             fragmentRenderingService.renderStory(templatePath, fragmentName, storyName, model);
         
@@ -45,14 +71,17 @@ public class FragmentRenderingController {
 
     /**
      * ストーリー動的プレビュー (POST: custom overrides)
+     * 仮想スレッドモードでは描画を仮想スレッドで行う {@link WebAsyncTask} を返す。
      */
     @PostMapping("${thymeleaflet.base-path:/thymeleaflet}/{templatePath:.*}/{fragmentName}/{storyName}/render")
-    public String renderStoryWithOverrides(
+    public Object renderStoryWithOverrides(
             @PathVariable("templatePath") String templatePath,
             @PathVariable("fragmentName") String fragmentName,
             @PathVariable("storyName") String storyName,
             @RequestBody(required = false) @Nullable RenderOverridesRequest request,
-            Model model) {
+            Model model,
+            HttpServletRequest servletRequest,
+            HttpServletResponse servletResponse) {
         Map<String, Object> parameters = Optional.ofNullable(request)
             .map(RenderOverridesRequest::parameters)
             .orElse(Map.of());
@@ -62,6 +91,18 @@ public class FragmentRenderingController {
         Map<String, Object> methodReturnsOverrides = Optional.ofNullable(request)
             .map(RenderOverridesRequest::methodReturns)
             .orElse(Map.of());
+        if (asyncStoryRenderService.isEnabled()) {
+            return asyncStoryRenderService.render(
+                templatePath,
+                fragmentName,
+                storyName,
+                parameters,
+                modelOverrides,
+                methodReturnsOverrides,
+                servletRequest,
+                servletResponse
+            );
+        }
         FragmentRenderingService.RenderingResult result =
             fragmentRenderingService.renderStory(
                 templatePath,
@@ -0,0 +1,46 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Thymeleaflet の API レスポンス（JSON など本文を直接返すもの）に Server-Timing ヘッダーを付ける。
+ *
+ * 本文の書き出し前に、ハンドラー完了時点までの計測結果を書き込む。
+ */
+@ControllerAdvice(basePackageClasses = ServerTimingResponseBodyAdvice.class)
+public class ServerTimingResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public @Nullable Object beforeBodyWrite(
+        @Nullable Object body,
+        MethodParameter returnType,
+        MediaType selectedContentType,
+        Class<? extends HttpMessageConverter<?>> selectedConverterType,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        // 描画結果をそのまま返す場合（非同期の /render）は、描画時に記録した値を優先する
+        if (request instanceof ServletServerHttpRequest servletRequest
+            && response instanceof ServletServerHttpResponse servletResponse
+            && !servletResponse.getHeaders().containsKey(ServerTimingRecorder.HEADER_NAME)) {
+            ServerTimingRecorder.headerValue(servletRequest.getServletRequest())
+                .ifPresent(value -> servletResponse.getHeaders().set(ServerTimingRecorder.HEADER_NAME, value));
+        }
+        return body;
+    }
+}
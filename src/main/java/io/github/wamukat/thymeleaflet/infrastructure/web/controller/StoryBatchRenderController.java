@@ -0,0 +1,132 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ThymeleafletExecutors;
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.StoryBatchRenderService;
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.StoryMatrixService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ストーリー一括描画コントローラー
+ *
+ * 責務: 複数ストーリーの一括描画 API と、それを使うストーリーマトリクス画面
+ */
+@Controller
+public class StoryBatchRenderController {
+
+    private final StoryBatchRenderService storyBatchRenderService;
+    private final StoryMatrixService storyMatrixService;
+    private final ThymeleafletExecutors executors;
+
+    public StoryBatchRenderController(
+            StoryBatchRenderService storyBatchRenderService,
+            StoryMatrixService storyMatrixService,
+            ThymeleafletExecutors executors) {
+        this.storyBatchRenderService = storyBatchRenderService;
+        this.storyMatrixService = storyMatrixService;
+        this.executors = executors;
+    }
+
+    /**
+     * 複数ストーリーの一括描画（JSON エンベロープ）
+     * 結果は入力と同じ順序で、プレビュー警告はストーリーごとに返す。
+     * 仮想スレッドモードでは入力の検証後、描画を仮想スレッドで行う {@link WebAsyncTask} を返す。
+     */
+    @PostMapping("${thymeleaflet.base-path:/thymeleaflet}/api/render/batch")
+    @ResponseBody
+    public Object renderBatch(
+            @RequestBody(required = false) @Nullable BatchRenderRequest batchRequest,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        List<StoryBatchRenderService.Entry> entries = toEntries(batchRequest);
+        try {
+            storyBatchRenderService.validate(entries);
+        } catch (IllegalArgumentException invalidRequest) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, invalidRequest.getMessage(), invalidRequest);
+        }
+        if (executors.isVirtualThreads()) {
+            return executors.newWebAsyncTask(() -> ResponseEntity.ok(render(entries, request, response)));
+        }
+        return render(entries, request, response);
+    }
+
+    /**
+     * ストーリーマトリクス画面
+     * フラグメントの全ストーリー、またはフォルダ配下の全フラグメントを一覧し、表示範囲に入ったものから描画する。
+     */
+    @GetMapping("${thymeleaflet.base-path:/thymeleaflet}/matrix")
+    public String storyMatrix(
+            @RequestParam(value = "templatePath", required = false) @Nullable String templatePath,
+            @RequestParam(value = "fragmentName", required = false) @Nullable String fragmentName,
+            @RequestParam(value = "folder", required = false) @Nullable String folder,
+            Model model) {
+        storyMatrixService.setupMatrix(templatePath, fragmentName, folder, model);
+        return "thymeleaflet/story-matrix";
+    }
+
+    private BatchRenderResponse render(
+            List<StoryBatchRenderService.Entry> entries,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        long startNanos = System.nanoTime();
+        List<StoryBatchRenderService.Result> results = storyBatchRenderService.render(entries, request, response);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        return new BatchRenderResponse(results.size(), elapsedMillis, results);
+    }
+
+    private static List<StoryBatchRenderService.Entry> toEntries(@Nullable BatchRenderRequest batchRequest) {
+        if (batchRequest == null || batchRequest.entries() == null) {
+            return List.of();
+        }
+        List<StoryBatchRenderService.Entry> entries = new ArrayList<>();
+        for (BatchRenderEntryRequest entry : Objects.requireNonNull(batchRequest.entries())) {
+            if (entry == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch entries cannot be null");
+            }
+            entries.add(new StoryBatchRenderService.Entry(
+                Objects.requireNonNullElse(entry.templatePath(), ""),
+                Objects.requireNonNullElse(entry.fragmentName(), ""),
+                Objects.requireNonNullElse(entry.storyName(), ""),
+                Objects.requireNonNullElse(entry.parameters(), Map.of()),
+                Objects.requireNonNullElse(entry.model(), Map.of()),
+                Objects.requireNonNullElse(entry.methodReturns(), Map.of())
+            ));
+        }
+        return entries;
+    }
+
+    public record BatchRenderRequest(@Nullable List<BatchRenderEntryRequest> entries) {}
+
+    public record BatchRenderEntryRequest(
+        @Nullable String templatePath,
+        @Nullable String fragmentName,
+        @Nullable String storyName,
+        @Nullable Map<String, Object> parameters,
+        @Nullable Map<String, Object> model,
+        @Nullable Map<String, Object> methodReturns
+    ) {}
+
+    public record BatchRenderResponse(
+        int count,
+        long elapsedMillis,
+        List<StoryBatchRenderService.Result> results
+    ) {}
+}
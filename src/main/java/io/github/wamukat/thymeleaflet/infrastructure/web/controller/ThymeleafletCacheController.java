@@ -0,0 +1,60 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Thymeleaflet キャッシュ操作コントローラー
+ *
+ * 責務: テンプレート変更時のキャッシュ無効化 API
+ * テンプレートパスを指定した場合はそのテンプレートから作られたエントリだけを、指定しない場合は全エントリを破棄する。
+ */
+@Controller
+public class ThymeleafletCacheController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThymeleafletCacheController.class);
+
+    private final ThymeleafletCacheManager cacheManager;
+
+    public ThymeleafletCacheController(ThymeleafletCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * キャッシュ無効化
+     */
+    @PostMapping("${thymeleaflet.base-path:/thymeleaflet}/api/cache/invalidate")
+    @ResponseBody
+    public InvalidationResponse invalidate(@RequestBody(required = false) @Nullable InvalidationRequest request) {
+        List<String> requestedPaths = request == null || request.templatePaths() == null
+            ? List.of()
+            : request.templatePaths();
+        // List.copyOf は null 要素で例外になるため、検証してから複製する
+        if (requestedPaths.stream().anyMatch(path -> path == null || path.isBlank())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "templatePaths cannot contain blank entries");
+        }
+        List<String> templatePaths = List.copyOf(requestedPaths);
+        if (templatePaths.isEmpty()) {
+            int evicted = cacheManager.clearAll();
+            logger.info("Cleared all Thymeleaflet caches ({} entries)", evicted);
+            return new InvalidationResponse(List.of(), evicted);
+        }
+        int evicted = cacheManager.invalidateTemplates(templatePaths).size();
+        logger.info("Invalidated {} Thymeleaflet cache entries derived from {}", evicted, templatePaths);
+        return new InvalidationResponse(templatePaths, evicted);
+    }
+
+    public record InvalidationRequest(@Nullable List<String> templatePaths) {}
+
+    public record InvalidationResponse(List<String> templatePaths, int evictedEntries) {}
+}
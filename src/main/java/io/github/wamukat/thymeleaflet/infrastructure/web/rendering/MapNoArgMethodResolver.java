@@ -1,7 +1,7 @@
 package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
 
+import io.github.wamukat.thymeleaflet.domain.service.ParseResultCache;
 import org.springframework.context.MessageSource;
-import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.AccessException;
 import org.springframework.expression.EvaluationContext;
@@ -11,15 +11,21 @@ import org.springframework.expression.TypedValue;
 import org.jspecify.annotations.Nullable;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Story model が Map の場合に no-arg メソッド呼び出しを key 参照へ変換する。
+ *
+ * Java メソッドの有無は {@link ClassValue} で Map クラスごとに保持するため、クラスローダーが
+ * 破棄されればキャッシュも一緒に回収される。メソッド名ごとの候補 key 一覧は入力だけで決まるため、
+ * インスタンス間で共有する有界キャッシュに保持する。
+ * th:each 内で同じ呼び出しが繰り返されても、リフレクションと文字列導出は初回のみになる。
+ * 未解決時の警告はメソッド名で重複排除し、メッセージ解決はレスポンス確定前まで遅延する。
  */
 public class MapNoArgMethodResolver implements MethodResolver {
 
@@ -33,6 +39,17 @@ public class MapNoArgMethodResolver implements MethodResolver {
         "getClass"
     );
 
+    private static final String UNRESOLVED_WARNING_KEY_PREFIX = "unresolvedMethod:";
+    private static final int CACHE_MAXIMUM_SIZE = 1024;
+    private static final ClassValue<Map<String, Boolean>> JAVA_METHOD_CACHE = new ClassValue<>() {
+        @Override
+        protected Map<String, Boolean> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final ParseResultCache<String, List<String>> CANDIDATE_KEYS_CACHE =
+        new ParseResultCache<>("map-no-arg-candidate-keys", CACHE_MAXIMUM_SIZE);
+
     private final MessageSource messageSource;
 
     public MapNoArgMethodResolver(MessageSource messageSource) {
@@ -56,7 +73,7 @@ public class MapNoArgMethodResolver implements MethodResolver {
             return null;
         }
 
-        List<String> candidateKeys = candidateKeys(name);
+        List<String> candidateKeys = CANDIDATE_KEYS_CACHE.get(name, MapNoArgMethodResolver::candidateKeys);
         for (String candidate : candidateKeys) {
             if (mapTarget.containsKey(candidate)) {
                 return (evaluationContext, target, arguments) ->
@@ -70,24 +87,39 @@ public class MapNoArgMethodResolver implements MethodResolver {
     }
 
     private void recordUnresolvedWarning(String methodName, List<String> candidateKeys, Set<?> availableKeys) {
-        Locale locale = LocaleContextHolder.getLocale();
-        String candidatesText = String.join(", ", candidateKeys);
-        String availableText = availableKeys.stream()
-            .map(String::valueOf)
-            .limit(5)
-            .reduce((left, right) -> left + ", " + right)
-            .orElse("-");
-
-        String message = messageSource.getMessage(
-            "thymeleaflet.preview.warning.unresolvedMethod",
-            new Object[] {methodName + "()", candidatesText, availableText},
-            "Unresolved method in preview: " + methodName + "()",
-            locale
-        );
-        PreviewWarningRecorder.record(message);
+        PreviewWarningRecorder.record(UNRESOLVED_WARNING_KEY_PREFIX + methodName, () -> {
+            String candidatesText = String.join(", ", candidateKeys);
+            String availableText = availableKeys.stream()
+                .map(String::valueOf)
+                .limit(5)
+                .reduce((left, right) -> left + ", " + right)
+                .orElse("-");
+            return PreviewWarningRecorder.PreviewWarning.of(
+                messageSource,
+                "thymeleaflet.preview.warning.unresolvedMethod",
+                List.of(methodName + "()", candidatesText, availableText),
+                "Unresolved method in preview: " + methodName + "()"
+            );
+        });
+    }
+
+    static ParseResultCache.Stats candidateKeysCacheStats() {
+        return CANDIDATE_KEYS_CACHE.stats();
+    }
+
+    private static boolean hasZeroArgJavaMethod(Class<?> targetClass, String name) {
+        Map<String, Boolean> methods = JAVA_METHOD_CACHE.get(targetClass);
+        if (methods.size() >= CACHE_MAXIMUM_SIZE) {
+            return lookupZeroArgJavaMethod(targetClass, name);
+        }
+        return methods.computeIfAbsent(name, methodName -> lookupZeroArgJavaMethod(targetClass, methodName));
+    }
+
+    static boolean isJavaMethodCached(Class<?> targetClass, String name) {
+        return JAVA_METHOD_CACHE.get(targetClass).containsKey(name);
     }
 
-    private boolean hasZeroArgJavaMethod(Class<?> targetClass, String name) {
+    private static boolean lookupZeroArgJavaMethod(Class<?> targetClass, String name) {
         try {
             Method method = targetClass.getMethod(name);
             return method.getParameterCount() == 0;
@@ -96,7 +128,7 @@ public class MapNoArgMethodResolver implements MethodResolver {
         }
     }
 
-    private List<String> candidateKeys(String methodName) {
+    private static List<String> candidateKeys(String methodName) {
         LinkedHashSet<String> keys = new LinkedHashSet<>();
         keys.add(methodName);
         addDerivedKey(keys, methodName, "get");
@@ -104,10 +136,10 @@ public class MapNoArgMethodResolver implements MethodResolver {
         addDerivedKey(keys, methodName, "has");
         addDerivedKey(keys, methodName, "next");
         addDerivedKey(keys, methodName, "prev");
-        return new ArrayList<>(keys);
+        return List.copyOf(keys);
     }
 
-    private void addDerivedKey(Set<String> keys, String methodName, String prefix) {
+    private static void addDerivedKey(Set<String> keys, String methodName, String prefix) {
         if (!methodName.startsWith(prefix) || methodName.length() <= prefix.length()) {
             return;
         }
@@ -66,30 +66,30 @@ public final class NoArgFragmentReferencePreProcessor extends AbstractTemplateHa
             if (expressionStart >= expressionEnd) {
                 return Optional.empty();
             }
-            String expression = value.substring(expressionStart, expressionEnd);
-            if (expression.startsWith("${") || expression.startsWith("*{") || expression.startsWith("#{")) {
+            if (value.startsWith("${", expressionStart)
+                || value.startsWith("*{", expressionStart)
+                || value.startsWith("#{", expressionStart)) {
                 return Optional.empty();
             }
-            if (expression.startsWith("~{") && expression.endsWith("}")) {
+            if (value.startsWith("~{", expressionStart) && value.charAt(expressionEnd - 1) == '}') {
                 return Optional.of(new FragmentExpressionValue(value, expressionStart + 2, expressionEnd - 1));
             }
             return Optional.of(new FragmentExpressionValue(value, expressionStart, expressionEnd));
         }
 
         Optional<String> normalizeNoArgSelector() {
-            return findTopLevelFragmentSeparator()
-                .flatMap(separatorIndex -> normalizeSelector(separatorIndex + 2));
-        }
-
-        private Optional<Integer> findTopLevelFragmentSeparator() {
-            var separatorIndex = TOP_LEVEL_SYNTAX_SCANNER.findFirst(value, "::", bodyStart, bodyEnd);
-            if (separatorIndex.isEmpty()) {
+            int separatorIndex = TOP_LEVEL_SYNTAX_SCANNER.indexOf(value, "::", bodyStart, bodyEnd);
+            if (separatorIndex == TopLevelSyntaxScanner.NOT_FOUND) {
                 return Optional.empty();
             }
-            return Optional.of(separatorIndex.getAsInt());
+            return normalizeSelector(separatorIndex + 2);
         }
 
         private Optional<String> normalizeSelector(int selectorStart) {
+            int openParen = value.indexOf('(', selectorStart);
+            if (openParen < 0 || openParen >= bodyEnd) {
+                return Optional.empty();
+            }
             String selector = value.substring(selectorStart, bodyEnd);
             int leadingLength = leadingWhitespaceLength(selector);
             int trailingStart = trailingWhitespaceStart(selector);
@@ -158,7 +158,7 @@ public final class NoArgFragmentReferencePreProcessor extends AbstractTemplateHa
         }
 
         private static int findTopLevelOpenParen(String value) {
-            return TOP_LEVEL_SYNTAX_SCANNER.findFirst(value, "(").orElse(-1);
+            return TOP_LEVEL_SYNTAX_SCANNER.indexOf(value, '(', 0, value.length());
         }
 
         private static int lastNonWhitespaceIndex(String value) {
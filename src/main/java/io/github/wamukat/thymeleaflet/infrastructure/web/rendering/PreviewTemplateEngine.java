@@ -0,0 +1,145 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
+
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.ICacheEntryValidityChecker;
+import org.thymeleaf.cache.StandardCacheManager;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.io.Serial;
+import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * /render 専用のテンプレートエンジン
+ *
+ * {@code thymeleaflet.preview-engine.enabled} が有効な場合、ホストアプリのエンジンからダイアレクト・
+ * テンプレートリゾルバー・リンクビルダーを引き継いだ別のエンジンを作り、独自の {@link StandardCacheManager} を持たせる。
+ * プレビューは全フラグメントのテンプレートを読み込むため、ホストアプリのエンジンと共有すると
+ * アプリ自身のよく使うテンプレートがキャッシュから追い出される。専用エンジンにすることでこれを防ぐ。
+ * 無効な場合はホストアプリのエンジンをそのまま返す。
+ */
+@Component
+public class PreviewTemplateEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreviewTemplateEngine.class);
+    private static final String TEMPLATE_CACHE_NAME = "THYMELEAFLET_PREVIEW_TEMPLATE_CACHE";
+    private static final String EXPRESSION_CACHE_NAME = "THYMELEAFLET_PREVIEW_EXPRESSION_CACHE";
+
+    private final ResolvedStorybookConfig.PreviewEngineConfig config;
+    private final MessageSource messageSource;
+    private final AtomicReference<@Nullable IsolatedEngine> isolatedEngine = new AtomicReference<>();
+
+    public PreviewTemplateEngine(ResolvedStorybookConfig storybookConfig, MessageSource messageSource) {
+        this.config = storybookConfig.getPreviewEngine();
+        this.messageSource = messageSource;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * プレビューの描画に使うエンジンを返す。
+     * 専用エンジンはホストアプリのエンジンごとに 1 度だけ作る。
+     */
+    public ISpringTemplateEngine forPreview(ISpringTemplateEngine hostEngine) {
+        if (!config.isEnabled() || !(hostEngine instanceof TemplateEngine)) {
+            return hostEngine;
+        }
+        IsolatedEngine current = isolatedEngine.get();
+        if (current != null && current.hostEngine() == hostEngine) {
+            return current.engine();
+        }
+        IsolatedEngine created = new IsolatedEngine(hostEngine, createEngine((TemplateEngine) hostEngine));
+        if (isolatedEngine.compareAndSet(current, created)) {
+            logger.info(
+                "Created isolated preview template engine (template cache: {}, expression cache: {})",
+                config.getTemplateCacheMaxSize(),
+                config.getExpressionCacheMaxSize()
+            );
+            return created.engine();
+        }
+        IsolatedEngine winner = isolatedEngine.get();
+        return winner != null && winner.hostEngine() == hostEngine ? winner.engine() : created.engine();
+    }
+
+    private SpringTemplateEngine createEngine(TemplateEngine hostEngine) {
+        // 引き継ぐ設定を確定させるため、ホストアプリのエンジンを初期化しておく
+        hostEngine.getConfiguration();
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setDialects(new LinkedHashSet<>(hostEngine.getDialects()));
+        engine.setTemplateResolvers(new LinkedHashSet<>(hostEngine.getTemplateResolvers()));
+        engine.setLinkBuilders(new LinkedHashSet<>(hostEngine.getLinkBuilders()));
+        engine.setDecoupledTemplateLogicResolver(hostEngine.getDecoupledTemplateLogicResolver());
+        engine.setEngineContextFactory(hostEngine.getEngineContextFactory());
+        // メッセージリゾルバーはエンジンの初期化時に書き換えられるため共有せず、同じメッセージソースから作る
+        engine.setMessageSource(messageSource);
+        if (hostEngine instanceof SpringTemplateEngine springHostEngine) {
+            engine.setRenderHiddenMarkersBeforeCheckboxes(springHostEngine.getRenderHiddenMarkersBeforeCheckboxes());
+        }
+        engine.setCacheManager(createCacheManager());
+        return engine;
+    }
+
+    private StandardCacheManager createCacheManager() {
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheName(TEMPLATE_CACHE_NAME);
+        cacheManager.setTemplateCacheMaxSize(config.getTemplateCacheMaxSize());
+        cacheManager.setTemplateCacheInitialSize(
+            Math.min(StandardCacheManager.DEFAULT_TEMPLATE_CACHE_INITIAL_SIZE, config.getTemplateCacheMaxSize())
+        );
+        if (config.getTemplateCacheTtlMillis() > 0) {
+            cacheManager.setTemplateCacheValidityChecker(new TtlValidityChecker<>(
+                StandardCacheManager.DEFAULT_TEMPLATE_CACHE_VALIDITY_CHECKER,
+                config.getTemplateCacheTtlMillis()
+            ));
+        }
+        cacheManager.setExpressionCacheName(EXPRESSION_CACHE_NAME);
+        cacheManager.setExpressionCacheMaxSize(config.getExpressionCacheMaxSize());
+        cacheManager.setExpressionCacheInitialSize(
+            Math.min(StandardCacheManager.DEFAULT_EXPRESSION_CACHE_INITIAL_SIZE, config.getExpressionCacheMaxSize())
+        );
+        if (config.getExpressionCacheTtlMillis() > 0) {
+            cacheManager.setExpressionCacheValidityChecker(new TtlValidityChecker<>(
+                StandardCacheManager.DEFAULT_EXPRESSION_CACHE_VALIDITY_CHECKER,
+                config.getExpressionCacheTtlMillis()
+            ));
+        }
+        return cacheManager;
+    }
+
+    private record IsolatedEngine(ISpringTemplateEngine hostEngine, SpringTemplateEngine engine) {
+    }
+
+    /**
+     * 既定の有効性判定（あれば）に加えて、作成からの経過時間でキャッシュエントリを失効させる。
+     */
+    static final class TtlValidityChecker<K, V> implements ICacheEntryValidityChecker<K, V> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final @Nullable ICacheEntryValidityChecker<K, V> delegate;
+        private final long ttlMillis;
+
+        TtlValidityChecker(@Nullable ICacheEntryValidityChecker<K, V> delegate, long ttlMillis) {
+            this.delegate = delegate;
+            this.ttlMillis = ttlMillis;
+        }
+
+        @Override
+        public boolean checkIsValueStillValid(K key, V value, long entryCreationTimestamp) {
+            if (System.currentTimeMillis() - entryCreationTimestamp >= ttlMillis) {
+                return false;
+            }
+            return delegate == null || delegate.checkIsValueStillValid(key, value, entryCreationTimestamp);
+        }
+    }
+}
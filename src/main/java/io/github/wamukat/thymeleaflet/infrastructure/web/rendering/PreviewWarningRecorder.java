@@ -3,6 +3,8 @@ package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.Nullable;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -10,19 +12,34 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * /render レスポンス向けのプレビュー警告をリクエスト単位で記録する。
+ *
+ * 記録時は重複排除キーごとの出現回数を数えるだけで、メッセージ解決とヘッダーのエンコードは
+ * {@link #writeHeaders(HttpServletResponse)} でレスポンス確定前に一度だけ行う。
+ * th:each 内で同じ警告が繰り返されても、記録のコストは Map の参照と加算のみになる。
+ *
+ * ストリーミング描画ではヘッダー送信後に警告が確定するため、同じ内容を
+ * {@link #inlineMarker()} で本文末尾の HTML コメントとして送る。
  */
 public final class PreviewWarningRecorder {
 
     public static final String HEADER_NAME = "X-Thymeleaflet-Preview-Warnings";
+    public static final String COUNT_HEADER_NAME = "X-Thymeleaflet-Preview-Warning-Count";
+    public static final String INLINE_MARKER_PREFIX = "<!--thymeleaflet-preview-warnings:";
+    public static final String INLINE_MARKER_SUFFIX = "-->";
 
     private static final String REQUEST_ATTRIBUTE_KEY =
         PreviewWarningRecorder.class.getName() + ".warnings";
+    private static final String REPEATED_MESSAGE_CODE = "thymeleaflet.preview.warning.repeated";
     private static final int MAX_WARNINGS = 8;
 
     private PreviewWarningRecorder() {
@@ -40,35 +57,96 @@ public final class PreviewWarningRecorder {
         }
     }
 
+    /**
+     * 解決済みメッセージを記録する。メッセージ自体を重複排除キーとする。
+     */
     public static void record(@Nullable String warningMessage) {
         if (warningMessage == null || warningMessage.isBlank()) {
             return;
         }
+        record(warningMessage, () -> PreviewWarning.resolved(warningMessage));
+    }
+
+    /**
+     * 重複排除キーで警告を記録する。警告本体は、そのキーが初めて記録されたときだけ生成する。
+     */
+    public static void record(String deduplicationKey, Supplier<PreviewWarning> warningFactory) {
         ServletRequestAttributes attributes = currentServletAttributes();
         if (attributes == null) {
             return;
         }
-        HttpServletRequest request = attributes.getRequest();
-        List<String> warnings = getOrCreateWarnings(request);
+        getOrCreateWarnings(attributes.getRequest()).record(deduplicationKey, warningFactory);
+    }
 
-        if (!warnings.contains(warningMessage) && warnings.size() < MAX_WARNINGS) {
-            warnings.add(warningMessage);
+    /**
+     * 記録済みの警告を解決してレスポンスヘッダーへ書き込む。レスポンス確定前に一度だけ呼び出す。
+     */
+    public static void writeHeaders(HttpServletResponse response) {
+        ServletRequestAttributes attributes = currentServletAttributes();
+        if (attributes == null || response.isCommitted()) {
+            return;
+        }
+        RecordedWarnings warnings = recordedWarnings(attributes);
+        if (warnings == null) {
+            return;
         }
+        response.setHeader(HEADER_NAME, encodeWarnings(warnings.resolveMessages(LocaleContextHolder.getLocale())));
+        response.setHeader(COUNT_HEADER_NAME, String.valueOf(warnings.totalOccurrences()));
+    }
 
-        HttpServletResponse response = attributes.getResponse();
-        if (response != null) {
-            response.setHeader(HEADER_NAME, encodeWarnings(warnings));
+    /**
+     * 現在のリクエストで記録された警告の出現回数（重複を含む）を返す。
+     */
+    static long totalOccurrences() {
+        RecordedWarnings warnings = recordedWarnings(currentServletAttributes());
+        return warnings == null ? 0 : warnings.totalOccurrences();
+    }
+
+    /**
+     * 記録済みの警告を本文末尾に置く HTML コメントとして返す。警告がなければ空文字を返す。
+     *
+     * 形式は {@code <!--thymeleaflet-preview-warnings:{ヘッダーと同じエンコード値}:{出現回数}-->}。
+     */
+    public static String inlineMarker() {
+        RecordedWarnings warnings = recordedWarnings(currentServletAttributes());
+        if (warnings == null) {
+            return "";
+        }
+        return INLINE_MARKER_PREFIX
+            + encodeWarnings(warnings.resolveMessages(LocaleContextHolder.getLocale()))
+            + ":"
+            + warnings.totalOccurrences()
+            + INLINE_MARKER_SUFFIX;
+    }
+
+    /**
+     * {@link #HEADER_NAME} ヘッダーの値を警告メッセージの一覧へ戻す。空または null の場合は空の一覧を返す。
+     */
+    public static List<String> decodeWarnings(@Nullable String encodedWarnings) {
+        if (encodedWarnings == null || encodedWarnings.isBlank()) {
+            return List.of();
+        }
+        String joined = new String(Base64.getUrlDecoder().decode(encodedWarnings), StandardCharsets.UTF_8);
+        return List.of(joined.split("\n"));
+    }
+
+    private static @Nullable RecordedWarnings recordedWarnings(@Nullable ServletRequestAttributes attributes) {
+        if (attributes == null) {
+            return null;
+        }
+        Object existing = attributes.getRequest().getAttribute(REQUEST_ATTRIBUTE_KEY);
+        if (existing instanceof RecordedWarnings warnings && !warnings.isEmpty()) {
+            return warnings;
         }
+        return null;
     }
 
-    private static List<String> getOrCreateWarnings(HttpServletRequest request) {
+    private static RecordedWarnings getOrCreateWarnings(HttpServletRequest request) {
         Object existing = request.getAttribute(REQUEST_ATTRIBUTE_KEY);
-        if (existing instanceof List<?> existingList) {
-            @SuppressWarnings("unchecked")
-            List<String> casted = (List<String>) existingList;
-            return casted;
+        if (existing instanceof RecordedWarnings recordedWarnings) {
+            return recordedWarnings;
         }
-        List<String> warnings = new ArrayList<>();
+        RecordedWarnings warnings = new RecordedWarnings();
         request.setAttribute(REQUEST_ATTRIBUTE_KEY, warnings);
         return warnings;
     }
@@ -91,4 +169,100 @@ public final class PreviewWarningRecorder {
             .withoutPadding()
             .encodeToString(joined.getBytes(StandardCharsets.UTF_8));
     }
+
+    /**
+     * 未解決のプレビュー警告。メッセージコードが null の場合は既定メッセージをそのまま使う。
+     */
+    public record PreviewWarning(
+        @Nullable MessageSource messageSource,
+        @Nullable String code,
+        List<String> arguments,
+        String defaultMessage
+    ) {
+
+        public PreviewWarning {
+            arguments = List.copyOf(arguments);
+        }
+
+        public static PreviewWarning of(
+            MessageSource messageSource,
+            String code,
+            List<String> arguments,
+            String defaultMessage
+        ) {
+            return new PreviewWarning(messageSource, code, arguments, defaultMessage);
+        }
+
+        static PreviewWarning resolved(String message) {
+            return new PreviewWarning(null, null, List.of(), message);
+        }
+
+        String resolve(Locale locale, int occurrences) {
+            String message = defaultMessage;
+            if (messageSource != null && code != null) {
+                String resolved = messageSource.getMessage(code, arguments.toArray(), defaultMessage, locale);
+                if (resolved != null) {
+                    message = resolved;
+                }
+            }
+            if (occurrences <= 1) {
+                return message;
+            }
+            String repeatedDefault = message + " (x" + occurrences + ")";
+            if (messageSource == null) {
+                return repeatedDefault;
+            }
+            String repeated = messageSource.getMessage(
+                REPEATED_MESSAGE_CODE,
+                new Object[] {message, occurrences},
+                repeatedDefault,
+                locale
+            );
+            return repeated != null ? repeated : repeatedDefault;
+        }
+    }
+
+    private static final class RecordedWarnings {
+
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+        private long totalOccurrences;
+
+        void record(String deduplicationKey, Supplier<PreviewWarning> warningFactory) {
+            totalOccurrences++;
+            Entry entry = entries.get(deduplicationKey);
+            if (entry != null) {
+                entry.occurrences++;
+                return;
+            }
+            if (entries.size() < MAX_WARNINGS) {
+                entries.put(deduplicationKey, new Entry(warningFactory.get()));
+            }
+        }
+
+        boolean isEmpty() {
+            return totalOccurrences == 0;
+        }
+
+        long totalOccurrences() {
+            return totalOccurrences;
+        }
+
+        List<String> resolveMessages(Locale locale) {
+            List<String> messages = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values()) {
+                messages.add(entry.warning.resolve(locale, entry.occurrences));
+            }
+            return messages;
+        }
+    }
+
+    private static final class Entry {
+
+        private final PreviewWarning warning;
+        private int occurrences = 1;
+
+        private Entry(PreviewWarning warning) {
+            this.warning = warning;
+        }
+    }
 }
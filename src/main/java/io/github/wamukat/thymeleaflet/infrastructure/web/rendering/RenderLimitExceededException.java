@@ -0,0 +1,66 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * /render の描画制限（時間・出力サイズ）を超えたことを示す例外
+ *
+ * {@link RenderLimitWriter} が書き込み時に送出する。Thymeleaf は書き込み中の例外を
+ * 自身の例外で包むため、受け取る側は {@link #causeOf(Throwable)} で取り出す。
+ */
+final class RenderLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Limit limit;
+    private final long threshold;
+
+    RenderLimitExceededException(Limit limit, long threshold) {
+        super(limit.headerValue() + " limit exceeded: " + threshold, null, false, false);
+        this.limit = limit;
+        this.threshold = threshold;
+    }
+
+    Limit limit() {
+        return limit;
+    }
+
+    /**
+     * 超過した上限値（DEADLINE はミリ秒、OUTPUT_SIZE は文字数）
+     */
+    long threshold() {
+        return threshold;
+    }
+
+    static @Nullable RenderLimitExceededException causeOf(Throwable throwable) {
+        Throwable current = throwable;
+        for (int depth = 0; current != null && depth < 16; depth++) {
+            if (current instanceof RenderLimitExceededException exceeded) {
+                return exceeded;
+            }
+            current = current.getCause();
+        }
+        return null;
+    }
+
+    enum Limit {
+        DEADLINE("deadline", "thymeleaflet.preview.warning.renderDeadlineExceeded"),
+        OUTPUT_SIZE("output-size", "thymeleaflet.preview.warning.renderOutputLimitExceeded");
+
+        private final String headerValue;
+        private final String messageCode;
+
+        Limit(String headerValue, String messageCode) {
+            this.headerValue = headerValue;
+            this.messageCode = messageCode;
+        }
+
+        String headerValue() {
+            return headerValue;
+        }
+
+        String messageCode() {
+            return messageCode;
+        }
+    }
+}
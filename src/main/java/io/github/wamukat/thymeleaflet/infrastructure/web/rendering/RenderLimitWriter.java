@@ -0,0 +1,86 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 描画時間と出力文字数の上限を書き込みごとに検査する Writer
+ *
+ * Thymeleaf の処理は割り込めないため、テンプレートが出力を書き込む時点を打ち切りの機会として使う。
+ * 上限を超えると {@link RenderLimitExceededException} を送出し、それ以降の処理を止める。
+ * 時刻の取得は {@link #DEADLINE_CHECK_INTERVAL} 回の書き込みごとと flush 時に行うため、期限はベストエフォートであり、
+ * 期限を過ぎてから打ち切るまでに最大でその間隔分の出力が書き込まれる。
+ */
+final class RenderLimitWriter extends Writer {
+
+    static final int DEADLINE_CHECK_INTERVAL = 64;
+
+    private final Writer delegate;
+    private final long deadlineMillis;
+    private final long deadlineNanoTime;
+    private final long maxCharacters;
+    private long writtenCharacters;
+    private int writesSinceDeadlineCheck;
+
+    /**
+     * @param deadlineMillis 描画に許す時間（ミリ秒）。0 のとき無制限
+     * @param maxCharacters 出力できる最大文字数。0 のとき無制限
+     */
+    RenderLimitWriter(Writer delegate, long deadlineMillis, long maxCharacters) {
+        this.delegate = delegate;
+        this.deadlineMillis = deadlineMillis;
+        this.deadlineNanoTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        this.maxCharacters = maxCharacters;
+    }
+
+    @Override
+    public void write(int character) throws IOException {
+        beforeWrite(1);
+        delegate.write(character);
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        beforeWrite(length);
+        delegate.write(buffer, offset, length);
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        beforeWrite(length);
+        delegate.write(text, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        checkDeadline();
+        delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    long writtenCharacters() {
+        return writtenCharacters;
+    }
+
+    private void beforeWrite(int length) {
+        writtenCharacters += length;
+        if (maxCharacters > 0 && writtenCharacters > maxCharacters) {
+            throw new RenderLimitExceededException(RenderLimitExceededException.Limit.OUTPUT_SIZE, maxCharacters);
+        }
+        if (++writesSinceDeadlineCheck >= DEADLINE_CHECK_INTERVAL) {
+            writesSinceDeadlineCheck = 0;
+            checkDeadline();
+        }
+    }
+
+    private void checkDeadline() {
+        if (deadlineMillis > 0 && System.nanoTime() - deadlineNanoTime > 0) {
+            throw new RenderLimitExceededException(RenderLimitExceededException.Limit.DEADLINE, deadlineMillis);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
+
+import io.github.wamukat.thymeleaflet.domain.service.FragmentDomainService;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ThymeleafletMetrics;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.FragmentRenderEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Locale;
+
+/**
+ * ストーリー描画 1 件分の計測値をリクエスト単位で集め、描画の完了時に {@link ThymeleafletMetrics} と
+ * JFR の {@link FragmentRenderEvent} へ記録する。
+ *
+ * 描画サービスが開始時刻とフラグメント種別・失敗理由を記録し、ビューがテンプレート処理後に
+ * 出力量と警告数を加えて記録する。一括描画のように属性を分離した描画用リクエストでは、描画ごとに別々に記録される。
+ */
+public final class RenderMetricsRecorder {
+
+    private static final String REQUEST_ATTRIBUTE_KEY = RenderMetricsRecorder.class.getName() + ".render";
+    private static final String UNKNOWN_FRAGMENT_TYPE = "unknown";
+
+    private RenderMetricsRecorder() {
+    }
+
+    /**
+     * 現在のリクエストで描画の計測を開始する。
+     */
+    public static void start(String templatePath, String fragmentName, String storyName) {
+        HttpServletRequest request = currentRequest();
+        if (request != null) {
+            request.setAttribute(
+                REQUEST_ATTRIBUTE_KEY,
+                new InFlightRender(templatePath, fragmentName, storyName, System.nanoTime(), FragmentRenderEvent.start())
+            );
+        }
+    }
+
+    /**
+     * 描画計画から判明したフラグメント種別を記録する。
+     */
+    public static void describe(FragmentDomainService.FragmentType fragmentType) {
+        InFlightRender render = inFlightRender(currentRequest());
+        if (render != null) {
+            render.fragmentType = fragmentType.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * テンプレート処理の前に描画が失敗したことを記録する。エラー表示の描画後もこの結果で記録される。
+     */
+    public static void fail(ThymeleafletMetrics.RenderStatus status) {
+        InFlightRender render = inFlightRender(currentRequest());
+        if (render != null) {
+            render.status = status;
+        }
+    }
+
+    /**
+     * 計測中の描画を完了として記録する。計測を開始していないリクエストでは何もしない。
+     *
+     * @param failure テンプレート処理中の失敗（描画制限の超過など）。なければ null
+     * @param outputCharacters 出力した文字数。数えていない場合は -1
+     */
+    static void complete(
+        HttpServletRequest request,
+        ThymeleafletMetrics metrics,
+        ThymeleafletMetrics.@Nullable RenderStatus failure,
+        long outputCharacters
+    ) {
+        InFlightRender render = inFlightRender(request);
+        if (render == null) {
+            return;
+        }
+        request.removeAttribute(REQUEST_ATTRIBUTE_KEY);
+        ThymeleafletMetrics.RenderStatus status = render.status != ThymeleafletMetrics.RenderStatus.SUCCESS
+            ? render.status
+            : failure != null ? failure : ThymeleafletMetrics.RenderStatus.SUCCESS;
+        long warnings = PreviewWarningRecorder.totalOccurrences();
+        metrics.recordRender(new ThymeleafletMetrics.RenderSample(
+            render.templatePath,
+            render.fragmentName,
+            render.fragmentType,
+            status,
+            System.nanoTime() - render.startNanos,
+            outputCharacters,
+            warnings
+        ));
+        render.event.finish(
+            render.templatePath,
+            render.fragmentName,
+            render.storyName,
+            render.fragmentType,
+            status.tagValue(),
+            outputCharacters,
+            warnings
+        );
+    }
+
+    private static @Nullable InFlightRender inFlightRender(@Nullable HttpServletRequest request) {
+        if (request != null && request.getAttribute(REQUEST_ATTRIBUTE_KEY) instanceof InFlightRender render) {
+            return render;
+        }
+        return null;
+    }
+
+    private static @Nullable HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest();
+        }
+        return null;
+    }
+
+    private static final class InFlightRender {
+
+        private final String templatePath;
+        private final String fragmentName;
+        private final String storyName;
+        private final long startNanos;
+        private final FragmentRenderEvent event;
+        private String fragmentType = UNKNOWN_FRAGMENT_TYPE;
+        private ThymeleafletMetrics.RenderStatus status = ThymeleafletMetrics.RenderStatus.SUCCESS;
+
+        private InFlightRender(
+            String templatePath,
+            String fragmentName,
+            String storyName,
+            long startNanos,
+            FragmentRenderEvent event
+        ) {
+            this.templatePath = templatePath;
+            this.fragmentName = fragmentName;
+            this.storyName = storyName;
+            this.startNanos = startNanos;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
+
+import io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery.FragmentDiscoveryService;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ThymeleafletExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thymeleaf エンジンのテンプレートキャッシュを起動時に読み込むウォームアップ
+ *
+ * /render はフラグメントごとに「テンプレート名 + フラグメント名のセレクタ」をキーとしてテンプレートをキャッシュする。
+ * 同じキーで {@link TemplateEngine#processThrottled} を呼ぶと、テンプレートの解決と解析の結果だけが
+ * キャッシュに登録され、フラグメントは実行されない。これにより、デプロイ直後の最初のプレビューで
+ * テンプレートの解決と解析を待たずに済む。
+ * プレビュー専用エンジンが有効な場合は、そのエンジンのキャッシュを読み込む。
+ *
+ * テンプレート単位で {@code thymeleaflet.cache.preload-engine-parallelism} 件に制限して並行に処理し、
+ * テンプレートごとの所要時間を記録する。テンプレートリゾルバーがキャッシュしない設定の場合は何も残らない。
+ */
+@Component
+public class TemplateEngineWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateEngineWarmup.class);
+
+    private final SpringTemplateEngine templateEngine;
+    private final PreviewTemplateEngine previewTemplateEngine;
+    private final ThymeleafletExecutors executors;
+    private final int parallelism;
+
+    public TemplateEngineWarmup(
+        SpringTemplateEngine templateEngine,
+        PreviewTemplateEngine previewTemplateEngine,
+        ThymeleafletExecutors executors,
+        ResolvedStorybookConfig storybookConfig
+    ) {
+        this.templateEngine = templateEngine;
+        this.previewTemplateEngine = previewTemplateEngine;
+        this.executors = executors;
+        this.parallelism = storybookConfig.getCache().getPreloadEngineParallelism();
+    }
+
+    /**
+     * フラグメントのテンプレートをエンジンのキャッシュへ読み込み、テンプレートごとの結果を入力順で返す。
+     * 個々のテンプレートの失敗は結果として返し、他のテンプレートの読み込みは継続する。
+     */
+    public List<TemplateTiming> warm(List<FragmentDiscoveryService.FragmentInfo> fragments) {
+        Map<String, Set<String>> fragmentNamesByTemplate = new LinkedHashMap<>();
+        for (FragmentDiscoveryService.FragmentInfo fragment : fragments) {
+            fragmentNamesByTemplate
+                .computeIfAbsent(fragment.getTemplatePath(), templatePath -> new LinkedHashSet<>())
+                .add(fragment.getFragmentName());
+        }
+        if (fragmentNamesByTemplate.isEmpty()) {
+            return List.of();
+        }
+
+        ISpringTemplateEngine engine = previewTemplateEngine.forPreview(templateEngine);
+        Semaphore permits = new Semaphore(parallelism);
+        List<Callable<TemplateTiming>> tasks = new ArrayList<>(fragmentNamesByTemplate.size());
+        fragmentNamesByTemplate.forEach((templateName, fragmentNames) ->
+            tasks.add(() -> warmTemplate(engine, permits, templateName, fragmentNames)));
+
+        long startNanos = System.nanoTime();
+        List<TemplateTiming> timings = runAll(tasks, new ArrayList<>(fragmentNamesByTemplate.keySet()));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        long failed = timings.stream().filter(timing -> !timing.succeeded()).count();
+        TemplateTiming slowest = timings.stream()
+            .max(Comparator.comparingLong(TemplateTiming::elapsedMillis))
+            .orElseThrow();
+        logger.info(
+            "Preloaded Thymeleaf template cache in {} ms (templates: {}, fragments: {}, failed: {}, slowest: {} {} ms)",
+            elapsedMillis,
+            timings.size(),
+            timings.stream().mapToInt(TemplateTiming::fragmentCount).sum(),
+            failed,
+            slowest.templateName(),
+            slowest.elapsedMillis()
+        );
+        return timings;
+    }
+
+    private List<TemplateTiming> runAll(List<Callable<TemplateTiming>> tasks, List<String> templateNames) {
+        ExecutorService executor = executors.newExecutor("thymeleaflet-engine-warmup-", parallelism);
+        try {
+            List<Future<TemplateTiming>> futures = executor.invokeAll(tasks);
+            List<TemplateTiming> timings = new ArrayList<>(futures.size());
+            for (int index = 0; index < futures.size(); index++) {
+                timings.add(awaitTiming(templateNames.get(index), futures.get(index)));
+            }
+            return List.copyOf(timings);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Thymeleaf template cache warmup was interrupted", interrupted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TemplateTiming awaitTiming(String templateName, Future<TemplateTiming> future)
+        throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException executionException) {
+            logger.warn("Failed to preload template {}: {}", templateName, executionException.getCause());
+            return new TemplateTiming(templateName, 0, 0, false);
+        }
+    }
+
+    private static TemplateTiming warmTemplate(
+        ISpringTemplateEngine engine,
+        Semaphore permits,
+        String templateName,
+        Set<String> fragmentNames
+    ) throws InterruptedException {
+        // 仮想スレッドはタスクごとに起動されるため、同時に解析する件数はここで制限する
+        permits.acquire();
+        long startNanos = System.nanoTime();
+        try {
+            Context context = new Context(Locale.getDefault());
+            for (String fragmentName : fragmentNames) {
+                // /render と同じキャッシュキーになるよう、フラグメント名だけをセレクタにする
+                engine.processThrottled(templateName, Set.of(fragmentName), context);
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            logger.debug("Preloaded template {} ({} fragments) in {} ms", templateName, fragmentNames.size(), elapsedMillis);
+            return new TemplateTiming(templateName, fragmentNames.size(), elapsedMillis, true);
+        } catch (RuntimeException exception) {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            logger.warn("Failed to preload template {} after {} ms: {}", templateName, elapsedMillis, exception.getMessage());
+            return new TemplateTiming(templateName, fragmentNames.size(), elapsedMillis, false);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * テンプレート 1 件分の読み込み結果
+     *
+     * @param templateName テンプレート名
+     * @param fragmentCount 読み込んだフラグメント数
+     * @param elapsedMillis 所要時間（ミリ秒）
+     * @param succeeded 全フラグメントを読み込めたか
+     */
+    public record TemplateTiming(String templateName, int fragmentCount, long elapsedMillis, boolean succeeded) {
+    }
+}
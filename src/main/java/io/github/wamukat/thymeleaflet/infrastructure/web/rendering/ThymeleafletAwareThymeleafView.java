@@ -1,9 +1,15 @@
 package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
 
+import io.github.wamukat.thymeleaflet.domain.service.ParseResultCache;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ThymeleafletMetrics;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.expression.MethodResolver;
@@ -38,15 +44,59 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * /render 時にのみ no-arg メソッド互換 resolver を評価コンテキストへ追加する ThymeleafView 拡張。
+ *
+ * リクエストごとの割り当てを抑えるため、次の値を共有・再利用する。
+ * <ul>
+ *   <li>Web アプリケーションオブジェクト: ServletContext 属性として ServletContext ごとに一つ</li>
+ *   <li>resolver チェーン: ビューインスタンスごとに初回の /render で一度だけ構築した不変リスト</li>
+ *   <li>出力バッファ: ビュー名ごとの直近の出力サイズから初期容量を決定</li>
+ * </ul>
+ *
+ * {@code thymeleaflet.preview.streaming} が有効な場合、/render はバッファせずにレスポンスへ直接書き込み、
+ * プレビュー警告はヘッダーの代わりに本文末尾のマーカーとして送る。
+ *
+ * {@link #BUFFERED_RENDER_ATTRIBUTE} が設定されたリクエストは URI に関わらず /render として扱い、
+ * ストリーミング設定に関わらず常にバッファする（バッチ描画で出力と警告をストーリーごとに取り出すため）。
+ *
+ * {@link #RENDERED_OUTPUT_LISTENER_ATTRIBUTE} に {@link RenderedOutputListener} が設定された /render は、
+ * バッファした出力をレスポンスへ書き出した後にリスナーへ渡す（実行中の描画への合流で使用）。
+ *
+ * /render のテンプレート処理には描画時間と出力文字数の上限を設ける。上限を超えた時点で処理を打ち切り、
+ * 出力をエラー表示フラグメントに置き換えて（ストリーミング時は送信済みの出力の後ろに追記して）、
+ * プレビュー警告と {@link #RENDER_LIMIT_HEADER_NAME} ヘッダーで理由を伝える。
+ *
+ * {@code thymeleaflet.preview-engine.enabled} が有効な場合、/render はホストアプリのエンジンではなく
+ * {@link PreviewTemplateEngine} の専用エンジンでテンプレートを処理する。
  */
 public class ThymeleafletAwareThymeleafView extends ThymeleafView {
 
+    public static final String STREAMING_HEADER_NAME = "X-Thymeleaflet-Preview-Streaming";
+    public static final String BUFFERED_RENDER_ATTRIBUTE =
+        ThymeleafletAwareThymeleafView.class.getName() + ".bufferedRender";
+    public static final String RENDER_LIMIT_HEADER_NAME = "X-Thymeleaflet-Render-Limit-Exceeded";
+    public static final String RENDERED_OUTPUT_LISTENER_ATTRIBUTE =
+        ThymeleafletAwareThymeleafView.class.getName() + ".renderedOutputListener";
+
+    private static final Logger logger = LoggerFactory.getLogger(ThymeleafletAwareThymeleafView.class);
+    private static final String RENDER_LIMIT_WARNING_KEY_PREFIX = "renderLimit:";
+    private static final String RENDER_LIMIT_ERROR_VIEW_NAME =
+        "thymeleaflet/fragments/error-display :: error(type='warning', title=null, message=null, "
+            + "showActionButton=false, actionText=null, actionScript=null, templatePath=null)";
+
     private static final @Nullable String PATH_VARIABLES_SELECTOR = computePathVariablesSelector();
     private static final String RENDER_SUFFIX = "/render";
     private static final String THYMELEAFLET_PREFIX = "/thymeleaflet/";
+    private static final String WEB_APPLICATION_ATTRIBUTE =
+        ThymeleafletAwareThymeleafView.class.getName() + ".webApplication";
+    private static final int CACHE_MAXIMUM_SIZE = 512;
+    private static final ParseResultCache<String, OutputSizeEstimate> OUTPUT_SIZE_ESTIMATES =
+        new ParseResultCache<>("view-output-size", CACHE_MAXIMUM_SIZE);
+
+    private volatile @Nullable RenderSupport renderSupport;
 
     @Override
     protected void renderFragment(
@@ -55,9 +105,8 @@ public class ThymeleafletAwareThymeleafView extends ThymeleafView {
         HttpServletRequest request,
         HttpServletResponse response
     ) throws Exception {
-        ServletContext servletContext = getServletContext();
-        IWebExchange webExchange =
-            JakartaServletWebApplication.buildApplication(servletContext).buildExchange(request, response);
+        ServletContext servletContext = Objects.requireNonNull(getServletContext(), "ServletContext is required");
+        IWebExchange webExchange = webApplication(servletContext).buildExchange(request, response);
 
         String viewTemplateName = getTemplateName();
         ISpringTemplateEngine viewTemplateEngine = getTemplateEngine();
@@ -108,11 +157,17 @@ public class ThymeleafletAwareThymeleafView extends ThymeleafView {
             (ConversionService) request.getAttribute(ConversionService.class.getName());
         ThymeleafEvaluationContext evaluationContext =
             new ThymeleafEvaluationContext(applicationContext, conversionService);
-        if (isThymeleafletRenderRequest(request)) {
-            List<MethodResolver> methodResolvers = new ArrayList<>();
-            methodResolvers.add(new MapNoArgMethodResolver(applicationContext));
-            methodResolvers.addAll(evaluationContext.getMethodResolvers());
-            evaluationContext.setMethodResolvers(methodResolvers);
+        boolean thymeleafletRenderRequest = isThymeleafletRenderRequest(request);
+        boolean streamingRender = false;
+        @Nullable RenderSupport support = null;
+        if (thymeleafletRenderRequest) {
+            support = renderSupport(applicationContext, evaluationContext);
+            evaluationContext.setMethodResolvers(support.methodResolvers());
+            streamingRender = support.streaming() && request.getAttribute(BUFFERED_RENDER_ATTRIBUTE) == null;
+            PreviewTemplateEngine previewEngine = support.previewEngine();
+            if (previewEngine != null) {
+                viewTemplateEngine = previewEngine.forPreview(viewTemplateEngine);
+            }
         }
         mergedModel.put(
             ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
@@ -123,45 +178,9 @@ public class ThymeleafletAwareThymeleafView extends ThymeleafView {
         WebExpressionContext context =
             new WebExpressionContext(configuration, webExchange, getLocale(), mergedModel);
 
-        String templateName;
-        @Nullable Set<String> markupSelectors;
-        if (!viewTemplateName.contains("::")) {
-            templateName = viewTemplateName;
-            markupSelectors = null;
-        } else {
-            SpringRequestUtils.checkViewNameNotInRequest(viewTemplateName, webExchange.getRequest());
-            IStandardExpressionParser parser = StandardExpressions.getExpressionParser(configuration);
-
-            FragmentExpression fragmentExpression;
-            try {
-                fragmentExpression = (FragmentExpression) parser.parseExpression(
-                    context,
-                    "~{" + viewTemplateName + "}"
-                );
-            } catch (TemplateProcessingException templateProcessingException) {
-                throw new IllegalArgumentException(
-                    "Invalid template name specification: '" + viewTemplateName + "'"
-                );
-            }
-
-            FragmentExpression.ExecutedFragmentExpression fragment =
-                FragmentExpression.createExecutedFragmentExpression(context, fragmentExpression);
-
-            templateName = FragmentExpression.resolveTemplateName(fragment);
-            markupSelectors = FragmentExpression.resolveFragments(fragment);
-            Map<String, Object> nameFragmentParameters = fragment.getFragmentParameters();
-
-            if (nameFragmentParameters != null) {
-                if (fragment.hasSyntheticParameters()) {
-                    throw new IllegalArgumentException(
-                        "Parameters in a view specification must be named (non-synthetic): '"
-                            + viewTemplateName
-                            + "'"
-                    );
-                }
-                context.setVariables(nameFragmentParameters);
-            }
-        }
+        TemplateSelection selection = selectTemplate(configuration, context, webExchange, viewTemplateName);
+        String templateName = selection.templateName();
+        @Nullable Set<String> markupSelectors = selection.markupSelectors();
 
         String templateContentType = getContentType();
         String templateCharacterEncoding = getCharacterEncoding();
@@ -202,16 +221,169 @@ public class ThymeleafletAwareThymeleafView extends ThymeleafView {
             }
         }
 
-        boolean producePartialOutputWhileProcessing = getProducePartialOutputWhileProcessing();
-        Writer templateWriter =
-            producePartialOutputWhileProcessing ? response.getWriter() : new FastStringWriter(1024);
+        // /render はプレビュー警告ヘッダーを、計測中のリクエストは Server-Timing ヘッダーを描画後に書き込むため、
+        // ストリーミング時以外はバッファする
+        boolean timedRequest = ServerTimingRecorder.isActive(request);
+        boolean producePartialOutputWhileProcessing = streamingRender
+            || (getProducePartialOutputWhileProcessing() && !thymeleafletRenderRequest && !timedRequest);
+        if (streamingRender) {
+            response.setHeader(STREAMING_HEADER_NAME, "true");
+            ServerTimingRecorder.writeHeader(request, response);
+        }
+        OutputSizeEstimate outputSizeEstimate =
+            OUTPUT_SIZE_ESTIMATES.get(viewTemplateName, key -> new OutputSizeEstimate());
+        @Nullable FastStringWriter outputBuffer = producePartialOutputWhileProcessing
+            ? null
+            : new FastStringWriter(outputSizeEstimate.initialCapacity());
+        Writer outputWriter = outputBuffer != null ? outputBuffer : response.getWriter();
+        Writer templateWriter = support != null && support.hasRenderLimits()
+            ? new RenderLimitWriter(outputWriter, support.renderDeadlineMillis(), support.maxOutputCharacters())
+            : outputWriter;
 
-        viewTemplateEngine.process(templateName, processMarkupSelectors, context, templateWriter);
+        @Nullable String limitErrorOutput = null;
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.TEMPLATE)) {
+            viewTemplateEngine.process(templateName, processMarkupSelectors, context, templateWriter);
+        } catch (RuntimeException processingException) {
+            RenderLimitExceededException exceeded = RenderLimitExceededException.causeOf(processingException);
+            if (exceeded == null) {
+                if (support != null) {
+                    RenderMetricsRecorder.complete(request, support.metrics(), ThymeleafletMetrics.RenderStatus.ERROR, -1);
+                }
+                throw processingException;
+            }
+            limitErrorOutput = renderLimitError(
+                exceeded,
+                applicationContext,
+                viewTemplateEngine,
+                context,
+                webExchange,
+                viewTemplateName,
+                response
+            );
+        }
 
-        if (!producePartialOutputWhileProcessing) {
-            response.getWriter().write(templateWriter.toString());
+        if (streamingRender) {
+            Writer responseWriter = response.getWriter();
+            if (limitErrorOutput != null) {
+                responseWriter.write(limitErrorOutput);
+            }
+            responseWriter.write(PreviewWarningRecorder.inlineMarker());
+            responseWriter.flush();
+        } else {
+            if (thymeleafletRenderRequest) {
+                PreviewWarningRecorder.writeHeaders(response);
+            }
+            ServerTimingRecorder.writeHeader(request, response);
+        }
+        long outputCharacters = templateWriter instanceof RenderLimitWriter limitWriter
+            ? limitWriter.writtenCharacters()
+            : -1;
+        if (outputBuffer != null) {
+            String output;
+            if (limitErrorOutput != null) {
+                output = limitErrorOutput;
+            } else {
+                output = outputBuffer.toString();
+                outputSizeEstimate.record(output.length());
+            }
+            outputCharacters = output.length();
+            response.getWriter().write(output);
             response.getWriter().flush();
+            if (thymeleafletRenderRequest
+                && request.getAttribute(RENDERED_OUTPUT_LISTENER_ATTRIBUTE) instanceof RenderedOutputListener listener) {
+                listener.rendered(output, response);
+            }
+        }
+        if (support != null) {
+            RenderMetricsRecorder.complete(
+                request,
+                support.metrics(),
+                limitErrorOutput != null ? ThymeleafletMetrics.RenderStatus.LIMIT_EXCEEDED : null,
+                outputCharacters
+            );
+        }
+    }
+
+    /**
+     * 描画制限の超過を警告として記録し、代わりに表示するエラー表示フラグメントを描画して返す。
+     */
+    private String renderLimitError(
+        RenderLimitExceededException exceeded,
+        ApplicationContext applicationContext,
+        ISpringTemplateEngine templateEngine,
+        WebExpressionContext context,
+        IWebExchange webExchange,
+        String viewTemplateName,
+        HttpServletResponse response
+    ) {
+        RenderLimitExceededException.Limit limit = exceeded.limit();
+        String threshold = String.valueOf(exceeded.threshold());
+        String defaultMessage = "Rendering was stopped: " + exceeded.getMessage();
+        logger.warn("Stopped rendering {}: {}", viewTemplateName, exceeded.getMessage());
+        PreviewWarningRecorder.record(
+            RENDER_LIMIT_WARNING_KEY_PREFIX + limit.headerValue(),
+            () -> PreviewWarningRecorder.PreviewWarning.of(
+                applicationContext,
+                limit.messageCode(),
+                List.of(threshold),
+                defaultMessage
+            )
+        );
+        if (!response.isCommitted()) {
+            response.setHeader(RENDER_LIMIT_HEADER_NAME, limit.headerValue());
+        }
+        String message = applicationContext.getMessage(
+            limit.messageCode(),
+            new Object[] {threshold},
+            defaultMessage,
+            context.getLocale()
+        );
+        context.setVariable("error", message);
+        TemplateSelection selection = selectTemplate(
+            templateEngine.getConfiguration(),
+            context,
+            webExchange,
+            RENDER_LIMIT_ERROR_VIEW_NAME
+        );
+        FastStringWriter errorWriter = new FastStringWriter(OutputSizeEstimate.MINIMUM_CAPACITY);
+        templateEngine.process(selection.templateName(), selection.markupSelectors(), context, errorWriter);
+        return errorWriter.toString();
+    }
+
+    /**
+     * ビュー名から処理するテンプレートとマークアップセレクタを決める。
+     * {@code ~{...}} 形式の名前付き引数はコンテキスト変数として設定する。
+     */
+    private static TemplateSelection selectTemplate(
+        IEngineConfiguration configuration,
+        WebExpressionContext context,
+        IWebExchange webExchange,
+        String viewTemplateName
+    ) {
+        if (!viewTemplateName.contains("::")) {
+            return new TemplateSelection(viewTemplateName, null);
         }
+        SpringRequestUtils.checkViewNameNotInRequest(viewTemplateName, webExchange.getRequest());
+        FragmentExpression fragmentExpression = parseViewExpression(configuration, context, viewTemplateName);
+
+        FragmentExpression.ExecutedFragmentExpression fragment =
+            FragmentExpression.createExecutedFragmentExpression(context, fragmentExpression);
+
+        String templateName = FragmentExpression.resolveTemplateName(fragment);
+        @Nullable Set<String> markupSelectors = FragmentExpression.resolveFragments(fragment);
+        Map<String, Object> nameFragmentParameters = fragment.getFragmentParameters();
+
+        if (nameFragmentParameters != null) {
+            if (fragment.hasSyntheticParameters()) {
+                throw new IllegalArgumentException(
+                    "Parameters in a view specification must be named (non-synthetic): '"
+                        + viewTemplateName
+                        + "'"
+                );
+            }
+            context.setVariables(nameFragmentParameters);
+        }
+        return new TemplateSelection(templateName, markupSelectors);
     }
 
     private static @Nullable String computePathVariablesSelector() {
@@ -223,7 +395,71 @@ public class ThymeleafletAwareThymeleafView extends ThymeleafView {
         }
     }
 
+    private static JakartaServletWebApplication webApplication(ServletContext servletContext) {
+        Object cached = servletContext.getAttribute(WEB_APPLICATION_ATTRIBUTE);
+        if (cached instanceof JakartaServletWebApplication webApplication) {
+            return webApplication;
+        }
+        JakartaServletWebApplication webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+        servletContext.setAttribute(WEB_APPLICATION_ATTRIBUTE, webApplication);
+        return webApplication;
+    }
+
+    /**
+     * /render 用の設定（no-arg メソッド互換 resolver を先頭に置いた resolver チェーン、ストリーミング設定、描画制限と
+     * プレビュー専用エンジン）。
+     * Thymeleaf 既定の resolver は全評価コンテキストで共有される不変の一覧のため、連結結果も共有できる。
+     * ビューインスタンスに保持するため、アプリケーションコンテキストの再起動時にはビューと一緒に破棄される。
+     */
+    private RenderSupport renderSupport(
+        ApplicationContext applicationContext,
+        ThymeleafEvaluationContext evaluationContext
+    ) {
+        RenderSupport support = renderSupport;
+        if (support == null) {
+            List<MethodResolver> methodResolvers = new ArrayList<>();
+            methodResolvers.add(new MapNoArgMethodResolver(applicationContext));
+            methodResolvers.addAll(evaluationContext.getMethodResolvers());
+            ResolvedStorybookConfig storybookConfig =
+                applicationContext.getBeanProvider(ResolvedStorybookConfig.class).getIfAvailable();
+            ResolvedStorybookConfig.PreviewConfig preview = storybookConfig != null
+                ? storybookConfig.getPreview()
+                : ResolvedStorybookConfig.defaults().getPreview();
+            support = new RenderSupport(
+                List.copyOf(methodResolvers),
+                preview.isStreaming(),
+                preview.getRenderDeadlineMillis(),
+                preview.getMaxOutputCharacters(),
+                applicationContext.getBeanProvider(ThymeleafletMetrics.class).getIfAvailable(() -> ThymeleafletMetrics.NOOP),
+                applicationContext.getBeanProvider(PreviewTemplateEngine.class).getIfAvailable()
+            );
+            renderSupport = support;
+        }
+        return support;
+    }
+
+    /**
+     * ビュー名の {@code ~{...}} 式を解析する。解析結果は Thymeleaf の式キャッシュに保持される。
+     */
+    private static FragmentExpression parseViewExpression(
+        IEngineConfiguration configuration,
+        WebExpressionContext context,
+        String viewTemplateName
+    ) {
+        IStandardExpressionParser parser = StandardExpressions.getExpressionParser(configuration);
+        try {
+            return (FragmentExpression) parser.parseExpression(context, "~{" + viewTemplateName + "}");
+        } catch (TemplateProcessingException templateProcessingException) {
+            throw new IllegalArgumentException(
+                "Invalid template name specification: '" + viewTemplateName + "'"
+            );
+        }
+    }
+
     private boolean isThymeleafletRenderRequest(HttpServletRequest request) {
+        if (request.getAttribute(BUFFERED_RENDER_ATTRIBUTE) != null) {
+            return true;
+        }
         String requestUri = request.getRequestURI();
         if (requestUri == null) {
             return false;
@@ -231,4 +467,54 @@ public class ThymeleafletAwareThymeleafView extends ThymeleafView {
         return requestUri.startsWith(THYMELEAFLET_PREFIX) && requestUri.endsWith(RENDER_SUFFIX);
     }
 
+    private record RenderSupport(
+        List<MethodResolver> methodResolvers,
+        boolean streaming,
+        int renderDeadlineMillis,
+        int maxOutputCharacters,
+        ThymeleafletMetrics metrics,
+        @Nullable PreviewTemplateEngine previewEngine
+    ) {
+
+        boolean hasRenderLimits() {
+            return renderDeadlineMillis > 0 || maxOutputCharacters > 0;
+        }
+    }
+
+    /**
+     * バッファした /render の出力を受け取るリスナー
+     */
+    @FunctionalInterface
+    public interface RenderedOutputListener {
+
+        /**
+         * 出力をレスポンスへ書き出した後に呼ばれる。ヘッダーとステータスはレスポンスから参照できる。
+         */
+        void rendered(String output, HttpServletResponse response);
+    }
+
+    private record TemplateSelection(String templateName, @Nullable Set<String> markupSelectors) {
+    }
+
+    /**
+     * ビューごとの出力サイズの移動平均。初期容量を平均より少し大きく取り、
+     * 典型的な出力ではバッファの再確保が起きないようにする。
+     */
+    static final class OutputSizeEstimate {
+
+        static final int MINIMUM_CAPACITY = 1024;
+        static final int MAXIMUM_CAPACITY = 1024 * 1024;
+
+        private final AtomicInteger averageSize = new AtomicInteger(MINIMUM_CAPACITY);
+
+        int initialCapacity() {
+            int average = averageSize.get();
+            return Math.min(MAXIMUM_CAPACITY, Math.max(MINIMUM_CAPACITY, average + (average >> 2)));
+        }
+
+        void record(int outputSize) {
+            int boundedSize = Math.min(MAXIMUM_CAPACITY, Math.max(0, outputSize));
+            averageSize.updateAndGet(average -> (3 * average + boundedSize) / 4);
+        }
+    }
 }
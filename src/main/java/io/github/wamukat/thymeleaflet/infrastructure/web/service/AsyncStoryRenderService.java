@@ -0,0 +1,75 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ThymeleafletExecutors;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.Map;
+
+/**
+ * 仮想スレッドモードで /render を非同期に処理するサービス
+ *
+ * ストーリーの描画準備から描画までを仮想スレッド上で {@link CapturedStoryRenderer} により行い、
+ * ハンドラーが返した {@link WebAsyncTask} によりサーブレットスレッドは描画の開始時点で返却される。描画結果（本文とプレビュー警告ヘッダー）は
+ * 再ディスパッチ後に ResponseEntity として書き出す。オーバーライドのない描画は同期処理と同様に合流の対象とする。
+ */
+@Component
+public class AsyncStoryRenderService {
+
+    private final CapturedStoryRenderer capturedStoryRenderer;
+    private final StoryRenderCoalescer storyRenderCoalescer;
+    private final ThymeleafletExecutors executors;
+
+    public AsyncStoryRenderService(
+        CapturedStoryRenderer capturedStoryRenderer,
+        StoryRenderCoalescer storyRenderCoalescer,
+        ThymeleafletExecutors executors
+    ) {
+        this.capturedStoryRenderer = capturedStoryRenderer;
+        this.storyRenderCoalescer = storyRenderCoalescer;
+        this.executors = executors;
+    }
+
+    public boolean isEnabled() {
+        return executors.isVirtualThreads();
+    }
+
+    /**
+     * ストーリーを仮想スレッドで描画する非同期タスクを作成する。呼び出し元のハンドラーはこれをそのまま返すこと。
+     */
+    public WebAsyncTask<ResponseEntity<String>> render(
+        String templatePath,
+        String fragmentName,
+        String storyName,
+        Map<String, Object> parameterOverrides,
+        Map<String, Object> modelOverrides,
+        Map<String, Object> methodReturnsOverrides,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) {
+        boolean shareable = storyRenderCoalescer.accepts(request)
+            && parameterOverrides.isEmpty()
+            && modelOverrides.isEmpty()
+            && methodReturnsOverrides.isEmpty();
+        return executors.newWebAsyncTask(() -> {
+            RenderedStory rendered = shareable
+                ? storyRenderCoalescer.renderCaptured(templatePath, fragmentName, storyName, request, response)
+                : capturedStoryRenderer.render(
+                    templatePath,
+                    fragmentName,
+                    storyName,
+                    parameterOverrides,
+                    modelOverrides,
+                    methodReturnsOverrides,
+                    request,
+                    response,
+                    LocaleContextHolder.getLocale()
+                );
+            return rendered.toResponseEntity();
+        });
+    }
+}
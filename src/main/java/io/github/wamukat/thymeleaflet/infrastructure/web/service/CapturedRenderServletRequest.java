@@ -0,0 +1,128 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpSession;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * ストーリー 1 件分の出力を取り込むためのリクエスト（バッチ描画・描画の合流で使用）
+ *
+ * 属性は自身の Map に保持し、未設定の属性のみ元リクエストから読み取る。
+ * 元リクエストへは書き込まないため、複数のワーカースレッドが同じ元リクエストを共有しても
+ * プレビュー警告やビューが設定する属性がストーリー間で混ざらない。
+ * リクエスト URI はストーリーの /render URI を返す。
+ * 元リクエストはスレッドセーフではないため、セッションの取得（作成を含む）は
+ * 同じ元リクエストを共有するリクエスト間で共通のロックにより直列化する。
+ */
+final class CapturedRenderServletRequest extends HttpServletRequestWrapper {
+
+    private final String requestUri;
+    private final Lock sessionLock;
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final Set<String> removedAttributes = new HashSet<>();
+
+    CapturedRenderServletRequest(HttpServletRequest request, String requestUri, Lock sessionLock) {
+        super(request);
+        this.requestUri = requestUri;
+        this.sessionLock = sessionLock;
+    }
+
+    @Override
+    public @Nullable HttpSession getSession(boolean create) {
+        sessionLock.lock();
+        try {
+            return super.getSession(create);
+        } finally {
+            sessionLock.unlock();
+        }
+    }
+
+    @Override
+    public HttpSession getSession() {
+        sessionLock.lock();
+        try {
+            return super.getSession();
+        } finally {
+            sessionLock.unlock();
+        }
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer();
+        url.append(getScheme()).append("://").append(getServerName());
+        int port = getServerPort();
+        if (port > 0 && !(("http".equals(getScheme()) && port == 80) || ("https".equals(getScheme()) && port == 443))) {
+            url.append(':').append(port);
+        }
+        return url.append(requestUri);
+    }
+
+    @Override
+    public String getServletPath() {
+        return requestUri;
+    }
+
+    @Override
+    public @Nullable String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public @Nullable String getQueryString() {
+        return null;
+    }
+
+    @Override
+    public String getMethod() {
+        return "GET";
+    }
+
+    @Override
+    public @Nullable Object getAttribute(String name) {
+        Object value = attributes.get(name);
+        if (value != null || removedAttributes.contains(name)) {
+            return value;
+        }
+        return super.getAttribute(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        Set<String> names = new LinkedHashSet<>(Collections.list(super.getAttributeNames()));
+        names.removeAll(removedAttributes);
+        names.addAll(attributes.keySet());
+        return Collections.enumeration(names);
+    }
+
+    @Override
+    public void setAttribute(String name, @Nullable Object value) {
+        if (value == null) {
+            removeAttribute(name);
+            return;
+        }
+        removedAttributes.remove(name);
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+        removedAttributes.add(name);
+    }
+}
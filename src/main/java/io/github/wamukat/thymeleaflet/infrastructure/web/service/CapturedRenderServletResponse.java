@@ -0,0 +1,226 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.jspecify.annotations.Nullable;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ストーリー 1 件分の出力を受け取るレスポンス（バッチ描画・描画の合流で使用）
+ *
+ * 本文・ヘッダー・ステータス・Cookie を自身に保持し、元レスポンスへは書き込まない。
+ * 描画後に {@link #content()} と {@link #getHeader(String)} で出力とプレビュー警告を取り出す。
+ * Cookie は {@link #capturedCookies()} で取り出し、元レスポンスを扱うスレッドで設定する。
+ */
+final class CapturedRenderServletResponse extends HttpServletResponseWrapper {
+
+    private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final List<Cookie> cookies = new ArrayList<>();
+    private StringWriter content = new StringWriter();
+    private PrintWriter writer = new PrintWriter(content);
+    private @Nullable String contentType;
+    private String characterEncoding = "UTF-8";
+    private Locale locale;
+    private int status = SC_OK;
+
+    CapturedRenderServletResponse(HttpServletResponse response) {
+        super(response);
+        this.locale = response.getLocale();
+    }
+
+    Map<String, List<String>> capturedHeaders() {
+        Map<String, List<String>> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.forEach((name, values) -> copy.put(name, List.copyOf(values)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    List<Cookie> capturedCookies() {
+        return List.copyOf(cookies);
+    }
+
+    String content() {
+        writer.flush();
+        return content.toString();
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        return writer;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        throw new IllegalStateException("Batch render responses only support getWriter()");
+    }
+
+    @Override
+    public void setHeader(String name, @Nullable String value) {
+        if (value == null) {
+            headers.remove(name);
+            return;
+        }
+        List<String> values = new ArrayList<>();
+        values.add(value);
+        headers.put(name, values);
+    }
+
+    @Override
+    public void addHeader(String name, @Nullable String value) {
+        if (value != null) {
+            headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, String.valueOf(date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, String.valueOf(date));
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public @Nullable String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return values == null ? List.of() : List.copyOf(values);
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return List.copyOf(headers.keySet());
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        // 元レスポンスはスレッドセーフではないため、ワーカースレッドからは設定せずに保持する
+        cookies.add(cookie);
+    }
+
+    @Override
+    public void setContentType(@Nullable String type) {
+        this.contentType = type;
+    }
+
+    @Override
+    public @Nullable String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void setCharacterEncoding(@Nullable String charset) {
+        if (charset != null) {
+            this.characterEncoding = charset;
+        }
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setLocale(@Nullable Locale locale) {
+        if (locale != null) {
+            this.locale = locale;
+        }
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+    }
+
+    @Override
+    public void flushBuffer() {
+        writer.flush();
+    }
+
+    @Override
+    public void resetBuffer() {
+        content = new StringWriter();
+        writer = new PrintWriter(content);
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        headers.clear();
+        status = SC_OK;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(int status) {
+        this.status = status;
+    }
+
+    @Override
+    public void sendError(int status, @Nullable String message) {
+        this.status = status;
+    }
+
+    @Override
+    public void sendRedirect(@Nullable String location) {
+        this.status = SC_FOUND;
+    }
+}
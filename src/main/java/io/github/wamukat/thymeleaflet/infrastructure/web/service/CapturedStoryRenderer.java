@@ -0,0 +1,150 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.ThymeleafletAwareThymeleafView;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ストーリー 1 件を /render と同じ手順で描画し、出力をメモリへ取り込むレンダラー
+ *
+ * {@link FragmentRenderingService} による描画準備と ThymeleafView による描画を、
+ * 属性とレスポンスを分離したリクエスト上で行う。結果は元レスポンスに依存しない
+ * {@link RenderedStory} として返すため、複数のリクエストへそのまま書き出せる。
+ * 出力はストリーミング設定に関わらず常にバッファする。描画制限で打ち切られた描画は失敗として扱う。
+ * Server-Timing の計測中であれば、描画ごとに別の計測を行い、その結果をヘッダーとして取り込む。
+ */
+@Component
+public class CapturedStoryRenderer {
+
+    private static final String ERROR_VIEW_NAME = "thymeleaflet/fragments/error-display :: error(type='danger')";
+    private static final String RENDER_URI_FORMAT = "/thymeleaflet/%s/%s/%s/render";
+
+    private final FragmentRenderingService fragmentRenderingService;
+    private final ObjectProvider<ThymeleafViewResolver> viewResolverProvider;
+
+    public CapturedStoryRenderer(
+        FragmentRenderingService fragmentRenderingService,
+        ObjectProvider<ThymeleafViewResolver> viewResolverProvider
+    ) {
+        this.fragmentRenderingService = fragmentRenderingService;
+        this.viewResolverProvider = viewResolverProvider;
+    }
+
+    /**
+     * ストーリーを描画して出力を返す。呼び出し中だけ RequestContextHolder を描画用のリクエストへ切り替える。
+     * 描画中に設定された Cookie は描画後に元レスポンスへ設定する。
+     *
+     * @throws Exception ビューの解決または描画に失敗した場合
+     */
+    RenderedStory render(
+        String templatePath,
+        String fragmentName,
+        String storyName,
+        Map<String, Object> parameterOverrides,
+        Map<String, Object> modelOverrides,
+        Map<String, Object> methodReturnsOverrides,
+        HttpServletRequest request,
+        HttpServletResponse response,
+        Locale locale
+    ) throws Exception {
+        List<Cookie> cookies = new ArrayList<>();
+        try {
+            return render(
+                templatePath,
+                fragmentName,
+                storyName,
+                parameterOverrides,
+                modelOverrides,
+                methodReturnsOverrides,
+                request,
+                response,
+                locale,
+                new ReentrantLock(),
+                cookies
+            );
+        } finally {
+            cookies.forEach(response::addCookie);
+        }
+    }
+
+    /**
+     * 元のリクエストとレスポンスを共有する複数のスレッドから描画する場合に使う。
+     * 元リクエストのセッション取得は sessionLock で直列化し、描画中に設定された Cookie は
+     * 元レスポンスへ設定せずに cookies へ追加する。呼び出し元は元レスポンスを扱うスレッドで Cookie を設定すること。
+     *
+     * @throws Exception ビューの解決または描画に失敗した場合
+     */
+    RenderedStory render(
+        String templatePath,
+        String fragmentName,
+        String storyName,
+        Map<String, Object> parameterOverrides,
+        Map<String, Object> modelOverrides,
+        Map<String, Object> methodReturnsOverrides,
+        HttpServletRequest request,
+        HttpServletResponse response,
+        Locale locale,
+        Lock sessionLock,
+        List<Cookie> cookies
+    ) throws Exception {
+        CapturedRenderServletRequest renderRequest = new CapturedRenderServletRequest(
+            request,
+            String.format(RENDER_URI_FORMAT, templatePath, fragmentName, storyName),
+            sessionLock
+        );
+        renderRequest.setAttribute(ThymeleafletAwareThymeleafView.BUFFERED_RENDER_ATTRIBUTE, Boolean.TRUE);
+        ServerTimingRecorder.fork(renderRequest);
+        CapturedRenderServletResponse renderResponse = new CapturedRenderServletResponse(response);
+        ServletRequestAttributes renderAttributes = new ServletRequestAttributes(renderRequest, renderResponse);
+        RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.setRequestAttributes(renderAttributes);
+        try {
+            ExtendedModelMap model = new ExtendedModelMap();
+            FragmentRenderingService.RenderingResult renderingResult = fragmentRenderingService.renderStory(
+                templatePath,
+                fragmentName,
+                storyName,
+                model,
+                parameterOverrides,
+                modelOverrides,
+                methodReturnsOverrides
+            );
+            String viewName = renderingResult.templateReference().orElse(ERROR_VIEW_NAME);
+            View view = viewResolverProvider.getObject().resolveViewName(viewName, locale);
+            if (view == null) {
+                throw new IllegalStateException("View could not be resolved: " + viewName);
+            }
+            view.render(model, renderRequest, renderResponse);
+            boolean withinLimits = renderResponse.getHeader(ThymeleafletAwareThymeleafView.RENDER_LIMIT_HEADER_NAME) == null;
+            return new RenderedStory(
+                renderingResult.succeeded() && withinLimits,
+                renderResponse.getStatus(),
+                renderResponse.getContentType(),
+                renderResponse.getCharacterEncoding(),
+                renderResponse.capturedHeaders(),
+                renderResponse.content()
+            );
+        } finally {
+            renderAttributes.requestCompleted();
+            RequestContextHolder.setRequestAttributes(previousAttributes);
+            cookies.addAll(renderResponse.capturedCookies());
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package io.github.wamukat.thymeleaflet.infrastructure.web.service;
 
 import io.github.wamukat.thymeleaflet.application.port.outbound.FragmentDependencyPort;
+import io.github.wamukat.thymeleaflet.domain.model.FragmentDependencyGraph;
 import io.github.wamukat.thymeleaflet.domain.model.FragmentExpression;
+import io.github.wamukat.thymeleaflet.domain.model.FragmentSummary;
 import io.github.wamukat.thymeleaflet.domain.model.SecureTemplatePath;
 import io.github.wamukat.thymeleaflet.domain.service.FragmentExpressionParser;
 import io.github.wamukat.thymeleaflet.domain.service.FragmentReferenceAttributes;
@@ -10,6 +12,8 @@ import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheMana
 import io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery.FragmentSignatureParser;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResourcePathValidator;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.TemplateParseEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,12 +22,15 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * フラグメント内で利用している依存コンポーネントを抽出
@@ -45,8 +52,7 @@ public class FragmentDependencyService implements FragmentDependencyPort {
     private final FragmentExpressionParser fragmentExpressionParser;
     private final FragmentSignatureParser fragmentSignatureParser;
 
-    @Autowired
-    public FragmentDependencyService(
+    FragmentDependencyService(
         ResolvedStorybookConfig storybookConfig,
         ResourcePathValidator resourcePathValidator,
         ThymeleafletCacheManager cacheManager
@@ -77,7 +83,8 @@ public class FragmentDependencyService implements FragmentDependencyPort {
         );
     }
 
-    FragmentDependencyService(
+    @Autowired
+    public FragmentDependencyService(
         ResolvedStorybookConfig storybookConfig,
         ResourcePathValidator resourcePathValidator,
         ThymeleafletCacheManager cacheManager,
@@ -94,8 +101,15 @@ public class FragmentDependencyService implements FragmentDependencyPort {
     }
 
     public List<DependencyComponent> findDependencies(String templatePath, String fragmentName) {
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.DEPENDENCIES)) {
+            return collectDependencies(templatePath, fragmentName);
+        }
+    }
+
+    private List<DependencyComponent> collectDependencies(String templatePath, String fragmentName) {
         String cacheKey = templatePath + "::" + fragmentName;
         Optional<List<DependencyComponent>> cached = cacheManager.get("fragment-dependencies", cacheKey);
+        ServerTimingRecorder.countCacheLookup(cached.isPresent());
         if (cached.isPresent()) {
             return cached.orElseThrow();
         }
@@ -110,25 +124,26 @@ public class FragmentDependencyService implements FragmentDependencyPort {
             }
 
             String html = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            ServerTimingRecorder.count(ServerTimingRecorder.Counter.PARSE);
+            TemplateParseEvent parseEvent = TemplateParseEvent.start();
             StructuredTemplateParser.ParsedTemplate template = templateParser.parse(html);
-            List<StructuredTemplateParser.TemplateElement> targetElements = elementsForFragment(template, fragmentName);
-
-            Map<String, DependencyComponent> dependencies = new LinkedHashMap<>();
-            for (String expression : extractDependencyExpressions(targetElements)) {
-                Optional<DependencyComponent> component = parseDependency(expression, templatePath);
-                if (component.isEmpty()) {
-                    continue;
-                }
-                DependencyComponent resolvedComponent = component.orElseThrow();
-                if (resolvedComponent.templatePath().equals(templatePath) && resolvedComponent.fragmentName().equals(fragmentName)) {
-                    continue;
+            parseEvent.finish(templatePath, "dependencies", html, template.elements().size());
+            Set<String> consultedTemplates = new LinkedHashSet<>();
+            List<DependencyComponent> immutableResult = extractDependencies(
+                template,
+                templatePath,
+                fragmentName,
+                path -> {
+                    consultedTemplates.add(path);
+                    return parseTemplate(path);
                 }
-                dependencies.put(resolvedComponent.key(), resolvedComponent);
-            }
-
-            List<DependencyComponent> result = new ArrayList<>(dependencies.values());
-            List<DependencyComponent> immutableResult = List.copyOf(result);
-            cacheManager.put("fragment-dependencies", cacheKey, immutableResult);
+            );
+            cacheManager.put(
+                "fragment-dependencies",
+                cacheKey,
+                immutableResult,
+                sourceTemplates(templatePath, consultedTemplates, immutableResult)
+            );
             return immutableResult;
         } catch (Exception e) {
             logger.warn("Failed to extract dependencies for {}::{}: {}", templatePath, fragmentName, e.getMessage());
@@ -136,6 +151,81 @@ public class FragmentDependencyService implements FragmentDependencyPort {
         }
     }
 
+    /**
+     * カタログ全体の依存グラフを構築する。
+     * 各テンプレートは構築中に1回だけ解析し、セレクター形式の参照解決でも同じ解析結果を再利用する。
+     */
+    @Override
+    public FragmentDependencyGraph buildDependencyGraph(List<FragmentSummary> fragments) {
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.DEPENDENCIES)) {
+            return assembleDependencyGraph(fragments);
+        }
+    }
+
+    private FragmentDependencyGraph assembleDependencyGraph(List<FragmentSummary> fragments) {
+        List<String> cacheKey = graphCacheKey(fragments);
+        Optional<FragmentDependencyGraph> cached = cacheManager.get("fragment-dependency-graph", cacheKey);
+        ServerTimingRecorder.countCacheLookup(cached.isPresent());
+        if (cached.isPresent()) {
+            return cached.orElseThrow();
+        }
+        Map<String, Optional<StructuredTemplateParser.ParsedTemplate>> parsedTemplates = new HashMap<>();
+        Function<String, Optional<StructuredTemplateParser.ParsedTemplate>> templateLookup =
+            path -> parsedTemplates.computeIfAbsent(path, this::parseTemplate);
+
+        Map<FragmentDependencyGraph.Node, List<FragmentDependencyGraph.Node>> directDependencies = new LinkedHashMap<>();
+        for (FragmentSummary fragment : fragments) {
+            String templatePath = fragment.getTemplatePath();
+            String fragmentName = fragment.getFragmentName();
+            Set<String> consultedTemplates = new LinkedHashSet<>();
+            Function<String, Optional<StructuredTemplateParser.ParsedTemplate>> recordingLookup = path -> {
+                consultedTemplates.add(path);
+                return templateLookup.apply(path);
+            };
+            List<DependencyComponent> dependencies = templateLookup.apply(templatePath)
+                .map(template -> extractDependencies(template, templatePath, fragmentName, recordingLookup))
+                .orElse(List.of());
+            cacheManager.put(
+                "fragment-dependencies",
+                templatePath + "::" + fragmentName,
+                dependencies,
+                sourceTemplates(templatePath, consultedTemplates, dependencies)
+            );
+            directDependencies.put(
+                new FragmentDependencyGraph.Node(templatePath, fragmentName),
+                dependencies.stream()
+                    .map(component -> new FragmentDependencyGraph.Node(component.templatePath(), component.fragmentName()))
+                    .toList()
+            );
+        }
+        FragmentDependencyGraph graph = FragmentDependencyGraph.of(directDependencies);
+        logger.debug(
+            "Built fragment dependency graph: {} nodes, {} edges, {} templates parsed",
+            graph.nodes().size(),
+            graph.edgeCount(),
+            parsedTemplates.size()
+        );
+        Set<String> graphSources = new LinkedHashSet<>(parsedTemplates.keySet());
+        graph.nodes().forEach(node -> graphSources.add(node.templatePath()));
+        cacheManager.put("fragment-dependency-graph", cacheKey, graph, graphSources);
+        return graph;
+    }
+
+    /**
+     * キャッシュ無効化用の派生元テンプレート: 自身、参照解決で参照したテンプレート、依存先テンプレート
+     */
+    private static Set<String> sourceTemplates(
+        String templatePath,
+        Set<String> consultedTemplates,
+        List<DependencyComponent> dependencies
+    ) {
+        Set<String> sources = new LinkedHashSet<>();
+        sources.add(templatePath);
+        sources.addAll(consultedTemplates);
+        dependencies.forEach(component -> sources.add(component.templatePath()));
+        return sources;
+    }
+
     @Override
     public List<FragmentDependencyPort.DependencyComponent> findDependenciesForView(String templatePath, String fragmentName) {
         return findDependencies(templatePath, fragmentName).stream()
@@ -147,18 +237,54 @@ public class FragmentDependencyService implements FragmentDependencyPort {
             .toList();
     }
 
-    private Optional<DependencyComponent> parseDependency(String expression, String currentTemplatePath) {
+    private List<DependencyComponent> extractDependencies(
+        StructuredTemplateParser.ParsedTemplate template,
+        String templatePath,
+        String fragmentName,
+        Function<String, Optional<StructuredTemplateParser.ParsedTemplate>> templateLookup
+    ) {
+        List<StructuredTemplateParser.TemplateElement> targetElements = elementsForFragment(template, fragmentName);
+
+        Map<String, DependencyComponent> dependencies = new LinkedHashMap<>();
+        for (String expression : extractDependencyExpressions(targetElements)) {
+            Optional<DependencyComponent> component = parseDependency(expression, templatePath, templateLookup);
+            if (component.isEmpty()) {
+                continue;
+            }
+            DependencyComponent resolvedComponent = component.orElseThrow();
+            if (resolvedComponent.templatePath().equals(templatePath) && resolvedComponent.fragmentName().equals(fragmentName)) {
+                continue;
+            }
+            dependencies.put(resolvedComponent.key(), resolvedComponent);
+        }
+        return List.copyOf(dependencies.values());
+    }
+
+    private List<String> graphCacheKey(List<FragmentSummary> fragments) {
+        return fragments.stream()
+            .map(fragment -> fragment.getTemplatePath() + "::" + fragment.getFragmentName())
+            .toList();
+    }
+
+    private Optional<DependencyComponent> parseDependency(
+        String expression,
+        String currentTemplatePath,
+        Function<String, Optional<StructuredTemplateParser.ParsedTemplate>> templateLookup
+    ) {
         return fragmentExpressionParser.parse(expression, currentTemplatePath)
-            .flatMap(this::resolveSelectorStyleFragmentReference)
+            .flatMap(fragmentExpression -> resolveSelectorStyleFragmentReference(fragmentExpression, templateLookup))
             .map(this::toDependencyComponent);
     }
 
-    private Optional<FragmentExpression> resolveSelectorStyleFragmentReference(FragmentExpression expression) {
+    private Optional<FragmentExpression> resolveSelectorStyleFragmentReference(
+        FragmentExpression expression,
+        Function<String, Optional<StructuredTemplateParser.ParsedTemplate>> templateLookup
+    ) {
         String selector = expression.fragmentName();
         if (!isSelectorStyleFragmentName(selector)) {
             return Optional.of(expression);
         }
-        return resolveSelectorFragmentName(expression.templatePath(), selector)
+        return resolveSelectorFragmentName(expression.templatePath(), selector, templateLookup)
             .map(fragmentName -> FragmentExpression.of(
                 expression.templatePath(),
                 fragmentName,
@@ -171,8 +297,12 @@ public class FragmentDependencyService implements FragmentDependencyPort {
         return fragmentName.startsWith("#") || fragmentName.startsWith(".");
     }
 
-    private Optional<String> resolveSelectorFragmentName(String templatePath, String selector) {
-        Optional<StructuredTemplateParser.ParsedTemplate> template = parseTemplate(templatePath);
+    private Optional<String> resolveSelectorFragmentName(
+        String templatePath,
+        String selector,
+        Function<String, Optional<StructuredTemplateParser.ParsedTemplate>> templateLookup
+    ) {
+        Optional<StructuredTemplateParser.ParsedTemplate> template = templateLookup.apply(templatePath);
         if (template.isEmpty()) {
             return Optional.empty();
         }
@@ -216,9 +346,13 @@ public class FragmentDependencyService implements FragmentDependencyPort {
                 return Optional.empty();
             }
             String html = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            return Optional.of(templateParser.parse(html));
+            ServerTimingRecorder.count(ServerTimingRecorder.Counter.PARSE);
+            TemplateParseEvent parseEvent = TemplateParseEvent.start();
+            StructuredTemplateParser.ParsedTemplate template = templateParser.parse(html);
+            parseEvent.finish(templatePath, "dependencies", html, template.elements().size());
+            return Optional.of(template);
         } catch (Exception exception) {
-            logger.debug("Failed to resolve selector-style dependency target {}: {}", templatePath, exception.getMessage());
+            logger.debug("Failed to parse dependency template {}: {}", templatePath, exception.getMessage());
             return Optional.empty();
         }
     }
@@ -7,6 +7,7 @@ import io.github.wamukat.thymeleaflet.domain.model.FragmentStoryInfo;
 import io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery.FragmentDiscoveryService;
 import io.github.wamukat.thymeleaflet.domain.model.FragmentSummary;
 import io.github.wamukat.thymeleaflet.infrastructure.adapter.mapper.FragmentSummaryMapper;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +67,14 @@ public class FragmentJsonService {
     public void setupFragmentJsonAttributes(Object allFragments, 
                                            Map<String, Object> hierarchicalFragments, 
                                            Model model) {
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.JSON)) {
+            populateFragmentJsonAttributes(allFragments, hierarchicalFragments, model);
+        }
+    }
+
+    private void populateFragmentJsonAttributes(Object allFragments,
+                                                Map<String, Object> hierarchicalFragments,
+                                                Model model) {
         // 型チェックと変換処理
         List<FragmentSummary> fragmentSummaryList;
         if (!(allFragments instanceof List<?> fragmentList)) {
@@ -99,7 +108,7 @@ public class FragmentJsonService {
                 return;
             }
         }
-        
+    
         // 各フラグメントにストーリー情報を付加
         List<Map<String, Object>> enrichedFragments = fragmentSummaryList.stream()
             .map(fragment -> {
@@ -109,7 +118,7 @@ public class FragmentJsonService {
                 fragmentData.put("parameters", fragment.getParameters());
                 fragmentData.put("type", fragment.getType().name());
                 fragmentData.put("originalDefinition", buildFragmentSignature(fragment.getFragmentName(), fragment.getParameters()));
-                
+            
                 // ストーリー情報を取得
                 List<FragmentStoryInfo> stories = storyRetrievalUseCase.getStoriesForFragment(fragment);
                 final Map<String, Object>[] inferredModelHolder = new Map[] { Collections.emptyMap() };
@@ -168,10 +177,10 @@ public class FragmentJsonService {
                     );
                 }
                 fragmentData.put("methodReturnCandidates", inferredMethodReturnsHolder[0]);
-                
+            
                 return fragmentData;
             }).collect(Collectors.toList());
-        
+    
         // JSON変換処理 (UseCase経由呼び出し)
         // hierarchicalFragmentsをListに変換
         List<Map<String, Object>> hierarchicalFragmentsList = List.of(hierarchicalFragments);
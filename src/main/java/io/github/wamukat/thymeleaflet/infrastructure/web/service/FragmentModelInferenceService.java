@@ -7,7 +7,15 @@ import io.github.wamukat.thymeleaflet.domain.service.StructuredTemplateParser;
 import io.github.wamukat.thymeleaflet.domain.service.TemplateModelExpressionAnalyzer;
 import io.github.wamukat.thymeleaflet.domain.service.TopLevelSyntaxScanner;
 import io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery.FragmentSignatureParser;
+import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ThymeleafletMetrics;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.CacheOutcome;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.ExpressionAnalysisEvent;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.ModelInferenceEvent;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr.TemplateParseEvent;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
@@ -16,40 +24,75 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * テンプレート内の式からモデル値を推定するサービス。
  *
  * 推定値は Custom story の初期モデル候補として利用する。
+ * 推定結果は再帰中に参照した全テンプレートを派生元としてキャッシュし、
+ * いずれかのテンプレートが無効化されると破棄される。
  */
 @Component
 public class FragmentModelInferenceService {
 
+    private static final String INFERENCE_CACHE = "model-inference";
+
     private final ResourceLoader resourceLoader;
     private final TemplateModelExpressionAnalyzer expressionAnalyzer;
-    private final StructuredTemplateParser templateParser = new StructuredTemplateParser();
-    private final FragmentSignatureParser fragmentSignatureParser = new FragmentSignatureParser();
+    private final StructuredTemplateParser templateParser;
+    private final FragmentSignatureParser fragmentSignatureParser;
+    private final @Nullable ThymeleafletCacheManager cacheManager;
+    private final ThymeleafletMetrics metrics;
     private final TopLevelSyntaxScanner topLevelSyntaxScanner = new TopLevelSyntaxScanner();
 
-    public FragmentModelInferenceService(
+    FragmentModelInferenceService(
         ResourceLoader resourceLoader,
         TemplateModelExpressionAnalyzer expressionAnalyzer
+    ) {
+        this(resourceLoader, expressionAnalyzer, new StructuredTemplateParser(), new FragmentSignatureParser(), null);
+    }
+
+    public FragmentModelInferenceService(
+        ResourceLoader resourceLoader,
+        TemplateModelExpressionAnalyzer expressionAnalyzer,
+        StructuredTemplateParser templateParser,
+        FragmentSignatureParser fragmentSignatureParser,
+        @Nullable ThymeleafletCacheManager cacheManager
+    ) {
+        this(resourceLoader, expressionAnalyzer, templateParser, fragmentSignatureParser, cacheManager, ThymeleafletMetrics.NOOP);
+    }
+
+    @Autowired
+    public FragmentModelInferenceService(
+        ResourceLoader resourceLoader,
+        TemplateModelExpressionAnalyzer expressionAnalyzer,
+        StructuredTemplateParser templateParser,
+        FragmentSignatureParser fragmentSignatureParser,
+        @Nullable ThymeleafletCacheManager cacheManager,
+        ThymeleafletMetrics metrics
     ) {
         this.resourceLoader = resourceLoader;
         this.expressionAnalyzer = expressionAnalyzer;
+        this.templateParser = templateParser;
+        this.fragmentSignatureParser = fragmentSignatureParser;
+        this.cacheManager = cacheManager;
+        this.metrics = metrics;
     }
 
     public Map<String, Object> inferModel(String templatePath, String fragmentName, List<String> parameterNames) {
-        InferredModel inferred = inferModelRecursive(
-            templatePath,
-            parameterNames,
-            new HashSet<>()
-        );
-        return inferred.toMap();
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.INFERENCE)) {
+            return cachedInference(
+                new InferenceKey(InferenceKind.MODEL, templatePath, List.copyOf(parameterNames)),
+                visitedTemplatePaths -> inferModelRecursive(templatePath, parameterNames, visitedTemplatePaths)
+            );
+        }
     }
 
     public Map<String, Object> inferMethodReturnCandidates(
@@ -57,12 +100,90 @@ public class FragmentModelInferenceService {
         String fragmentName,
         @Nullable List<String> parameterNames
     ) {
-        InferredModel inferred = inferMethodReturnCandidatesRecursive(
-            templatePath,
-            parameterNames == null ? List.of() : parameterNames,
-            new HashSet<>()
+        List<String> names = parameterNames == null ? List.of() : List.copyOf(parameterNames);
+        return cachedInference(
+            new InferenceKey(InferenceKind.METHOD_RETURNS, templatePath, names),
+            visitedTemplatePaths -> inferMethodReturnCandidatesRecursive(templatePath, names, visitedTemplatePaths)
         );
-        return inferred.toMap();
+    }
+
+    /**
+     * キャッシュ済みの推定結果が参照したテンプレートパスを返す。
+     *
+     * 推定結果を取り込んだ派生データを同じテンプレートの変更で無効化するために利用する。
+     * 推定がまだキャッシュされていない場合は空集合を返す。
+     */
+    public Set<String> inferenceSourceTemplatePaths(String templatePath, List<String> parameterNames) {
+        ThymeleafletCacheManager manager = cacheManager;
+        if (manager == null) {
+            return Set.of();
+        }
+        List<String> names = List.copyOf(parameterNames);
+        Set<String> sourceTemplatePaths = new LinkedHashSet<>();
+        for (InferenceKind kind : InferenceKind.values()) {
+            manager.<CachedInference>get(INFERENCE_CACHE, new InferenceKey(kind, templatePath, names))
+                .ifPresent(cached -> sourceTemplatePaths.addAll(cached.sourceTemplatePaths()));
+        }
+        return sourceTemplatePaths;
+    }
+
+    /**
+     * 推定結果をキャッシュする。呼び出し側が結果を変更しても共有されないよう、常に複製を返す。
+     */
+    private Map<String, Object> cachedInference(
+        InferenceKey key,
+        Function<Set<String>, InferredModel> inference
+    ) {
+        ModelInferenceEvent event = ModelInferenceEvent.start();
+        ThymeleafletCacheManager manager = cacheManager;
+        if (manager != null) {
+            Optional<CachedInference> cached = manager.get(INFERENCE_CACHE, key);
+            ServerTimingRecorder.countCacheLookup(cached.isPresent());
+            if (cached.isPresent()) {
+                CachedInference hit = cached.orElseThrow();
+                event.finish(key.templatePath(), key.kind().metricsKind.tagValue(), CacheOutcome.HIT, hit.sourceTemplatePaths().size());
+                return deepCopyMap(hit.values());
+            }
+        }
+        long startNanos = System.nanoTime();
+        Set<String> visitedTemplatePaths = new LinkedHashSet<>();
+        Map<String, Object> inferred = inference.apply(visitedTemplatePaths).toMap();
+        metrics.recordInference(key.kind().metricsKind, System.nanoTime() - startNanos, visitedTemplatePaths.size());
+        event.finish(
+            key.templatePath(),
+            key.kind().metricsKind.tagValue(),
+            manager != null && manager.isEnabled() ? CacheOutcome.MISS : CacheOutcome.DISABLED,
+            visitedTemplatePaths.size()
+        );
+        if (manager != null) {
+            manager.put(
+                INFERENCE_CACHE,
+                key,
+                new CachedInference(deepCopyMap(inferred), Set.copyOf(visitedTemplatePaths)),
+                visitedTemplatePaths
+            );
+        }
+        return inferred;
+    }
+
+    private static Map<String, Object> deepCopyMap(Map<String, Object> source) {
+        Map<String, Object> copied = new LinkedHashMap<>();
+        source.forEach((key, value) -> copied.put(key, deepCopyValue(value)));
+        return copied;
+    }
+
+    private static @Nullable Object deepCopyValue(@Nullable Object value) {
+        if (value instanceof Map<?, ?> mapValue) {
+            Map<String, Object> copied = new LinkedHashMap<>();
+            mapValue.forEach((key, nested) -> copied.put(String.valueOf(key), deepCopyValue(nested)));
+            return copied;
+        }
+        if (value instanceof List<?> listValue) {
+            List<@Nullable Object> copied = new ArrayList<>(listValue.size());
+            listValue.forEach(item -> copied.add(deepCopyValue(item)));
+            return copied;
+        }
+        return value;
     }
 
     private InferredModel inferModelRecursive(
@@ -78,7 +199,7 @@ public class FragmentModelInferenceService {
             return new InferredModel();
         }
 
-        TemplateInference inference = expressionAnalyzer.analyze(html, new HashSet<>(parameterNames), templatePath);
+        TemplateInference inference = analyzeExpressions(html, parameterNames, templatePath);
         InferredModel inferred = inference.toInferredModel();
         for (TemplateInference.ReferencedFragment reference : inference.referencedFragments()) {
             if (!reference.requiresChildModelRecursion()) {
@@ -111,7 +232,7 @@ public class FragmentModelInferenceService {
             return new InferredModel();
         }
 
-        TemplateInference inference = expressionAnalyzer.analyze(html, new HashSet<>(parameterNames), templatePath);
+        TemplateInference inference = analyzeExpressions(html, parameterNames, templatePath);
         InferredModel inferred = new InferredModel();
         for (ModelPath methodPath : inference.noArgMethodPaths()) {
             if (methodPath.isEmpty()) {
@@ -144,6 +265,13 @@ public class FragmentModelInferenceService {
         return inferred;
     }
 
+    private TemplateInference analyzeExpressions(String html, List<String> parameterNames, String templatePath) {
+        ExpressionAnalysisEvent event = ExpressionAnalysisEvent.start();
+        TemplateInference inference = expressionAnalyzer.analyze(html, new HashSet<>(parameterNames), templatePath);
+        event.finish(templatePath, html, parameterNames.size(), inference.referencedFragments().size());
+        return inference;
+    }
+
     private List<String> mappedChildParameterNames(TemplateInference.ReferencedFragment reference) {
         if (!reference.hasArgumentList() || reference.arguments().isEmpty()) {
             return List.of();
@@ -172,11 +300,11 @@ public class FragmentModelInferenceService {
     }
 
     private Optional<String> namedArgumentName(String argument) {
-        var assignIndex = topLevelSyntaxScanner.findFirst(argument, "=");
-        if (assignIndex.isEmpty() || assignIndex.orElseThrow() <= 0) {
+        int assignIndex = topLevelSyntaxScanner.indexOf(argument, '=', 0, argument.length());
+        if (assignIndex <= 0) {
             return Optional.empty();
         }
-        String candidate = argument.substring(0, assignIndex.orElseThrow()).trim();
+        String candidate = argument.substring(0, assignIndex).trim();
         if (!isIdentifier(candidate)) {
             return Optional.empty();
         }
@@ -201,7 +329,10 @@ public class FragmentModelInferenceService {
         if (html.isEmpty()) {
             return List.of();
         }
+        ServerTimingRecorder.count(ServerTimingRecorder.Counter.PARSE);
+        TemplateParseEvent parseEvent = TemplateParseEvent.start();
         StructuredTemplateParser.ParsedTemplate parsedTemplate = templateParser.parse(html);
+        parseEvent.finish(templatePath, "inference", html, parsedTemplate.elements().size());
         for (StructuredTemplateParser.TemplateElement element : parsedTemplate.elements()) {
             Optional<List<String>> parameters = parseFragmentParameters(element, fragmentName);
             if (parameters.isPresent()) {
@@ -238,4 +369,21 @@ public class FragmentModelInferenceService {
             return "";
         }
     }
+
+    private enum InferenceKind {
+        MODEL(ThymeleafletMetrics.InferenceKind.MODEL),
+        METHOD_RETURNS(ThymeleafletMetrics.InferenceKind.METHOD_RETURNS);
+
+        private final ThymeleafletMetrics.InferenceKind metricsKind;
+
+        InferenceKind(ThymeleafletMetrics.InferenceKind metricsKind) {
+            this.metricsKind = metricsKind;
+        }
+    }
+
+    private record InferenceKey(InferenceKind kind, String templatePath, List<String> parameterNames) {
+    }
+
+    private record CachedInference(Map<String, Object> values, Set<String> sourceTemplatePaths) {
+    }
 }
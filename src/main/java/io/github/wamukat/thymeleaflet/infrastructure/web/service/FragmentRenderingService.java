@@ -4,25 +4,34 @@ import io.github.wamukat.thymeleaflet.application.port.inbound.fragment.Validati
 import io.github.wamukat.thymeleaflet.application.port.inbound.story.StoryParameterUseCase;
 import io.github.wamukat.thymeleaflet.application.port.inbound.story.StoryRetrievalUseCase;
 import io.github.wamukat.thymeleaflet.domain.model.FragmentStoryInfo;
+import io.github.wamukat.thymeleaflet.domain.model.FragmentSummary;
 import io.github.wamukat.thymeleaflet.domain.service.FragmentDomainService;
+import io.github.wamukat.thymeleaflet.domain.service.StructuredTemplateParser;
 import io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation.JavaDocAnalyzer;
+import io.github.wamukat.thymeleaflet.infrastructure.adapter.persistence.YamlStoryConfigurationLoader;
+import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ThymeleafletMetrics;
 import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.PreviewWarningRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.RenderMetricsRecorder;
 import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.ThymeleafFragmentRenderer;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 import org.springframework.ui.Model;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * フラグメント動的レンダリング処理専用サービス
@@ -35,6 +44,9 @@ public class FragmentRenderingService {
 
     private static final Logger logger = LoggerFactory.getLogger(FragmentRenderingService.class);
 
+    private static final String RENDER_PLAN_CACHE = "render-plan";
+    private static final long NO_STORY_FILE = -1L;
+
     private final ValidationUseCase validationUseCase;
 
     private final StoryRetrievalUseCase storyRetrievalUseCase;
@@ -45,14 +57,49 @@ public class FragmentRenderingService {
 
     private final MessageSource messageSource;
 
-    private final ResourceLoader resourceLoader;
-
     private final JavaDocLookupService javaDocLookupService;
 
     private final UnsafeFragmentInsertionDetector unsafeFragmentInsertionDetector;
 
     private final StoryRenderValueAssembler storyRenderValueAssembler;
 
+    private final FragmentModelInferenceService fragmentModelInferenceService;
+
+    private final @Nullable ThymeleafletCacheManager cacheManager;
+
+    private final YamlStoryConfigurationLoader storyConfigurationLoader;
+
+    private final RenderPipelineStats renderPipelineStats = new RenderPipelineStats();
+
+    public FragmentRenderingService(
+        ValidationUseCase validationUseCase,
+        StoryRetrievalUseCase storyRetrievalUseCase,
+        StoryParameterUseCase storyParameterUseCase,
+        SecurePathConversionService securePathConversionService,
+        ThymeleafFragmentRenderer thymeleafFragmentRenderer,
+        MessageSource messageSource,
+        ResourceLoader resourceLoader,
+        FragmentModelInferenceService fragmentModelInferenceService,
+        JavaDocLookupService javaDocLookupService,
+        StoryJavaTimeValueCoercionService storyJavaTimeValueCoercionService,
+        StructuredTemplateParser structuredTemplateParser
+    ) {
+        this(
+            validationUseCase,
+            storyRetrievalUseCase,
+            storyParameterUseCase,
+            securePathConversionService,
+            thymeleafFragmentRenderer,
+            messageSource,
+            resourceLoader,
+            fragmentModelInferenceService,
+            javaDocLookupService,
+            storyJavaTimeValueCoercionService,
+            structuredTemplateParser,
+            null
+        );
+    }
+
     public FragmentRenderingService(
         ValidationUseCase validationUseCase,
         StoryRetrievalUseCase storyRetrievalUseCase,
@@ -63,21 +110,60 @@ public class FragmentRenderingService {
         ResourceLoader resourceLoader,
         FragmentModelInferenceService fragmentModelInferenceService,
         JavaDocLookupService javaDocLookupService,
-        StoryJavaTimeValueCoercionService storyJavaTimeValueCoercionService
+        StoryJavaTimeValueCoercionService storyJavaTimeValueCoercionService,
+        StructuredTemplateParser structuredTemplateParser,
+        @Nullable ThymeleafletCacheManager cacheManager
+    ) {
+        this(
+            validationUseCase,
+            storyRetrievalUseCase,
+            storyParameterUseCase,
+            securePathConversionService,
+            thymeleafFragmentRenderer,
+            messageSource,
+            resourceLoader,
+            fragmentModelInferenceService,
+            javaDocLookupService,
+            storyJavaTimeValueCoercionService,
+            structuredTemplateParser,
+            cacheManager,
+            ResolvedStorybookConfig.defaults()
+        );
+    }
+
+    @Autowired
+    public FragmentRenderingService(
+        ValidationUseCase validationUseCase,
+        StoryRetrievalUseCase storyRetrievalUseCase,
+        StoryParameterUseCase storyParameterUseCase,
+        SecurePathConversionService securePathConversionService,
+        ThymeleafFragmentRenderer thymeleafFragmentRenderer,
+        MessageSource messageSource,
+        ResourceLoader resourceLoader,
+        FragmentModelInferenceService fragmentModelInferenceService,
+        JavaDocLookupService javaDocLookupService,
+        StoryJavaTimeValueCoercionService storyJavaTimeValueCoercionService,
+        StructuredTemplateParser structuredTemplateParser,
+        @Nullable ThymeleafletCacheManager cacheManager,
+        ResolvedStorybookConfig storybookConfig
     ) {
         this.validationUseCase = validationUseCase;
         this.storyRetrievalUseCase = storyRetrievalUseCase;
         this.securePathConversionService = securePathConversionService;
         this.thymeleafFragmentRenderer = thymeleafFragmentRenderer;
         this.messageSource = messageSource;
-        this.resourceLoader = resourceLoader;
         this.javaDocLookupService = javaDocLookupService;
-        this.unsafeFragmentInsertionDetector = new UnsafeFragmentInsertionDetector();
+        this.fragmentModelInferenceService = fragmentModelInferenceService;
+        this.cacheManager = cacheManager;
+        this.storyConfigurationLoader = new YamlStoryConfigurationLoader(resourceLoader);
+        this.unsafeFragmentInsertionDetector =
+            new UnsafeFragmentInsertionDetector(structuredTemplateParser, resourceLoader, cacheManager);
         this.storyRenderValueAssembler = new StoryRenderValueAssembler(
             storyParameterUseCase,
             fragmentModelInferenceService,
             storyJavaTimeValueCoercionService,
-            messageSource
+            messageSource,
+            storybookConfig.getPreview().getMaxCollectionSize()
         );
     }
 
@@ -103,204 +189,302 @@ public class FragmentRenderingService {
                                        Map<String, Object> parameterOverrides,
                                        Map<String, Object> modelOverrides,
                                        Map<String, Object> methodReturnsOverrides) {
+        long startNanos = System.nanoTime();
         try {
             logger.debug("=== RENDER STORY START ===");
             logger.debug("Request params: templatePath={}, fragmentName={}, storyName={}",
                        templatePath, fragmentName, storyName);
 
             PreviewWarningRecorder.clear();
+            RenderMetricsRecorder.start(templatePath, fragmentName, storyName);
 
             // セキュアパス変換を使用してテンプレートパスを復元
             SecurePathConversionService.SecurityConversionResult conversionResult =
                 securePathConversionService.convertSecurePath(templatePath, model);
             if (!conversionResult.succeeded()) {
+                RenderMetricsRecorder.fail(ThymeleafletMetrics.RenderStatus.ERROR);
                 return RenderingResult.error(conversionResult.templateReference()
                     .orElse("thymeleaflet/fragments/error-display :: error(type='danger')"));
             }
             String fullTemplatePath = conversionResult.fullTemplatePath().orElseThrow();
             logger.debug("Full template path: {}", fullTemplatePath);
 
-            // 対象ストーリーを取得
-            Optional<FragmentStoryInfo> storyInfoOptional = storyRetrievalUseCase
-                .getStory(fullTemplatePath, fragmentName, storyName);
+            // 対象ストーリーの描画計画を取得
+            Optional<RenderPlan> renderPlanOptional = renderPlan(fullTemplatePath, fragmentName, storyName);
 
-            logger.debug("=== Story Config Debug ===");
-            logger.debug("Story Info: {}", storyInfoOptional.orElse(null));
-
-            if (storyInfoOptional.isEmpty()) {
+            if (renderPlanOptional.isEmpty()) {
                 logger.debug("Story info is null, returning error");
+                RenderMetricsRecorder.fail(ThymeleafletMetrics.RenderStatus.NOT_FOUND);
                 return RenderingResult.error("thymeleaflet/fragments/error-display :: error(type='info', title=null, message=null, showActionButton=true, actionText=null, actionScript=null, templatePath=null)");
             }
-            FragmentStoryInfo storyInfo = storyInfoOptional.orElseThrow();
-
-            logger.debug("Has Story Config: {}", storyInfo.hasStoryConfig());
-            logger.debug("Fragment Type: {}", storyInfo.getFragmentSummary().getType());
-
-            Optional<JavaDocAnalyzer.JavaDocInfo> javaDocInfo =
-                javaDocLookupService.findJavaDocInfo(fullTemplatePath, fragmentName);
-
-            StoryRenderValueAssembler.RenderValueAssemblyRequest valueAssemblyRequest =
-                new StoryRenderValueAssembler.RenderValueAssemblyRequest(
-                    storyInfo,
-                    javaDocInfo,
+            RenderPlan renderPlan = renderPlanOptional.orElseThrow();
+            RenderMetricsRecorder.describe(renderPlan.fragmentSummary().getType());
+
+            logger.debug("Has Story Config: {}", renderPlan.storyInfo().hasStoryConfig());
+            logger.debug("Fragment Type: {}, Render Pipeline: {}",
+                renderPlan.fragmentSummary().getType(), renderPlan.pipeline());
+
+            RenderingResult result = switch (renderPlan.pipeline()) {
+                case STATIC -> renderStatic(renderPlan);
+                case MODEL_ONLY -> renderModelOnly(renderPlan, model, modelOverrides, methodReturnsOverrides);
+                case FULL -> renderFull(
+                    renderPlan,
+                    model,
                     fullTemplatePath,
                     fragmentName,
                     parameterOverrides,
                     modelOverrides,
                     methodReturnsOverrides
                 );
-            StoryRenderValueAssembler.ModelAndMethodReturnValues modelValues =
-                storyRenderValueAssembler.assembleModelAndMethodReturns(valueAssemblyRequest);
-            Map<String, Object> mergedModel = modelValues.model();
-            Map<String, Object> mergedMethodReturns = modelValues.methodReturns();
-
-            if (!mergedModel.isEmpty()) {
-                for (Map.Entry<String, Object> entry : mergedModel.entrySet()) {
-                    model.addAttribute(entry.getKey(), thymeleafFragmentRenderer.resolveTemplateValue(entry.getValue()));
-                }
-                logger.debug("Applied story model values: {}", mergedModel.keySet());
+            };
+            if (!result.succeeded()) {
+                RenderMetricsRecorder.fail(ThymeleafletMetrics.RenderStatus.ERROR);
             }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            renderPipelineStats.record(renderPlan.pipeline(), elapsedNanos);
+            logger.debug("Render pipeline {} completed in {} us",
+                renderPlan.pipeline(), TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+            return result;
 
-            // SIMPLEフラグメント（パラメータなし）の場合はstories.ymlは不要
-            if (storyInfo.getFragmentSummary().getType() == FragmentDomainService.FragmentType.SIMPLE) {
-                logger.debug("SIMPLE fragment detected, skipping stories.yml requirement");
+        } catch (Exception globalException) {
+            // エラーハンドリング（簡素化版）
+            logger.error("Rendering error for {}::{}::{}: {}",
+                templatePath, fragmentName, storyName, globalException.getMessage(), globalException);
 
-                // クライアントサイド色判定のため、SIMPLEフラグメントも直接レンダリング
-                String templateRef = String.format("%s :: %s",
-                    storyInfo.getFragmentSummary().getTemplatePath(),
-                    storyInfo.getFragmentSummary().getFragmentName());
-                logger.debug("Rendering SIMPLE fragment with template reference: {}", templateRef);
-                return RenderingResult.success(templateRef);
-            }
+            RenderMetricsRecorder.fail(ThymeleafletMetrics.RenderStatus.ERROR);
+            model.addAttribute("error", "レンダリングエラーが発生しました: " + globalException.getMessage());
+            model.addAttribute("templatePath", templatePath);
+            model.addAttribute("fragmentName", fragmentName);
+            model.addAttribute("storyName", storyName);
 
-            // DATA_DEPENDENTでもパラメータが無いフラグメントは直接レンダリングを許可
-            if (storyInfo.getFragmentSummary().getParameters().isEmpty()) {
-                String templateRef = String.format("%s :: %s",
-                    storyInfo.getFragmentSummary().getTemplatePath(),
-                    storyInfo.getFragmentSummary().getFragmentName());
-                logger.debug("No-parameter fragment detected (type: {}), rendering directly: {}",
-                    storyInfo.getFragmentSummary().getType(), templateRef);
-                return RenderingResult.success(templateRef);
-            }
+            return RenderingResult.error("thymeleaflet/fragments/error-display :: error(type='danger')");
+        }
+    }
+
+    /**
+     * パラメータもモデル参照も持たないフラグメント: 値を組み立てずにテンプレート参照のみ返す
+     */
+    private RenderingResult renderStatic(RenderPlan renderPlan) {
+        logger.debug("Static fragment detected, rendering without value assembly: {}", renderPlan.templateReference());
+        return RenderingResult.success(renderPlan.templateReference());
+    }
 
-            Map<String, Object> mergedParameters = storyRenderValueAssembler.assembleParameters(valueAssemblyRequest);
+    /**
+     * パラメータを持たないフラグメント: モデル値のみ適用して直接レンダリング
+     */
+    private RenderingResult renderModelOnly(
+        RenderPlan renderPlan,
+        Model model,
+        Map<String, Object> modelOverrides,
+        Map<String, Object> methodReturnsOverrides
+    ) {
+        applyModelValues(renderPlan, model, modelOverrides, methodReturnsOverrides);
+        logger.debug("No-parameter fragment detected (type: {}), rendering directly: {}",
+            renderPlan.fragmentSummary().getType(), renderPlan.templateReference());
+        return RenderingResult.success(renderPlan.templateReference());
+    }
 
-            Optional<String> unsafeParameter = findUnsafeFragmentInsertionParameter(
-                storyInfo.getFragmentSummary().getTemplatePath(),
-                mergedParameters
-            );
-            if (unsafeParameter.isPresent()) {
-                String errorMessage = messageSource.getMessage(
-                    "thymeleaflet.error.message.invalidFragmentExpression",
-                    new Object[] {unsafeParameter.orElseThrow()},
-                    LocaleContextHolder.getLocale()
-                );
-                model.addAttribute("error", errorMessage);
-                return RenderingResult.error(
-                    "thymeleaflet/fragments/error-display :: error(type='info', title=null, message=null, showActionButton=false, actionText=null, actionScript=null, templatePath=null)"
-                );
-            }
+    /**
+     * パラメータ付きフラグメント: モデル・パラメータの組み立てと安全性検査を行う
+     */
+    private RenderingResult renderFull(
+        RenderPlan renderPlan,
+        Model model,
+        String fullTemplatePath,
+        String fragmentName,
+        Map<String, Object> parameterOverrides,
+        Map<String, Object> modelOverrides,
+        Map<String, Object> methodReturnsOverrides
+    ) {
+        FragmentStoryInfo storyInfo = renderPlan.storyInfo();
+        Map<String, Object> mergedModel =
+            applyModelValues(renderPlan, model, modelOverrides, methodReturnsOverrides);
 
-            if (mergedParameters.isEmpty() && mergedModel.isEmpty()) {
-                // Stories YAMLファイルもJavaDocも利用できない場合はエラー表示
-                model.addAttribute("fragmentName", fragmentName);
-                model.addAttribute("templatePath", fullTemplatePath);
-                logger.debug("No parameters available from stories.yml or JavaDoc fallback");
-                return RenderingResult.error("thymeleaflet/fragments/error-display :: error(type='warning', title=null, message=null, showActionButton=false, actionText=null, actionScript=null, templatePath=null)");
-            }
+        Map<String, Object> mergedParameters = storyRenderValueAssembler.mergeParameters(
+            Objects.requireNonNull(renderPlan.parameterBase(), "parameterBase cannot be null for FULL pipeline"),
+            parameterOverrides
+        );
+
+        Optional<String> unsafeParameter = unsafeFragmentInsertionDetector.findUnsafeParameter(
+            renderPlan.dynamicInsertionParameterNames(),
+            mergedParameters
+        );
+        if (unsafeParameter.isPresent()) {
+            String errorMessage = messageSource.getMessage(
+                "thymeleaflet.error.message.invalidFragmentExpression",
+                new Object[] {unsafeParameter.orElseThrow()},
+                LocaleContextHolder.getLocale()
+            );
+            model.addAttribute("error", errorMessage);
+            return RenderingResult.error(
+                "thymeleaflet/fragments/error-display :: error(type='info', title=null, message=null, showActionButton=false, actionText=null, actionScript=null, templatePath=null)"
+            );
+        }
 
-            logger.debug("Parameters obtained: {} (from {})", mergedParameters,
-                       storyInfo.hasStoryConfig() ? "stories.yml" : "JavaDoc fallback");
+        if (mergedParameters.isEmpty() && mergedModel.isEmpty()) {
+            // Stories YAMLファイルもJavaDocも利用できない場合はエラー表示
+            model.addAttribute("fragmentName", fragmentName);
+            model.addAttribute("templatePath", fullTemplatePath);
+            logger.debug("No parameters available from stories.yml or JavaDoc fallback");
+            return RenderingResult.error("thymeleaflet/fragments/error-display :: error(type='warning', title=null, message=null, showActionButton=false, actionText=null, actionScript=null, templatePath=null)");
+        }
 
-            // ストーリーのパラメータを設定
-            logger.debug("=== PARAMETER SETTING START ===");
-            for (Map.Entry<String, Object> entry : mergedParameters.entrySet()) {
-                logger.debug("Setting parameter: {} = {} (type: {})",
-                           entry.getKey(), entry.getValue(),
-                           classNameOf(entry.getValue()));
-                model.addAttribute(entry.getKey(), thymeleafFragmentRenderer.resolveTemplateValue(entry.getValue()));
-            }
+        logger.debug("Parameters obtained: {} (from {})", mergedParameters,
+                   storyInfo.hasStoryConfig() ? "stories.yml" : "JavaDoc fallback");
 
-            // 追加のモックデータを設定
-            logger.debug("=== MOCK DATA SETUP ===");
-            validationUseCase.setupFragmentValidationData(new ValidationUseCase.ValidationCommand(
-                storyInfo.getFragmentSummary().getTemplatePath(),
-                storyInfo.getFragmentSummary().getFragmentName(),
-                storyInfo.getStoryName()
-            ));
-
-            // デバッグログ
-            String templateRef = String.format("%s :: %s",
-                storyInfo.getFragmentSummary().getTemplatePath(),
-                storyInfo.getFragmentSummary().getFragmentName());
-            logger.debug("=== Fragment Render Debug ===");
-            logger.debug("Template Reference: {}", templateRef);
-            logger.debug("Fragment Name: {}", storyInfo.getFragmentSummary().getFragmentName());
-            logger.debug("Template Path: {}", storyInfo.getFragmentSummary().getTemplatePath());
-            logger.debug("Story Name: {}", storyName);
-            logger.debug("Model attributes: {}", model.asMap().keySet());
-            logger.debug("All model values: {}", model.asMap());
-
-            try {
-                logger.debug("=== TEMPLATE RENDERING ATTEMPT ===");
-                logger.debug("About to render template: {}", templateRef);
-
-                // クライアントサイド色判定のため、直接フラグメントをレンダリング
-                logger.debug("Template rendering successful, returning: {}", templateRef);
-                return RenderingResult.success(templateRef);
-            } catch (Exception e) {
-                logger.error("=== TEMPLATE RENDERING FAILED ===");
-                logger.error("Template Reference: {}", templateRef);
-                logger.error("Exception: {}", e.getMessage(), e);
-
-                // エラー時は適切なエラーメッセージを表示
-                model.addAttribute("fragmentName", fragmentName);
-                model.addAttribute("templatePath", fullTemplatePath);
-                model.addAttribute("errorMessage", e.getMessage());
-                return RenderingResult.error("thymeleaflet/fragments/error-display :: error(type='warning', title=null, message=null, showActionButton=false, actionText=null, actionScript=null, templatePath=null)");
-            }
+        // ストーリーのパラメータを設定
+        logger.debug("=== PARAMETER SETTING START ===");
+        for (Map.Entry<String, Object> entry : mergedParameters.entrySet()) {
+            logger.debug("Setting parameter: {} = {} (type: {})",
+                       entry.getKey(), entry.getValue(),
+                       classNameOf(entry.getValue()));
+            model.addAttribute(entry.getKey(), thymeleafFragmentRenderer.resolveTemplateValue(entry.getValue()));
+        }
 
-        } catch (Exception globalException) {
-            // エラーハンドリング（簡素化版）
-            logger.error("Rendering error for {}::{}::{}: {}",
-                templatePath, fragmentName, storyName, globalException.getMessage(), globalException);
+        // 追加のモックデータを設定
+        logger.debug("=== MOCK DATA SETUP ===");
+        validationUseCase.setupFragmentValidationData(new ValidationUseCase.ValidationCommand(
+            storyInfo.getFragmentSummary().getTemplatePath(),
+            storyInfo.getFragmentSummary().getFragmentName(),
+            storyInfo.getStoryName()
+        ));
+
+        // デバッグログ
+        String templateRef = renderPlan.templateReference();
+        logger.debug("=== Fragment Render Debug ===");
+        logger.debug("Template Reference: {}", templateRef);
+        logger.debug("Fragment Name: {}", storyInfo.getFragmentSummary().getFragmentName());
+        logger.debug("Template Path: {}", storyInfo.getFragmentSummary().getTemplatePath());
+        logger.debug("Story Name: {}", storyInfo.getStoryName());
+        logger.debug("Model attributes: {}", model.asMap().keySet());
+        logger.debug("All model values: {}", model.asMap());
 
-            model.addAttribute("error", "レンダリングエラーが発生しました: " + globalException.getMessage());
-            model.addAttribute("templatePath", templatePath);
+        try {
+            logger.debug("=== TEMPLATE RENDERING ATTEMPT ===");
+            logger.debug("About to render template: {}", templateRef);
+
+            // クライアントサイド色判定のため、直接フラグメントをレンダリング
+            logger.debug("Template rendering successful, returning: {}", templateRef);
+            return RenderingResult.success(templateRef);
+        } catch (Exception e) {
+            logger.error("=== TEMPLATE RENDERING FAILED ===");
+            logger.error("Template Reference: {}", templateRef);
+            logger.error("Exception: {}", e.getMessage(), e);
+
+            // エラー時は適切なエラーメッセージを表示
             model.addAttribute("fragmentName", fragmentName);
-            model.addAttribute("storyName", storyName);
+            model.addAttribute("templatePath", fullTemplatePath);
+            model.addAttribute("errorMessage", e.getMessage());
+            return RenderingResult.error("thymeleaflet/fragments/error-display :: error(type='warning', title=null, message=null, showActionButton=false, actionText=null, actionScript=null, templatePath=null)");
+        }
+    }
 
-            return RenderingResult.error("thymeleaflet/fragments/error-display :: error(type='danger')");
+    private Map<String, Object> applyModelValues(
+        RenderPlan renderPlan,
+        Model model,
+        Map<String, Object> modelOverrides,
+        Map<String, Object> methodReturnsOverrides
+    ) {
+        StoryRenderValueAssembler.ModelAndMethodReturnValues modelValues =
+            storyRenderValueAssembler.mergeModelAndMethodReturns(
+                Objects.requireNonNull(renderPlan.modelBase(), "modelBase cannot be null"),
+                modelOverrides,
+                methodReturnsOverrides
+            );
+        storyRenderValueAssembler.recordMethodReturnConflictWarnings(modelValues);
+        Map<String, Object> mergedModel = modelValues.model();
+
+        if (!mergedModel.isEmpty()) {
+            for (Map.Entry<String, Object> entry : mergedModel.entrySet()) {
+                model.addAttribute(entry.getKey(), thymeleafFragmentRenderer.resolveTemplateValue(entry.getValue()));
+            }
+            logger.debug("Applied story model values: {}", mergedModel.keySet());
         }
+        return mergedModel;
+    }
+
+    /**
+     * 描画パイプライン別の処理時間統計
+     */
+    public RenderPipelineStats renderPipelineStats() {
+        return renderPipelineStats;
     }
 
     private String classNameOf(@Nullable Object target) {
         return Objects.isNull(target) ? "null" : target.getClass().getSimpleName();
     }
 
-    private Optional<String> findUnsafeFragmentInsertionParameter(
-        String templatePath,
-        Map<String, Object> mergedParameters
-    ) {
-        String templateSource = readTemplateSource(templatePath);
-        if (templateSource.isEmpty()) {
+    /**
+     * 描画計画を取得する。キャッシュ済みでなければ組み立て、テンプレートと推定で参照した
+     * テンプレートを派生元として記録する。ストーリーが存在しない場合は空を返す。
+     * ストーリー設定ファイルの最終更新時刻をキーに含めるため、ファイルを編集すると計画を組み立て直す。
+     */
+    private Optional<RenderPlan> renderPlan(String fullTemplatePath, String fragmentName, String storyName) {
+        ThymeleafletCacheManager manager = cacheManager;
+        RenderPlanKey cacheKey = new RenderPlanKey(
+            fullTemplatePath,
+            fragmentName,
+            storyName,
+            manager != null && manager.isEnabled()
+                ? storyConfigurationLoader.getStoryConfigurationLastModified(fullTemplatePath).orElse(NO_STORY_FILE)
+                : NO_STORY_FILE
+        );
+        if (manager != null) {
+            Optional<RenderPlan> cached = manager.get(RENDER_PLAN_CACHE, cacheKey);
+            ServerTimingRecorder.countCacheLookup(cached.isPresent());
+            if (cached.isPresent()) {
+                return cached;
+            }
+        }
+
+        Optional<FragmentStoryInfo> storyInfoOptional = storyRetrievalUseCase
+            .getStory(fullTemplatePath, fragmentName, storyName);
+        logger.debug("Story Info: {}", storyInfoOptional.orElse(null));
+        if (storyInfoOptional.isEmpty()) {
             return Optional.empty();
         }
+        FragmentStoryInfo storyInfo = storyInfoOptional.orElseThrow();
+        FragmentSummary summary = storyInfo.getFragmentSummary();
+
+        FragmentDomainService.RenderPipeline pipeline = RenderPlan.pipelineOf(summary);
+        RenderPlan renderPlan;
+        if (pipeline == FragmentDomainService.RenderPipeline.STATIC) {
+            renderPlan = RenderPlan.staticPlan(storyInfo);
+        } else {
+            Optional<JavaDocAnalyzer.JavaDocInfo> javaDocInfo =
+                javaDocLookupService.findJavaDocInfo(fullTemplatePath, fragmentName);
+            StoryRenderValueAssembler.ModelBase modelBase =
+                storyRenderValueAssembler.prepareModelBase(storyInfo, javaDocInfo, fullTemplatePath, fragmentName);
+            if (pipeline == FragmentDomainService.RenderPipeline.MODEL_ONLY) {
+                renderPlan = RenderPlan.modelOnly(storyInfo, modelBase);
+            } else {
+                renderPlan = RenderPlan.full(
+                    storyInfo,
+                    modelBase,
+                    storyRenderValueAssembler.prepareParameterBase(storyInfo, javaDocInfo, fullTemplatePath, fragmentName),
+                    unsafeFragmentInsertionDetector.templateInsertionParameterNames(summary.getTemplatePath())
+                );
+            }
+        }
 
-        return unsafeFragmentInsertionDetector.findUnsafeParameter(templateSource, mergedParameters);
+        if (manager != null) {
+            Set<String> sourceTemplatePaths = new LinkedHashSet<>();
+            sourceTemplatePaths.add(fullTemplatePath);
+            sourceTemplatePaths.add(summary.getTemplatePath());
+            sourceTemplatePaths.addAll(
+                fragmentModelInferenceService.inferenceSourceTemplatePaths(fullTemplatePath, summary.getParameters())
+            );
+            manager.put(RENDER_PLAN_CACHE, cacheKey, renderPlan, sourceTemplatePaths);
+        }
+        return Optional.of(renderPlan);
     }
 
-    private String readTemplateSource(String templatePath) {
-        Resource resource = resourceLoader.getResource("classpath:templates/" + templatePath + ".html");
-        if (!resource.exists()) {
-            return "";
-        }
-        try (var inputStream = resource.getInputStream()) {
-            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-        } catch (IOException ioException) {
-            logger.debug("Failed to read template source for safety check: {}", templatePath, ioException);
-            return "";
-        }
+    private record RenderPlanKey(
+        String fullTemplatePath,
+        String fragmentName,
+        String storyName,
+        long storyLastModified
+    ) {
     }
 
     /**
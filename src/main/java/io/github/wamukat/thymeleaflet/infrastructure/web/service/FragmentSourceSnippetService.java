@@ -1,6 +1,7 @@
 package io.github.wamukat.thymeleaflet.infrastructure.web.service;
 
 import io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery.FragmentSignatureParser;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -26,17 +27,23 @@ public class FragmentSourceSnippetService {
     private final ResourceLoader resourceLoader;
     private final FragmentSignatureParser fragmentSignatureParser;
 
-    @Autowired
-    public FragmentSourceSnippetService(ResourceLoader resourceLoader) {
+    FragmentSourceSnippetService(ResourceLoader resourceLoader) {
         this(resourceLoader, new FragmentSignatureParser());
     }
 
-    FragmentSourceSnippetService(ResourceLoader resourceLoader, FragmentSignatureParser fragmentSignatureParser) {
+    @Autowired
+    public FragmentSourceSnippetService(ResourceLoader resourceLoader, FragmentSignatureParser fragmentSignatureParser) {
         this.resourceLoader = resourceLoader;
         this.fragmentSignatureParser = fragmentSignatureParser;
     }
 
     public Optional<String> resolveSnippet(String templatePath, String fragmentName) {
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.SNIPPET)) {
+            return extractSnippet(templatePath, fragmentName);
+        }
+    }
+
+    private Optional<String> extractSnippet(String templatePath, String fragmentName) {
         String templateSource = readTemplateSource(templatePath);
         if (templateSource.isEmpty()) {
             return Optional.empty();
@@ -7,14 +7,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 
 /**
  * JavaDoc情報取得専用サービス
  *
  * 責務: テンプレートからJavaDoc情報を取得する処理を一箇所に集約
+ * フラグメント名との照合はテンプレート単位のドキュメントモデルが構築時に索引化したものを使う
  */
 @Component
 public class JavaDocLookupService implements JavaDocLookupPort {
@@ -28,38 +27,14 @@ public class JavaDocLookupService implements JavaDocLookupPort {
     }
 
     public Optional<JavaDocAnalyzer.JavaDocInfo> findJavaDocInfo(String templatePath, String fragmentName) {
-        List<JavaDocAnalyzer.JavaDocInfo> javadocInfos = javaDocContentService.loadJavaDocInfos(templatePath);
-        if (javadocInfos.isEmpty()) {
-            return Optional.empty();
-        }
-
         try {
-            return javadocInfos.stream()
-                .filter(doc -> matchesFragmentTag(doc, fragmentName)
-                    || matchesExample(doc, fragmentName)
-                    || matchesDescription(doc, fragmentName))
-                .findFirst();
+            return javaDocContentService.loadDocumentation(templatePath).findByFragmentName(fragmentName);
         } catch (Exception e) {
             logger.warn("Failed to read JavaDoc info for {}::{}: {}", templatePath, fragmentName, e.getMessage());
             return Optional.empty();
         }
     }
 
-    private boolean matchesFragmentTag(JavaDocAnalyzer.JavaDocInfo doc, String fragmentName) {
-        return doc.getFragmentNameOptional()
-            .filter(fragmentName::equals)
-            .isPresent();
-    }
-
-    private boolean matchesExample(JavaDocAnalyzer.JavaDocInfo doc, String fragmentName) {
-        return doc.getExamples().stream()
-            .anyMatch(ex -> ex.getFragmentName().equals(fragmentName));
-    }
-
-    private boolean matchesDescription(JavaDocAnalyzer.JavaDocInfo doc, String fragmentName) {
-        return doc.getDescription().toLowerCase(Locale.ROOT).contains(fragmentName.toLowerCase(Locale.ROOT));
-    }
-
     @Override
     public Optional<Object> findJavaDocInfoForView(String templatePath, String fragmentName) {
         return findJavaDocInfo(templatePath, fragmentName).map(doc -> (Object) doc);
@@ -0,0 +1,137 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thymeleaflet のリクエストが同時に使えるサーブレットスレッド数を制限するバルクヘッド
+ *
+ * 実行枠は max-concurrent 個。超えた分は max-queue 件まで空きを待ち、
+ * 待機列が満杯のとき、または queue-timeout 以内に空かなかったときは即座に拒否する。
+ * 待機中のリクエストもサーブレットスレッドを占有するため、ホストアプリへの影響は
+ * max-concurrent + max-queue スレッドまでに抑えられる。
+ *
+ * バッチ描画は 1 リクエストで batch-parallelism 件のストーリーを並行に描画するため、
+ * {@link #getBatchPermits()} 個（batch-parallelism と max-concurrent の小さい方）の枠を使う。
+ */
+@Component
+public class PreviewBulkhead {
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long queueTimeoutNanos;
+    private final int retryAfterSeconds;
+    private final int batchPermits;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder rejectedTimeout = new LongAdder();
+
+    public PreviewBulkhead(ResolvedStorybookConfig storybookConfig) {
+        ResolvedStorybookConfig.BulkheadConfig bulkhead = storybookConfig.getBulkhead();
+        this.enabled = bulkhead.isEnabled();
+        this.maxConcurrent = bulkhead.getMaxConcurrent();
+        this.maxQueue = bulkhead.getMaxQueue();
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(bulkhead.getQueueTimeoutMillis());
+        this.retryAfterSeconds = bulkhead.getRetryAfterSeconds();
+        this.batchPermits = Math.min(storybookConfig.getPreview().getBatchParallelism(), maxConcurrent);
+        // 公平モードにして、待機列のリクエストが後から来たリクエストに追い越されないようにする
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * バッチ描画 1 リクエストが使う実行枠の数
+     */
+    public int getBatchPermits() {
+        return batchPermits;
+    }
+
+    /**
+     * 実行枠を 1 個取得する。
+     *
+     * @see #tryEnter(int)
+     */
+    public boolean tryEnter() throws InterruptedException {
+        return tryEnter(1);
+    }
+
+    /**
+     * 実行枠を指定数まとめて取得する。空きがなければ待機列に並び、待機列が満杯または待ち時間切れなら false を返す。
+     * true を返した場合、呼び出し側は処理完了後に必ず同じ数で {@link #release(int)} を呼ぶこと。
+     *
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public boolean tryEnter(int requestedPermits) throws InterruptedException {
+        if (permits.tryAcquire(requestedPermits, 0, TimeUnit.NANOSECONDS)) {
+            admitted.increment();
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            rejectedQueueFull.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(requestedPermits, queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                admitted.increment();
+                return true;
+            }
+            rejectedTimeout.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        release(1);
+    }
+
+    public void release(int releasedPermits) {
+        permits.release(releasedPermits);
+    }
+
+    public Stats stats() {
+        return new Stats(
+            maxConcurrent,
+            maxConcurrent - permits.availablePermits(),
+            queued.get(),
+            admitted.sum(),
+            rejectedQueueFull.sum(),
+            rejectedTimeout.sum()
+        );
+    }
+
+    /**
+     * バルクヘッドの統計。active は使用中の実行枠の数、queued は待機中のリクエスト数。
+     * rejectedQueueFull は待機列が満杯で、rejectedTimeout は待ち時間切れで拒否したリクエスト数。
+     */
+    public record Stats(
+        int maxConcurrent,
+        int active,
+        int queued,
+        long admitted,
+        long rejectedQueueFull,
+        long rejectedTimeout
+    ) {
+
+        public long rejected() {
+            return rejectedQueueFull + rejectedTimeout;
+        }
+    }
+}
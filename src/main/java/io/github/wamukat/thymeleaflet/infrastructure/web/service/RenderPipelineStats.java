@@ -0,0 +1,63 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.domain.service.FragmentDomainService;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 描画パイプライン別の処理時間統計
+ *
+ * /render の非テンプレート処理（パス変換から描画計画の適用まで）の件数と累積時間を
+ * パイプラインごとに集計する。テンプレートエンジンによる描画時間は含まない。
+ */
+public final class RenderPipelineStats {
+
+    private final Map<FragmentDomainService.RenderPipeline, Counter> counters =
+        new EnumMap<>(FragmentDomainService.RenderPipeline.class);
+
+    RenderPipelineStats() {
+        for (FragmentDomainService.RenderPipeline pipeline : FragmentDomainService.RenderPipeline.values()) {
+            counters.put(pipeline, new Counter());
+        }
+    }
+
+    void record(FragmentDomainService.RenderPipeline pipeline, long elapsedNanos) {
+        Counter counter = counters.get(pipeline);
+        if (counter != null) {
+            counter.renders.increment();
+            counter.totalNanos.add(elapsedNanos);
+        }
+    }
+
+    public Snapshot snapshot(FragmentDomainService.RenderPipeline pipeline) {
+        Counter counter = counters.get(pipeline);
+        if (counter == null) {
+            return new Snapshot(pipeline, 0, 0);
+        }
+        return new Snapshot(pipeline, counter.renders.sum(), counter.totalNanos.sum());
+    }
+
+    public List<Snapshot> snapshots() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (FragmentDomainService.RenderPipeline pipeline : FragmentDomainService.RenderPipeline.values()) {
+            snapshots.add(snapshot(pipeline));
+        }
+        return List.copyOf(snapshots);
+    }
+
+    private static final class Counter {
+        private final LongAdder renders = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+    }
+
+    public record Snapshot(FragmentDomainService.RenderPipeline pipeline, long renders, long totalNanos) {
+
+        public double averageMicros() {
+            return renders == 0 ? 0.0d : totalNanos / 1_000.0d / renders;
+        }
+    }
+}
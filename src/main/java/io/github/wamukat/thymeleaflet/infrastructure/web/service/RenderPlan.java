@@ -0,0 +1,151 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.domain.model.FragmentStoryInfo;
+import io.github.wamukat.thymeleaflet.domain.model.FragmentSummary;
+import io.github.wamukat.thymeleaflet.domain.service.FragmentDomainService;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ストーリー単位の描画計画 - 不変オブジェクト
+ *
+ * (テンプレート, フラグメント, ストーリー) だけで決まる描画準備の結果
+ * （フラグメント概要・オーバーライド適用前の値・java.time 変換計画・
+ * 動的挿入パラメータ名・テンプレート参照）を保持する。
+ * リクエストごとの処理は、保持した値へのオーバーライドの併合と描画のみになる。
+ * 保持する値は変更不可で、併合時に複製される。
+ *
+ * 描画パイプラインごとに必要な値だけを保持する。STATIC は値を持たず、
+ * MODEL_ONLY はモデルの元データのみ、FULL はパラメータと動的挿入パラメータ名も持つ。
+ */
+final class RenderPlan {
+
+    private final FragmentDomainService.RenderPipeline pipeline;
+    private final FragmentStoryInfo storyInfo;
+    private final String templateReference;
+    private final StoryRenderValueAssembler.@Nullable ModelBase modelBase;
+    private final StoryRenderValueAssembler.@Nullable ParameterBase parameterBase;
+    private final Set<String> dynamicInsertionParameterNames;
+
+    private RenderPlan(
+        FragmentDomainService.RenderPipeline pipeline,
+        FragmentStoryInfo storyInfo,
+        StoryRenderValueAssembler.@Nullable ModelBase modelBase,
+        StoryRenderValueAssembler.@Nullable ParameterBase parameterBase,
+        Set<String> dynamicInsertionParameterNames
+    ) {
+        this.pipeline = pipeline;
+        this.storyInfo = storyInfo;
+        FragmentSummary summary = storyInfo.getFragmentSummary();
+        this.templateReference = summary.getTemplatePath() + " :: " + summary.getFragmentName();
+        this.modelBase = modelBase == null ? null : new StoryRenderValueAssembler.ModelBase(
+            modelBase.hasStoryConfig(),
+            freezeMap(modelBase.storyModel()),
+            freezeMap(modelBase.storyMethodReturns()),
+            freezeMap(modelBase.inferredMethodReturns()),
+            modelBase.coercionPlan()
+        );
+        this.parameterBase = parameterBase == null
+            ? null
+            : new StoryRenderValueAssembler.ParameterBase(freezeMap(parameterBase.parameters()), parameterBase.coercionPlan());
+        this.dynamicInsertionParameterNames = Set.copyOf(dynamicInsertionParameterNames);
+    }
+
+    /**
+     * テンプレート参照だけで描画できるフラグメントの計画
+     */
+    static RenderPlan staticPlan(FragmentStoryInfo storyInfo) {
+        return new RenderPlan(FragmentDomainService.RenderPipeline.STATIC, storyInfo, null, null, Set.of());
+    }
+
+    /**
+     * パラメータを持たず、モデル値だけを適用するフラグメントの計画
+     */
+    static RenderPlan modelOnly(FragmentStoryInfo storyInfo, StoryRenderValueAssembler.ModelBase modelBase) {
+        return new RenderPlan(FragmentDomainService.RenderPipeline.MODEL_ONLY, storyInfo, modelBase, null, Set.of());
+    }
+
+    static RenderPlan full(
+        FragmentStoryInfo storyInfo,
+        StoryRenderValueAssembler.ModelBase modelBase,
+        StoryRenderValueAssembler.ParameterBase parameterBase,
+        Set<String> dynamicInsertionParameterNames
+    ) {
+        return new RenderPlan(
+            FragmentDomainService.RenderPipeline.FULL,
+            storyInfo,
+            modelBase,
+            parameterBase,
+            dynamicInsertionParameterNames
+        );
+    }
+
+    /**
+     * 発見時の分類から描画パイプラインを決定する。
+     *
+     * SIMPLE またはパラメータなしのフラグメントは、テンプレートがモデルを参照しない場合のみ STATIC とする。
+     * SIMPLE の判定はテンプレートパスとフラグメント名に基づくため、それだけではモデル参照の有無は分からない。
+     */
+    static FragmentDomainService.RenderPipeline pipelineOf(FragmentSummary summary) {
+        boolean parameterless = summary.getType() == FragmentDomainService.FragmentType.SIMPLE
+            || summary.getParameters().isEmpty();
+        if (!parameterless) {
+            return FragmentDomainService.RenderPipeline.FULL;
+        }
+        return summary.getRenderPipeline() == FragmentDomainService.RenderPipeline.STATIC
+            ? FragmentDomainService.RenderPipeline.STATIC
+            : FragmentDomainService.RenderPipeline.MODEL_ONLY;
+    }
+
+    FragmentDomainService.RenderPipeline pipeline() {
+        return pipeline;
+    }
+
+    FragmentStoryInfo storyInfo() {
+        return storyInfo;
+    }
+
+    FragmentSummary fragmentSummary() {
+        return storyInfo.getFragmentSummary();
+    }
+
+    String templateReference() {
+        return templateReference;
+    }
+
+    StoryRenderValueAssembler.@Nullable ModelBase modelBase() {
+        return modelBase;
+    }
+
+    StoryRenderValueAssembler.@Nullable ParameterBase parameterBase() {
+        return parameterBase;
+    }
+
+    Set<String> dynamicInsertionParameterNames() {
+        return dynamicInsertionParameterNames;
+    }
+
+    private static Map<String, Object> freezeMap(Map<?, ?> source) {
+        Map<String, Object> frozen = new LinkedHashMap<>();
+        source.forEach((key, value) -> frozen.put(String.valueOf(key), freezeValue(value)));
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    private static @Nullable Object freezeValue(@Nullable Object value) {
+        if (value instanceof Map<?, ?> mapValue) {
+            return freezeMap(mapValue);
+        }
+        if (value instanceof List<?> listValue) {
+            List<@Nullable Object> frozen = new ArrayList<>(listValue.size());
+            listValue.forEach(item -> frozen.add(freezeValue(item)));
+            return Collections.unmodifiableList(frozen);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.PreviewWarningRecorder;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * メモリへ取り込んだストーリー 1 件分の描画結果 - 不変オブジェクト
+ *
+ * 本文とビューが設定したヘッダー（プレビュー警告を含む）を保持し、
+ * {@link #writeTo(HttpServletResponse)} で任意のレスポンスへ書き出せる。
+ * 非同期処理の戻り値としては {@link #toResponseEntity()} で変換する。
+ */
+record RenderedStory(
+    boolean succeeded,
+    int status,
+    @Nullable String contentType,
+    String characterEncoding,
+    Map<String, List<String>> headers,
+    String html
+) {
+
+    List<String> warnings() {
+        return PreviewWarningRecorder.decodeWarnings(header(PreviewWarningRecorder.HEADER_NAME));
+    }
+
+    long warningCount() {
+        String count = header(PreviewWarningRecorder.COUNT_HEADER_NAME);
+        if (count == null || count.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(count);
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
+    }
+
+    @Nullable String header(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+        response.setCharacterEncoding(characterEncoding);
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        headers.forEach((name, values) -> {
+            for (int index = 0; index < values.size(); index++) {
+                if (index == 0) {
+                    response.setHeader(name, values.get(index));
+                } else {
+                    response.addHeader(name, values.get(index));
+                }
+            }
+        });
+        response.getWriter().write(html);
+        response.getWriter().flush();
+    }
+
+    ResponseEntity<String> toResponseEntity() {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        headers.forEach((name, values) -> responseHeaders.addAll(name, values));
+        if (contentType != null) {
+            responseHeaders.set(HttpHeaders.CONTENT_TYPE, contentType);
+        }
+        return ResponseEntity.status(status).headers(responseHeaders).body(html);
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.wamukat.thymeleaflet.infrastructure.web.service;
 
 import io.github.wamukat.thymeleaflet.domain.model.SecureTemplatePath;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -29,6 +30,12 @@ public class SecurePathConversionService {
      * @return 変換結果
      */
     public SecurityConversionResult convertSecurePath(String templatePath, Model model) {
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.PATH)) {
+            return convertPath(templatePath, model);
+        }
+    }
+
+    private SecurityConversionResult convertPath(String templatePath, Model model) {
         try {
             logger.debug("[PATH_CONVERSION] Before conversion: {}", templatePath);
             SecureTemplatePath secureTemplatePath = SecureTemplatePath.of(templatePath);
@@ -0,0 +1,249 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ThymeleafletExecutors;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 複数ストーリーの一括描画サービス
+ *
+ * 各ストーリーを {@link CapturedStoryRenderer} で /render と同じ手順で描画し、
+ * HTML とプレビュー警告をストーリーごとに返す。
+ * 描画は {@code thymeleaflet.preview.batch-parallelism} 件に制限して、専用スレッド
+ * （仮想スレッドモードではストーリーごとの仮想スレッド）で並行に行う。
+ *
+ * ストーリーごとに属性とレスポンスを分離したリクエストで描画するため、
+ * プレビュー警告やモデルがストーリー間で混ざらない。
+ * 元のリクエストとレスポンスはスレッドセーフではないため、ワーカースレッドからはセッションの取得を
+ * 直列化し、描画中に設定された Cookie は全件の描画後に呼び出し元のスレッドで元レスポンスへ設定する。
+ */
+@Component
+public class StoryBatchRenderService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoryBatchRenderService.class);
+
+    private final CapturedStoryRenderer capturedStoryRenderer;
+    private final int maxEntries;
+    private final ExecutorService executor;
+    private final Semaphore renderPermits;
+
+    public StoryBatchRenderService(
+        CapturedStoryRenderer capturedStoryRenderer,
+        ResolvedStorybookConfig storybookConfig,
+        ThymeleafletExecutors executors
+    ) {
+        this.capturedStoryRenderer = capturedStoryRenderer;
+        this.maxEntries = storybookConfig.getPreview().getBatchMaxEntries();
+        int parallelism = storybookConfig.getPreview().getBatchParallelism();
+        this.executor = executors.newExecutor("thymeleaflet-batch-render-", parallelism);
+        // 仮想スレッドはタスクごとに起動されるため、同時に描画する件数はここで制限する
+        this.renderPermits = new Semaphore(parallelism);
+    }
+
+    /**
+     * ストーリーを一括描画し、入力と同じ順序で結果を返す。
+     * 個々のストーリーの失敗は結果の {@link Status#ERROR} として返し、他のストーリーの描画は継続する。
+     *
+     * @throws IllegalArgumentException エントリ数が上限を超える場合、または必須項目が空の場合
+     */
+    public List<Result> render(List<Entry> entries, HttpServletRequest request, HttpServletResponse response) {
+        validate(entries);
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        Locale locale = LocaleContextHolder.getLocale();
+
+        Lock sessionLock = new ReentrantLock();
+        List<List<Cookie>> cookies = new ArrayList<>(entries.size());
+        List<Callable<Result>> tasks = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            List<Cookie> entryCookies = new ArrayList<>();
+            cookies.add(entryCookies);
+            tasks.add(() -> renderInWorker(entry, request, response, localeContext, locale, sessionLock, entryCookies));
+        }
+
+        List<Future<Result>> futures;
+        try {
+            futures = executor.invokeAll(tasks);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch render was interrupted", interrupted);
+        }
+
+        List<Result> results = new ArrayList<>(entries.size());
+        for (int index = 0; index < futures.size(); index++) {
+            results.add(awaitResult(entries.get(index), futures.get(index)));
+        }
+        // 全件の描画が完了してから、呼び出し元のスレッドで Cookie を元レスポンスへ設定する
+        cookies.forEach(entryCookies -> entryCookies.forEach(response::addCookie));
+        return List.copyOf(results);
+    }
+
+    int maxEntries() {
+        return maxEntries;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 入力を検証する。{@link #render} も描画前に同じ検証を行う。
+     *
+     * @throws IllegalArgumentException エントリ数が上限を超える場合、または必須項目が空の場合
+     */
+    public void validate(List<Entry> entries) {
+        if (entries.size() > maxEntries) {
+            throw new IllegalArgumentException(
+                "Batch render accepts at most " + maxEntries + " entries: " + entries.size()
+            );
+        }
+        for (Entry entry : entries) {
+            if (isBlank(entry.templatePath()) || isBlank(entry.fragmentName()) || isBlank(entry.storyName())) {
+                throw new IllegalArgumentException("templatePath, fragmentName and storyName are required");
+            }
+        }
+    }
+
+    private Result awaitResult(Entry entry, Future<Result> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return Result.failure(entry, "interrupted", 0);
+        } catch (ExecutionException executionException) {
+            Throwable cause = executionException.getCause();
+            return Result.failure(entry, cause != null ? String.valueOf(cause.getMessage()) : "unknown error", 0);
+        }
+    }
+
+    private Result renderInWorker(
+        Entry entry,
+        HttpServletRequest request,
+        HttpServletResponse response,
+        @Nullable LocaleContext localeContext,
+        Locale locale,
+        Lock sessionLock,
+        List<Cookie> cookies
+    ) throws InterruptedException {
+        renderPermits.acquire();
+        LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+        LocaleContextHolder.setLocaleContext(localeContext);
+        long startNanos = System.nanoTime();
+        try {
+            RenderedStory rendered = capturedStoryRenderer.render(
+                entry.templatePath(),
+                entry.fragmentName(),
+                entry.storyName(),
+                entry.parameters(),
+                entry.model(),
+                entry.methodReturns(),
+                request,
+                response,
+                locale,
+                sessionLock,
+                cookies
+            );
+            return new Result(
+                entry.templatePath(),
+                entry.fragmentName(),
+                entry.storyName(),
+                rendered.succeeded() ? Status.SUCCESS : Status.ERROR,
+                rendered.html(),
+                rendered.warnings(),
+                rendered.warningCount(),
+                elapsedMillis(startNanos)
+            );
+        } catch (Exception renderException) {
+            logger.warn("Batch render failed for {}::{}::{}: {}",
+                entry.templatePath(), entry.fragmentName(), entry.storyName(), renderException.getMessage());
+            return Result.failure(entry, String.valueOf(renderException.getMessage()), elapsedMillis(startNanos));
+        } finally {
+            LocaleContextHolder.setLocaleContext(previousLocaleContext);
+            renderPermits.release();
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static boolean isBlank(@Nullable String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * 一括描画の入力 1 件。オーバーライドは POST /render と同じ意味を持つ。
+     */
+    public record Entry(
+        String templatePath,
+        String fragmentName,
+        String storyName,
+        Map<String, Object> parameters,
+        Map<String, Object> model,
+        Map<String, Object> methodReturns
+    ) {
+
+        public static Entry of(String templatePath, String fragmentName, String storyName) {
+            return new Entry(templatePath, fragmentName, storyName, Map.of(), Map.of(), Map.of());
+        }
+    }
+
+    public enum Status {
+        SUCCESS,
+        ERROR
+    }
+
+    /**
+     * 一括描画の結果 1 件。html にはエラー表示を含む描画結果が入る（描画自体に失敗した場合は空）。
+     */
+    public record Result(
+        String templatePath,
+        String fragmentName,
+        String storyName,
+        Status status,
+        String html,
+        List<String> warnings,
+        long warningCount,
+        long elapsedMillis
+    ) {
+
+        public Result {
+            warnings = List.copyOf(warnings);
+        }
+
+        static Result failure(Entry entry, String message, long elapsedMillis) {
+            return new Result(
+                entry.templatePath(),
+                entry.fragmentName(),
+                entry.storyName(),
+                Status.ERROR,
+                "",
+                List.of(message),
+                1,
+                elapsedMillis
+            );
+        }
+    }
+}
@@ -24,25 +24,68 @@ public class StoryJavaTimeValueCoercionService {
         Map<String, Object> parameters,
         JavaDocAnalyzer.JavaDocInfo javaDocInfo
     ) {
-        Map<String, Object> coerced = deepCopyMap(parameters);
+        return coerceParameters(deepCopyMap(parameters), compile(javaDocInfo));
+    }
+
+    public Map<String, Object> coerceModel(
+        Map<String, Object> model,
+        JavaDocAnalyzer.JavaDocInfo javaDocInfo
+    ) {
+        return coerceModel(deepCopyMap(model), compile(javaDocInfo));
+    }
+
+    /**
+     * JavaDoc から java.time 型の変換対象だけを抽出した変換計画を作成する。
+     *
+     * 変換計画は不変であり、同じフラグメントの描画間で共有できる。
+     */
+    public CoercionPlan compile(JavaDocAnalyzer.JavaDocInfo javaDocInfo) {
+        List<ParameterTarget> parameterTargets = new ArrayList<>();
         for (JavaDocAnalyzer.ParameterInfo parameterInfo : javaDocInfo.getParameters()) {
-            String name = parameterInfo.getName();
+            if (JavaTimeTarget.fromTypeName(parameterInfo.getType()).isPresent()) {
+                parameterTargets.add(new ParameterTarget(parameterInfo.getName(), parameterInfo.getType()));
+            }
+        }
+        List<ModelTarget> modelTargets = new ArrayList<>();
+        for (JavaDocAnalyzer.ModelInfo modelInfo : javaDocInfo.getModels()) {
+            if (JavaTimeTarget.fromTypeName(modelInfo.getType()).isPresent()) {
+                modelTargets.add(new ModelTarget(modelInfo.getName(), modelInfo.getType()));
+            }
+        }
+        return new CoercionPlan(List.copyOf(parameterTargets), List.copyOf(modelTargets));
+    }
+
+    /**
+     * 変換計画に従いパラメータを変換する。変換対象がない場合は入力をそのまま返し、
+     * ある場合は入力を変更せずに変換済みの複製を返す。
+     */
+    public Map<String, Object> coerceParameters(Map<String, Object> parameters, CoercionPlan plan) {
+        if (plan.parameterTargets().isEmpty()) {
+            return parameters;
+        }
+        Map<String, Object> coerced = new HashMap<>(parameters);
+        for (ParameterTarget target : plan.parameterTargets()) {
+            String name = target.name();
             if (coerced.containsKey(name)) {
-                coerced.put(name, coerceValue(coerced.get(name), parameterInfo.getType(), name));
+                coerced.put(name, coerceValue(coerced.get(name), target.typeName(), name));
             }
         }
         return coerced;
     }
 
-    public Map<String, Object> coerceModel(
-        Map<String, Object> model,
-        JavaDocAnalyzer.JavaDocInfo javaDocInfo
-    ) {
+    /**
+     * 変換計画に従いモデルを変換する。変換対象がない場合は入力をそのまま返し、
+     * ある場合は入力を変更せずに変換済みの複製を返す。
+     */
+    public Map<String, Object> coerceModel(Map<String, Object> model, CoercionPlan plan) {
+        if (plan.modelTargets().isEmpty()) {
+            return model;
+        }
         Map<String, Object> coerced = deepCopyMap(model);
-        for (JavaDocAnalyzer.ModelInfo modelInfo : javaDocInfo.getModels()) {
-            boolean applied = applyModelPath(coerced, modelInfo.getName(), modelInfo.getType());
-            if (!applied && !modelInfo.getName().startsWith("view.")) {
-                applyModelPath(coerced, "view." + modelInfo.getName(), modelInfo.getType());
+        for (ModelTarget target : plan.modelTargets()) {
+            boolean applied = applyModelPath(coerced, target.path(), target.typeName());
+            if (!applied && !target.path().startsWith("view.")) {
+                applyModelPath(coerced, "view." + target.path(), target.typeName());
             }
         }
         return coerced;
@@ -249,6 +292,28 @@ public class StoryJavaTimeValueCoercionService {
         }
     }
 
+    /**
+     * java.time 型へ変換するパラメータとモデルパスの一覧
+     */
+    public record CoercionPlan(List<ParameterTarget> parameterTargets, List<ModelTarget> modelTargets) {
+
+        private static final CoercionPlan NONE = new CoercionPlan(List.of(), List.of());
+
+        public static CoercionPlan none() {
+            return NONE;
+        }
+
+        public boolean isEmpty() {
+            return parameterTargets.isEmpty() && modelTargets.isEmpty();
+        }
+    }
+
+    public record ParameterTarget(String name, String typeName) {
+    }
+
+    public record ModelTarget(String path, String typeName) {
+    }
+
     public static class StoryValueCoercionException extends RuntimeException {
         public StoryValueCoercionException(String message, Throwable cause) {
             super(message, cause);
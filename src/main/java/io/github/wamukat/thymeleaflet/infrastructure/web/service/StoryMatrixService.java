@@ -0,0 +1,144 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.application.port.inbound.story.StoryRetrievalUseCase;
+import io.github.wamukat.thymeleaflet.domain.model.FragmentStoryInfo;
+import io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery.FragmentDiscoveryService;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.Model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * ストーリーマトリクス画面のデータ準備サービス
+ *
+ * フラグメント指定時はそのフラグメントの全ストーリー、フォルダ指定時はフォルダ配下の
+ * 全フラグメントの全ストーリーをカードとして並べる。プレビュー本体は画面表示後に
+ * バッチ描画 API から遅延読み込みするため、ここではストーリーの一覧だけを組み立てる。
+ */
+@Component
+public class StoryMatrixService {
+
+    private static final int MAX_BATCH_REQUEST_SIZE = 12;
+
+    private final FragmentDiscoveryService fragmentDiscoveryService;
+    private final StoryRetrievalUseCase storyRetrievalUseCase;
+    private final PreviewConfigService previewConfigService;
+    private final ResolvedStorybookConfig storybookConfig;
+
+    public StoryMatrixService(
+        FragmentDiscoveryService fragmentDiscoveryService,
+        StoryRetrievalUseCase storyRetrievalUseCase,
+        PreviewConfigService previewConfigService,
+        ResolvedStorybookConfig storybookConfig
+    ) {
+        this.fragmentDiscoveryService = fragmentDiscoveryService;
+        this.storyRetrievalUseCase = storyRetrievalUseCase;
+        this.previewConfigService = previewConfigService;
+        this.storybookConfig = storybookConfig;
+    }
+
+    /**
+     * マトリクス画面の属性を設定する。
+     *
+     * @param templatePath テンプレートパス（スラッシュ区切り）。fragmentName と組み合わせて使う
+     * @param fragmentName フラグメント名
+     * @param folder フォルダパス（スラッシュ区切り）。未指定または空の場合は全フラグメントを対象とする
+     */
+    public void setupMatrix(
+        @Nullable String templatePath,
+        @Nullable String fragmentName,
+        @Nullable String folder,
+        Model model
+    ) {
+        List<MatrixCard> cards;
+        String scope;
+        if (templatePath != null && !templatePath.isBlank() && fragmentName != null && !fragmentName.isBlank()) {
+            cards = cardsForFragment(templatePath, fragmentName);
+            scope = templatePath + " :: " + fragmentName;
+        } else {
+            String normalizedFolder = normalizeFolder(folder);
+            cards = cardsForFolder(normalizedFolder);
+            scope = normalizedFolder.isEmpty() ? "/" : normalizedFolder;
+        }
+
+        model.addAttribute("basePath", storybookConfig.getBasePath());
+        model.addAttribute("matrixScope", scope);
+        model.addAttribute("matrixCards", cards);
+        model.addAttribute("matrixBatchSize", Math.min(MAX_BATCH_REQUEST_SIZE, storybookConfig.getPreview().getBatchMaxEntries()));
+        model.addAttribute("previewStylesheets", joinResources(storybookConfig.getResources().getStylesheets()));
+        model.addAttribute("previewScripts", joinResources(storybookConfig.getResources().getScripts()));
+        previewConfigService.applyPreviewConfig(model);
+    }
+
+    private List<MatrixCard> cardsForFragment(String templatePath, String fragmentName) {
+        StoryRetrievalUseCase.StoryListResponse response =
+            storyRetrievalUseCase.getStoriesForFragment(templatePath, fragmentName);
+        if (!response.isSuccess()) {
+            return List.of();
+        }
+        return toCards(response.getStories());
+    }
+
+    private List<MatrixCard> cardsForFolder(String folder) {
+        List<MatrixCard> cards = new ArrayList<>();
+        for (FragmentDiscoveryService.FragmentInfo fragment : fragmentDiscoveryService.discoverFragments()) {
+            String fragmentTemplatePath = fragment.getTemplatePath();
+            if (!folder.isEmpty() && !fragmentTemplatePath.startsWith(folder + "/")) {
+                continue;
+            }
+            cards.addAll(cardsForFragment(fragmentTemplatePath, fragment.getFragmentName()));
+        }
+        return List.copyOf(cards);
+    }
+
+    private static List<MatrixCard> toCards(List<FragmentStoryInfo> stories) {
+        List<MatrixCard> cards = new ArrayList<>(stories.size());
+        for (FragmentStoryInfo story : stories) {
+            String templatePath = story.getFragmentSummary().getTemplatePath();
+            cards.add(new MatrixCard(
+                templatePath,
+                templatePath.replace("/", "."),
+                story.getFragmentSummary().getFragmentName(),
+                story.getStoryName(),
+                story.getDisplayTitle()
+            ));
+        }
+        return List.copyOf(cards);
+    }
+
+    private static String normalizeFolder(@Nullable String folder) {
+        if (folder == null) {
+            return "";
+        }
+        String normalized = folder.trim();
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    private static String joinResources(List<String> resources) {
+        return resources.stream()
+            .map(String::trim)
+            .filter(value -> !value.isEmpty())
+            .collect(Collectors.joining(","));
+    }
+
+    /**
+     * マトリクスのカード 1 枚分（ストーリー 1 件）
+     */
+    public record MatrixCard(
+        String templatePath,
+        String templatePathEncoded,
+        String fragmentName,
+        String storyName,
+        String displayTitle
+    ) {}
+}
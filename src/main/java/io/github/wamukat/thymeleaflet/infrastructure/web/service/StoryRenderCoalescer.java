@@ -0,0 +1,291 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.PreviewWarningRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.ThymeleafletAwareThymeleafView;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * 実行中の同一 /render リクエストを 1 回の描画へ合流させるサービス
+ *
+ * オーバーライドを持たない GET /render は (テンプレート, フラグメント, ストーリー, ロケール) だけで
+ * 出力が決まるため、同じキーの描画が実行中であれば新たに描画せず、その結果（本文とプレビュー警告ヘッダー）を共有する。
+ * 結果は描画完了と同時に破棄し、保持しない。出力キャッシュの有無に関係なく、
+ * キャッシュに載っていない描画の同時実行だけを 1 回にまとめる。
+ *
+ * 出力がユーザーごとに変わり得るリクエストは合流させない。セッションや認証済みユーザーを持つリクエストは
+ * 対象外とし、先頭の描画がセッションを作成したり Cookie を設定したりした場合は結果を共有せず、
+ * 待っていたリクエストはそれぞれ自身で描画する。共有するヘッダーはプレビュー警告と描画制限だけで、
+ * Server-Timing など先頭のリクエスト固有のヘッダーは渡さない。
+ *
+ * 先頭のリクエストは通常どおりビューで描画し、合流したリクエストだけが共有された結果を書き出す。
+ * ストリーミング描画はレスポンスへ直接書き込むため合流の対象外とする。
+ */
+@Component
+public class StoryRenderCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoryRenderCoalescer.class);
+    private static final String LEADER_CALLBACK_NAME = StoryRenderCoalescer.class.getName() + ".leader";
+    private static final List<String> SHARED_HEADER_NAMES = List.of(
+        PreviewWarningRecorder.HEADER_NAME,
+        PreviewWarningRecorder.COUNT_HEADER_NAME,
+        ThymeleafletAwareThymeleafView.RENDER_LIMIT_HEADER_NAME
+    );
+
+    private final CapturedStoryRenderer capturedStoryRenderer;
+    private final boolean enabled;
+    private final ConcurrentMap<RenderKey, CompletableFuture<Optional<RenderedStory>>> inFlight =
+        new ConcurrentHashMap<>();
+    private final LongAdder renders = new LongAdder();
+    private final LongAdder mergedRequests = new LongAdder();
+    private final AtomicInteger waitingRequests = new AtomicInteger();
+
+    public StoryRenderCoalescer(CapturedStoryRenderer capturedStoryRenderer, ResolvedStorybookConfig storybookConfig) {
+        this.capturedStoryRenderer = capturedStoryRenderer;
+        ResolvedStorybookConfig.PreviewConfig preview = storybookConfig.getPreview();
+        this.enabled = preview.isCoalesceRenders() && !preview.isStreaming();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 合流が有効で、リクエストがセッションも認証済みユーザーも持たない場合に true を返す。
+     */
+    public boolean accepts(HttpServletRequest request) {
+        return enabled && request.getSession(false) == null && request.getUserPrincipal() == null;
+    }
+
+    /**
+     * 同じキーの描画が実行中ならその完了を待ち、共有された結果をレスポンスへ書き出して true を返す。
+     * 実行中の描画がなければこのリクエストを先頭の描画として登録して false を返す。呼び出し元は通常どおり
+     * ビューで描画し、ビューが出力を書き出した時点で待っているリクエストへ共有される。
+     * 先頭の描画が結果を共有できなかった場合も false を返し、呼び出し元が自身で描画する。
+     */
+    public boolean joinOrLead(
+        String templatePath,
+        String fragmentName,
+        String storyName,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws Exception {
+        RenderKey key = new RenderKey(templatePath, fragmentName, storyName, LocaleContextHolder.getLocale());
+        CompletableFuture<Optional<RenderedStory>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<RenderedStory>> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            Optional<RenderedStory> shared = await(existing);
+            if (shared.isPresent()) {
+                mergedRequests.increment();
+                logger.debug("Merged /render request into in-flight render: {}", key);
+                ServerTimingRecorder.writeHeader(request, response);
+                shared.get().writeTo(response);
+                return true;
+            }
+            renders.increment();
+            return false;
+        }
+        renders.increment();
+        Leader leader = new Leader(key, created, request);
+        request.setAttribute(ThymeleafletAwareThymeleafView.RENDERED_OUTPUT_LISTENER_ATTRIBUTE, leader);
+        // ビューが出力を書き出さずに終わった場合も、リクエスト完了時に待っているリクエストを解放する
+        RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+            LEADER_CALLBACK_NAME,
+            leader::release,
+            RequestAttributes.SCOPE_REQUEST
+        );
+        return false;
+    }
+
+    /**
+     * ストーリーを描画（または実行中の同一描画に合流）して、レスポンスへ書き出さずに結果を返す。
+     * 非同期描画は常に出力をメモリへ取り込むため、先頭の描画の結果をそのまま共有する。
+     */
+    RenderedStory renderCaptured(
+        String templatePath,
+        String fragmentName,
+        String storyName,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws Exception {
+        Locale locale = LocaleContextHolder.getLocale();
+        RenderKey key = new RenderKey(templatePath, fragmentName, storyName, locale);
+        return renderShared(
+            key,
+            () -> capturedStoryRenderer.render(
+                templatePath,
+                fragmentName,
+                storyName,
+                Map.of(),
+                Map.of(),
+                Map.of(),
+                request,
+                response,
+                locale
+            ),
+            () -> !isUserSpecific(request, response)
+        );
+    }
+
+    /**
+     * 同じキーの描画が実行中ならその完了を待って共有された結果を返し、なければ自身で描画する。
+     * 先頭の描画が例外で終わった場合や結果を共有できない場合、待っていたリクエストは自身で描画する。
+     */
+    RenderedStory renderShared(RenderKey key, RenderCall renderCall, BooleanSupplier shareable) throws Exception {
+        CompletableFuture<Optional<RenderedStory>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<RenderedStory>> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            Optional<RenderedStory> shared = await(existing);
+            if (shared.isPresent()) {
+                mergedRequests.increment();
+                logger.debug("Merged /render request into in-flight render: {}", key);
+                return shared.get();
+            }
+            renders.increment();
+            return renderCall.render();
+        }
+        renders.increment();
+        Optional<RenderedStory> shared = Optional.empty();
+        try {
+            RenderedStory rendered = renderCall.render();
+            if (shareable.getAsBoolean()) {
+                shared = Optional.of(sharedCopy(rendered, name -> rendered.headers().getOrDefault(name, List.of())));
+            }
+            return rendered;
+        } finally {
+            created.complete(shared);
+            inFlight.remove(key, created);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(renders.sum(), mergedRequests.sum(), inFlight.size());
+    }
+
+    /**
+     * 実行中の描画に合流して完了を待っているリクエストの数。
+     */
+    int waitingRequests() {
+        return waitingRequests.get();
+    }
+
+    private static boolean isUserSpecific(HttpServletRequest request, HttpServletResponse response) {
+        return request.getSession(false) != null
+            || request.getUserPrincipal() != null
+            || !response.getHeaders(HttpHeaders.SET_COOKIE).isEmpty();
+    }
+
+    private static RenderedStory sharedCopy(RenderedStory rendered, Function<String, Collection<String>> headerValues) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String name : SHARED_HEADER_NAMES) {
+            Collection<String> values = headerValues.apply(name);
+            if (!values.isEmpty()) {
+                headers.put(name, List.copyOf(values));
+            }
+        }
+        return new RenderedStory(
+            rendered.succeeded(),
+            rendered.status(),
+            rendered.contentType(),
+            rendered.characterEncoding(),
+            Collections.unmodifiableMap(headers),
+            rendered.html()
+        );
+    }
+
+    private Optional<RenderedStory> await(CompletableFuture<Optional<RenderedStory>> future)
+        throws InterruptedException {
+        waitingRequests.incrementAndGet();
+        try {
+            return future.get();
+        } catch (ExecutionException executionException) {
+            // 先頭の描画は結果の有無にかかわらず正常に完了させるため、ここには到達しない
+            throw new IllegalStateException("In-flight render completed exceptionally", executionException.getCause());
+        } finally {
+            waitingRequests.decrementAndGet();
+        }
+    }
+
+    /**
+     * 同期 GET /render の先頭の描画。ビューから出力を受け取り、待っているリクエストへ共有する。
+     */
+    private final class Leader implements ThymeleafletAwareThymeleafView.RenderedOutputListener {
+
+        private final RenderKey key;
+        private final CompletableFuture<Optional<RenderedStory>> result;
+        private final HttpServletRequest request;
+
+        private Leader(RenderKey key, CompletableFuture<Optional<RenderedStory>> result, HttpServletRequest request) {
+            this.key = key;
+            this.result = result;
+            this.request = request;
+        }
+
+        @Override
+        public void rendered(String output, HttpServletResponse response) {
+            if (isUserSpecific(request, response)) {
+                release();
+                return;
+            }
+            RenderedStory rendered = new RenderedStory(
+                response.getHeader(ThymeleafletAwareThymeleafView.RENDER_LIMIT_HEADER_NAME) == null,
+                response.getStatus(),
+                response.getContentType(),
+                response.getCharacterEncoding(),
+                Map.of(),
+                output
+            );
+            result.complete(Optional.of(sharedCopy(rendered, response::getHeaders)));
+            inFlight.remove(key, result);
+        }
+
+        void release() {
+            result.complete(Optional.empty());
+            inFlight.remove(key, result);
+        }
+    }
+
+    record RenderKey(String templatePath, String fragmentName, String storyName, Locale locale) {
+    }
+
+    @FunctionalInterface
+    interface RenderCall {
+        RenderedStory render() throws Exception;
+    }
+
+    /**
+     * 合流の統計。renders は実際に行った描画数、mergedRequests は実行中の描画の結果を共有したリクエスト数。
+     */
+    public record Stats(long renders, long mergedRequests, int inFlight) {
+
+        public double mergeRatio() {
+            long requests = renders + mergedRequests;
+            return requests == 0 ? 0.0d : (double) mergedRequests / requests;
+        }
+    }
+}
@@ -3,23 +3,28 @@ package io.github.wamukat.thymeleaflet.infrastructure.web.service;
 import io.github.wamukat.thymeleaflet.application.port.inbound.story.StoryParameterUseCase;
 import io.github.wamukat.thymeleaflet.domain.model.FragmentStoryInfo;
 import io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation.JavaDocAnalyzer;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
 import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.PreviewWarningRecorder;
 import org.jspecify.annotations.Nullable;
 import org.springframework.context.MessageSource;
-import org.springframework.context.i18n.LocaleContextHolder;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 final class StoryRenderValueAssembler {
 
+    private static final String METHOD_RETURN_CONFLICT_WARNING_KEY_PREFIX = "methodReturnConflict:";
+    private static final String COLLECTION_TRUNCATED_WARNING_KEY_PREFIX = "collectionTruncated:";
+
     private final StoryParameterUseCase storyParameterUseCase;
     private final FragmentModelInferenceService fragmentModelInferenceService;
     private final StoryJavaTimeValueCoercionService storyJavaTimeValueCoercionService;
     private final MessageSource messageSource;
+    private final int maxCollectionSize;
     private final JavaDocFallbackValueService javaDocFallbackValueService = new JavaDocFallbackValueService();
 
     StoryRenderValueAssembler(
@@ -27,11 +32,25 @@ final class StoryRenderValueAssembler {
         FragmentModelInferenceService fragmentModelInferenceService,
         StoryJavaTimeValueCoercionService storyJavaTimeValueCoercionService,
         MessageSource messageSource
+    ) {
+        this(storyParameterUseCase, fragmentModelInferenceService, storyJavaTimeValueCoercionService, messageSource, 0);
+    }
+
+    /**
+     * @param maxCollectionSize 描画に渡すコレクションの最大要素数。0 のとき無制限
+     */
+    StoryRenderValueAssembler(
+        StoryParameterUseCase storyParameterUseCase,
+        FragmentModelInferenceService fragmentModelInferenceService,
+        StoryJavaTimeValueCoercionService storyJavaTimeValueCoercionService,
+        MessageSource messageSource,
+        int maxCollectionSize
     ) {
         this.storyParameterUseCase = storyParameterUseCase;
         this.fragmentModelInferenceService = fragmentModelInferenceService;
         this.storyJavaTimeValueCoercionService = storyJavaTimeValueCoercionService;
         this.messageSource = messageSource;
+        this.maxCollectionSize = maxCollectionSize;
     }
 
     StoryRenderValues assemble(RenderValueAssemblyRequest request) {
@@ -41,14 +60,49 @@ final class StoryRenderValueAssembler {
     }
 
     ModelAndMethodReturnValues assembleModelAndMethodReturns(RenderValueAssemblyRequest request) {
-        FragmentStoryInfo storyInfo = request.storyInfo();
-        Optional<JavaDocAnalyzer.JavaDocInfo> javaDocInfo = request.javaDocInfo();
+        ModelAndMethodReturnValues modelValues = mergeModelAndMethodReturns(
+            prepareModelBase(request.storyInfo(), request.javaDocInfo(), request.fullTemplatePath(), request.fragmentName()),
+            request.modelOverrides(),
+            request.methodReturnsOverrides()
+        );
+        recordMethodReturnConflictWarnings(modelValues);
+        return modelValues;
+    }
+
+    Map<String, Object> assembleParameters(RenderValueAssemblyRequest request) {
+        return mergeParameters(
+            prepareParameterBase(request.storyInfo(), request.javaDocInfo(), request.fullTemplatePath(), request.fragmentName()),
+            request.parameterOverrides()
+        );
+    }
 
+    /**
+     * オーバーライド適用前のモデル・methodReturns の元データを解決する。
+     *
+     * ストーリー定義・テンプレート推定・JavaDoc 既定値のみに依存し、リクエストごとの入力は含まない。
+     */
+    ModelBase prepareModelBase(
+        FragmentStoryInfo storyInfo,
+        Optional<JavaDocAnalyzer.JavaDocInfo> javaDocInfo,
+        String fullTemplatePath,
+        String fragmentName
+    ) {
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.ASSEMBLY)) {
+            return resolveModelBase(storyInfo, javaDocInfo, fullTemplatePath, fragmentName);
+        }
+    }
+
+    private ModelBase resolveModelBase(
+        FragmentStoryInfo storyInfo,
+        Optional<JavaDocAnalyzer.JavaDocInfo> javaDocInfo,
+        String fullTemplatePath,
+        String fragmentName
+    ) {
         Map<String, Object> storyModel = storyInfo.getModel();
         if (storyModel.isEmpty()) {
             storyModel = fragmentModelInferenceService.inferModel(
-                request.fullTemplatePath(),
-                request.fragmentName(),
+                fullTemplatePath,
+                fragmentName,
                 storyInfo.getFragmentSummary().getParameters()
             );
             if (javaDocInfo.isPresent()) {
@@ -62,58 +116,50 @@ final class StoryRenderValueAssembler {
             }
         }
 
-        Map<String, Object> mergedModel = new HashMap<>();
-        if (!storyModel.isEmpty()) {
-            deepMergeWithOverride(mergedModel, storyModel);
-        }
-        if (!request.modelOverrides().isEmpty()) {
-            deepMergeWithOverride(mergedModel, request.modelOverrides());
-        }
-
-        Map<String, Object> mergedMethodReturns = new HashMap<>();
-        if (!storyInfo.getMethodReturns().isEmpty()) {
-            deepMergeWithOverride(mergedMethodReturns, storyInfo.getMethodReturns());
-        }
-        if (!request.methodReturnsOverrides().isEmpty()) {
-            deepMergeWithOverride(mergedMethodReturns, request.methodReturnsOverrides());
-        }
-        if (mergedMethodReturns.isEmpty() && !storyInfo.hasStoryConfig()) {
-            Map<String, Object> inferredMethodReturns = fragmentModelInferenceService.inferMethodReturnCandidates(
-                request.fullTemplatePath(),
-                request.fragmentName(),
+        Map<String, Object> inferredMethodReturns = Map.of();
+        if (storyInfo.getMethodReturns().isEmpty() && !storyInfo.hasStoryConfig()) {
+            inferredMethodReturns = fragmentModelInferenceService.inferMethodReturnCandidates(
+                fullTemplatePath,
+                fragmentName,
                 storyInfo.getFragmentSummary().getParameters()
             );
-            if (!inferredMethodReturns.isEmpty()) {
-                deepMergeWithOverride(mergedMethodReturns, inferredMethodReturns);
-            }
         }
 
-        if (!mergedMethodReturns.isEmpty()) {
-            List<String> conflictPaths = new ArrayList<>();
-            mergeMethodReturnsWithoutOverride(mergedModel, mergedMethodReturns, "", conflictPaths);
-            conflictPaths.forEach(this::recordMethodReturnConflictWarning);
-        }
+        return new ModelBase(
+            storyInfo.hasStoryConfig(),
+            storyModel,
+            storyInfo.getMethodReturns(),
+            inferredMethodReturns,
+            coercionPlanOf(javaDocInfo)
+        );
+    }
 
-        if (javaDocInfo.isPresent()) {
-            mergedModel = storyJavaTimeValueCoercionService.coerceModel(
-                mergedModel,
-                javaDocInfo.orElseThrow()
-            );
+    /**
+     * オーバーライド適用前のパラメータ（ストーリー値と JavaDoc 既定値）を解決する。
+     */
+    ParameterBase prepareParameterBase(
+        FragmentStoryInfo storyInfo,
+        Optional<JavaDocAnalyzer.JavaDocInfo> javaDocInfo,
+        String fullTemplatePath,
+        String fragmentName
+    ) {
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.ASSEMBLY)) {
+            return resolveParameterBase(storyInfo, javaDocInfo, fullTemplatePath, fragmentName);
         }
-
-        return new ModelAndMethodReturnValues(mergedModel, mergedMethodReturns);
     }
 
-    Map<String, Object> assembleParameters(RenderValueAssemblyRequest request) {
-        FragmentStoryInfo storyInfo = request.storyInfo();
-        Optional<JavaDocAnalyzer.JavaDocInfo> javaDocInfo = request.javaDocInfo();
-
+    private ParameterBase resolveParameterBase(
+        FragmentStoryInfo storyInfo,
+        Optional<JavaDocAnalyzer.JavaDocInfo> javaDocInfo,
+        String fullTemplatePath,
+        String fragmentName
+    ) {
         Map<String, Object> parameters = storyParameterUseCase.getParametersForStory(storyInfo);
         if (!storyInfo.hasStoryConfig() && javaDocInfo.isPresent()) {
             Map<String, Object> javaDocParameterDefaults = javaDocFallbackValueService.parameterDefaults(
                 javaDocInfo.orElseThrow(),
-                request.fullTemplatePath(),
-                request.fragmentName()
+                fullTemplatePath,
+                fragmentName
             );
             if (!javaDocParameterDefaults.isEmpty()) {
                 Map<String, Object> mergedFallbackParameters = new HashMap<>(parameters);
@@ -121,19 +167,92 @@ final class StoryRenderValueAssembler {
                 parameters = mergedFallbackParameters;
             }
         }
+        return new ParameterBase(parameters, coercionPlanOf(javaDocInfo));
+    }
 
-        Map<String, Object> mergedParameters = new HashMap<>(parameters);
-        if (!request.parameterOverrides().isEmpty()) {
-            mergedParameters.putAll(request.parameterOverrides());
+    /**
+     * 元データにモデル・methodReturns のオーバーライドを適用する。
+     *
+     * 競合したパスは警告として記録せずに返すため、呼び出し側で
+     * {@link #recordMethodReturnConflictWarnings} を呼ぶ。
+     */
+    ModelAndMethodReturnValues mergeModelAndMethodReturns(
+        ModelBase base,
+        Map<String, Object> modelOverrides,
+        Map<String, Object> methodReturnsOverrides
+    ) {
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.ASSEMBLY)) {
+            return applyModelAndMethodReturnOverrides(base, modelOverrides, methodReturnsOverrides);
         }
-        if (javaDocInfo.isPresent()) {
-            mergedParameters = storyJavaTimeValueCoercionService.coerceParameters(
-                mergedParameters,
-                javaDocInfo.orElseThrow()
-            );
+    }
+
+    private ModelAndMethodReturnValues applyModelAndMethodReturnOverrides(
+        ModelBase base,
+        Map<String, Object> modelOverrides,
+        Map<String, Object> methodReturnsOverrides
+    ) {
+        Map<String, Object> mergedModel = new HashMap<>();
+        if (!base.storyModel().isEmpty()) {
+            deepMergeWithOverride(mergedModel, base.storyModel());
+        }
+        if (!modelOverrides.isEmpty()) {
+            deepMergeWithOverride(mergedModel, modelOverrides);
         }
 
-        return mergedParameters;
+        Map<String, Object> mergedMethodReturns = new HashMap<>();
+        if (!base.storyMethodReturns().isEmpty()) {
+            deepMergeWithOverride(mergedMethodReturns, base.storyMethodReturns());
+        }
+        if (!methodReturnsOverrides.isEmpty()) {
+            deepMergeWithOverride(mergedMethodReturns, methodReturnsOverrides);
+        }
+        if (mergedMethodReturns.isEmpty() && !base.hasStoryConfig() && !base.inferredMethodReturns().isEmpty()) {
+            deepMergeWithOverride(mergedMethodReturns, base.inferredMethodReturns());
+        }
+
+        List<String> conflictPaths = new ArrayList<>();
+        if (!mergedMethodReturns.isEmpty()) {
+            mergeMethodReturnsWithoutOverride(mergedModel, mergedMethodReturns, "", conflictPaths);
+        }
+
+        mergedModel = storyJavaTimeValueCoercionService.coerceModel(mergedModel, base.coercionPlan());
+        mergedModel = limitCollections(mergedModel);
+
+        return new ModelAndMethodReturnValues(mergedModel, mergedMethodReturns, List.copyOf(conflictPaths));
+    }
+
+    Map<String, Object> mergeParameters(ParameterBase base, Map<String, Object> parameterOverrides) {
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.ASSEMBLY)) {
+            return applyParameterOverrides(base, parameterOverrides);
+        }
+    }
+
+    private Map<String, Object> applyParameterOverrides(ParameterBase base, Map<String, Object> parameterOverrides) {
+        Map<String, Object> mergedParameters = new HashMap<>(base.parameters());
+        if (!parameterOverrides.isEmpty()) {
+            mergedParameters.putAll(parameterOverrides);
+        }
+        return limitCollections(
+            storyJavaTimeValueCoercionService.coerceParameters(mergedParameters, base.coercionPlan())
+        );
+    }
+
+    void recordMethodReturnConflictWarnings(ModelAndMethodReturnValues modelValues) {
+        modelValues.conflictPaths().forEach(this::recordMethodReturnConflictWarning);
+    }
+
+    Map<String, Object> deepCopyMap(Map<String, Object> source) {
+        Map<String, Object> copied = new HashMap<>();
+        source.forEach((key, value) -> copied.put(key, deepCopyValue(value)));
+        return copied;
+    }
+
+    private StoryJavaTimeValueCoercionService.CoercionPlan coercionPlanOf(
+        Optional<JavaDocAnalyzer.JavaDocInfo> javaDocInfo
+    ) {
+        return javaDocInfo
+            .map(storyJavaTimeValueCoercionService::compile)
+            .orElse(StoryJavaTimeValueCoercionService.CoercionPlan.none());
     }
 
     private void deepMergeWithOverride(Map<String, Object> target, Map<String, Object> source) {
@@ -188,13 +307,84 @@ final class StoryRenderValueAssembler {
     }
 
     private void recordMethodReturnConflictWarning(String path) {
-        String warning = messageSource.getMessage(
-            "thymeleaflet.preview.warning.methodReturnConflict",
-            new Object[] {path},
-            "Skipped methodReturns path due to model conflict: " + path,
-            LocaleContextHolder.getLocale()
+        PreviewWarningRecorder.record(
+            METHOD_RETURN_CONFLICT_WARNING_KEY_PREFIX + path,
+            () -> PreviewWarningRecorder.PreviewWarning.of(
+                messageSource,
+                "thymeleaflet.preview.warning.methodReturnConflict",
+                List.of(path),
+                "Skipped methodReturns path due to model conflict: " + path
+            )
+        );
+    }
+
+    /**
+     * 上限を超える List を先頭から上限件数に切り詰め、パスごとにプレビュー警告を記録する。
+     *
+     * 値は描画計画と共有されている場合があるため変更せず、切り詰めが必要な経路のコンテナだけを複製する。
+     */
+    private Map<String, Object> limitCollections(Map<String, Object> values) {
+        if (maxCollectionSize <= 0 || values.isEmpty()) {
+            return values;
+        }
+        @Nullable Map<String, Object> limited = null;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            Object value = entry.getValue();
+            Object limitedValue = limitCollectionValue(value, entry.getKey());
+            if (limitedValue != value) {
+                if (limited == null) {
+                    limited = new HashMap<>(values);
+                }
+                limited.put(entry.getKey(), limitedValue);
+            }
+        }
+        return limited != null ? limited : values;
+    }
+
+    private @Nullable Object limitCollectionValue(@Nullable Object value, String path) {
+        if (value instanceof Map<?, ?> mapValue) {
+            @Nullable Map<Object, @Nullable Object> limited = null;
+            for (Map.Entry<?, ?> entry : mapValue.entrySet()) {
+                Object nested = entry.getValue();
+                Object limitedNested = limitCollectionValue(nested, path + "." + entry.getKey());
+                if (limitedNested != nested) {
+                    if (limited == null) {
+                        limited = new LinkedHashMap<>(mapValue);
+                    }
+                    limited.put(entry.getKey(), limitedNested);
+                }
+            }
+            return limited != null ? limited : value;
+        }
+        if (value instanceof List<?> listValue) {
+            List<?> source = listValue;
+            boolean changed = false;
+            if (listValue.size() > maxCollectionSize) {
+                recordCollectionTruncatedWarning(path, listValue.size());
+                source = listValue.subList(0, maxCollectionSize);
+                changed = true;
+            }
+            List<@Nullable Object> limited = new ArrayList<>(source.size());
+            for (Object item : source) {
+                Object limitedItem = limitCollectionValue(item, path + "[]");
+                changed |= limitedItem != item;
+                limited.add(limitedItem);
+            }
+            return changed ? limited : value;
+        }
+        return value;
+    }
+
+    private void recordCollectionTruncatedWarning(String path, int size) {
+        PreviewWarningRecorder.record(
+            COLLECTION_TRUNCATED_WARNING_KEY_PREFIX + path,
+            () -> PreviewWarningRecorder.PreviewWarning.of(
+                messageSource,
+                "thymeleaflet.preview.warning.collectionTruncated",
+                List.of(path, String.valueOf(size), String.valueOf(maxCollectionSize)),
+                "Collection truncated to " + maxCollectionSize + " items: " + path
+            )
         );
-        PreviewWarningRecorder.record(warning);
     }
 
     private Map<String, Object> toStringKeyMap(Map<?, ?> rawMap) {
@@ -203,12 +393,6 @@ final class StoryRenderValueAssembler {
         return converted;
     }
 
-    private Map<String, Object> deepCopyMap(Map<String, Object> source) {
-        Map<String, Object> copied = new HashMap<>();
-        source.forEach((key, value) -> copied.put(key, deepCopyValue(value)));
-        return copied;
-    }
-
     private @Nullable Object deepCopyValue(@Nullable Object value) {
         if (value instanceof Map<?, ?> mapValue) {
             return toStringKeyMap(mapValue);
@@ -241,7 +425,23 @@ final class StoryRenderValueAssembler {
 
     record ModelAndMethodReturnValues(
         Map<String, Object> model,
-        Map<String, Object> methodReturns
+        Map<String, Object> methodReturns,
+        List<String> conflictPaths
+    ) {
+    }
+
+    record ModelBase(
+        boolean hasStoryConfig,
+        Map<String, Object> storyModel,
+        Map<String, Object> storyMethodReturns,
+        Map<String, Object> inferredMethodReturns,
+        StoryJavaTimeValueCoercionService.CoercionPlan coercionPlan
+    ) {
+    }
+
+    record ParameterBase(
+        Map<String, Object> parameters,
+        StoryJavaTimeValueCoercionService.CoercionPlan coercionPlan
     ) {
     }
 }
@@ -2,18 +2,27 @@ package io.github.wamukat.thymeleaflet.infrastructure.web.service;
 
 import io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery.FragmentDiscoveryService;
 import io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation.JavaDocContentService;
-import io.github.wamukat.thymeleaflet.infrastructure.adapter.service.DocumentationAnalysisAdapter;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ThymeleafletExecutors;
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.TemplateEngineWarmup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
+/**
+ * 起動完了時にフラグメント探索・JavaDoc・依存解析のキャッシュを読み込むウォームアップ
+ *
+ * 仮想スレッドモードではテンプレート・フラグメントごとの読み込みを仮想スレッドで並行に行う。
+ * {@code thymeleaflet.cache.preload-engine} が有効な場合は、Thymeleaf エンジンのテンプレートキャッシュも
+ * {@link TemplateEngineWarmup} で読み込む。
+ */
 @Component
 public class ThymeleafletCacheWarmup {
 
@@ -22,44 +31,53 @@ public class ThymeleafletCacheWarmup {
     private final ResolvedStorybookConfig storybookConfig;
     private final FragmentDiscoveryService fragmentDiscoveryService;
     private final JavaDocContentService javaDocContentService;
-    private final DocumentationAnalysisAdapter documentationAnalysisAdapter;
     private final FragmentDependencyService fragmentDependencyService;
+    private final ThymeleafletExecutors executors;
+    private final TemplateEngineWarmup templateEngineWarmup;
 
     public ThymeleafletCacheWarmup(ResolvedStorybookConfig storybookConfig,
                                    FragmentDiscoveryService fragmentDiscoveryService,
                                    JavaDocContentService javaDocContentService,
-                                   DocumentationAnalysisAdapter documentationAnalysisAdapter,
-                                   FragmentDependencyService fragmentDependencyService) {
+                                   FragmentDependencyService fragmentDependencyService,
+                                   ThymeleafletExecutors executors,
+                                   TemplateEngineWarmup templateEngineWarmup) {
         this.storybookConfig = storybookConfig;
         this.fragmentDiscoveryService = fragmentDiscoveryService;
         this.javaDocContentService = javaDocContentService;
-        this.documentationAnalysisAdapter = documentationAnalysisAdapter;
         this.fragmentDependencyService = fragmentDependencyService;
+        this.executors = executors;
+        this.templateEngineWarmup = templateEngineWarmup;
     }
 
     @EventListener(ApplicationReadyEvent.class)
     public void preloadCaches() {
-        if (!storybookConfig.getCache().isEnabled() || !storybookConfig.getCache().isPreload()) {
+        ResolvedStorybookConfig.CacheConfig cache = storybookConfig.getCache();
+        boolean preloadThymeleafletCaches = cache.isEnabled() && cache.isPreload();
+        if (!preloadThymeleafletCaches && !cache.isPreloadEngine()) {
             return;
         }
 
-        logger.info("Starting Thymeleaflet cache warmup");
         List<FragmentDiscoveryService.FragmentInfo> fragments = fragmentDiscoveryService.discoverFragments();
-
-        Set<String> templatePaths = new HashSet<>();
-        for (FragmentDiscoveryService.FragmentInfo fragment : fragments) {
-            templatePaths.add(fragment.getTemplatePath());
+        if (preloadThymeleafletCaches) {
+            preloadThymeleafletCaches(fragments);
         }
-
-        for (String templatePath : templatePaths) {
-            javaDocContentService.loadJavaDocInfos(templatePath);
-            documentationAnalysisAdapter.extractTypeInformation(templatePath);
+        if (cache.isPreloadEngine()) {
+            templateEngineWarmup.warm(fragments);
         }
+    }
+
+    private void preloadThymeleafletCaches(List<FragmentDiscoveryService.FragmentInfo> fragments) {
+        logger.info("Starting Thymeleaflet cache warmup");
 
+        Set<String> templatePaths = new LinkedHashSet<>();
         for (FragmentDiscoveryService.FragmentInfo fragment : fragments) {
-            fragmentDependencyService.findDependencies(fragment.getTemplatePath(), fragment.getFragmentName());
+            templatePaths.add(fragment.getTemplatePath());
         }
 
+        executors.fanOut(new ArrayList<>(templatePaths), javaDocContentService::loadDocumentation);
+        executors.fanOut(fragments, fragment ->
+            fragmentDependencyService.findDependencies(fragment.getTemplatePath(), fragment.getFragmentName()));
+
         logger.info("Completed Thymeleaflet cache warmup (templates: {}, fragments: {})",
             templatePaths.size(), fragments.size());
     }
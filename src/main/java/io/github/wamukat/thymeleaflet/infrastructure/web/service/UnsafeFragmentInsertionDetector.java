@@ -2,38 +2,115 @@ package io.github.wamukat.thymeleaflet.infrastructure.web.service;
 
 import io.github.wamukat.thymeleaflet.domain.service.FragmentReferenceAttributes;
 import io.github.wamukat.thymeleaflet.domain.service.StructuredTemplateParser;
+import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * フラグメント式を文字列パラメータで直接挿入するテンプレートの検出
+ *
+ * テンプレートごとに {@code ${param}} 形式で挿入されるパラメータ名の集合を一度だけ解析して
+ * キャッシュし、描画時の判定はマージ済みパラメータに対する集合の所属判定のみで行う。
+ */
 final class UnsafeFragmentInsertionDetector {
 
+    private static final Logger logger = LoggerFactory.getLogger(UnsafeFragmentInsertionDetector.class);
+
+    private static final String INSERTION_PARAMETERS_CACHE = "template-insertion-parameters";
+
     private final StructuredTemplateParser templateParser;
+    private final ResourceLoader resourceLoader;
+    private final @Nullable ThymeleafletCacheManager cacheManager;
 
     UnsafeFragmentInsertionDetector() {
         this(new StructuredTemplateParser());
     }
 
     UnsafeFragmentInsertionDetector(StructuredTemplateParser templateParser) {
+        this(templateParser, new DefaultResourceLoader(), null);
+    }
+
+    UnsafeFragmentInsertionDetector(
+        StructuredTemplateParser templateParser,
+        ResourceLoader resourceLoader,
+        @Nullable ThymeleafletCacheManager cacheManager
+    ) {
         this.templateParser = templateParser;
+        this.resourceLoader = resourceLoader;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * テンプレートの動的挿入パラメータ名を返す。テンプレート単位でキャッシュされ、
+     * 同じテンプレートの全フラグメント・全ストーリーで共有される。
+     */
+    Set<String> templateInsertionParameterNames(String templatePath) {
+        ThymeleafletCacheManager manager = cacheManager;
+        if (manager != null) {
+            Optional<Set<String>> cached = manager.get(INSERTION_PARAMETERS_CACHE, templatePath);
+            ServerTimingRecorder.countCacheLookup(cached.isPresent());
+            if (cached.isPresent()) {
+                return cached.orElseThrow();
+            }
+        }
+        Set<String> parameterNames = dynamicInsertionParameterNames(readTemplateSource(templatePath));
+        if (manager != null) {
+            manager.put(INSERTION_PARAMETERS_CACHE, templatePath, parameterNames, List.of(templatePath));
+        }
+        return parameterNames;
     }
 
     Optional<String> findUnsafeParameter(String templateSource, Map<String, Object> mergedParameters) {
+        return findUnsafeParameter(dynamicInsertionParameterNames(templateSource), mergedParameters);
+    }
+
+    /**
+     * {@code th:insert}/{@code th:replace} に {@code ${param}} 形式で直接渡されている名前を返す。
+     */
+    Set<String> dynamicInsertionParameterNames(String templateSource) {
+        if (!mayContainDynamicInsertion(templateSource)) {
+            return Set.of();
+        }
         StructuredTemplateParser.ParsedTemplate parsedTemplate = templateParser
             .parseWithDiagnostics(templateSource)
             .parsedTemplate();
-        if (parsedTemplate.elements().isEmpty()) {
-            return Optional.empty();
+        Set<String> parameterNames = new LinkedHashSet<>();
+        for (StructuredTemplateParser.TemplateElement element : parsedTemplate.elements()) {
+            for (StructuredTemplateParser.TemplateAttribute attribute : element.attributes()) {
+                if (attribute.hasValue() && FragmentReferenceAttributes.isInsertionAttribute(attribute.name())) {
+                    parameterExpressionName(attribute.value()).ifPresent(parameterNames::add);
+                }
+            }
         }
+        return Set.copyOf(parameterNames);
+    }
 
-        return mergedParameters.entrySet().stream()
-            .filter(entry -> isUnsafeCandidateValue(entry.getValue()))
-            .map(Map.Entry::getKey)
-            .filter(parameterName -> hasDynamicInsertionAttribute(parsedTemplate, parameterName))
-            .findFirst();
+    Optional<String> findUnsafeParameter(Set<String> dynamicInsertionParameterNames, Map<String, Object> mergedParameters) {
+        if (dynamicInsertionParameterNames.isEmpty()) {
+            return Optional.empty();
+        }
+        for (Map.Entry<String, Object> entry : mergedParameters.entrySet()) {
+            if (dynamicInsertionParameterNames.contains(entry.getKey()) && isUnsafeCandidateValue(entry.getValue())) {
+                return Optional.of(entry.getKey());
+            }
+        }
+        return Optional.empty();
     }
 
-    private boolean isUnsafeCandidateValue(Object value) {
+    private boolean isUnsafeCandidateValue(@Nullable Object value) {
         if (!(value instanceof String stringValue)) {
             return false;
         }
@@ -41,23 +118,43 @@ final class UnsafeFragmentInsertionDetector {
         return !(trimmedValue.startsWith("~{") && trimmedValue.endsWith("}"));
     }
 
-    private boolean hasDynamicInsertionAttribute(
-        StructuredTemplateParser.ParsedTemplate parsedTemplate,
-        String parameterName
-    ) {
-        return parsedTemplate.elements().stream()
-            .flatMap(element -> element.attributes().stream())
-            .filter(attribute -> attribute.hasValue())
-            .filter(attribute -> FragmentReferenceAttributes.isInsertionAttribute(attribute.name()))
-            .anyMatch(attribute -> isParameterExpression(attribute.value(), parameterName));
+    /**
+     * 式と挿入属性名のどちらも含まないテンプレートは構文解析せずに除外する。
+     */
+    private static boolean mayContainDynamicInsertion(String templateSource) {
+        return templateSource.contains("${")
+            && (containsIgnoreCase(templateSource, "insert") || containsIgnoreCase(templateSource, "replace"));
+    }
+
+    private static boolean containsIgnoreCase(String source, String keyword) {
+        int lastStart = source.length() - keyword.length();
+        for (int index = 0; index <= lastStart; index++) {
+            if (source.regionMatches(true, index, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private boolean isParameterExpression(String attributeValue, String parameterName) {
+    private String readTemplateSource(String templatePath) {
+        Resource resource = resourceLoader.getResource("classpath:templates/" + templatePath + ".html");
+        if (!resource.exists()) {
+            return "";
+        }
+        try (var inputStream = resource.getInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ioException) {
+            logger.debug("Failed to read template source for safety check: {}", templatePath, ioException);
+            return "";
+        }
+    }
+
+    private Optional<String> parameterExpressionName(String attributeValue) {
         String trimmedValue = attributeValue.trim();
         if (!trimmedValue.startsWith("${") || !trimmedValue.endsWith("}")) {
-            return false;
+            return Optional.empty();
         }
         String expressionBody = trimmedValue.substring(2, trimmedValue.length() - 1).trim();
-        return expressionBody.equals(parameterName);
+        return expressionBody.isEmpty() ? Optional.empty() : Optional.of(expressionBody);
     }
 }
@@ -7,6 +7,8 @@
     const INITIAL_PREVIEW_HEIGHT = 80;
     const MIN_HEIGHT = 60;
     const MAX_HEIGHT = 2000;
+    const STREAM_CONTENT_PLACEHOLDER = '\u0000thymeleaflet-stream-content\u0000';
+    const INLINE_WARNINGS_MARKER_PREFIX = '<!--thymeleaflet-preview-warnings:';
     let previewContentHeight = INITIAL_PREVIEW_HEIGHT;
     let stableTimer = null;
     let lastMeasurementTime = 0;
@@ -15,6 +17,7 @@
     let fontsReadyPromise = null;
     let iframeResizeObserver = null;
     let iframeMutationObserver = null;
+    let activePreviewRequest = null;
     let viewportState = {
         width: null,
         height: null,
@@ -219,6 +222,18 @@
         return /^\s*(?:<!doctype\s+html[^>]*>\s*)?<html(?:\s|>)/i.test(html || '');
     }
 
+    // True once the first tag (and the tag after a doctype) has fully arrived, so isFullHtmlDocument can decide.
+    function hasDocumentStart(text) {
+        const trimmed = text.replace(/^\s+/, '');
+        if (trimmed === '') return false;
+        if (!trimmed.startsWith('<')) return true;
+        const firstTagEnd = trimmed.indexOf('>');
+        if (firstTagEnd < 0) return false;
+        if (!/^<!doctype/i.test(trimmed)) return true;
+        const afterDoctype = trimmed.slice(firstTagEnd + 1).replace(/^\s+/, '');
+        return afterDoctype !== '' && (!afterDoctype.startsWith('<') || afterDoctype.includes('>'));
+    }
+
     iframeControls.getBackgroundColor = function(host) {
         if (!host) return 'transparent';
         const container = host.closest('#preview-container');
@@ -397,7 +412,7 @@
         });
     };
 
-    iframeControls.renderFrame = function(host, html) {
+    iframeControls.createFrame = function(host) {
         host.innerHTML = '';
         const iframe = document.createElement('iframe');
         iframe.className = 'w-full border-0 bg-transparent';
@@ -407,6 +422,11 @@
         iframe.setAttribute('title', 'Thymeleaflet Preview');
         const backgroundColor = iframeControls.getBackgroundColor(host);
         iframe.style.backgroundColor = backgroundColor;
+        return { iframe, backgroundColor };
+    };
+
+    iframeControls.renderFrame = function(host, html) {
+        const { iframe, backgroundColor } = iframeControls.createFrame(host);
         const { doc, previewId } = iframeControls.buildDocument(host, html, backgroundColor);
         host.dataset.previewId = previewId;
         iframe.srcdoc = doc;
@@ -416,6 +436,99 @@
         iframeControls.refreshResponsiveHeight();
     };
 
+    /**
+     * Streams a chunked /render response into the preview iframe.
+     * The shell (head, wrapper, scripts) is written around the fragment chunks as they arrive,
+     * and the trailing preview-warnings marker is stripped and returned as the warnings header value.
+     */
+    iframeControls.renderFrameStream = async function(host, body) {
+        const reader = body.getReader();
+        const decoder = new TextDecoder('utf-8');
+        let pending = '';
+        let first = await reader.read();
+        while (!first.done) {
+            pending += decoder.decode(first.value, { stream: true });
+            if (hasDocumentStart(pending)) {
+                break;
+            }
+            first = await reader.read();
+        }
+
+        const renderBuffered = async () => {
+            let chunk = first.done ? first : await reader.read();
+            while (!chunk.done) {
+                pending += decoder.decode(chunk.value, { stream: true });
+                chunk = await reader.read();
+            }
+            pending += decoder.decode();
+            const { html, warningsHeader } = extractInlineWarnings(pending);
+            iframeControls.renderFrame(host, html);
+            return decodeWarningsHeader(warningsHeader);
+        };
+
+        // Full documents need the whole markup to place resources, so they are buffered.
+        if (isFullHtmlDocument(pending)) {
+            return renderBuffered();
+        }
+
+        const { iframe, backgroundColor } = iframeControls.createFrame(host);
+        const { doc, previewId } = iframeControls.buildDocument(host, STREAM_CONTENT_PLACEHOLDER, backgroundColor);
+        const placeholderIndex = doc.indexOf(STREAM_CONTENT_PLACEHOLDER);
+        host.appendChild(iframe);
+        const frameDocument = iframe.contentDocument;
+        if (!frameDocument || placeholderIndex < 0) {
+            return renderBuffered();
+        }
+        host.dataset.previewId = previewId;
+        frameDocument.open();
+        frameDocument.write(doc.slice(0, placeholderIndex));
+        viewportControls.applyState();
+
+        pending = writeStreamChunk(frameDocument, pending);
+        let chunk = first.done ? first : await reader.read();
+        while (!chunk.done) {
+            pending = writeStreamChunk(frameDocument, pending + decoder.decode(chunk.value, { stream: true }));
+            chunk = await reader.read();
+        }
+        pending += decoder.decode();
+
+        const { html, warningsHeader } = extractInlineWarnings(pending);
+        frameDocument.write(html + doc.slice(placeholderIndex + STREAM_CONTENT_PLACEHOLDER.length));
+        frameDocument.close();
+        iframeControls.setupObservers(iframe);
+        iframeControls.refreshResponsiveHeight();
+        return decodeWarningsHeader(warningsHeader);
+    };
+
+    // Writes everything that cannot be the start of the trailing warnings marker and returns the rest.
+    function writeStreamChunk(frameDocument, text) {
+        const markerIndex = text.indexOf(INLINE_WARNINGS_MARKER_PREFIX);
+        const writableLength = markerIndex >= 0
+            ? markerIndex
+            : Math.max(0, text.length - (INLINE_WARNINGS_MARKER_PREFIX.length - 1));
+        if (writableLength > 0) {
+            frameDocument.write(text.slice(0, writableLength));
+        }
+        return text.slice(writableLength);
+    }
+
+    function extractInlineWarnings(text) {
+        const markerIndex = text.lastIndexOf(INLINE_WARNINGS_MARKER_PREFIX);
+        if (markerIndex < 0) {
+            return { html: text, warningsHeader: null };
+        }
+        const markerEnd = text.indexOf('-->', markerIndex);
+        if (markerEnd < 0) {
+            return { html: text, warningsHeader: null };
+        }
+        const payload = text.slice(markerIndex + INLINE_WARNINGS_MARKER_PREFIX.length, markerEnd);
+        const separatorIndex = payload.lastIndexOf(':');
+        return {
+            html: text.slice(0, markerIndex) + text.slice(markerEnd + 3),
+            warningsHeader: separatorIndex >= 0 ? payload.slice(0, separatorIndex) : payload
+        };
+    }
+
     iframeControls.refreshResponsiveHeight = function() {
         if (viewportControls.isHeightFixed()) {
             return;
@@ -758,6 +871,13 @@
         const targetHost = host || dom.previewHost();
         if (!targetHost) return;
 
+        // A newer load supersedes the one in flight, so its response never overwrites the newer preview.
+        if (activePreviewRequest) {
+            activePreviewRequest.abort();
+        }
+        const controller = new AbortController();
+        activePreviewRequest = controller;
+
         iframeControls.ensureMessageListener();
         renderPreviewWarnings([]);
         resetPreviewHeight();
@@ -788,12 +908,21 @@
                     'HX-Request': 'true',
                     'Content-Type': 'application/json'
                 },
-                body: hasOverrides ? JSON.stringify(requestPayload) : undefined
+                body: hasOverrides ? JSON.stringify(requestPayload) : undefined,
+                signal: controller.signal
             });
             if (!response.ok) {
                 throw new Error(`Preview response status ${response.status}`);
             }
+            if (response.headers.get('X-Thymeleaflet-Preview-Streaming') === 'true' && response.body) {
+                renderPreviewWarnings(await iframeControls.renderFrameStream(targetHost, response.body));
+                await waitForFontsOnce();
+                return;
+            }
             const html = await response.text();
+            if (controller.signal.aborted) {
+                return;
+            }
             const warnings = decodeWarningsHeader(
                 response.headers.get('X-Thymeleaflet-Preview-Warnings')
             );
@@ -801,10 +930,17 @@
             renderPreviewWarnings(warnings);
             await waitForFontsOnce();
         } catch (error) {
+            if (controller.signal.aborted) {
+                return;
+            }
             const baseMessage = document.body.dataset.previewLoadFailed || 'Failed to load preview.';
             const message = `${baseMessage}${error?.message ? ` (${error.message})` : ''}`;
             renderPreviewError(targetHost, message);
             renderPreviewWarnings([]);
+        } finally {
+            if (activePreviewRequest === controller) {
+                activePreviewRequest = null;
+            }
         }
     }
 
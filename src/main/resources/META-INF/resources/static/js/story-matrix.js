@@ -0,0 +1,170 @@
+(function() {
+    if (window.__thymeleafletStoryMatrixInitialized) {
+        return;
+    }
+    window.__thymeleafletStoryMatrixInitialized = true;
+
+    const FLUSH_DELAY_MS = 50;
+    const ROOT_MARGIN = '200px 0px';
+
+    const pendingCards = [];
+    let flushTimer = null;
+    let inFlight = false;
+
+    function parseResourceList(rawValue) {
+        return (rawValue || '')
+            .split(',')
+            .map(value => value.trim())
+            .filter(Boolean);
+    }
+
+    function escapeAttribute(value) {
+        return String(value)
+            .replace(/&/g, '&amp;')
+            .replace(/"/g, '&quot;')
+            .replace(/</g, '&lt;');
+    }
+
+    function buildDocument(matrix, html) {
+        const styles = parseResourceList(matrix.dataset.previewStylesheets);
+        const scripts = parseResourceList(matrix.dataset.previewScripts);
+        const background = matrix.dataset.previewBackground || 'transparent';
+        const head = [
+            '<meta charset="utf-8">',
+            '<meta name="viewport" content="width=device-width, initial-scale=1">',
+            ...styles.map(href => `<link rel="stylesheet" href="${escapeAttribute(href)}">`),
+            `<style>html, body { margin: 0; background: ${escapeAttribute(background)}; }
+                #preview-root { padding: 16px; box-sizing: border-box; }</style>`
+        ];
+        const body = [
+            `<div id="preview-root">${html}</div>`,
+            ...scripts.map(src => `<script src="${escapeAttribute(src)}"></scr` + `ipt>`)
+        ];
+        return `<!DOCTYPE html><html><head>${head.join('')}</head><body>${body.join('')}</body></html>`;
+    }
+
+    function renderStatus(card, message) {
+        const frame = card.querySelector('[data-matrix-frame]');
+        if (!frame) {
+            return;
+        }
+        frame.innerHTML = '';
+        const status = document.createElement('div');
+        status.className = 'thymeleaflet-matrix-status';
+        status.textContent = message;
+        frame.appendChild(status);
+    }
+
+    function renderWarnings(matrix, card, warnings) {
+        const target = card.querySelector('[data-matrix-warnings]');
+        if (!target) {
+            return;
+        }
+        if (!Array.isArray(warnings) || warnings.length === 0) {
+            target.hidden = true;
+            target.textContent = '';
+            return;
+        }
+        const label = matrix.dataset.warningsLabel || 'Preview warnings';
+        target.textContent = `${label}: ${warnings.join(' / ')}`;
+        target.hidden = false;
+    }
+
+    function renderResult(matrix, card, result) {
+        const frame = card.querySelector('[data-matrix-frame]');
+        if (!frame) {
+            return;
+        }
+        if (!result.html) {
+            renderStatus(card, matrix.dataset.renderFailed || 'Failed to render story.');
+            renderWarnings(matrix, card, result.warnings);
+            return;
+        }
+        frame.innerHTML = '';
+        const iframe = document.createElement('iframe');
+        iframe.setAttribute('sandbox', 'allow-scripts allow-same-origin');
+        iframe.setAttribute('loading', 'lazy');
+        iframe.setAttribute('title', `${result.fragmentName} / ${result.storyName}`);
+        iframe.srcdoc = buildDocument(matrix, result.html);
+        frame.appendChild(iframe);
+        renderWarnings(matrix, card, result.warnings);
+    }
+
+    function scheduleFlush(matrix) {
+        if (flushTimer !== null) {
+            return;
+        }
+        flushTimer = setTimeout(() => {
+            flushTimer = null;
+            flush(matrix);
+        }, FLUSH_DELAY_MS);
+    }
+
+    async function flush(matrix) {
+        if (inFlight || pendingCards.length === 0) {
+            return;
+        }
+        const batchSize = Math.max(1, parseInt(matrix.dataset.batchSize || '8', 10) || 8);
+        const cards = pendingCards.splice(0, batchSize);
+        const entries = cards.map(card => ({
+            templatePath: card.dataset.templatePath,
+            fragmentName: card.dataset.fragmentName,
+            storyName: card.dataset.storyName
+        }));
+        inFlight = true;
+        try {
+            const response = await fetch(matrix.dataset.batchUrl, {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ entries })
+            });
+            if (!response.ok) {
+                throw new Error(`Batch response status ${response.status}`);
+            }
+            const payload = await response.json();
+            const results = Array.isArray(payload.results) ? payload.results : [];
+            cards.forEach((card, index) => {
+                const result = results[index];
+                if (result) {
+                    renderResult(matrix, card, result);
+                } else {
+                    renderStatus(card, matrix.dataset.renderFailed || 'Failed to render story.');
+                }
+            });
+        } catch (error) {
+            const baseMessage = matrix.dataset.renderFailed || 'Failed to render story.';
+            cards.forEach(card => renderStatus(card, `${baseMessage} (${error?.message || error})`));
+        } finally {
+            inFlight = false;
+            if (pendingCards.length > 0) {
+                scheduleFlush(matrix);
+            }
+        }
+    }
+
+    function initializeMatrix() {
+        const matrix = document.getElementById('story-matrix');
+        if (!matrix) {
+            return;
+        }
+        const cards = Array.from(matrix.querySelectorAll('[data-matrix-card]'));
+        if (!('IntersectionObserver' in window)) {
+            pendingCards.push(...cards);
+            scheduleFlush(matrix);
+            return;
+        }
+        const observer = new IntersectionObserver(observed => {
+            observed.forEach(entry => {
+                if (!entry.isIntersecting) {
+                    return;
+                }
+                observer.unobserve(entry.target);
+                pendingCards.push(entry.target);
+            });
+            scheduleFlush(matrix);
+        }, { rootMargin: ROOT_MARGIN });
+        cards.forEach(card => observer.observe(card));
+    }
+
+    document.addEventListener('DOMContentLoaded', initializeMatrix);
+})();
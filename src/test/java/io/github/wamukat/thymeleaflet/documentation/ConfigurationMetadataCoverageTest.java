@@ -22,6 +22,13 @@ class ConfigurationMetadataCoverageTest {
             "thymeleaflet.base-path",
             "thymeleaflet.debug"
         );
+        assertMetadata(
+            properties,
+            "thymeleaflet.virtual-threads",
+            "java.lang.Boolean",
+            "virtual threads",
+            "false"
+        );
         assertMetadata(
             properties,
             "thymeleaflet.resources.template-paths",
@@ -61,6 +68,174 @@ class ConfigurationMetadataCoverageTest {
             "Warm Thymeleaflet caches at startup",
             "false"
         );
+        assertMetadata(
+            properties,
+            "thymeleaflet.cache.preload-engine",
+            "java.lang.Boolean",
+            "Thymeleaf template cache at startup",
+            "false"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.cache.preload-engine-parallelism",
+            "java.lang.Integer",
+            "parsed concurrently",
+            "4"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview.streaming",
+            "java.lang.Boolean",
+            "chunked transfer encoding",
+            "false"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview.batch-max-entries",
+            "java.lang.Integer",
+            "batch render request",
+            "50"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview.batch-parallelism",
+            "java.lang.Integer",
+            "concurrently",
+            "4"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview.coalesce-renders",
+            "java.lang.Boolean",
+            "in-flight render",
+            "false"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview.render-deadline-millis",
+            "java.lang.Integer",
+            "Best-effort output deadline",
+            "0"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview.max-output-characters",
+            "java.lang.Integer",
+            "Maximum number of characters",
+            "5000000"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview.max-collection-size",
+            "java.lang.Integer",
+            "truncated with a preview warning",
+            "0"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.bulkhead.enabled",
+            "java.lang.Boolean",
+            "servlet threads",
+            "false"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.bulkhead.max-concurrent",
+            "java.lang.Integer",
+            "execution slots",
+            "8"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.bulkhead.max-queue",
+            "java.lang.Integer",
+            "waiting for a free slot",
+            "16"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.bulkhead.queue-timeout-millis",
+            "java.lang.Integer",
+            "rejected with 503",
+            "1000"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.bulkhead.retry-after-seconds",
+            "java.lang.Integer",
+            "Retry-After",
+            "1"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview-engine.enabled",
+            "java.lang.Boolean",
+            "dedicated template engine",
+            "false"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview-engine.template-cache-max-size",
+            "java.lang.Integer",
+            "parsed templates",
+            "200"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview-engine.template-cache-ttl-millis",
+            "java.lang.Long",
+            "parsed again",
+            "0"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview-engine.expression-cache-max-size",
+            "java.lang.Integer",
+            "parsed expressions",
+            "500"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.preview-engine.expression-cache-ttl-millis",
+            "java.lang.Long",
+            "no expiry",
+            "0"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.diagnostics.server-timing",
+            "java.lang.Boolean",
+            "Server-Timing header",
+            "false"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.diagnostics.server-timing-counts",
+            "java.lang.Boolean",
+            "cache hits and misses",
+            "false"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.diagnostics.metrics",
+            "java.lang.Boolean",
+            "Micrometer timers",
+            "true"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.diagnostics.metrics-fragment-tags",
+            "java.lang.Boolean",
+            "fragment tag",
+            "false"
+        );
+        assertMetadata(
+            properties,
+            "thymeleaflet.diagnostics.metrics-max-fragment-tags",
+            "java.lang.Integer",
+            "distinct fragment tag values",
+            "100"
+        );
         assertThat(properties.keySet()).contains(
             "thymeleaflet.preview.background-light",
             "thymeleaflet.preview.background-dark",
@@ -0,0 +1,66 @@
+package io.github.wamukat.thymeleaflet.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FragmentDependencyGraphTest {
+
+    private static final FragmentDependencyGraph.Node BUTTON = new FragmentDependencyGraph.Node("components/button", "button");
+    private static final FragmentDependencyGraph.Node ICON_BUTTON =
+        new FragmentDependencyGraph.Node("components/button", "iconButton");
+    private static final FragmentDependencyGraph.Node CARD = new FragmentDependencyGraph.Node("components/card", "card");
+    private static final FragmentDependencyGraph.Node DASHBOARD = new FragmentDependencyGraph.Node("pages/dashboard", "main");
+    private static final FragmentDependencyGraph.Node TOOLBAR = new FragmentDependencyGraph.Node("components/toolbar", "toolbar");
+
+    @Test
+    void shouldKeepAdjacencyInBothDirections() {
+        FragmentDependencyGraph graph = graph();
+
+        assertThat(graph.dependenciesOf(CARD)).containsExactly(BUTTON);
+        assertThat(graph.dependentsOf(BUTTON)).containsExactly(CARD, TOOLBAR);
+        assertThat(graph.dependentsOf(DASHBOARD)).isEmpty();
+        assertThat(graph.nodes()).contains(BUTTON, ICON_BUTTON, CARD, DASHBOARD, TOOLBAR);
+        assertThat(graph.edgeCount()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldComputeTransitiveClosureWithoutStartNodeOrCycles() {
+        FragmentDependencyGraph graph = graph();
+
+        assertThat(graph.transitiveDependenciesOf(DASHBOARD)).containsExactlyInAnyOrder(CARD, TOOLBAR, BUTTON, ICON_BUTTON);
+        assertThat(graph.transitiveDependentsOf(BUTTON)).containsExactlyInAnyOrder(CARD, TOOLBAR, DASHBOARD);
+        assertThat(graph.transitiveDependentsOf(ICON_BUTTON)).containsExactlyInAnyOrder(TOOLBAR, DASHBOARD);
+    }
+
+    @Test
+    void impactOfTemplate_shouldIncludeEveryFragmentInTemplateAndTheirDependents() {
+        FragmentDependencyGraph graph = graph();
+
+        assertThat(graph.impactOfTemplate("components/button"))
+            .containsExactlyInAnyOrder(BUTTON, ICON_BUTTON, CARD, TOOLBAR, DASHBOARD);
+        assertThat(graph.impactOf(CARD)).containsExactly(CARD, DASHBOARD);
+        assertThat(graph.impactOfTemplate("components/unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreSelfReferences() {
+        FragmentDependencyGraph graph = FragmentDependencyGraph.of(Map.of(CARD, List.of(CARD)));
+
+        assertThat(graph.dependenciesOf(CARD)).isEmpty();
+        assertThat(graph.transitiveDependentsOf(CARD)).isEmpty();
+    }
+
+    private FragmentDependencyGraph graph() {
+        Map<FragmentDependencyGraph.Node, List<FragmentDependencyGraph.Node>> direct = new LinkedHashMap<>();
+        direct.put(DASHBOARD, List.of(CARD, TOOLBAR));
+        direct.put(CARD, List.of(BUTTON));
+        direct.put(TOOLBAR, List.of(BUTTON, ICON_BUTTON));
+        direct.put(BUTTON, List.of());
+        return FragmentDependencyGraph.of(direct);
+    }
+}
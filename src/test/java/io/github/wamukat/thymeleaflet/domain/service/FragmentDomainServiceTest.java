@@ -0,0 +1,43 @@
+package io.github.wamukat.thymeleaflet.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class FragmentDomainServiceTest {
+
+    private final FragmentDomainService service = new FragmentDomainService();
+
+    @Test
+    void determineRenderPipeline_shouldUseFullPipelineForParameterizedFragments() {
+        assertThat(service.determineRenderPipeline(List.of("label"), "<span th:fragment=\"badge(label)\">x</span>"))
+            .isEqualTo(FragmentDomainService.RenderPipeline.FULL);
+    }
+
+    @Test
+    void determineRenderPipeline_shouldUseStaticPipelineForTemplatesWithoutModelSyntax() {
+        String html = """
+            <svg th:fragment="checkIcon" viewBox="0 0 16 16"><path d="M2 8l4 4 8-8"/></svg>
+            <a th:fragment="homeLink" th:href="@{/}" th:text="#{nav.home}">Home</a>
+            """;
+
+        assertThat(service.determineRenderPipeline(List.of(), html))
+            .isEqualTo(FragmentDomainService.RenderPipeline.STATIC);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "<p th:fragment=\"title\" th:text=\"${view.title}\"></p>",
+        "<div th:fragment=\"card\" th:object=\"${view}\"><p th:text=\"*{title}\"></p></div>",
+        "<div th:fragment=\"shell\" th:replace=\"~{shared/header :: header}\"></div>",
+        "<div th:fragment=\"shell\" th:replace=\"shared/header :: header\"></div>",
+        "<div th:fragment=\"shell\" data-th-insert=\"shared/header\"></div>"
+    })
+    void determineRenderPipeline_shouldUseModelOnlyPipelineWhenTemplateMayReadModel(String html) {
+        assertThat(service.determineRenderPipeline(List.of(), html))
+            .isEqualTo(FragmentDomainService.RenderPipeline.MODEL_ONLY);
+    }
+}
@@ -114,4 +114,21 @@ class FragmentExpressionParserTest {
                 assertThat(diagnostic.message()).contains("dynamicRef");
             });
     }
+
+    @Test
+    void parseWithDiagnostics_shouldReuseCachedResultPerTemplatePath() {
+        String raw = "~{:: cachedCard(title=${view.title})}";
+        long hitsBefore = FragmentExpressionParser.cacheStats().hits();
+
+        FragmentExpressionParser.FragmentExpressionParseResult first =
+            parser.parseWithDiagnostics(raw, "components/cache-first");
+        FragmentExpressionParser.FragmentExpressionParseResult second =
+            new FragmentExpressionParser().parseWithDiagnostics(raw, "components/cache-first");
+        FragmentExpressionParser.FragmentExpressionParseResult otherTemplate =
+            parser.parseWithDiagnostics(raw, "components/cache-second");
+
+        assertThat(second).isSameAs(first);
+        assertThat(otherTemplate.expression().orElseThrow().templatePath()).isEqualTo("components/cache-second");
+        assertThat(FragmentExpressionParser.cacheStats().hits() - hitsBefore).isGreaterThanOrEqualTo(1);
+    }
 }
@@ -0,0 +1,87 @@
+package io.github.wamukat.thymeleaflet.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ParseResultCacheTest {
+
+    @Test
+    void get_shouldLoadOnceAndCountHits() {
+        ParseResultCache<String, String> cache = new ParseResultCache<>("test", 16);
+        AtomicInteger loads = new AtomicInteger();
+
+        String first = cache.get("card(title)", key -> {
+            loads.incrementAndGet();
+            return key.toUpperCase();
+        });
+        String second = cache.get("card(title)", key -> {
+            loads.incrementAndGet();
+            return key.toUpperCase();
+        });
+
+        assertThat(first).isEqualTo("CARD(TITLE)");
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        ParseResultCache.Stats stats = cache.stats();
+        assertThat(stats.name()).isEqualTo("test");
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.5d);
+    }
+
+    @Test
+    void get_shouldEvictWhenMaximumSizeIsExceeded() {
+        ParseResultCache<Integer, Integer> cache = new ParseResultCache<>("bounded", 4);
+
+        for (int i = 0; i < 10; i++) {
+            cache.get(i, key -> key * 2);
+        }
+
+        ParseResultCache.Stats stats = cache.stats();
+        assertThat(stats.size()).isEqualTo(4);
+        assertThat(stats.evictions()).isEqualTo(6);
+    }
+
+    @Test
+    void clear_shouldResetEntriesAndCounters() {
+        ParseResultCache<String, String> cache = new ParseResultCache<>("clear", 4);
+        cache.get("a", key -> key);
+        cache.get("a", key -> key);
+
+        cache.clear();
+
+        ParseResultCache.Stats stats = cache.stats();
+        assertThat(stats.size()).isZero();
+        assertThat(stats.requests()).isZero();
+        assertThat(stats.hitRate()).isZero();
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveMaximumSize() {
+        assertThatThrownBy(() -> new ParseResultCache<String, String>("invalid", 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void modelPaths_shouldReturnCachedPathsAndReplayNoArgMethodPaths() {
+        String expression = "cacheView.summary() + cacheView.items[0].label";
+        Set<String> excluded = Set.of("title");
+        List<List<String>> firstNoArg = new ArrayList<>();
+        List<List<String>> secondNoArg = new ArrayList<>();
+
+        List<List<String>> first = TemplateExpressionPathExtractor.modelPaths(expression, excluded, firstNoArg);
+        List<List<String>> second = TemplateExpressionPathExtractor.modelPaths(expression, excluded, secondNoArg);
+        List<List<String>> withOtherExclusions =
+            TemplateExpressionPathExtractor.modelPaths(expression, Set.of("cacheView"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(secondNoArg).isEqualTo(firstNoArg).isNotEmpty();
+        assertThat(withOtherExclusions).isEmpty();
+    }
+}
@@ -240,6 +240,26 @@ class StructuredTemplateParserTest {
         assertThat(result.diagnostics()).isEmpty();
     }
 
+    @Test
+    void parse_shouldProduceIdenticalResultsWhenSharedParserIsUsedConcurrently() throws Exception {
+        String html = FixtureResources.text("templates/regression/parser-corpus.html");
+        StructuredTemplateParser.ParsedTemplate expected = parser.parse(html);
+
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(8);
+        try {
+            java.util.List<java.util.concurrent.Future<StructuredTemplateParser.ParsedTemplate>> results =
+                new java.util.ArrayList<>();
+            for (int index = 0; index < 64; index++) {
+                results.add(executor.submit(() -> new StructuredTemplateParser().parse(html)));
+            }
+            for (java.util.concurrent.Future<StructuredTemplateParser.ParsedTemplate> result : results) {
+                assertThat(result.get()).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private static java.util.List<String> fragmentDefinitions(StructuredTemplateParser.ParsedTemplate parsed) {
         return parsed.elements().stream()
             .flatMap(element -> element.attributeValue("th:fragment").stream())
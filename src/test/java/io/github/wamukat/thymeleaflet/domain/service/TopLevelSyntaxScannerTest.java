@@ -46,4 +46,25 @@ class TopLevelSyntaxScannerTest {
         assertThat(result.isBalanced()).isFalse();
         assertThat(result.segments()).containsExactly("label=${view.title");
     }
+
+    @Test
+    void indexOf_shouldScanCharSequenceRangesWithoutSubstrings() {
+        StringBuilder value = new StringBuilder("th:replace=\"~{layout :: card(label='a(b', body=~{x :: y()})}\"");
+        int bodyStart = value.indexOf("~{") + 2;
+        int bodyEnd = value.lastIndexOf("}");
+
+        assertThat(scanner.indexOf(value, "::", bodyStart, bodyEnd)).isEqualTo(value.indexOf("::"));
+        assertThat(scanner.indexOf(value, '(', bodyStart, bodyEnd)).isEqualTo(value.indexOf("card(") + 4);
+        assertThat(scanner.indexOf(value, ',', bodyStart, bodyEnd)).isEqualTo(TopLevelSyntaxScanner.NOT_FOUND);
+        assertThat(scanner.indexOf(value, "", bodyStart, bodyEnd)).isEqualTo(TopLevelSyntaxScanner.NOT_FOUND);
+    }
+
+    @Test
+    void isBalanced_shouldTrackQuotesAndNestedSyntaxWithinRange() {
+        String value = "prefix ${view.items[0]} 'it''s' tail(";
+
+        assertThat(scanner.isBalanced(value, 0, value.indexOf(" tail"))).isTrue();
+        assertThat(scanner.isBalanced(value, 0, value.length())).isFalse();
+        assertThat(scanner.isBalanced("label='a\\'b'", 0, "label='a\\'b'".length())).isTrue();
+    }
 }
@@ -98,4 +98,16 @@ class FragmentSignatureParserTest {
         FragmentSignatureParser.ParseError error = (FragmentSignatureParser.ParseError) result;
         assertThat(error.code()).isEqualTo(FragmentSignatureParser.DiagnosticCode.UNSUPPORTED_SYNTAX);
     }
+
+    @Test
+    @DisplayName("repeated signature returns cached immutable result")
+    void reusesCachedResult() {
+        long hitsBefore = FragmentSignatureParser.cacheStats().hits();
+
+        FragmentSignatureParser.ParseResult first = parser.parse("cachedSignatureCard(title, body)");
+        FragmentSignatureParser.ParseResult second = new FragmentSignatureParser().parse("cachedSignatureCard(title, body)");
+
+        assertThat(second).isSameAs(first);
+        assertThat(FragmentSignatureParser.cacheStats().hits() - hitsBefore).isGreaterThanOrEqualTo(1);
+    }
 }
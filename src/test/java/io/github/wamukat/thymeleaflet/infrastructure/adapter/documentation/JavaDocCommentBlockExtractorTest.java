@@ -0,0 +1,78 @@
+package io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+class JavaDocCommentBlockExtractorTest {
+
+    private static final Pattern LEGACY_JAVADOC_PATTERN = Pattern.compile(
+        "<!--[^>]*?/\\*\\*([\\s\\S]*?)\\*/[^<]*?-->",
+        Pattern.MULTILINE | Pattern.DOTALL
+    );
+
+    private final JavaDocCommentBlockExtractor extractor = new JavaDocCommentBlockExtractor();
+
+    @Test
+    void extract_shouldMatchLegacyPatternForEdgeCases() {
+        List<String> inputs = List.of(
+            "<!-- /** simple */ -->",
+            "<!--/***/-->",
+            "<!-- /**/ -->",
+            "<!-- > /** after gt */ -->",
+            "<!-- /** a */ <b> -->  <!-- /** b */ -->",
+            "<!-- /** unclosed --> <div>x</div> <!-- /** next */ -->",
+            "<!-- /** unclosed --> <!-- tail */ -->",
+            "<!-- /** one */ */ --> /** stray */ -->",
+            "<!-- x <!-- /** nested */ -->",
+            "<!-- /** no end",
+            "<!-- /** a */ text without close",
+            "<script><!-- /** in script */ --></script>"
+        );
+
+        for (String input : inputs) {
+            assertThat(extractor.extract(input)).as(input).isEqualTo(legacyExtract(input));
+        }
+    }
+
+    @Test
+    void extract_shouldMatchLegacyPatternForRandomMarkup() {
+        String[] pieces = {"<!--", "-->", "/**", "*/", "<", ">", " ", "\n", "a", "*", "/", "-"};
+        Random random = new Random(20261019L);
+        for (int round = 0; round < 2_000; round++) {
+            StringBuilder input = new StringBuilder();
+            int pieceCount = random.nextInt(24);
+            for (int i = 0; i < pieceCount; i++) {
+                input.append(pieces[random.nextInt(pieces.length)]);
+            }
+            String html = input.toString();
+            assertThat(extractor.extract(html)).as(html).isEqualTo(legacyExtract(html));
+        }
+    }
+
+    @Test
+    void extract_shouldStayLinearForManyUnclosedBlocks() {
+        String html = "<!-- /** unclosed ".repeat(20_000);
+
+        long startedAt = System.nanoTime();
+        List<String> blocks = extractor.extract(html);
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertThat(blocks).isEmpty();
+        assertThat(elapsedMillis).isLessThan(1_000);
+    }
+
+    private List<String> legacyExtract(String html) {
+        List<String> blocks = new ArrayList<>();
+        Matcher matcher = LEGACY_JAVADOC_PATTERN.matcher(html);
+        while (matcher.find()) {
+            blocks.add(matcher.group(1));
+        }
+        return blocks;
+    }
+}
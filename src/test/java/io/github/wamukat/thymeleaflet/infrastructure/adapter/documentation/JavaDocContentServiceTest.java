@@ -1,5 +1,6 @@
 package io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation;
 
+import io.github.wamukat.thymeleaflet.domain.model.TypeInfo;
 import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResourcePathValidator;
@@ -13,6 +14,12 @@ import java.nio.file.Path;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 class JavaDocContentServiceTest {
 
@@ -68,7 +75,47 @@ class JavaDocContentServiceTest {
         }
     }
 
+    @Test
+    void loadDocumentation_shouldAnalyzeJavaDocOnceForDocsAndTypeInformation() throws Exception {
+        Path template = new ClassPathResource("templates/cache/devtools-cache-sample.html").getFile().toPath();
+        String original = Files.readString(template, StandardCharsets.UTF_8);
+        JavaDocAnalyzer analyzer = spy(new JavaDocAnalyzer());
+        JavaDocContentService service = buildService(true, analyzer);
+
+        try {
+            Files.writeString(template, """
+                <!--
+                /**
+                 * Documented sample
+                 * @param label {@code String} [required] Label text
+                 * @fragment sample
+                 * @example <div th:replace="~{:: sample(label='x')}"></div>
+                 */
+                -->
+                <div th:fragment="sample(label)" th:text="${label}">Sample</div>
+                """, StandardCharsets.UTF_8);
+
+            List<JavaDocAnalyzer.JavaDocInfo> docs = service.loadJavaDocInfos("cache/devtools-cache-sample");
+            TemplateDocumentation documentation = service.loadDocumentation("cache/devtools-cache-sample");
+
+            assertThat(documentation.getJavaDocs()).isEqualTo(docs);
+            assertThat(documentation.getTypeInfos()).singleElement()
+                .extracting(TypeInfo::getParameterName)
+                .isEqualTo("label");
+            assertThat(documentation.findByFragmentName("sample")).containsSame(docs.getFirst());
+            assertThat(documentation.getExampleDiagnostics()).isEmpty();
+            verify(analyzer, times(1)).analyzeJavaDocWithDiagnostics(anyString(), any());
+            verify(analyzer, never()).analyzeJavaDocFromHtml(anyString());
+        } finally {
+            Files.writeString(template, original, StandardCharsets.UTF_8);
+        }
+    }
+
     private JavaDocContentService buildService(boolean cacheEnabled) {
+        return buildService(cacheEnabled, new JavaDocAnalyzer());
+    }
+
+    private JavaDocContentService buildService(boolean cacheEnabled, JavaDocAnalyzer analyzer) {
         StorybookProperties properties = new StorybookProperties();
         StorybookProperties.CacheConfig cache = new StorybookProperties.CacheConfig();
         cache.setEnabled(cacheEnabled);
@@ -76,7 +123,7 @@ class JavaDocContentServiceTest {
 
         ResolvedStorybookConfig resolved = ResolvedStorybookConfig.from(properties);
         return new JavaDocContentService(
-            new JavaDocAnalyzer(),
+            analyzer,
             resolved,
             new ResourcePathValidator(),
             new ThymeleafletCacheManager(resolved)
@@ -72,4 +72,26 @@ class JavaDocTagParserTest {
             });
         assertThat(parsed.fragmentName()).contains("partialTags");
     }
+
+    @Test
+    void parse_shouldKeepRegexCompatibleValuesFragmentAndBackgroundLexing() {
+        JavaDocTagParser.ParsedTags parsed = parser.parse("""
+            /**
+             * Status chip.
+             * @param status {@code String} [required] Current status。 values: "open", "closed"  	
+             * @param tone {@code String} [optional] Tone values:
+             * "soft", "strong"
+             * @fragment 9invalid then @fragment status-chip_v2(extra)
+             * @background	#fafafa;border
+             */
+            """);
+
+        assertThat(parsed.parameters()).hasSize(2);
+        assertThat(parsed.parameters().get(0).getDescription()).isEqualTo("Current status");
+        assertThat(parsed.parameters().get(0).getAllowedValues()).containsExactly("open", "closed");
+        assertThat(parsed.parameters().get(1).getDescription()).isEqualTo("Tone");
+        assertThat(parsed.parameters().get(1).getAllowedValues()).containsExactly("soft", "strong");
+        assertThat(parsed.fragmentName()).contains("status-chip_v2");
+        assertThat(parsed.backgroundColor()).contains("#fafafa;border");
+    }
 }
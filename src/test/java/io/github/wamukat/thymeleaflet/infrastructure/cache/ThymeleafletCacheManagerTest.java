@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.StorybookProperties;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class ThymeleafletCacheManagerTest {
@@ -56,6 +57,45 @@ class ThymeleafletCacheManagerTest {
             .isEmpty();
     }
 
+    @Test
+    void invalidateTemplates_shouldEvictOnlyEntriesDerivedFromChangedTemplate() {
+        ThymeleafletCacheManager cacheManager = new ThymeleafletCacheManager(config(true));
+        cacheManager.put("inference", "components/card", "card model", List.of("components/card", "components/button"));
+        cacheManager.put("inference", "components/button", "button model", List.of("components/button"));
+        cacheManager.put("inference", "components/badge", "badge model", List.of("components/badge"));
+        cacheManager.put("javadocs", "components/card", "card docs", List.of("components/card"));
+
+        var evicted = cacheManager.invalidateTemplates(List.of("components/button.html"));
+
+        assertThat(evicted)
+            .extracting(ThymeleafletCacheManager.EntryRef::key)
+            .containsExactlyInAnyOrder("components/card", "components/button");
+        assertThat(cacheManager.<String>get("inference", "components/card")).isEmpty();
+        assertThat(cacheManager.<String>get("inference", "components/button")).isEmpty();
+        assertThat(cacheManager.<String>get("inference", "components/badge")).contains("badge model");
+        assertThat(cacheManager.<String>get("javadocs", "components/card")).contains("card docs");
+    }
+
+    @Test
+    void invalidateTemplates_shouldIgnoreEntriesWithoutRecordedSources() {
+        ThymeleafletCacheManager cacheManager = new ThymeleafletCacheManager(config(true));
+        cacheManager.put("templates", "components/card", "content");
+
+        assertThat(cacheManager.invalidateTemplates(List.of("components/card"))).isEmpty();
+        assertThat(cacheManager.<String>get("templates", "components/card")).contains("content");
+    }
+
+    @Test
+    void clear_shouldDropSourceIndexOfClearedCache() {
+        ThymeleafletCacheManager cacheManager = new ThymeleafletCacheManager(config(true));
+        cacheManager.put("inference", "components/card", "card model", List.of("components/button"));
+        cacheManager.clear("inference");
+        cacheManager.put("types", "components/card", "type info", List.of("components/card"));
+
+        assertThat(cacheManager.invalidateTemplates(List.of("components/button"))).isEmpty();
+        assertThat(cacheManager.<String>get("types", "components/card")).contains("type info");
+    }
+
     private ResolvedStorybookConfig config(boolean cacheEnabled) {
         StorybookProperties properties = new StorybookProperties();
         StorybookProperties.CacheConfig cache = new StorybookProperties.CacheConfig();
@@ -16,6 +16,7 @@ class ResolvedStorybookConfigTest {
         raw.setResources(null);
         raw.setCache(null);
         raw.setPreview(null);
+        raw.setPreviewEngine(null);
         raw.setSecurity(null);
 
         ResolvedStorybookConfig resolved = ResolvedStorybookConfig.from(raw);
@@ -24,6 +25,10 @@ class ResolvedStorybookConfigTest {
         assertThat(resolved.getResources().getTemplatePaths()).containsExactly("/templates/");
         assertThat(resolved.getPreview().getBackgroundLight()).isEqualTo("#f3f4f6");
         assertThat(resolved.getPreview().getBackgroundDark()).isEqualTo("#1f2937");
+        assertThat(resolved.getPreview().getRenderDeadlineMillis()).isZero();
+        assertThat(resolved.getPreview().getMaxCollectionSize()).isZero();
+        assertThat(resolved.getDiagnostics().isServerTiming()).isFalse();
+        assertThat(resolved.getPreviewEngine().isEnabled()).isFalse();
         assertThat(resolved.getSecurity().isAutoPermit()).isFalse();
     }
 
@@ -39,6 +44,49 @@ class ResolvedStorybookConfigTest {
         assertThat(resolved.getSecurity().isAutoPermit()).isTrue();
     }
 
+    @Test
+    void from_resolvesPreviewEngineSettings() {
+        StorybookProperties raw = new StorybookProperties();
+        StorybookProperties.PreviewEngineConfig previewEngine = new StorybookProperties.PreviewEngineConfig();
+        previewEngine.setEnabled(true);
+        previewEngine.setTemplateCacheMaxSize(1000);
+        previewEngine.setTemplateCacheTtlMillis(60_000);
+        raw.setPreviewEngine(previewEngine);
+
+        ResolvedStorybookConfig resolved = ResolvedStorybookConfig.from(raw);
+
+        assertThat(resolved.getPreviewEngine().isEnabled()).isTrue();
+        assertThat(resolved.getPreviewEngine().getTemplateCacheMaxSize()).isEqualTo(1000);
+        assertThat(resolved.getPreviewEngine().getTemplateCacheTtlMillis()).isEqualTo(60_000);
+        assertThat(resolved.getPreviewEngine().getExpressionCacheMaxSize()).isEqualTo(500);
+        assertThat(resolved.getPreviewEngine().getExpressionCacheTtlMillis()).isZero();
+    }
+
+    @Test
+    void from_rejectsNegativePreviewEngineCacheTtl() {
+        StorybookProperties raw = new StorybookProperties();
+        StorybookProperties.PreviewEngineConfig previewEngine = new StorybookProperties.PreviewEngineConfig();
+        previewEngine.setExpressionCacheTtlMillis(-1);
+        raw.setPreviewEngine(previewEngine);
+
+        assertThatThrownBy(() -> ResolvedStorybookConfig.from(raw))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Preview engine expression cache TTL must not be negative");
+    }
+
+    @Test
+    void from_rejectsInvalidEnginePreloadParallelism() {
+        StorybookProperties raw = new StorybookProperties();
+        StorybookProperties.CacheConfig cache = new StorybookProperties.CacheConfig();
+        cache.setPreloadEngine(true);
+        cache.setPreloadEngineParallelism(0);
+        raw.setCache(cache);
+
+        assertThatThrownBy(() -> ResolvedStorybookConfig.from(raw))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Engine preload parallelism must be between 1 and 32");
+    }
+
     @Test
     void from_rejectsInvalidTemplatePathSettings() {
         StorybookProperties raw = new StorybookProperties();
@@ -0,0 +1,121 @@
+package io.github.wamukat.thymeleaflet.infrastructure.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ThymeleafletExecutorsTest {
+
+    @Test
+    void fanOut_shouldRunOnCallerThreadWhenVirtualThreadsAreDisabled() {
+        ThymeleafletExecutors executors = new ThymeleafletExecutors(ResolvedStorybookConfig.defaults());
+        String callerThread = Thread.currentThread().getName();
+
+        List<String> threads = executors.fanOut(List.of(1, 2, 3), item -> Thread.currentThread().getName());
+
+        assertThat(executors.isVirtualThreads()).isFalse();
+        assertThat(threads).containsOnly(callerThread);
+    }
+
+    @Test
+    void fanOut_shouldKeepInputOrderOnVirtualThreads() {
+        ThymeleafletExecutors executors = virtualThreadExecutors();
+        try {
+            List<Integer> items = List.of(5, 1, 4, 2, 3);
+
+            List<String> results = executors.fanOut(items, item -> {
+                sleepQuietly(item * 5L);
+                return item + ":" + Thread.currentThread().getName();
+            });
+
+            assertThat(executors.isVirtualThreads()).isTrue();
+            assertThat(results).hasSize(items.size());
+            for (int index = 0; index < items.size(); index++) {
+                assertThat(results.get(index)).startsWith(items.get(index) + ":thymeleaflet-task-");
+            }
+        } finally {
+            executors.destroy();
+        }
+    }
+
+    @Test
+    void fanOut_shouldPropagateTaskFailure() {
+        ThymeleafletExecutors executors = virtualThreadExecutors();
+        try {
+            assertThatThrownBy(() -> executors.fanOut(List.of("ok", "broken"), item -> {
+                if (item.equals("broken")) {
+                    throw new IllegalArgumentException("broken template");
+                }
+                return item;
+            })).isInstanceOf(IllegalArgumentException.class).hasMessage("broken template");
+        } finally {
+            executors.destroy();
+        }
+    }
+
+    @Test
+    void newWebAsyncTask_shouldRunOnVirtualThreadWithCallerLocale() throws Exception {
+        ThymeleafletExecutors executors = virtualThreadExecutors();
+        Locale previousLocale = LocaleContextHolder.getLocale();
+        LocaleContextHolder.setLocale(Locale.JAPANESE);
+        try {
+            WebAsyncTask<String> task = executors.newWebAsyncTask(
+                () -> LocaleContextHolder.getLocale() + ":" + Thread.currentThread().isVirtual());
+            LocaleContextHolder.setLocale(Locale.ENGLISH);
+
+            AsyncTaskExecutor executor = Objects.requireNonNull(task.getExecutor());
+            Object result = executor.submit(task.getCallable()).get(5, TimeUnit.SECONDS);
+
+            assertThat(result).isEqualTo("ja:true");
+        } finally {
+            LocaleContextHolder.setLocale(previousLocale);
+            executors.destroy();
+        }
+    }
+
+    @Test
+    void newWebAsyncTask_shouldRejectWhenVirtualThreadsAreDisabled() {
+        ThymeleafletExecutors executors = new ThymeleafletExecutors(ResolvedStorybookConfig.defaults());
+
+        assertThatThrownBy(() -> executors.newWebAsyncTask(() -> "unused"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void newExecutor_shouldUsePlatformThreadsWhenVirtualThreadsAreDisabled() throws Exception {
+        ThymeleafletExecutors executors = new ThymeleafletExecutors(ResolvedStorybookConfig.defaults());
+        ExecutorService executor = executors.newExecutor("thymeleaflet-test-", 2);
+        try {
+            Thread worker = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertThat(worker.getName()).startsWith("thymeleaflet-test-");
+            assertThat(worker.isDaemon()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThymeleafletExecutors virtualThreadExecutors() {
+        StorybookProperties properties = new StorybookProperties();
+        properties.setVirtualThreads(true);
+        return new ThymeleafletExecutors(ResolvedStorybookConfig.from(properties));
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.wamukat.thymeleaflet.infrastructure.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningRestrictionTest {
+
+    private static final Path MAIN_JAVA_ROOT = Path.of("src/main/java/io/github/wamukat/thymeleaflet");
+    private static final Pattern SYNCHRONIZED_KEYWORD = Pattern.compile("\\bsynchronized\\b");
+
+    @Test
+    void synchronizedKeyword_shouldNotBeUsedBecauseItPinsVirtualThreads() throws IOException {
+        List<String> violations = new ArrayList<>();
+
+        try (Stream<Path> paths = Files.walk(MAIN_JAVA_ROOT)) {
+            paths.filter(path -> path.toString().endsWith(".java"))
+                .forEach(path -> {
+                    try {
+                        List<String> lines = Files.readAllLines(path);
+                        for (int index = 0; index < lines.size(); index++) {
+                            String line = lines.get(index).trim();
+                            if (line.startsWith("*") || line.startsWith("//")) {
+                                continue;
+                            }
+                            if (SYNCHRONIZED_KEYWORD.matcher(line).find()) {
+                                String normalizedPath = MAIN_JAVA_ROOT.relativize(path).toString().replace('\\', '/');
+                                violations.add(normalizedPath + ":" + (index + 1));
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+        }
+
+        assertThat(violations)
+            .withFailMessage("synchronized pins virtual threads to their carrier; use java.util.concurrent locks instead: %s", violations)
+            .isEmpty();
+    }
+}
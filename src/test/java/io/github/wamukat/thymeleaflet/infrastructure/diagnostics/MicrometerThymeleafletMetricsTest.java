@@ -0,0 +1,100 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerThymeleafletMetricsTest {
+
+    @Test
+    void recordRender_shouldTagByFragmentTypeAndStatusWithoutFragmentTagsByDefault() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerThymeleafletMetrics metrics = new MicrometerThymeleafletMetrics(registry, false, 10);
+
+        metrics.recordRender(sample("components.button", "primary", ThymeleafletMetrics.RenderStatus.SUCCESS, 1200, 2));
+        metrics.recordRender(sample("components.button", "primary", ThymeleafletMetrics.RenderStatus.SUCCESS, 800, 0));
+
+        Timer timer = registry.get("thymeleaflet.render")
+            .tags("fragment.type", "parameterized", "status", "success")
+            .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2.0d);
+        assertThat(timer.getId().getTag("fragment")).isNull();
+        DistributionSummary output = registry.get("thymeleaflet.render.output").summary();
+        assertThat(output.totalAmount()).isEqualTo(2000.0d);
+        assertThat(registry.get("thymeleaflet.render.warnings").summary().totalAmount()).isEqualTo(2.0d);
+    }
+
+    @Test
+    void recordRender_shouldSkipOutputSummaryWhenOutputWasNotCounted() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerThymeleafletMetrics metrics = new MicrometerThymeleafletMetrics(registry, false, 10);
+
+        metrics.recordRender(sample("components.button", "primary", ThymeleafletMetrics.RenderStatus.SUCCESS, -1, 0));
+
+        assertThat(registry.find("thymeleaflet.render.output").summary()).isNull();
+        assertThat(registry.get("thymeleaflet.render").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void fragmentTag_shouldFoldFragmentsBeyondLimitIntoOther() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerThymeleafletMetrics metrics = new MicrometerThymeleafletMetrics(registry, true, 2);
+
+        metrics.recordRender(sample("a", "one", ThymeleafletMetrics.RenderStatus.SUCCESS, 10, 0));
+        metrics.recordRender(sample("a", "two", ThymeleafletMetrics.RenderStatus.SUCCESS, 10, 0));
+        metrics.recordRender(sample("a", "three", ThymeleafletMetrics.RenderStatus.SUCCESS, 10, 0));
+        metrics.recordRender(sample("a", "one", ThymeleafletMetrics.RenderStatus.NOT_FOUND, 10, 0));
+
+        assertThat(registry.get("thymeleaflet.render").tag("fragment", "a::one").timers()).hasSize(2);
+        assertThat(registry.get("thymeleaflet.render").tag("fragment", "a::two").timer().count()).isEqualTo(1);
+        assertThat(registry.get("thymeleaflet.render")
+            .tag("fragment", MicrometerThymeleafletMetrics.OTHER_FRAGMENT)
+            .timer()
+            .count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordDiscoveryAndInference_shouldUpdateTimersGaugesAndSummaries() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerThymeleafletMetrics metrics = new MicrometerThymeleafletMetrics(registry, false, 10);
+
+        metrics.recordDiscovery(TimeUnit.MILLISECONDS.toNanos(30), 12, 40);
+        metrics.recordTemplateParse(TimeUnit.MILLISECONDS.toNanos(2));
+        metrics.recordInference(ThymeleafletMetrics.InferenceKind.MODEL, TimeUnit.MILLISECONDS.toNanos(5), 3);
+        metrics.recordStoryLoad(ThymeleafletMetrics.StoryLoadOutcome.MISSING, TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertThat(registry.get("thymeleaflet.discovery").timer().count()).isEqualTo(1);
+        assertThat(registry.get("thymeleaflet.discovery.templates").gauge().value()).isEqualTo(12.0d);
+        assertThat(registry.get("thymeleaflet.discovery.fragments").gauge().value()).isEqualTo(40.0d);
+        assertThat(registry.get("thymeleaflet.template.parse").timer().count()).isEqualTo(1);
+        assertThat(registry.get("thymeleaflet.inference").tag("kind", "model").timer().count()).isEqualTo(1);
+        assertThat(registry.get("thymeleaflet.inference.templates").tag("kind", "model").summary().max())
+            .isEqualTo(3.0d);
+        assertThat(registry.get("thymeleaflet.story.load").tag("outcome", "missing").timer().count()).isEqualTo(1);
+        assertThat(registry.get("thymeleaflet.story.load").tag("outcome", "loaded").timer().count()).isZero();
+    }
+
+    private static ThymeleafletMetrics.RenderSample sample(
+        String templatePath,
+        String fragmentName,
+        ThymeleafletMetrics.RenderStatus status,
+        long outputCharacters,
+        long warnings
+    ) {
+        return new ThymeleafletMetrics.RenderSample(
+            templatePath,
+            fragmentName,
+            "parameterized",
+            status,
+            TimeUnit.MILLISECONDS.toNanos(1),
+            outputCharacters,
+            warnings
+        );
+    }
+}
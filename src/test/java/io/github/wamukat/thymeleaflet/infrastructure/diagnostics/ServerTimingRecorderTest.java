@@ -0,0 +1,116 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTimingRecorderTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void start_shouldDoNothingWithoutTimedRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        try (ServerTimingRecorder.Timer ignored = ServerTimingRecorder.start(ServerTimingRecorder.Phase.TEMPLATE)) {
+            ServerTimingRecorder.count(ServerTimingRecorder.Counter.PARSE);
+        }
+
+        assertThat(ServerTimingRecorder.isActive(request)).isFalse();
+        assertThat(ServerTimingRecorder.headerValue(request)).isEmpty();
+    }
+
+    @Test
+    void headerValue_shouldExcludeNestedPhasesFromOuterPhase() throws InterruptedException {
+        MockHttpServletRequest request = timedRequest(false);
+
+        try (ServerTimingRecorder.Timer outer = ServerTimingRecorder.start(ServerTimingRecorder.Phase.ASSEMBLY)) {
+            try (ServerTimingRecorder.Timer inner = ServerTimingRecorder.start(ServerTimingRecorder.Phase.INFERENCE)) {
+                Thread.sleep(40);
+            }
+        }
+
+        Map<String, Double> durations = durations(ServerTimingRecorder.headerValue(request).orElseThrow());
+        assertThat(durations).containsOnlyKeys("total", "assembly", "inference");
+        assertThat(durations.get("inference")).isGreaterThanOrEqualTo(40.0d);
+        assertThat(durations.get("assembly")).isLessThan(40.0d);
+        assertThat(durations.get("total")).isGreaterThanOrEqualTo(durations.get("inference"));
+    }
+
+    @Test
+    void headerValue_shouldIncludeCountsOnlyWhenEnabled() {
+        MockHttpServletRequest request = timedRequest(true);
+        ServerTimingRecorder.count(ServerTimingRecorder.Counter.PARSE);
+        ServerTimingRecorder.count(ServerTimingRecorder.Counter.PARSE);
+        ServerTimingRecorder.count(ServerTimingRecorder.Counter.CACHE_MISS);
+
+        assertThat(ServerTimingRecorder.headerValue(request).orElseThrow())
+            .contains("parse;desc=\"2\"", "cache-hit;desc=\"0\"", "cache-miss;desc=\"1\"");
+
+        MockHttpServletRequest withoutCounts = timedRequest(false);
+        ServerTimingRecorder.count(ServerTimingRecorder.Counter.PARSE);
+
+        assertThat(ServerTimingRecorder.headerValue(withoutCounts).orElseThrow()).doesNotContain("parse");
+    }
+
+    @Test
+    void fork_shouldStartSeparateRecordForRenderRequest() {
+        MockHttpServletRequest request = timedRequest(true);
+        MockHttpServletRequest renderRequest = new MockHttpServletRequest();
+        request.getAttributeNames().asIterator()
+            .forEachRemaining(name -> renderRequest.setAttribute(name, request.getAttribute(name)));
+
+        ServerTimingRecorder.fork(renderRequest);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(renderRequest));
+        ServerTimingRecorder.count(ServerTimingRecorder.Counter.PARSE);
+
+        assertThat(ServerTimingRecorder.headerValue(renderRequest).orElseThrow()).contains("parse;desc=\"1\"");
+        assertThat(ServerTimingRecorder.headerValue(request).orElseThrow()).contains("parse;desc=\"0\"");
+    }
+
+    @Test
+    void writeHeader_shouldSkipCommittedResponse() {
+        MockHttpServletRequest request = timedRequest(false);
+        MockHttpServletResponse committed = new MockHttpServletResponse();
+        committed.setCommitted(true);
+        MockHttpServletResponse open = new MockHttpServletResponse();
+
+        ServerTimingRecorder.writeHeader(request, committed);
+        ServerTimingRecorder.writeHeader(request, open);
+
+        assertThat(committed.getHeader(ServerTimingRecorder.HEADER_NAME)).isNull();
+        assertThat(open.getHeader(ServerTimingRecorder.HEADER_NAME)).startsWith("total;dur=");
+    }
+
+    private static MockHttpServletRequest timedRequest(boolean includeCounts) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        ServerTimingRecorder.begin(request, includeCounts);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return request;
+    }
+
+    private static Map<String, Double> durations(String headerValue) {
+        Map<String, Double> durations = new LinkedHashMap<>();
+        for (String metric : headerValue.split(", ")) {
+            String[] parts = metric.split(";");
+            for (String part : parts) {
+                if (part.startsWith("dur=")) {
+                    durations.put(parts[0], Double.parseDouble(part.substring("dur=".length())));
+                }
+            }
+        }
+        return durations;
+    }
+}
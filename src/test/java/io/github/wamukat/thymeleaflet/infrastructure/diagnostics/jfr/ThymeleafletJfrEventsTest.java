@@ -0,0 +1,82 @@
+package io.github.wamukat.thymeleaflet.infrastructure.diagnostics.jfr;
+
+import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThymeleafletJfrEventsTest {
+
+    private static final List<String> EVENT_NAMES = List.of(
+        "io.github.wamukat.thymeleaflet.TemplateScan",
+        "io.github.wamukat.thymeleaflet.TemplateParse",
+        "io.github.wamukat.thymeleaflet.ExpressionAnalysis",
+        "io.github.wamukat.thymeleaflet.ModelInference",
+        "io.github.wamukat.thymeleaflet.StoryLoad",
+        "io.github.wamukat.thymeleaflet.CacheLookup",
+        "io.github.wamukat.thymeleaflet.CacheEviction",
+        "io.github.wamukat.thymeleaflet.FragmentRender"
+    );
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void configuration_shouldEnableEveryThymeleafletEvent() throws Exception {
+        Configuration configuration = ThymeleafletJfrSettings.configuration();
+
+        Map<String, String> settings = configuration.getSettings();
+        assertThat(configuration.getLabel()).isEqualTo("Thymeleaflet");
+        for (String eventName : EVENT_NAMES) {
+            assertThat(settings).containsEntry(eventName + "#enabled", "true");
+        }
+    }
+
+    @Test
+    void cacheManager_shouldRecordLookupAndEvictionEventsWithShippedSettings() throws Exception {
+        ThymeleafletCacheManager cacheManager = new ThymeleafletCacheManager(ResolvedStorybookConfig.defaults());
+        Path file = tempDir.resolve("thymeleaflet.jfr");
+
+        try (Recording recording = new Recording(ThymeleafletJfrSettings.configuration())) {
+            recording.start();
+            cacheManager.put("templates", "components/card", "content", List.of("components/card"));
+            cacheManager.get("templates", "components/card");
+            cacheManager.get("templates", "components/button");
+            cacheManager.invalidateTemplates(List.of("components/card"));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events)
+            .filteredOn(event -> event.getEventType().getName().equals("io.github.wamukat.thymeleaflet.CacheLookup"))
+            .extracting(event -> event.getString("key") + "=" + event.getString("outcome"))
+            .containsExactly("components/card=hit", "components/button=miss");
+        assertThat(events)
+            .filteredOn(event -> event.getEventType().getName().equals("io.github.wamukat.thymeleaflet.CacheEviction"))
+            .singleElement()
+            .satisfies(event -> {
+                assertThat(event.getString("reason")).isEqualTo("template-change");
+                assertThat(event.getString("templates")).isEqualTo("components/card");
+                assertThat(event.getInt("evictedEntries")).isEqualTo(1);
+            });
+    }
+
+    @Test
+    void utf8Length_shouldCountEncodedBytesWithoutEncoding() {
+        String content = "aéあ😀";
+
+        assertThat(JfrSupport.utf8Length(content)).isEqualTo(content.getBytes(StandardCharsets.UTF_8).length);
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.TestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = TestApplication.class)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class FragmentDependencyGraphControllerIntegrationTest {
+
+    private static final String TARGET_TEMPLATE = "test/no-arg-fragment-target";
+    private static final String REFERENCING_TEMPLATE = "test/no-arg-fragment-reference";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+    }
+
+    @Test
+    @DisplayName("依存グラフに他テンプレートのフラグメントへの依存と参照元が含まれる")
+    void shouldReturnDependenciesAndDependents() throws Exception {
+        mockMvc.perform(get("/thymeleaflet/api/dependency-graph/node")
+                .param("templatePath", REFERENCING_TEMPLATE)
+                .param("fragmentName", "shell"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.found").value(true))
+            .andExpect(jsonPath("$.dependencies", hasItem(TARGET_TEMPLATE + "::topbar")));
+
+        mockMvc.perform(get("/thymeleaflet/api/dependency-graph"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(
+                "$.nodes[?(@.templatePath == '" + TARGET_TEMPLATE + "' && @.fragmentName == 'topbar')].dependents[*]",
+                hasItem(REFERENCING_TEMPLATE + "::shell")
+            ));
+    }
+
+    @Test
+    @DisplayName("影響範囲はフラグメント名を文字列として返す")
+    void shouldReturnImpactWithPlainFragmentName() throws Exception {
+        mockMvc.perform(get("/thymeleaflet/api/dependency-graph/impact")
+                .param("templatePath", TARGET_TEMPLATE)
+                .param("fragmentName", "topbar"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.templatePath").value(TARGET_TEMPLATE))
+            .andExpect(jsonPath("$.fragmentName").value("topbar"))
+            .andExpect(jsonPath("$.impactedFragments[*].fragmentName", hasItem("shell")));
+    }
+
+    @Test
+    @DisplayName("フラグメント名を省略した影響範囲は fragmentName が null になる")
+    void shouldReturnNullFragmentNameForTemplateImpact() throws Exception {
+        mockMvc.perform(get("/thymeleaflet/api/dependency-graph/impact")
+                .param("templatePath", TARGET_TEMPLATE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.fragmentName").value(nullValue()))
+            .andExpect(jsonPath("$.impactedFragments[*].templatePath", hasItem(REFERENCING_TEMPLATE)));
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.TestApplication;
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.PreviewTemplateEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.TemplateCacheKey;
+import org.thymeleaf.engine.TemplateModel;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+    classes = TestApplication.class,
+    properties = {
+        "spring.thymeleaf.cache=true",
+        "thymeleaflet.preview-engine.enabled=true"
+    }
+)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class PreviewTemplateEngineIntegrationTest {
+
+    private static final String RENDERED_TEMPLATE = "test/map-noarg-warning";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private SpringTemplateEngine hostTemplateEngine;
+
+    @Autowired
+    private PreviewTemplateEngine previewTemplateEngine;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+    }
+
+    @Test
+    @DisplayName("専用エンジンが有効なら /render のテンプレートはホストアプリのエンジンのキャッシュに入らない")
+    void shouldRenderPreviewsOutsideHostTemplateCache() throws Exception {
+        mockMvc.perform(get("/thymeleaflet/test.map-noarg-warning/methodWarning/default/render"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(org.hamcrest.Matchers.not(org.hamcrest.Matchers.emptyString())));
+
+        ISpringTemplateEngine previewEngine = previewTemplateEngine.forPreview(hostTemplateEngine);
+        assertNotSame(hostTemplateEngine, previewEngine);
+        assertTrue(cachesTemplate((SpringTemplateEngine) previewEngine), "専用エンジンのキャッシュに入ること");
+        assertFalse(cachesTemplate(hostTemplateEngine), "ホストアプリのキャッシュには入らないこと");
+    }
+
+    private static boolean cachesTemplate(SpringTemplateEngine engine) {
+        ICache<TemplateCacheKey, TemplateModel> cache = Objects.requireNonNull(engine.getCacheManager().getTemplateCache());
+        return cache.keySet().stream().anyMatch(key -> RENDERED_TEMPLATE.equals(key.getTemplate()));
+    }
+}
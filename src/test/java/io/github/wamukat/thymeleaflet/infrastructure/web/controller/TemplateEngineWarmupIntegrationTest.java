@@ -0,0 +1,82 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.TestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.TemplateCacheKey;
+import org.thymeleaf.engine.TemplateModel;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+    classes = TestApplication.class,
+    properties = {
+        "spring.thymeleaf.cache=true",
+        "thymeleaflet.cache.preload-engine=true"
+    }
+)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class TemplateEngineWarmupIntegrationTest {
+
+    private static final String RENDERED_TEMPLATE = "test/map-noarg-warning";
+    private static final String RENDERED_FRAGMENT = "methodWarning";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+    }
+
+    @Test
+    @DisplayName("起動時に読み込んだテンプレートキャッシュのエントリを /render がそのまま使う")
+    void shouldRenderFromTemplateCachePreloadedAtStartup() throws Exception {
+        ICache<TemplateCacheKey, TemplateModel> cache =
+            Objects.requireNonNull(templateEngine.getCacheManager().getTemplateCache());
+        List<TemplateCacheKey> preloadedKeys = renderedFragmentKeys(cache);
+        assertEquals(1, preloadedKeys.size(), "起動時にフラグメントのキャッシュエントリが作られること");
+        TemplateModel preloaded = cache.get(preloadedKeys.get(0));
+        assertNotNull(preloaded);
+
+        mockMvc.perform(get("/thymeleaflet/test.map-noarg-warning/methodWarning/default/render"))
+            .andExpect(status().isOk());
+
+        assertEquals(preloadedKeys, renderedFragmentKeys(cache), "/render が別のキーで解析し直さないこと");
+        assertSame(preloaded, cache.get(preloadedKeys.get(0)), "/render が読み込み済みのモデルを使うこと");
+    }
+
+    private static List<TemplateCacheKey> renderedFragmentKeys(ICache<TemplateCacheKey, TemplateModel> cache) {
+        return cache.keySet().stream()
+            .filter(key -> key.getOwnerTemplate() == null)
+            .filter(key -> RENDERED_TEMPLATE.equals(key.getTemplate()))
+            .filter(key -> Set.of(RENDERED_FRAGMENT).equals(key.getTemplateSelectors()))
+            .toList();
+    }
+}
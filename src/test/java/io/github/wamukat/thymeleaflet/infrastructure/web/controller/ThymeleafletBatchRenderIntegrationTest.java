@@ -0,0 +1,119 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.wamukat.thymeleaflet.TestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+    classes = TestApplication.class,
+    properties = {
+        "spring.main.allow-bean-definition-overriding=true",
+        "thymeleaflet.preview.streaming=true",
+        "thymeleaflet.preview.batch-max-entries=3"
+    }
+)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ThymeleafletBatchRenderIntegrationTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+    }
+
+    @Test
+    @DisplayName("複数ストーリーを入力順に描画し、プレビュー警告をストーリーごとに返す")
+    void shouldRenderStoriesInOrderWithPerStoryWarnings() throws Exception {
+        String requestBody = """
+            {"entries": [
+              {"templatePath": "test.map-noarg-warning", "fragmentName": "methodWarning", "storyName": "default"},
+              {"templatePath": "test.java-time-story", "fragmentName": "detailHeader", "storyName": "default",
+               "parameters": {"title": "Batch override"}},
+              {"templatePath": "test.java-time-story", "fragmentName": "missing", "storyName": "default"}
+            ]}
+            """;
+
+        String body = mockMvc.perform(post("/thymeleaflet/api/render/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody)
+                .header("Accept-Language", "en"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        JsonNode results = OBJECT_MAPPER.readTree(body).path("results");
+        assertEquals(3, results.size());
+
+        JsonNode warned = results.get(0);
+        assertEquals("methodWarning", warned.path("fragmentName").asText());
+        assertEquals("SUCCESS", warned.path("status").asText());
+        assertTrue(warned.path("warnings").size() > 0, "未解決 no-arg メソッドの警告が返ること");
+        assertFalse(warned.path("html").asText().contains("<!--thymeleaflet-preview-warnings:"),
+            "ストリーミング設定に関わらずバッチ描画ではマーカーを本文に含めないこと");
+
+        JsonNode overridden = results.get(1);
+        assertEquals("SUCCESS", overridden.path("status").asText());
+        assertTrue(overridden.path("html").asText().contains("Batch override"), "エントリのオーバーライドが適用されること");
+        assertEquals(0, overridden.path("warnings").size(), "他のストーリーの警告が混ざらないこと");
+
+        JsonNode missing = results.get(2);
+        assertEquals("ERROR", missing.path("status").asText());
+    }
+
+    @Test
+    @DisplayName("上限を超えるエントリ数は 400 を返す")
+    void shouldRejectBatchesAboveConfiguredLimit() throws Exception {
+        String entry = "{\"templatePath\": \"test.java-time-story\", \"fragmentName\": \"detailHeader\", \"storyName\": \"default\"}";
+        String requestBody = "{\"entries\": [" + String.join(",", entry, entry, entry, entry) + "]}";
+
+        mockMvc.perform(post("/thymeleaflet/api/render/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("マトリクス画面はフラグメントのストーリーをカードとして並べる")
+    void shouldListStoryCardsOnMatrixPage() throws Exception {
+        String body = mockMvc.perform(get("/thymeleaflet/matrix")
+                .param("templatePath", "test/java-time-story")
+                .param("fragmentName", "detailHeader")
+                .header("Accept-Language", "en"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertTrue(body.contains("data-matrix-card"), "ストーリーごとのカードが描画されること");
+        assertTrue(body.contains("data-template-path=\"test.java-time-story\""), "カードはエンコード済みパスを持つこと");
+        assertTrue(body.contains("/thymeleaflet/api/render/batch"), "バッチ描画 API の URL が埋め込まれること");
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.TestApplication;
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.PreviewBulkhead;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+    classes = TestApplication.class,
+    properties = {
+        "spring.main.allow-bean-definition-overriding=true",
+        "thymeleaflet.bulkhead.enabled=true",
+        "thymeleaflet.bulkhead.max-concurrent=1",
+        "thymeleaflet.bulkhead.max-queue=0",
+        "thymeleaflet.bulkhead.retry-after-seconds=3"
+    }
+)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ThymeleafletBulkheadIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private PreviewBulkhead previewBulkhead;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+    }
+
+    @Test
+    @DisplayName("実行枠が埋まっているときは 503 と Retry-After を即座に返す")
+    void shouldShedLoadWhenBulkheadIsSaturated() throws Exception {
+        assertTrue(previewBulkhead.tryEnter());
+        long rejectedBefore = previewBulkhead.stats().rejected();
+        try {
+            mockMvc.perform(get("/thymeleaflet/test.java-time-story/detailHeader/default/render"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "3"));
+            mockMvc.perform(get("/thymeleaflet/main-content"))
+                .andExpect(status().isServiceUnavailable());
+        } finally {
+            previewBulkhead.release();
+        }
+        assertEquals(rejectedBefore + 2, previewBulkhead.stats().rejected());
+    }
+
+    @Test
+    @DisplayName("実行枠は描画完了後に返却され、静的リソースは制限の対象外")
+    void shouldReleasePermitAfterRenderAndSkipStaticResources() throws Exception {
+        mockMvc.perform(get("/thymeleaflet/test.java-time-story/detailHeader/default/render"))
+            .andExpect(status().isOk());
+        assertEquals(0, previewBulkhead.stats().active());
+
+        assertTrue(previewBulkhead.tryEnter());
+        try {
+            mockMvc.perform(get("/thymeleaflet/js/story-matrix.js"))
+                .andExpect(status().isOk());
+        } finally {
+            previewBulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.TestApplication;
+import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = TestApplication.class, properties = "thymeleaflet.cache.enabled=true")
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ThymeleafletCacheControllerIntegrationTest {
+
+    private static final String CHANGED_TEMPLATE = "test/no-arg-fragment-target";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ThymeleafletCacheManager cacheManager;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+        cacheManager.clearAll();
+        mockMvc.perform(get("/thymeleaflet/api/dependency-graph")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("指定したテンプレートから作られたエントリだけを破棄する")
+    void shouldInvalidateEntriesDerivedFromGivenTemplates() throws Exception {
+        mockMvc.perform(post("/thymeleaflet/api/cache/invalidate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"templatePaths\":[\"" + CHANGED_TEMPLATE + "\"]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.templatePaths[0]").value(CHANGED_TEMPLATE))
+            .andExpect(jsonPath("$.evictedEntries", greaterThan(0)));
+
+        assertThat(cacheManager.invalidateTemplates(List.of(CHANGED_TEMPLATE))).isEmpty();
+        assertThat(cacheManager.clearAll()).isPositive();
+    }
+
+    @Test
+    @DisplayName("テンプレートを指定しない場合は全エントリを破棄する")
+    void shouldClearAllEntriesWithoutTemplatePaths() throws Exception {
+        mockMvc.perform(post("/thymeleaflet/api/cache/invalidate"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.templatePaths").isEmpty())
+            .andExpect(jsonPath("$.evictedEntries", greaterThan(0)));
+
+        assertThat(cacheManager.clearAll()).isZero();
+    }
+
+    @Test
+    @DisplayName("空のテンプレートパスは 400 を返す")
+    void shouldRejectBlankTemplatePaths() throws Exception {
+        mockMvc.perform(post("/thymeleaflet/api/cache/invalidate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"templatePaths\":[\" \"]}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("null のテンプレートパスは 400 を返す")
+    void shouldRejectNullTemplatePaths() throws Exception {
+        mockMvc.perform(post("/thymeleaflet/api/cache/invalidate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"templatePaths\":[null]}"))
+            .andExpect(status().isBadRequest());
+    }
+}
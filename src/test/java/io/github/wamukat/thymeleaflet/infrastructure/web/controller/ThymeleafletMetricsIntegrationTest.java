@@ -0,0 +1,105 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.TestApplication;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.MicrometerThymeleafletMetrics;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ThymeleafletMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+    classes = {TestApplication.class, ThymeleafletMetricsIntegrationTest.MeterRegistryConfig.class},
+    properties = {
+        "spring.main.allow-bean-definition-overriding=true",
+        "thymeleaflet.diagnostics.metrics-fragment-tags=true"
+    }
+)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ThymeleafletMetricsIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ThymeleafletMetrics thymeleafletMetrics;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+    }
+
+    @Test
+    @DisplayName("MeterRegistry があれば /render の描画時間・出力量・警告数をフラグメント種別と結果ごとに記録する")
+    void shouldRecordRenderMetrics() throws Exception {
+        assertInstanceOf(MicrometerThymeleafletMetrics.class, thymeleafletMetrics);
+
+        mockMvc.perform(get("/thymeleaflet/test.map-noarg-warning/methodWarning/default/render"))
+            .andExpect(status().isOk());
+
+        Timer timer = meterRegistry.get("thymeleaflet.render")
+            .tags("status", "success", "fragment", "test.map-noarg-warning::methodWarning")
+            .timer();
+        assertEquals(1, timer.count());
+        assertNotNull(timer.getId().getTag("fragment.type"));
+        assertTrue(meterRegistry.get("thymeleaflet.render.output").summary().totalAmount() > 0);
+        assertTrue(meterRegistry.get("thymeleaflet.render.warnings").summary().totalAmount() > 0,
+            "プレビュー警告の件数が記録されること");
+        assertTrue(meterRegistry.get("thymeleaflet.story.load").tag("outcome", "loaded").timer().count() > 0);
+    }
+
+    @Test
+    @DisplayName("存在しないフラグメントの描画は not-found として記録する")
+    void shouldRecordMissingStoryAsNotFound() throws Exception {
+        mockMvc.perform(get("/thymeleaflet/test.java-time-story/missingFragment/default/render"))
+            .andExpect(status().isOk());
+
+        Timer timer = meterRegistry.get("thymeleaflet.render").tag("status", "not-found").timer();
+        assertTrue(timer.count() >= 1);
+        assertEquals("unknown", timer.getId().getTag("fragment.type"));
+    }
+
+    @Test
+    @DisplayName("既存の統計（バルクヘッド・解析キャッシュ・描画パイプライン）もメーターとして公開する")
+    void shouldBindExistingStats() {
+        assertNotNull(meterRegistry.find("thymeleaflet.bulkhead.active").gauge());
+        assertNotNull(meterRegistry.find("thymeleaflet.parse.cache.hits").tag("cache", "fragment-signature").functionCounter());
+        assertNotNull(meterRegistry.find("thymeleaflet.render.pipeline").tag("pipeline", "full").functionTimer());
+        assertNotNull(meterRegistry.find("thymeleaflet.render.coalescer.renders").functionCounter());
+    }
+
+    @Configuration
+    static class MeterRegistryConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.TestApplication;
+import io.github.wamukat.thymeleaflet.infrastructure.web.service.StoryRenderCoalescer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+    classes = TestApplication.class,
+    properties = "thymeleaflet.preview.coalesce-renders=true"
+)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ThymeleafletRenderCoalescingIntegrationTest {
+
+    private static final String RENDER_URI = "/thymeleaflet/test.map-noarg-warning/methodWarning/default/render";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private StoryRenderCoalescer storyRenderCoalescer;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+    }
+
+    @Test
+    @DisplayName("先頭のリクエストは通常どおりビューで描画し、完了後に合流の登録を解放する")
+    void shouldRenderLeaderThroughViewAndReleaseInFlightEntry() throws Exception {
+        long rendersBefore = storyRenderCoalescer.stats().renders();
+
+        MvcResult mvcResult = mockMvc.perform(get(RENDER_URI).header("Accept-Language", "en"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertFalse(mvcResult.getResponse().getContentAsString().isBlank(), "先頭のリクエストがフラグメントを描画すること");
+        assertNotNull(mvcResult.getResponse().getHeader("X-Thymeleaflet-Preview-Warning-Count"),
+            "先頭のリクエストはビューが書いたプレビュー警告ヘッダーを受け取ること");
+        assertEquals(rendersBefore + 1, storyRenderCoalescer.stats().renders());
+        assertEquals(0, storyRenderCoalescer.stats().inFlight(), "描画完了後は合流の登録が残らないこと");
+    }
+
+    @Test
+    @DisplayName("セッションを持つリクエストは合流の対象にしない")
+    void shouldNotCoalesceRequestsWithSession() throws Exception {
+        long rendersBefore = storyRenderCoalescer.stats().renders();
+
+        mockMvc.perform(get(RENDER_URI).session(new MockHttpSession()))
+            .andExpect(status().isOk());
+
+        assertEquals(rendersBefore, storyRenderCoalescer.stats().renders());
+        assertEquals(0, storyRenderCoalescer.stats().inFlight());
+    }
+}
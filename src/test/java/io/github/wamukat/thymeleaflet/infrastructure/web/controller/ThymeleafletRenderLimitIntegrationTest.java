@@ -0,0 +1,95 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.wamukat.thymeleaflet.TestApplication;
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.PreviewWarningRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.ThymeleafletAwareThymeleafView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+    classes = TestApplication.class,
+    properties = {
+        "spring.main.allow-bean-definition-overriding=true",
+        "thymeleaflet.preview.max-output-characters=20"
+    }
+)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ThymeleafletRenderLimitIntegrationTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+    }
+
+    @Test
+    @DisplayName("出力上限を超えた描画は打ち切られ、エラー表示と警告を返す")
+    void shouldReplaceOversizedOutputWithErrorDisplay() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/thymeleaflet/test.java-time-story/detailHeader/default/render")
+                .header("Accept-Language", "en"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse();
+
+        assertEquals("output-size", response.getHeader(ThymeleafletAwareThymeleafView.RENDER_LIMIT_HEADER_NAME));
+        List<String> warnings = PreviewWarningRecorder.decodeWarnings(response.getHeader(PreviewWarningRecorder.HEADER_NAME));
+        assertTrue(warnings.stream().anyMatch(warning -> warning.contains("exceeded 20 characters")),
+            "出力上限の警告が記録されること: " + warnings);
+        String body = response.getContentAsString();
+        assertTrue(body.contains("exceeded 20 characters"), "エラー表示フラグメントに理由が表示されること");
+        assertFalse(body.contains("<h2>Default</h2>"), "打ち切られた出力は返さないこと");
+    }
+
+    @Test
+    @DisplayName("バッチ描画では打ち切られたストーリーを ERROR として返す")
+    void shouldReportLimitedStoryAsErrorInBatch() throws Exception {
+        String requestBody = """
+            {"entries": [
+              {"templatePath": "test.java-time-story", "fragmentName": "detailHeader", "storyName": "default"}
+            ]}
+            """;
+
+        String body = mockMvc.perform(post("/thymeleaflet/api/render/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody)
+                .header("Accept-Language", "en"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        JsonNode result = OBJECT_MAPPER.readTree(body).path("results").get(0);
+        assertEquals("ERROR", result.path("status").asText());
+        assertTrue(result.path("warnings").toString().contains("exceeded 20 characters"));
+    }
+}
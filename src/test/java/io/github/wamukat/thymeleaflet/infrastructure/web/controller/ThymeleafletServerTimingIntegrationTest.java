@@ -0,0 +1,88 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.TestApplication;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+    classes = TestApplication.class,
+    properties = {
+        "spring.main.allow-bean-definition-overriding=true",
+        "thymeleaflet.diagnostics.server-timing=true",
+        "thymeleaflet.diagnostics.server-timing-counts=true"
+    }
+)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ThymeleafletServerTimingIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+    }
+
+    @Test
+    @DisplayName("/render の Server-Timing ヘッダーにテンプレートエンジンの時間と件数が含まれる")
+    void shouldReportPhasesForRender() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(
+                get("/thymeleaflet/test.java-time-story/detailHeader/default/render"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse();
+
+        String serverTiming = response.getHeader(ServerTimingRecorder.HEADER_NAME);
+        assertNotNull(serverTiming, "Server-Timing ヘッダーが付与されること");
+        assertTrue(serverTiming.startsWith("total;dur="), serverTiming);
+        assertTrue(serverTiming.contains("path;dur="), serverTiming);
+        assertTrue(serverTiming.contains("template;dur="), serverTiming);
+        assertTrue(serverTiming.contains("cache-hit;desc=\""), serverTiming);
+        assertTrue(serverTiming.contains("parse;desc=\""), serverTiming);
+    }
+
+    @Test
+    @DisplayName("JSON API のレスポンスにも Server-Timing ヘッダーが付与される")
+    void shouldReportPhasesForJsonApi() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/thymeleaflet/api/dependency-graph"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse();
+
+        String serverTiming = response.getHeader(ServerTimingRecorder.HEADER_NAME);
+        assertNotNull(serverTiming, "Server-Timing ヘッダーが付与されること");
+        assertTrue(serverTiming.contains("dependencies;dur="), serverTiming);
+    }
+
+    @Test
+    @DisplayName("静的リソースは計測の対象外")
+    void shouldNotReportStaticResources() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/thymeleaflet/js/story-matrix.js"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse();
+
+        assertNull(response.getHeader(ServerTimingRecorder.HEADER_NAME));
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import io.github.wamukat.thymeleaflet.TestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+    classes = TestApplication.class,
+    properties = {
+        "spring.main.allow-bean-definition-overriding=true",
+        "thymeleaflet.preview.streaming=true"
+    }
+)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ThymeleafletStreamingRenderIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+    }
+
+    @Test
+    @DisplayName("ストリーミング時は警告をヘッダーではなく本文末尾のマーカーで返す")
+    void shouldSendWarningsAsTrailingInlineMarkerWhenStreaming() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/thymeleaflet/test.map-noarg-warning/methodWarning/default/render")
+                .header("Accept-Language", "en"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        String body = mvcResult.getResponse().getContentAsString().stripTrailing();
+
+        assertEquals("true", mvcResult.getResponse().getHeader("X-Thymeleaflet-Preview-Streaming"));
+        assertNull(mvcResult.getResponse().getHeader("X-Thymeleaflet-Preview-Warning-Count"),
+            "ストリーミング時は警告件数ヘッダーを設定しないこと");
+        assertTrue(body.contains("<!--thymeleaflet-preview-warnings:"),
+            "未解決 no-arg メソッドの警告マーカーが本文に含まれること");
+        assertTrue(body.endsWith("-->"), "警告マーカーは本文末尾に置かれること");
+    }
+}
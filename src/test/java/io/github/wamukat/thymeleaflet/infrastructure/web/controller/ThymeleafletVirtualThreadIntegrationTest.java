@@ -0,0 +1,138 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.wamukat.thymeleaflet.TestApplication;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ThymeleafletExecutors;
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.PreviewWarningRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+    classes = TestApplication.class,
+    properties = {
+        "spring.main.allow-bean-definition-overriding=true",
+        "thymeleaflet.virtual-threads=true"
+    }
+)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ThymeleafletVirtualThreadIntegrationTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ThymeleafletExecutors executors;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .webAppContextSetup(webApplicationContext)
+            .build();
+    }
+
+    @Test
+    @DisplayName("仮想スレッドモードでは /render を非同期に描画し、プレビュー警告ヘッダーも返す")
+    void shouldRenderStoryAsynchronously() throws Exception {
+        assertTrue(executors.isVirtualThreads(), "JDK 21 以上では仮想スレッドが有効になること");
+
+        MvcResult started = mockMvc.perform(get("/thymeleaflet/test.map-noarg-warning/methodWarning/default/render")
+                .header("Accept-Language", "en"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse();
+
+        assertNotNull(response.getHeader(PreviewWarningRecorder.HEADER_NAME), "描画時の警告ヘッダーが引き継がれること");
+        assertTrue(response.getContentType() != null && response.getContentType().startsWith("text/html"),
+            "ビューの Content-Type が引き継がれること: " + response.getContentType());
+    }
+
+    @Test
+    @DisplayName("仮想スレッドモードでもオーバーライド付きの POST /render が適用される")
+    void shouldApplyOverridesAsynchronously() throws Exception {
+        MvcResult started = mockMvc.perform(post("/thymeleaflet/test.java-time-story/detailHeader/default/render")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"parameters\": {\"title\": \"Virtual override\"}}")
+                .header("Accept-Language", "en"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertTrue(body.contains("Virtual override"), "オーバーライドが描画に反映されること");
+    }
+
+    @Test
+    @DisplayName("仮想スレッドモードでは一括描画も非同期に処理し、入力順の結果を返す")
+    void shouldRenderBatchAsynchronously() throws Exception {
+        String requestBody = """
+            {"entries": [
+              {"templatePath": "test.java-time-story", "fragmentName": "detailHeader", "storyName": "default",
+               "parameters": {"title": "First"}},
+              {"templatePath": "test.java-time-story", "fragmentName": "missing", "storyName": "default"}
+            ]}
+            """;
+
+        MvcResult started = mockMvc.perform(post("/thymeleaflet/api/render/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody)
+                .header("Accept-Language", "en"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        JsonNode results = OBJECT_MAPPER.readTree(body).path("results");
+        assertEquals(2, results.size());
+        assertEquals("SUCCESS", results.get(0).path("status").asText());
+        assertTrue(results.get(0).path("html").asText().contains("First"));
+        assertEquals("ERROR", results.get(1).path("status").asText());
+    }
+
+    @Test
+    @DisplayName("仮想スレッドモードでも不正な一括描画リクエストは同期的に 400 を返す")
+    void shouldRejectInvalidBatchBeforeStartingAsync() throws Exception {
+        mockMvc.perform(post("/thymeleaflet/api/render/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"entries\": [{\"templatePath\": \"\", \"fragmentName\": \"x\", \"storyName\": \"y\"}]}"))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isBadRequest());
+    }
+}
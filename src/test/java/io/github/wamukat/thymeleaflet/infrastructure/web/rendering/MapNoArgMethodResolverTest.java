@@ -0,0 +1,59 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
+
+import io.github.wamukat.thymeleaflet.domain.service.ParseResultCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.expression.MethodExecutor;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MapNoArgMethodResolverTest {
+
+    private final MapNoArgMethodResolver resolver = new MapNoArgMethodResolver(new StaticMessageSource());
+    private final StandardEvaluationContext context = new StandardEvaluationContext();
+
+    @Test
+    void shouldResolveDerivedKeyAndReuseCachedCandidateKeys() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("label", "Alpha");
+        ParseResultCache.Stats before = MapNoArgMethodResolver.candidateKeysCacheStats();
+
+        for (int i = 0; i < 3; i++) {
+            MethodExecutor executor = Objects.requireNonNull(resolver.resolve(context, row, "getLabel", List.of()));
+            assertThat(executor.execute(context, row).getValue()).isEqualTo("Alpha");
+        }
+
+        ParseResultCache.Stats after = MapNoArgMethodResolver.candidateKeysCacheStats();
+        assertThat(after.hits() - before.hits()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldDeferToJavaMethodAndCacheLookupPerMapClass() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("size", "not used");
+
+        assertThat(resolver.resolve(context, row, "size", List.of())).isNull();
+        assertThat(resolver.resolve(context, new LinkedHashMap<>(row), "size", List.of())).isNull();
+
+        assertThat(MapNoArgMethodResolver.isJavaMethodCached(LinkedHashMap.class, "size")).isTrue();
+        assertThat(MapNoArgMethodResolver.isJavaMethodCached(UnusedRowMap.class, "size")).isFalse();
+    }
+
+    @Test
+    void shouldReturnFallbackForUnresolvedMethod() throws Exception {
+        Map<String, Object> row = Map.of("label", "Alpha");
+
+        MethodExecutor executor = Objects.requireNonNull(resolver.resolve(context, row, "isActive", List.of()));
+
+        assertThat(executor.execute(context, row).getValue()).isEqualTo(false);
+    }
+
+    private static final class UnusedRowMap extends LinkedHashMap<String, Object> {
+    }
+}
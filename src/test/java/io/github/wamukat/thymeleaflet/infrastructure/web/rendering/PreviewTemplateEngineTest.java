@@ -0,0 +1,77 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
+
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.StorybookProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.thymeleaf.cache.ICacheEntryValidityChecker;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreviewTemplateEngineTest {
+
+    @Test
+    void forPreview_shouldReturnHostEngineWhenDisabled() {
+        SpringTemplateEngine hostEngine = hostEngine();
+        PreviewTemplateEngine previewEngine = new PreviewTemplateEngine(config(false, 0), new StaticMessageSource());
+
+        assertThat(previewEngine.forPreview(hostEngine)).isSameAs(hostEngine);
+    }
+
+    @Test
+    void forPreview_shouldRenderWithHostResolversAndDialectsInItsOwnCache() {
+        SpringTemplateEngine hostEngine = hostEngine();
+        hostEngine.addDialect(new NoArgFragmentReferencePreProcessorDialect());
+        PreviewTemplateEngine previewEngine = new PreviewTemplateEngine(config(true, 0), new StaticMessageSource());
+
+        ISpringTemplateEngine engine = previewEngine.forPreview(hostEngine);
+        Context context = new Context();
+        context.setVariable("label", "Save");
+        String output = engine.process("<button th:text=\"${label}\">label</button>", context);
+
+        assertThat(engine).isNotSameAs(hostEngine).isInstanceOf(SpringTemplateEngine.class);
+        assertThat(previewEngine.forPreview(hostEngine)).isSameAs(engine);
+        assertThat(output).isEqualTo("<button>Save</button>");
+        SpringTemplateEngine isolated = (SpringTemplateEngine) engine;
+        assertThat(isolated.getDialects()).containsExactlyInAnyOrderElementsOf(hostEngine.getDialects());
+        assertThat(templateCacheSize(isolated)).isEqualTo(1);
+        assertThat(templateCacheSize(hostEngine)).isZero();
+    }
+
+    @Test
+    void ttlValidityChecker_shouldExpireEntriesOlderThanTtl() {
+        ICacheEntryValidityChecker<String, String> checker =
+            new PreviewTemplateEngine.TtlValidityChecker<>(null, 1000);
+        long now = System.currentTimeMillis();
+
+        assertThat(checker.checkIsValueStillValid("key", "value", now)).isTrue();
+        assertThat(checker.checkIsValueStillValid("key", "value", now - 5000)).isFalse();
+    }
+
+    private static SpringTemplateEngine hostEngine() {
+        StringTemplateResolver resolver = new StringTemplateResolver();
+        resolver.setCacheable(true);
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+
+    private static int templateCacheSize(SpringTemplateEngine engine) {
+        return Objects.requireNonNull(engine.getCacheManager().getTemplateCache()).keySet().size();
+    }
+
+    private static ResolvedStorybookConfig config(boolean enabled, long templateCacheTtlMillis) {
+        StorybookProperties properties = new StorybookProperties();
+        StorybookProperties.PreviewEngineConfig previewEngine = new StorybookProperties.PreviewEngineConfig();
+        previewEngine.setEnabled(enabled);
+        previewEngine.setTemplateCacheTtlMillis(templateCacheTtlMillis);
+        properties.setPreviewEngine(previewEngine);
+        return ResolvedStorybookConfig.from(properties);
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreviewWarningRecorderTest {
+
+    private final StaticMessageSource messageSource = new StaticMessageSource();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        messageSource.addMessage("test.warning", Locale.getDefault(), "Missing {0}");
+        messageSource.addMessage("thymeleaflet.preview.warning.repeated", Locale.getDefault(), "{0} x{1}");
+        RequestContextHolder.setRequestAttributes(
+            new ServletRequestAttributes(new MockHttpServletRequest(), response)
+        );
+        PreviewWarningRecorder.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldDeduplicateByKeyAndDeferMessageResolutionUntilHeadersAreWritten() {
+        AtomicInteger created = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            PreviewWarningRecorder.record("unresolvedMethod:getLabel", () -> {
+                created.incrementAndGet();
+                return PreviewWarningRecorder.PreviewWarning.of(
+                    messageSource,
+                    "test.warning",
+                    List.of("label"),
+                    "Missing"
+                );
+            });
+        }
+        PreviewWarningRecorder.record("Resolved warning");
+
+        assertThat(created).hasValue(1);
+        assertThat(response.getHeader(PreviewWarningRecorder.HEADER_NAME)).isEmpty();
+
+        PreviewWarningRecorder.writeHeaders(response);
+
+        assertThat(decode(response.getHeader(PreviewWarningRecorder.HEADER_NAME)))
+            .isEqualTo("Missing label x3\nResolved warning");
+        assertThat(response.getHeader(PreviewWarningRecorder.COUNT_HEADER_NAME)).isEqualTo("4");
+    }
+
+    @Test
+    void shouldCountOccurrencesBeyondDistinctWarningLimit() {
+        for (int i = 0; i < 20; i++) {
+            PreviewWarningRecorder.record("Warning " + i);
+        }
+
+        PreviewWarningRecorder.writeHeaders(response);
+
+        assertThat(decode(response.getHeader(PreviewWarningRecorder.HEADER_NAME)).split("\n")).hasSize(8);
+        assertThat(response.getHeader(PreviewWarningRecorder.COUNT_HEADER_NAME)).isEqualTo("20");
+    }
+
+    @Test
+    void shouldRenderInlineMarkerWithSameEncodingAsHeader() {
+        PreviewWarningRecorder.record("Inline warning");
+        PreviewWarningRecorder.record("Inline warning");
+
+        String marker = PreviewWarningRecorder.inlineMarker();
+
+        assertThat(marker)
+            .startsWith(PreviewWarningRecorder.INLINE_MARKER_PREFIX)
+            .endsWith(":2" + PreviewWarningRecorder.INLINE_MARKER_SUFFIX);
+        String encoded = marker.substring(
+            PreviewWarningRecorder.INLINE_MARKER_PREFIX.length(),
+            marker.lastIndexOf(':')
+        );
+        assertThat(decode(encoded)).isEqualTo("Inline warning (x2)");
+    }
+
+    @Test
+    void shouldRenderEmptyInlineMarkerWithoutWarnings() {
+        assertThat(PreviewWarningRecorder.inlineMarker()).isEmpty();
+    }
+
+    @Test
+    void shouldDecodeHeaderBackToWarningMessages() {
+        PreviewWarningRecorder.record("First warning");
+        PreviewWarningRecorder.record("Second warning");
+
+        PreviewWarningRecorder.writeHeaders(response);
+
+        assertThat(PreviewWarningRecorder.decodeWarnings(response.getHeader(PreviewWarningRecorder.HEADER_NAME)))
+            .containsExactly("First warning", "Second warning");
+        assertThat(PreviewWarningRecorder.decodeWarnings("")).isEmpty();
+    }
+
+    private static String decode(@Nullable String header) {
+        return new String(Base64.getUrlDecoder().decode(Objects.requireNonNull(header)), StandardCharsets.UTF_8);
+    }
+}
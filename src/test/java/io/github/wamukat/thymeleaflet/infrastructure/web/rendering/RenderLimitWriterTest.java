@@ -0,0 +1,50 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RenderLimitWriterTest {
+
+    @Test
+    void shouldStopWritingWhenOutputLimitIsExceeded() throws Exception {
+        StringWriter target = new StringWriter();
+        RenderLimitWriter writer = new RenderLimitWriter(target, 0, 8);
+
+        writer.write("12345678");
+
+        assertThatThrownBy(() -> writer.write("9"))
+            .isInstanceOfSatisfying(RenderLimitExceededException.class, exceeded -> {
+                assertThat(exceeded.limit()).isEqualTo(RenderLimitExceededException.Limit.OUTPUT_SIZE);
+                assertThat(exceeded.threshold()).isEqualTo(8);
+            });
+        assertThat(target.toString()).isEqualTo("12345678");
+    }
+
+    @Test
+    void shouldStopWritingAfterDeadline() throws Exception {
+        RenderLimitWriter writer = new RenderLimitWriter(new StringWriter(), 1, 0);
+        Thread.sleep(5);
+
+        assertThatThrownBy(() -> {
+            for (int index = 0; index < RenderLimitWriter.DEADLINE_CHECK_INTERVAL; index++) {
+                writer.write('x');
+            }
+        }).isInstanceOfSatisfying(RenderLimitExceededException.class, exceeded ->
+            assertThat(exceeded.limit()).isEqualTo(RenderLimitExceededException.Limit.DEADLINE)
+        );
+    }
+
+    @Test
+    void shouldFindLimitExceptionWrappedByTemplateEngine() {
+        RenderLimitExceededException exceeded =
+            new RenderLimitExceededException(RenderLimitExceededException.Limit.DEADLINE, 10);
+        RuntimeException wrapped = new IllegalStateException("processing failed", new RuntimeException(exceeded));
+
+        assertThat(RenderLimitExceededException.causeOf(wrapped)).isSameAs(exceeded);
+        assertThat(RenderLimitExceededException.causeOf(new IllegalStateException("other"))).isNull();
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.rendering;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThymeleafletAwareThymeleafViewTest {
+
+    @Test
+    void shouldGrowOutputBufferTowardsRecentOutputSizes() {
+        ThymeleafletAwareThymeleafView.OutputSizeEstimate estimate =
+            new ThymeleafletAwareThymeleafView.OutputSizeEstimate();
+        int initial = estimate.initialCapacity();
+
+        for (int i = 0; i < 20; i++) {
+            estimate.record(40_000);
+        }
+
+        assertThat(estimate.initialCapacity()).isGreaterThan(initial).isGreaterThanOrEqualTo(40_000);
+    }
+
+    @Test
+    void shouldKeepOutputBufferWithinBounds() {
+        ThymeleafletAwareThymeleafView.OutputSizeEstimate estimate =
+            new ThymeleafletAwareThymeleafView.OutputSizeEstimate();
+
+        for (int i = 0; i < 40; i++) {
+            estimate.record(0);
+        }
+        assertThat(estimate.initialCapacity())
+            .isEqualTo(ThymeleafletAwareThymeleafView.OutputSizeEstimate.MINIMUM_CAPACITY);
+
+        for (int i = 0; i < 40; i++) {
+            estimate.record(Integer.MAX_VALUE);
+        }
+        assertThat(estimate.initialCapacity())
+            .isEqualTo(ThymeleafletAwareThymeleafView.OutputSizeEstimate.MAXIMUM_CAPACITY);
+    }
+}
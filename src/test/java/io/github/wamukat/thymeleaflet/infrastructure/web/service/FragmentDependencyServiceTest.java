@@ -1,5 +1,8 @@
 package io.github.wamukat.thymeleaflet.infrastructure.web.service;
 
+import io.github.wamukat.thymeleaflet.domain.model.FragmentDependencyGraph;
+import io.github.wamukat.thymeleaflet.domain.model.FragmentSummary;
+import io.github.wamukat.thymeleaflet.domain.service.FragmentDomainService;
 import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResourcePathValidator;
@@ -15,7 +18,10 @@ import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -240,6 +246,56 @@ class FragmentDependencyServiceTest {
             .containsExactly("components/card-body::body");
     }
 
+    @Test
+    void buildDependencyGraph_parsesEachTemplateOnceAndKeepsReverseEdges() {
+        String pageHtml = """
+            <main th:fragment="dashboard">
+              <div th:replace="~{components/card :: card(title='a')}"></div>
+              <div th:replace="~{components/card :: #compact-card}"></div>
+            </main>
+            """;
+        String cardHtml = """
+            <section th:fragment="card(title)">
+              <button th:replace="~{components/button :: button()}"></button>
+            </section>
+            <section id="compact-card" th:fragment="compact">
+              <button th:replace="~{components/button :: button()}"></button>
+            </section>
+            """;
+        String buttonHtml = """
+            <button th:fragment="button">OK</button>
+            """;
+        FragmentDependencyService service = buildService(Map.of(
+            "pages/home", pageHtml,
+            "components/card", cardHtml,
+            "components/button", buttonHtml
+        ));
+
+        FragmentDependencyGraph graph = service.buildDependencyGraph(List.of(
+            summary("pages/home", "dashboard"),
+            summary("components/card", "card"),
+            summary("components/card", "compact"),
+            summary("components/button", "button")
+        ));
+
+        FragmentDependencyGraph.Node button = new FragmentDependencyGraph.Node("components/button", "button");
+        assertThat(graph.dependenciesOf(new FragmentDependencyGraph.Node("pages/home", "dashboard")))
+            .extracting(FragmentDependencyGraph.Node::key)
+            .containsExactly("components/card::card", "components/card::compact");
+        assertThat(graph.dependentsOf(button))
+            .extracting(FragmentDependencyGraph.Node::key)
+            .containsExactly("components/card::card", "components/card::compact");
+        assertThat(graph.impactOfTemplate("components/button"))
+            .extracting(FragmentDependencyGraph.Node::key)
+            .contains("pages/home::dashboard");
+        verify(resourcePathValidator, times(1)).findTemplate(eq("components/card"), anyList());
+        verify(resourcePathValidator, times(1)).findTemplate(eq("components/button"), anyList());
+    }
+
+    private FragmentSummary summary(String templatePath, String fragmentName) {
+        return FragmentSummary.of(templatePath, fragmentName, List.of(), FragmentDomainService.FragmentType.SIMPLE);
+    }
+
     private FragmentDependencyService buildService(String templatePath, String html) {
         return buildService(Map.of(templatePath, html));
     }
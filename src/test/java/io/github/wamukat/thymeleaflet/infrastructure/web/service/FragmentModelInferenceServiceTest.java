@@ -1,6 +1,11 @@
 package io.github.wamukat.thymeleaflet.infrastructure.web.service;
 
+import io.github.wamukat.thymeleaflet.domain.service.StructuredTemplateParser;
 import io.github.wamukat.thymeleaflet.domain.service.TemplateModelExpressionAnalyzer;
+import io.github.wamukat.thymeleaflet.infrastructure.adapter.discovery.FragmentSignatureParser;
+import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.StorybookProperties;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.io.DefaultResourceLoader;
 
@@ -131,6 +136,28 @@ class FragmentModelInferenceServiceTest {
         );
     }
 
+    @Test
+    void shouldCacheInferenceAndInvalidateItWhenReferencedChildTemplateChanges() {
+        ThymeleafletCacheManager cacheManager = new ThymeleafletCacheManager(ResolvedStorybookConfig.from(new StorybookProperties()));
+        FragmentModelInferenceService cachingService = new FragmentModelInferenceService(
+            new DefaultResourceLoader(),
+            new TemplateModelExpressionAnalyzer(),
+            new StructuredTemplateParser(),
+            new FragmentSignatureParser(),
+            cacheManager
+        );
+
+        Map<String, Object> first = cachingService.inferModel("fragments/points-content-inference-sample", "pointsContent", List.of());
+        first.clear();
+        Map<String, Object> second = cachingService.inferModel("fragments/points-content-inference-sample", "pointsContent", List.of());
+
+        assertThat(second).containsKeys("pointPage", "selectedFilter");
+        assertThat(cacheManager.invalidateTemplates(List.of("fragments/unrelated-template"))).isEmpty();
+        assertThat(cacheManager.invalidateTemplates(List.of("fragments/points-panel-inference-sample.html")))
+            .extracting(ThymeleafletCacheManager.EntryRef::cacheName)
+            .containsExactly("model-inference");
+    }
+
     @Test
     void shouldNotMergeChildModelWhenStaticReferenceUsesLiteralArgumentsOnly() {
         Map<String, Object> inferred = service.inferModel(
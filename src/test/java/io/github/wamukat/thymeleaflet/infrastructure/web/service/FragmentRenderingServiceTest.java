@@ -6,19 +6,34 @@ import io.github.wamukat.thymeleaflet.application.port.inbound.story.StoryRetrie
 import io.github.wamukat.thymeleaflet.domain.model.FragmentStoryInfo;
 import io.github.wamukat.thymeleaflet.domain.model.FragmentSummary;
 import io.github.wamukat.thymeleaflet.domain.service.FragmentDomainService;
+import io.github.wamukat.thymeleaflet.domain.service.StructuredTemplateParser;
+import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.StorybookProperties;
 import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.ThymeleafFragmentRenderer;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.context.support.StaticMessageSource;
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.ui.ExtendedModelMap;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,7 +58,8 @@ class FragmentRenderingServiceTest {
         new DefaultResourceLoader(),
         fragmentModelInferenceService,
         javaDocLookupService,
-        storyJavaTimeValueCoercionService
+        storyJavaTimeValueCoercionService,
+        new StructuredTemplateParser()
     );
 
     @Test
@@ -116,4 +132,153 @@ class FragmentRenderingServiceTest {
         assertThat(model.getAttribute("view")).isEqualTo(Map.of("title", "Empty panel"));
         verify(storyParameterUseCase, never()).getParametersForStory(storyInfo);
     }
+
+    @Test
+    void shouldReuseCachedRenderPlanAndApplyOverridesPerRequest() {
+        FragmentRenderingService cachingService = new FragmentRenderingService(
+            validationUseCase,
+            storyRetrievalUseCase,
+            storyParameterUseCase,
+            securePathConversionService,
+            thymeleafFragmentRenderer,
+            new StaticMessageSource(),
+            new DefaultResourceLoader(),
+            fragmentModelInferenceService,
+            javaDocLookupService,
+            storyJavaTimeValueCoercionService,
+            new StructuredTemplateParser(),
+            new ThymeleafletCacheManager(ResolvedStorybookConfig.from(new StorybookProperties()))
+        );
+        FragmentStoryInfo storyInfo = FragmentStoryInfo.fallback(
+            FragmentSummary.parameterized("components/card", "card", List.of("title")),
+            "components.card",
+            "default"
+        );
+        when(securePathConversionService.convertSecurePath(eq("components.card.card"), any()))
+            .thenReturn(SecurePathConversionService.SecurityConversionResult.success("components/card"));
+        when(storyRetrievalUseCase.getStory("components/card", "card", "default"))
+            .thenReturn(Optional.of(storyInfo));
+        when(javaDocLookupService.findJavaDocInfo("components/card", "card")).thenReturn(Optional.empty());
+        when(storyParameterUseCase.getParametersForStory(storyInfo)).thenReturn(Map.of("title", "Story title"));
+        when(fragmentModelInferenceService.inferModel("components/card", "card", List.of("title")))
+            .thenReturn(Map.of());
+        when(fragmentModelInferenceService.inferMethodReturnCandidates("components/card", "card", List.of("title")))
+            .thenReturn(Map.of());
+        when(thymeleafFragmentRenderer.resolveTemplateValue(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ExtendedModelMap firstModel = new ExtendedModelMap();
+        FragmentRenderingService.RenderingResult first = cachingService.renderStory(
+            "components.card.card", "card", "default", firstModel
+        );
+        ExtendedModelMap secondModel = new ExtendedModelMap();
+        FragmentRenderingService.RenderingResult second = cachingService.renderStory(
+            "components.card.card", "card", "default", secondModel,
+            Map.of("title", "Override title"), Map.of(), Map.of()
+        );
+
+        assertThat(first.templateReference()).contains("components/card :: card");
+        assertThat(second.templateReference()).contains("components/card :: card");
+        assertThat(firstModel.getAttribute("title")).isEqualTo("Story title");
+        assertThat(secondModel.getAttribute("title")).isEqualTo("Override title");
+        verify(storyRetrievalUseCase, times(1)).getStory("components/card", "card", "default");
+        verify(javaDocLookupService, times(1)).findJavaDocInfo("components/card", "card");
+        verify(storyParameterUseCase, times(1)).getParametersForStory(storyInfo);
+    }
+
+    @Test
+    void shouldRebuildCachedRenderPlanWhenStoryFileChanges(@TempDir Path storyDirectory) throws IOException {
+        Path storyFile = Files.writeString(storyDirectory.resolve("card.stories.yml"), "stories: []\n");
+        ResourceLoader storyResourceLoader = new DefaultResourceLoader() {
+            @Override
+            public Resource getResource(String location) {
+                return location.endsWith("components/card.stories.yml")
+                    ? new FileSystemResource(storyFile)
+                    : super.getResource(location);
+            }
+        };
+        FragmentRenderingService cachingService = new FragmentRenderingService(
+            validationUseCase,
+            storyRetrievalUseCase,
+            storyParameterUseCase,
+            securePathConversionService,
+            thymeleafFragmentRenderer,
+            new StaticMessageSource(),
+            storyResourceLoader,
+            fragmentModelInferenceService,
+            javaDocLookupService,
+            storyJavaTimeValueCoercionService,
+            new StructuredTemplateParser(),
+            new ThymeleafletCacheManager(ResolvedStorybookConfig.from(new StorybookProperties()))
+        );
+        FragmentStoryInfo storyInfo = FragmentStoryInfo.fallback(
+            FragmentSummary.parameterized("components/card", "card", List.of("title")),
+            "components.card",
+            "default"
+        );
+        when(securePathConversionService.convertSecurePath(eq("components.card.card"), any()))
+            .thenReturn(SecurePathConversionService.SecurityConversionResult.success("components/card"));
+        when(storyRetrievalUseCase.getStory("components/card", "card", "default"))
+            .thenReturn(Optional.of(storyInfo));
+        when(javaDocLookupService.findJavaDocInfo("components/card", "card")).thenReturn(Optional.empty());
+        when(storyParameterUseCase.getParametersForStory(storyInfo))
+            .thenReturn(Map.of("title", "Before edit"), Map.of("title", "After edit"));
+        when(fragmentModelInferenceService.inferModel("components/card", "card", List.of("title")))
+            .thenReturn(Map.of());
+        when(fragmentModelInferenceService.inferMethodReturnCandidates("components/card", "card", List.of("title")))
+            .thenReturn(Map.of());
+        when(thymeleafFragmentRenderer.resolveTemplateValue(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ExtendedModelMap firstModel = new ExtendedModelMap();
+        cachingService.renderStory("components.card.card", "card", "default", firstModel);
+        ExtendedModelMap cachedModel = new ExtendedModelMap();
+        cachingService.renderStory("components.card.card", "card", "default", cachedModel);
+        Files.setLastModifiedTime(
+            storyFile,
+            FileTime.fromMillis(Files.getLastModifiedTime(storyFile).toMillis() + 5_000)
+        );
+        ExtendedModelMap editedModel = new ExtendedModelMap();
+        cachingService.renderStory("components.card.card", "card", "default", editedModel);
+
+        assertThat(firstModel.getAttribute("title")).isEqualTo("Before edit");
+        assertThat(cachedModel.getAttribute("title")).isEqualTo("Before edit");
+        assertThat(editedModel.getAttribute("title")).isEqualTo("After edit");
+        verify(storyRetrievalUseCase, times(2)).getStory("components/card", "card", "default");
+    }
+
+    @Test
+    void shouldRenderStaticFragmentWithoutJavaDocLookupOrModelAssembly() {
+        ExtendedModelMap model = new ExtendedModelMap();
+        FragmentStoryInfo storyInfo = FragmentStoryInfo.fallback(
+            FragmentSummary.of(
+                "components/icons",
+                "checkIcon",
+                List.of(),
+                FragmentDomainService.FragmentType.SIMPLE,
+                FragmentDomainService.RenderPipeline.STATIC
+            ),
+            "components.icons",
+            "default"
+        );
+        when(securePathConversionService.convertSecurePath("components.icons.checkIcon", model))
+            .thenReturn(SecurePathConversionService.SecurityConversionResult.success("components/icons"));
+        when(storyRetrievalUseCase.getStory("components/icons", "checkIcon", "default"))
+            .thenReturn(Optional.of(storyInfo));
+
+        FragmentRenderingService.RenderingResult result = service.renderStory(
+            "components.icons.checkIcon",
+            "checkIcon",
+            "default",
+            model
+        );
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.templateReference()).contains("components/icons :: checkIcon");
+        assertThat(model.asMap()).isEmpty();
+        verify(javaDocLookupService, never()).findJavaDocInfo("components/icons", "checkIcon");
+        verify(fragmentModelInferenceService, never()).inferModel("components/icons", "checkIcon", List.of());
+        assertThat(service.renderPipelineStats().snapshot(FragmentDomainService.RenderPipeline.STATIC).renders())
+            .isEqualTo(1);
+        assertThat(service.renderPipelineStats().snapshot(FragmentDomainService.RenderPipeline.FULL).renders())
+            .isZero();
+    }
 }
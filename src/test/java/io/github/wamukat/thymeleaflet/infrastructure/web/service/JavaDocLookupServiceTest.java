@@ -2,6 +2,7 @@ package io.github.wamukat.thymeleaflet.infrastructure.web.service;
 
 import io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation.JavaDocAnalyzer;
 import io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation.JavaDocContentService;
+import io.github.wamukat.thymeleaflet.infrastructure.adapter.documentation.TemplateDocumentation;
 import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
 import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResourcePathValidator;
@@ -51,6 +52,27 @@ class JavaDocLookupServiceTest {
         assertThat(result).containsSame(docInfo);
     }
 
+    @Test
+    void findJavaDocInfo_shouldKeepDocumentOrderAcrossTagExampleAndDescriptionMatches() {
+        JavaDocAnalyzer.JavaDocInfo describedFirst = JavaDocAnalyzer.JavaDocInfo.of("Card layout helpers");
+        JavaDocAnalyzer.JavaDocInfo taggedLater = JavaDocAnalyzer.JavaDocInfo.of(
+            "Tagged card",
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Optional.of("card"),
+            List.of(JavaDocAnalyzer.ExampleInfo.of("components/card", "cardHeader")),
+            Optional.empty()
+        );
+        JavaDocLookupService service = new JavaDocLookupService(
+            new StubJavaDocContentService(List.of(describedFirst, taggedLater))
+        );
+
+        assertThat(service.findJavaDocInfo("components/card", "card")).containsSame(describedFirst);
+        assertThat(service.findJavaDocInfo("components/card", "LAYOUT")).containsSame(describedFirst);
+        assertThat(service.findJavaDocInfo("components/card", "cardHeader")).containsSame(taggedLater);
+        assertThat(service.findJavaDocInfo("components/card", "missing")).isEmpty();
+    }
+
     private static final class StubJavaDocContentService extends JavaDocContentService {
 
         private final List<JavaDocAnalyzer.JavaDocInfo> docs;
@@ -74,8 +96,8 @@ class JavaDocLookupServiceTest {
         }
 
         @Override
-        public List<JavaDocAnalyzer.JavaDocInfo> loadJavaDocInfos(String templatePath) {
-            return docs;
+        public TemplateDocumentation loadDocumentation(String templatePath) {
+            return TemplateDocumentation.of(templatePath, docs, List.of(), List.of());
         }
     }
 }
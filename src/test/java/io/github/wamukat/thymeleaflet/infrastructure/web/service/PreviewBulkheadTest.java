@@ -0,0 +1,95 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.StorybookProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreviewBulkheadTest {
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueIsFull() throws Exception {
+        PreviewBulkhead bulkhead = bulkhead(1, 0, 1000);
+
+        assertThat(bulkhead.tryEnter()).isTrue();
+        assertThat(bulkhead.tryEnter()).isFalse();
+
+        PreviewBulkhead.Stats stats = bulkhead.stats();
+        assertThat(stats.active()).isEqualTo(1);
+        assertThat(stats.admitted()).isEqualTo(1);
+        assertThat(stats.rejectedQueueFull()).isEqualTo(1);
+        assertThat(stats.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectQueuedRequestAfterTimeout() throws Exception {
+        PreviewBulkhead bulkhead = bulkhead(1, 1, 20);
+
+        assertThat(bulkhead.tryEnter()).isTrue();
+        assertThat(bulkhead.tryEnter()).isFalse();
+
+        PreviewBulkhead.Stats stats = bulkhead.stats();
+        assertThat(stats.rejectedTimeout()).isEqualTo(1);
+        assertThat(stats.queued()).isZero();
+    }
+
+    @Test
+    void shouldAdmitQueuedRequestWhenPermitIsReleased() throws Exception {
+        PreviewBulkhead bulkhead = bulkhead(1, 1, 5000);
+        assertThat(bulkhead.tryEnter()).isTrue();
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.tryEnter();
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        awaitQueued(bulkhead, 1);
+        bulkhead.release();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+        bulkhead.release();
+        assertThat(bulkhead.stats().admitted()).isEqualTo(2);
+        assertThat(bulkhead.stats().active()).isZero();
+    }
+
+    @Test
+    void shouldTakeOneSlotPerConcurrentlyRenderedStoryForBatches() throws Exception {
+        PreviewBulkhead bulkhead = bulkhead(6, 0, 1000);
+        assertThat(bulkhead.getBatchPermits()).isEqualTo(4);
+        assertThat(bulkhead(2, 0, 1000).getBatchPermits()).isEqualTo(2);
+
+        assertThat(bulkhead.tryEnter(bulkhead.getBatchPermits())).isTrue();
+        assertThat(bulkhead.tryEnter()).isTrue();
+        assertThat(bulkhead.tryEnter()).isTrue();
+        assertThat(bulkhead.tryEnter()).isFalse();
+        assertThat(bulkhead.stats().active()).isEqualTo(6);
+
+        bulkhead.release(bulkhead.getBatchPermits());
+        assertThat(bulkhead.stats().active()).isEqualTo(2);
+    }
+
+    private static void awaitQueued(PreviewBulkhead bulkhead, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.stats().queued() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(bulkhead.stats().queued()).isEqualTo(expected);
+    }
+
+    private static PreviewBulkhead bulkhead(int maxConcurrent, int maxQueue, int queueTimeoutMillis) {
+        StorybookProperties properties = new StorybookProperties();
+        StorybookProperties.BulkheadConfig bulkhead = new StorybookProperties.BulkheadConfig();
+        bulkhead.setMaxConcurrent(maxConcurrent);
+        bulkhead.setMaxQueue(maxQueue);
+        bulkhead.setQueueTimeoutMillis(queueTimeoutMillis);
+        properties.setBulkhead(bulkhead);
+        return new PreviewBulkhead(ResolvedStorybookConfig.from(properties));
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ThymeleafletExecutors;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class StoryBatchRenderServiceTest {
+
+    private final CapturedStoryRenderer capturedStoryRenderer = mock(CapturedStoryRenderer.class);
+    private final ThymeleafletExecutors executors = new ThymeleafletExecutors(ResolvedStorybookConfig.defaults());
+    private final StoryBatchRenderService service = new StoryBatchRenderService(
+        capturedStoryRenderer,
+        ResolvedStorybookConfig.defaults(),
+        executors
+    );
+
+    @AfterEach
+    void shutdown() {
+        service.destroy();
+        executors.destroy();
+    }
+
+    @Test
+    void shouldSetCookiesOnCallingThreadAndShareSessionLockAcrossWorkers() throws Exception {
+        Set<Lock> sessionLocks = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            String storyName = invocation.getArgument(2);
+            sessionLocks.add(invocation.getArgument(9));
+            List<Cookie> cookies = invocation.getArgument(10);
+            cookies.add(new Cookie("story-" + storyName, storyName));
+            return new RenderedStory(true, 200, "text/html;charset=UTF-8", "UTF-8", Map.of(), "<p>" + storyName + "</p>");
+        }).when(capturedStoryRenderer).render(
+            anyString(), anyString(), anyString(), anyMap(), anyMap(), anyMap(),
+            any(), any(), any(), any(), any()
+        );
+        List<Thread> cookieThreads = new CopyOnWriteArrayList<>();
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public void addCookie(Cookie cookie) {
+                cookieThreads.add(Thread.currentThread());
+                super.addCookie(cookie);
+            }
+        };
+
+        List<StoryBatchRenderService.Result> results = service.render(
+            List.of(
+                StoryBatchRenderService.Entry.of("components.card", "card", "first"),
+                StoryBatchRenderService.Entry.of("components.card", "card", "second")
+            ),
+            new MockHttpServletRequest(),
+            response
+        );
+
+        assertThat(results).extracting(StoryBatchRenderService.Result::html)
+            .containsExactly("<p>first</p>", "<p>second</p>");
+        assertThat(response.getCookies()).extracting(Cookie::getName)
+            .containsExactly("story-first", "story-second");
+        assertThat(cookieThreads).containsOnly(Thread.currentThread());
+        assertThat(sessionLocks).hasSize(1);
+    }
+}
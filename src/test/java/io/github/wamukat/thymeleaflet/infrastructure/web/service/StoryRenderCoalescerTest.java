@@ -0,0 +1,235 @@
+package io.github.wamukat.thymeleaflet.infrastructure.web.service;
+
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.StorybookProperties;
+import io.github.wamukat.thymeleaflet.infrastructure.diagnostics.ServerTimingRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.PreviewWarningRecorder;
+import io.github.wamukat.thymeleaflet.infrastructure.web.rendering.ThymeleafletAwareThymeleafView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class StoryRenderCoalescerTest {
+
+    private static final StoryRenderCoalescer.RenderKey KEY =
+        new StoryRenderCoalescer.RenderKey("components.card", "card", "default", Locale.ENGLISH);
+
+    private final StoryRenderCoalescer coalescer = new StoryRenderCoalescer(
+        mock(CapturedStoryRenderer.class),
+        ResolvedStorybookConfig.from(coalescingProperties())
+    );
+
+    @AfterEach
+    void resetRequestAttributes() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldShareInFlightRenderWithConcurrentIdenticalRequests() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger renderCalls = new AtomicInteger();
+        RenderedStory rendered = renderedStory("<p>card</p>");
+
+        CompletableFuture<RenderedStory> leader = CompletableFuture.supplyAsync(() -> renderQuietly(() -> {
+            renderCalls.incrementAndGet();
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return rendered;
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<RenderedStory> follower = CompletableFuture.supplyAsync(() -> renderQuietly(() -> {
+            renderCalls.incrementAndGet();
+            return renderedStory("<p>unexpected</p>");
+        }));
+        awaitWaitingRequests(1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(rendered);
+        RenderedStory shared = follower.get(5, TimeUnit.SECONDS);
+        assertThat(shared.html()).isEqualTo("<p>card</p>");
+        assertThat(shared.headers()).containsOnlyKeys(PreviewWarningRecorder.HEADER_NAME);
+        assertThat(renderCalls).hasValue(1);
+        assertThat(coalescer.stats().renders()).isEqualTo(1);
+        assertThat(coalescer.stats().mergedRequests()).isEqualTo(1);
+        assertThat(coalescer.stats().inFlight()).isZero();
+        assertThat(coalescer.waitingRequests()).isZero();
+    }
+
+    @Test
+    void shouldLetWaitingRequestsRenderWhenTheResultIsNotShareable() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<RenderedStory> leader = CompletableFuture.supplyAsync(() -> renderQuietly(() -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return renderedStory("<p>leader</p>");
+        }, () -> false));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<RenderedStory> follower =
+            CompletableFuture.supplyAsync(() -> renderQuietly(() -> renderedStory("<p>follower</p>")));
+        awaitWaitingRequests(1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).html()).isEqualTo("<p>leader</p>");
+        assertThat(follower.get(5, TimeUnit.SECONDS).html()).isEqualTo("<p>follower</p>");
+        assertThat(coalescer.stats().mergedRequests()).isZero();
+    }
+
+    @Test
+    void shouldRenderAgainOnceThePreviousRenderHasCompleted() throws Exception {
+        coalescer.renderShared(KEY, () -> renderedStory("<p>first</p>"), () -> true);
+        RenderedStory second = coalescer.renderShared(KEY, () -> renderedStory("<p>second</p>"), () -> true);
+
+        assertThat(second.html()).isEqualTo("<p>second</p>");
+        assertThat(coalescer.stats().renders()).isEqualTo(2);
+        assertThat(coalescer.stats().mergedRequests()).isZero();
+    }
+
+    @Test
+    void shouldPropagateLeaderFailureAndReleaseKey() throws Exception {
+        assertThatThrownBy(() -> coalescer.renderShared(KEY, () -> {
+            throw new IllegalStateException("template failed");
+        }, () -> true)).isInstanceOf(IllegalStateException.class);
+
+        RenderedStory retried = coalescer.renderShared(KEY, () -> renderedStory("<p>retried</p>"), () -> true);
+
+        assertThat(retried.html()).isEqualTo("<p>retried</p>");
+        assertThat(coalescer.isEnabled()).isTrue();
+    }
+
+    @Test
+    void shouldShareLeaderViewOutputOnlyWithJoiningRequests() throws Exception {
+        MockHttpServletRequest leaderRequest = renderRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(leaderRequest));
+
+        assertThat(coalescer.joinOrLead("components.card", "card", "default", leaderRequest, new MockHttpServletResponse()))
+            .isFalse();
+        ThymeleafletAwareThymeleafView.RenderedOutputListener listener =
+            (ThymeleafletAwareThymeleafView.RenderedOutputListener) leaderRequest.getAttribute(
+                ThymeleafletAwareThymeleafView.RENDERED_OUTPUT_LISTENER_ATTRIBUTE
+            );
+        assertThat(listener).isNotNull();
+
+        MockHttpServletResponse joinerResponse = new MockHttpServletResponse();
+        CompletableFuture<Boolean> joiner = CompletableFuture.supplyAsync(() -> joinQuietly(joinerResponse));
+        awaitWaitingRequests(1);
+
+        MockHttpServletResponse leaderResponse = new MockHttpServletResponse();
+        leaderResponse.setContentType("text/html;charset=UTF-8");
+        leaderResponse.setHeader(PreviewWarningRecorder.HEADER_NAME, "warning");
+        leaderResponse.setHeader(ServerTimingRecorder.HEADER_NAME, "template;dur=12");
+        listener.rendered("<p>card</p>", leaderResponse);
+
+        assertThat(joiner.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(joinerResponse.getContentAsString()).isEqualTo("<p>card</p>");
+        assertThat(joinerResponse.getHeader(PreviewWarningRecorder.HEADER_NAME)).isEqualTo("warning");
+        assertThat(joinerResponse.getHeader(ServerTimingRecorder.HEADER_NAME)).isNull();
+        assertThat(coalescer.stats().mergedRequests()).isEqualTo(1);
+        assertThat(coalescer.stats().inFlight()).isZero();
+    }
+
+    @Test
+    void shouldReleaseJoiningRequestsWhenLeaderSetsCookieOrFinishesWithoutOutput() throws Exception {
+        MockHttpServletRequest leaderRequest = renderRequest();
+        ServletRequestAttributes leaderAttributes = new ServletRequestAttributes(leaderRequest);
+        RequestContextHolder.setRequestAttributes(leaderAttributes);
+        coalescer.joinOrLead("components.card", "card", "default", leaderRequest, new MockHttpServletResponse());
+
+        MockHttpServletResponse joinerResponse = new MockHttpServletResponse();
+        CompletableFuture<Boolean> joiner = CompletableFuture.supplyAsync(() -> joinQuietly(joinerResponse));
+        awaitWaitingRequests(1);
+        leaderAttributes.requestCompleted();
+
+        assertThat(joiner.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(joinerResponse.getContentAsString()).isEmpty();
+        assertThat(coalescer.stats().mergedRequests()).isZero();
+    }
+
+    @Test
+    void shouldNotAcceptRequestsWithSessionOrPrincipal() {
+        MockHttpServletRequest anonymous = renderRequest();
+        MockHttpServletRequest withSession = renderRequest();
+        withSession.getSession(true);
+        MockHttpServletRequest authenticated = renderRequest();
+        authenticated.setUserPrincipal(() -> "alice");
+
+        assertThat(coalescer.accepts(anonymous)).isTrue();
+        assertThat(coalescer.accepts(withSession)).isFalse();
+        assertThat(coalescer.accepts(authenticated)).isFalse();
+        assertThat(new StoryRenderCoalescer(
+            mock(CapturedStoryRenderer.class),
+            ResolvedStorybookConfig.from(new StorybookProperties())
+        ).accepts(anonymous)).isFalse();
+    }
+
+    private RenderedStory renderQuietly(StoryRenderCoalescer.RenderCall renderCall) {
+        return renderQuietly(renderCall, () -> true);
+    }
+
+    private RenderedStory renderQuietly(StoryRenderCoalescer.RenderCall renderCall, BooleanSupplier shareable) {
+        try {
+            return coalescer.renderShared(KEY, renderCall, shareable);
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private boolean joinQuietly(MockHttpServletResponse response) {
+        try {
+            return coalescer.joinOrLead("components.card", "card", "default", renderRequest(), response);
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    // 合流したリクエストが先頭の描画を待ち始めるまで待つ
+    private void awaitWaitingRequests(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.waitingRequests() < expected) {
+            assertThat(System.nanoTime()).as("waiting requests").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static MockHttpServletRequest renderRequest() {
+        return new MockHttpServletRequest("GET", "/thymeleaflet/components.card/card/default/render");
+    }
+
+    private static StorybookProperties coalescingProperties() {
+        StorybookProperties.PreviewConfig preview = new StorybookProperties.PreviewConfig();
+        preview.setCoalesceRenders(true);
+        StorybookProperties properties = new StorybookProperties();
+        properties.setPreview(preview);
+        return properties;
+    }
+
+    private static RenderedStory renderedStory(String html) {
+        return new RenderedStory(
+            true,
+            200,
+            "text/html;charset=UTF-8",
+            "UTF-8",
+            Map.of("X-Test", List.of("1"), PreviewWarningRecorder.HEADER_NAME, List.of("warning")),
+            html
+        );
+    }
+}
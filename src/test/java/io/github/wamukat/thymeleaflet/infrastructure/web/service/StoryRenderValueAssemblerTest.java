@@ -135,9 +135,63 @@ class StoryRenderValueAssemblerTest {
         );
         assertThat(values.parameters()).containsEntry("label", "Story label");
 
+        PreviewWarningRecorder.writeHeaders(response);
         String warningsHeader = response.getHeader(PreviewWarningRecorder.HEADER_NAME);
         assertThat(warningsHeader).isNotBlank();
         String decoded = new String(Base64.getUrlDecoder().decode(warningsHeader), StandardCharsets.UTF_8);
         assertThat(decoded).contains("Conflict at view.title");
     }
+
+    @Test
+    void shouldTruncateOversizedCollectionsWithoutMutatingStoryValues() {
+        messageSource.addMessage(
+            "thymeleaflet.preview.warning.collectionTruncated",
+            Locale.getDefault(),
+            "Truncated {0} from {1} to {2}"
+        );
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        PreviewWarningRecorder.clear();
+        StoryRenderValueAssembler limitedAssembler = new StoryRenderValueAssembler(
+            storyParameterUseCase,
+            fragmentModelInferenceService,
+            storyJavaTimeValueCoercionService,
+            messageSource,
+            2
+        );
+        List<String> labels = List.of("a", "b", "c");
+        Map<String, Object> storyModel = Map.of(
+            "rows", List.of(1, 2, 3, 4),
+            "view", Map.of("tags", List.of("x"))
+        );
+
+        StoryRenderValueAssembler.ModelAndMethodReturnValues modelValues = limitedAssembler.mergeModelAndMethodReturns(
+            new StoryRenderValueAssembler.ModelBase(
+                true,
+                storyModel,
+                Map.of(),
+                Map.of(),
+                StoryJavaTimeValueCoercionService.CoercionPlan.none()
+            ),
+            Map.of(),
+            Map.of()
+        );
+        Map<String, Object> parameters = limitedAssembler.mergeParameters(
+            new StoryRenderValueAssembler.ParameterBase(
+                Map.of("labels", labels),
+                StoryJavaTimeValueCoercionService.CoercionPlan.none()
+            ),
+            Map.of()
+        );
+
+        assertThat(modelValues.model()).containsEntry("rows", List.of(1, 2));
+        assertThat(modelValues.model()).containsEntry("view", Map.of("tags", List.of("x")));
+        assertThat(parameters).containsEntry("labels", List.of("a", "b"));
+        assertThat(labels).hasSize(3);
+
+        PreviewWarningRecorder.writeHeaders(response);
+        List<String> warnings = PreviewWarningRecorder.decodeWarnings(response.getHeader(PreviewWarningRecorder.HEADER_NAME));
+        assertThat(warnings).containsExactly("Truncated rows from 4 to 2", "Truncated labels from 3 to 2");
+    }
 }
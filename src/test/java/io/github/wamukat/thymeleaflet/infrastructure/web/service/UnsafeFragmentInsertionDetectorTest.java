@@ -2,11 +2,19 @@ package io.github.wamukat.thymeleaflet.infrastructure.web.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import io.github.wamukat.thymeleaflet.domain.service.StructuredTemplateParser;
+import io.github.wamukat.thymeleaflet.infrastructure.cache.ThymeleafletCacheManager;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.ResolvedStorybookConfig;
+import io.github.wamukat.thymeleaflet.infrastructure.configuration.StorybookProperties;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.DefaultResourceLoader;
 
 class UnsafeFragmentInsertionDetectorTest {
 
@@ -64,4 +72,37 @@ class UnsafeFragmentInsertionDetectorTest {
         assertThat(detector.findUnsafeParameter(html, Map.of("body", 1, "other", "plain text")))
             .isEmpty();
     }
+
+    @Test
+    void templateInsertionParameterNames_shouldAnalyzeTemplateOnceAndShareTheResult() {
+        ThymeleafletCacheManager cacheManager =
+            new ThymeleafletCacheManager(ResolvedStorybookConfig.from(new StorybookProperties()));
+        UnsafeFragmentInsertionDetector cachingDetector = new UnsafeFragmentInsertionDetector(
+            new StructuredTemplateParser(),
+            new DefaultResourceLoader(),
+            cacheManager
+        );
+
+        Set<String> first = cachingDetector.templateInsertionParameterNames("test/unsafe-fragment");
+        Set<String> second = cachingDetector.templateInsertionParameterNames("test/unsafe-fragment");
+
+        assertThat(first).containsExactlyInAnyOrder("body", "content");
+        assertThat(second).isSameAs(first);
+        assertThat(cachingDetector.findUnsafeParameter(first, Map.of("content", "components/card :: card")))
+            .hasValue("content");
+        assertThat(cacheManager.invalidateTemplates(List.of("test/unsafe-fragment"))).hasSize(1);
+    }
+
+    @Test
+    void dynamicInsertionParameterNames_shouldReturnEmptyForTemplatesWithoutInsertionExpressions() {
+        String html = """
+            <section th:fragment="shell(body)">
+              <p th:text="${body}"></p>
+              <th:block th:replace="~{components/card :: card}"></th:block>
+            </section>
+            """;
+
+        assertThat(detector.dynamicInsertionParameterNames(html)).isEmpty();
+        assertThat(detector.templateInsertionParameterNames("test/missing-template")).isEmpty();
+    }
 }